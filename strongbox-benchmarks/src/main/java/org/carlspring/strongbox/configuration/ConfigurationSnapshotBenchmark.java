@@ -0,0 +1,176 @@
+package org.carlspring.strongbox.configuration;
+
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the group repository lookups with thousands of repositories, getting the {@link Configuration} the way
+ * {@link org.carlspring.strongbox.services.ConfigurationManagementService#getConfiguration()} does: the snapshot
+ * shared until the next modification (<code>snapshot</code>) against the copy created under the read lock on every
+ * call, as it was before the snapshot (<code>copy</code>). The <code>indexed</code> benchmark uses
+ * {@link Configuration#getGroupRepositoriesContaining(String, String)}, the <code>scan</code> one filters
+ * {@link Configuration#getGroupRepositories()} as it was done before the index. Run it with {@code -prof gc} to see
+ * the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class ConfigurationSnapshotBenchmark
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    /**
+     * The number of hosted repositories in each group.
+     */
+    private static final int GROUP_SIZE = 10;
+
+    @Param({ "snapshot", "copy" })
+    private String mode;
+
+    @Param({ "1000", "5000" })
+    private int repositories;
+
+    private final ReentrantReadWriteLock configurationLock = new ReentrantReadWriteLock();
+
+    private MutableConfiguration mutableConfiguration;
+
+    private volatile Configuration snapshot;
+
+    private String[] repositoryIds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        MutableStorage storage = new MutableStorage();
+        storage.setId(STORAGE_ID);
+        storage.setBasedir(Paths.get("target/strongbox-vault/storages", STORAGE_ID).toAbsolutePath().toString());
+
+        repositoryIds = new String[repositories];
+        for (int i = 0; i < repositories; i++)
+        {
+            MutableRepository repository = createRepository(storage, "releases-" + i, RepositoryTypeEnum.HOSTED);
+
+            storage.addRepository(repository);
+            repositoryIds[i] = repository.getId();
+        }
+
+        // Every group has its hosted repositories and the previous group of the same ten, so that the transitive
+        // lookups have up to ten levels to walk.
+        for (int i = 0; i < repositories / GROUP_SIZE; i++)
+        {
+            MutableRepository group = createRepository(storage, "group-" + i, RepositoryTypeEnum.GROUP);
+            for (int j = 0; j < GROUP_SIZE; j++)
+            {
+                group.addRepositoryToGroup(repositoryIds[i * GROUP_SIZE + j]);
+            }
+            if (i % GROUP_SIZE != 0)
+            {
+                group.addRepositoryToGroup("group-" + (i - 1));
+            }
+
+            storage.addRepository(group);
+        }
+
+        mutableConfiguration = new MutableConfiguration();
+        mutableConfiguration.addStorage(storage);
+        snapshot = new Configuration(mutableConfiguration);
+    }
+
+    @Benchmark
+    public List<Repository> indexed()
+    {
+        return getConfiguration().getGroupRepositoriesContaining(STORAGE_ID, randomRepositoryId());
+    }
+
+    @Benchmark
+    public List<Repository> indexedTransitive()
+    {
+        return getConfiguration().getGroupRepositoriesContaining(STORAGE_ID, randomRepositoryId(), true);
+    }
+
+    /**
+     * Filters the group repositories, as {@link Configuration#getGroupRepositoriesContaining(String, String)} did
+     * before the index.
+     */
+    @Benchmark
+    public List<Repository> scan()
+    {
+        String repositoryId = randomRepositoryId();
+
+        List<Repository> groupRepositories = getConfiguration().getGroupRepositories();
+        groupRepositories.removeIf(group -> !group.getStorage().getId().equals(STORAGE_ID) ||
+                                            group.getGroupRepositories()
+                                                 .stream()
+                                                 .noneMatch(member -> member.equals(repositoryId) ||
+                                                                      member.equals(STORAGE_ID + ":" + repositoryId)));
+
+        return groupRepositories;
+    }
+
+    private Configuration getConfiguration()
+    {
+        if ("snapshot".equals(mode))
+        {
+            return snapshot;
+        }
+
+        Lock readLock = configurationLock.readLock();
+        readLock.lock();
+        try
+        {
+            return new Configuration(mutableConfiguration);
+        }
+        finally
+        {
+            readLock.unlock();
+        }
+    }
+
+    private String randomRepositoryId()
+    {
+        return repositoryIds[ThreadLocalRandom.current().nextInt(repositoryIds.length)];
+    }
+
+    private static MutableRepository createRepository(MutableStorage storage,
+                                                      String repositoryId,
+                                                      RepositoryTypeEnum type)
+    {
+        MutableRepository repository = new MutableRepository();
+        repository.setId(repositoryId);
+        repository.setStorage(storage);
+        repository.setLayout("Maven 2");
+        repository.setType(type.getType());
+        repository.setBasedir(Paths.get(storage.getBasedir(), repositoryId).toString());
+
+        return repository;
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link RepositoryPathLockBackend}s on a read-heavy workload (7 readers per writer) over a set of lock
+ * names larger than the retention table of the {@link LocalRepositoryPathLockBackend}. Run it with {@code -prof gc}
+ * to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryPathLockBenchmark
+{
+
+    @Param({ LocalRepositoryPathLockBackend.NAME, HazelcastRepositoryPathLockBackend.NAME })
+    private String backendName;
+
+    @Param({ "1000", "10000" })
+    private int lockNames;
+
+    @Param({ "4096" })
+    private int retainedLocks;
+
+    private HazelcastInstance hazelcastInstance;
+
+    private RepositoryPathLockBackend backend;
+
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        if (HazelcastRepositoryPathLockBackend.NAME.equals(backendName))
+        {
+            Config config = new Config();
+            config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+
+            hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+            backend = new HazelcastRepositoryPathLockBackend(hazelcastInstance);
+        }
+        else
+        {
+            backend = new LocalRepositoryPathLockBackend(Runtime.getRuntime().availableProcessors(), retainedLocks);
+        }
+
+        names = new String[lockNames];
+        for (int i = 0; i < names.length; i++)
+        {
+            names[i] = "storage0/releases/org/carlspring/strongbox/artifact-" + i + "/1.0/artifact-" + i + "-1.0.jar";
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        if (hazelcastInstance != null)
+        {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public void read()
+    {
+        lockUnlock(backend.getReadWriteLock(nextName()).readLock());
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public void write()
+    {
+        lockUnlock(backend.getReadWriteLock(nextName()).writeLock());
+    }
+
+    private String nextName()
+    {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    private static void lockUnlock(Lock lock)
+    {
+        lock.lock();
+        try
+        {
+            // The critical section is empty, only the lock overhead is measured.
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.configuration.Configuration;
+import org.carlspring.strongbox.configuration.ConfigurationManager;
+import org.carlspring.strongbox.configuration.MutableConfiguration;
+import org.carlspring.strongbox.providers.layout.AbstractLayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Scope;
+
+/**
+ * Measures {@link RepositoryPathResolver#resolve(String, String, String)} with the {@link RepositoryFileSystemCache}
+ * (<code>cached</code>) against the file system and file system provider prototype beans created on every call, as
+ * it was before the cache (<code>uncached</code>). The file systems are created through the Spring context the same
+ * way the layout configurations do. Run it with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RepositoryPathResolverBenchmark
+{
+
+    private static final String LAYOUT = "benchmark";
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String PATH = "org/carlspring/strongbox/resolver/1.0/resolver-1.0.jar";
+
+    @Param({ "cached", "uncached" })
+    private String mode;
+
+    @Param({ "10", "1000" })
+    private int repositories;
+
+    private AnnotationConfigApplicationContext context;
+
+    private RepositoryPathResolver resolver;
+
+    private String[] repositoryIds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new AnnotationConfigApplicationContext(BenchmarkLayoutConfig.class);
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId(STORAGE_ID);
+        storage.setBasedir(Paths.get("target/strongbox-vault/storages", STORAGE_ID).toAbsolutePath().toString());
+
+        repositoryIds = new String[repositories];
+        for (int i = 0; i < repositories; i++)
+        {
+            MutableRepository repository = new MutableRepository();
+            repository.setId("releases-" + i);
+            repository.setStorage(storage);
+            repository.setLayout(LAYOUT);
+            repository.setType(RepositoryTypeEnum.HOSTED.getType());
+            repository.setBasedir(Paths.get(storage.getBasedir(), repository.getId()).toString());
+
+            storage.addRepository(repository);
+            repositoryIds[i] = repository.getId();
+        }
+
+        MutableConfiguration mutableConfiguration = new MutableConfiguration();
+        mutableConfiguration.addStorage(storage);
+        Configuration configuration = new Configuration(mutableConfiguration);
+
+        RepositoryFileSystemRegistry fileSystemRegistry = new RepositoryFileSystemRegistry();
+        fileSystemRegistry.setFyleSystemFactories(Collections.singletonMap(BenchmarkLayoutConfig.FILE_SYSTEM_ALIAS,
+                                                                          context.getBean(LayoutFileSystemFactory.class)));
+
+        resolver = new RepositoryPathResolver();
+        resolver.configurationManager = new ConfigurationManager()
+        {
+            @Override
+            public Configuration getConfiguration()
+            {
+                return configuration;
+            }
+        };
+        resolver.fileSystemRegistry = fileSystemRegistry;
+        resolver.fileSystemCache = "cached".equals(mode) ? new RepositoryFileSystemCache() : new UncachedFileSystems();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Benchmark
+    public RepositoryPath resolve()
+    {
+        String repositoryId = repositoryIds[ThreadLocalRandom.current().nextInt(repositoryIds.length)];
+
+        return resolver.resolve(STORAGE_ID, repositoryId, PATH);
+    }
+
+    /**
+     * Creates the file system on every call, as {@link RepositoryPathResolver#resolve(Repository)} did before the
+     * {@link RepositoryFileSystemCache}.
+     */
+    private static class UncachedFileSystems extends RepositoryFileSystemCache
+    {
+
+        @Override
+        public LayoutFileSystem get(Repository repository,
+                                    Function<Repository, LayoutFileSystem> factory)
+        {
+            return factory.apply(repository);
+        }
+
+    }
+
+    @org.springframework.context.annotation.Configuration
+    public static class BenchmarkLayoutConfig
+    {
+
+        static final String FILE_SYSTEM_ALIAS = "LayoutFileSystemFactory." + LAYOUT;
+
+        @Bean(FILE_SYSTEM_ALIAS)
+        public LayoutFileSystemFactory benchmarkFileSystemFactory()
+        {
+            PropertiesBooter propertiesBooter = new PropertiesBooter();
+            FileSystem storageFileSystem = FileSystems.getDefault();
+
+            return (repository) -> benchmarkFileSystem(propertiesBooter, repository, storageFileSystem,
+                                                       benchmarkFileSystemProvider(storageFileSystem.provider()));
+        }
+
+        @Bean
+        @Scope("prototype")
+        public BenchmarkFileSystemProvider benchmarkFileSystemProvider(FileSystemProvider provider)
+        {
+            return new BenchmarkFileSystemProvider(provider);
+        }
+
+        @Bean
+        @Scope("prototype")
+        public BenchmarkFileSystem benchmarkFileSystem(PropertiesBooter propertiesBooter,
+                                                       Repository repository,
+                                                       FileSystem storageFileSystem,
+                                                       LayoutFileSystemProvider provider)
+        {
+            return new BenchmarkFileSystem(propertiesBooter, repository, storageFileSystem, provider);
+        }
+
+    }
+
+    public static class BenchmarkFileSystemProvider
+            extends LayoutFileSystemProvider
+    {
+
+        public BenchmarkFileSystemProvider(FileSystemProvider storageFileSystemProvider)
+        {
+            super(storageFileSystemProvider);
+        }
+
+        @Override
+        protected AbstractLayoutProvider getLayoutProvider()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+    public static class BenchmarkFileSystem
+            extends LayoutFileSystem
+    {
+
+        public BenchmarkFileSystem(PropertiesBooter propertiesBooter,
+                                   Repository repository,
+                                   FileSystem storageFileSystem,
+                                   LayoutFileSystemProvider provider)
+        {
+            super(propertiesBooter, repository, storageFileSystem, provider);
+        }
+
+        @Override
+        public Set<String> getDigestAlgorithmSet()
+        {
+            return Collections.emptySet();
+        }
+
+    }
+
+}
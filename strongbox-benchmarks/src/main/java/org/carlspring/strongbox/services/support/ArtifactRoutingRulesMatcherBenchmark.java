@@ -0,0 +1,175 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the routing of one group repository request, that is the routing decision of the path for each member
+ * repository, with 500 routing rules and 50 member repositories: the {@link ArtifactRoutingRulesMatcher} compiled
+ * once per configuration (<code>matcher</code>) against the rules evaluated for each member, as it was before the
+ * matcher (<code>rules</code>). Run it with {@code -prof gc} to see the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactRoutingRulesMatcherBenchmark
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String GROUP_REPOSITORY_ID = "group";
+
+    private static final int RULES = 500;
+
+    private static final int MEMBERS = 50;
+
+    private static final int PATHS = 120;
+
+    @Param({ "matcher", "rules" })
+    private String mode;
+
+    private RoutingRules routingRules;
+
+    private ArtifactRoutingRulesMatcher matcher;
+
+    private String[] paths;
+
+    private String[] memberRepositoryIds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Random random = new Random(42);
+
+        memberRepositoryIds = new String[MEMBERS];
+        for (int i = 0; i < MEMBERS; i++)
+        {
+            memberRepositoryIds[i] = "member-" + i;
+        }
+
+        // A tenth of the rules is for another group, and some are for any group of the storage.
+        MutableRoutingRules mutableRoutingRules = new MutableRoutingRules();
+        for (int i = 0; i < RULES; i++)
+        {
+            List<MutableRoutingRuleRepository> repositories = new ArrayList<>();
+            repositories.add(new MutableRoutingRuleRepository(STORAGE_ID,
+                                                              memberRepositoryIds[random.nextInt(MEMBERS)]));
+            repositories.add(new MutableRoutingRuleRepository(null, memberRepositoryIds[random.nextInt(MEMBERS)]));
+
+            String groupRepositoryId = i % 10 == 0 ? "other-group" : (i % 7 == 0 ? null : GROUP_REPOSITORY_ID);
+            mutableRoutingRules.getRules().add(MutableRoutingRule.create(STORAGE_ID,
+                                                                         groupRepositoryId,
+                                                                         repositories,
+                                                                         ".*(com|org)/project" + (i % 100) + "/.*",
+                                                                         random.nextInt(3) == 0 ?
+                                                                         RoutingRuleTypeEnum.ACCEPT :
+                                                                         RoutingRuleTypeEnum.DENY));
+        }
+
+        routingRules = new RoutingRules(mutableRoutingRules);
+        matcher = ArtifactRoutingRulesMatcher.compile(routingRules, STORAGE_ID, GROUP_REPOSITORY_ID);
+
+        // Some of the paths don't match any rule.
+        paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++)
+        {
+            paths[i] = (i % 2 == 0 ? "org" : "com") + "/project" + i + "/artifact/1.0/artifact-1.0.jar";
+        }
+    }
+
+    /**
+     * @return the number of the member repositories the path is denied for
+     */
+    @Benchmark
+    public int route()
+    {
+        String path = paths[ThreadLocalRandom.current().nextInt(paths.length)];
+
+        return "matcher".equals(mode) ? routeWithMatcher(path) : routeWithRules(path);
+    }
+
+    private int routeWithMatcher(String path)
+    {
+        ArtifactRoutingRulesMatcher.Match match = matcher.match(path);
+
+        int denied = 0;
+        for (String memberRepositoryId : memberRepositoryIds)
+        {
+            denied += match.isDenied(STORAGE_ID, memberRepositoryId) ? 1 : 0;
+        }
+
+        return denied;
+    }
+
+    private int routeWithRules(String path)
+    {
+        int denied = 0;
+        for (String memberRepositoryId : memberRepositoryIds)
+        {
+            denied += isDenied(path, memberRepositoryId) ? 1 : 0;
+        }
+
+        return denied;
+    }
+
+    /**
+     * The per member routing rules evaluation, as it was done before the routing rules were compiled.
+     */
+    private boolean isDenied(String path,
+                             String memberRepositoryId)
+    {
+        return fits(path, memberRepositoryId, routingRules.getDenied()) &&
+               !fits(path, memberRepositoryId, routingRules.getAccepted());
+    }
+
+    private boolean fits(String path,
+                         String memberRepositoryId,
+                         List<RoutingRule> rules)
+    {
+        return rules.stream()
+                    .filter(rule -> matches(rule, STORAGE_ID, GROUP_REPOSITORY_ID))
+                    .filter(rule -> rule.getRegex().matcher(path).matches())
+                    .flatMap(rule -> rule.getRepositories().stream())
+                    .anyMatch(repository -> matches(repository, STORAGE_ID, memberRepositoryId));
+    }
+
+    private static boolean matches(RepositoryIdentifiable repositoryIdentifiable,
+                                   String storageId,
+                                   String repositoryId)
+    {
+        String ruleStorageId = StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId());
+        String ruleRepositoryId = StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId());
+
+        return (ruleStorageId.isEmpty() || ruleStorageId.equals(storageId)) &&
+               (ruleRepositoryId.isEmpty() || ruleRepositoryId.equals(repositoryId));
+    }
+
+}
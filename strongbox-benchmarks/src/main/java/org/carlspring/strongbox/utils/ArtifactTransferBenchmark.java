@@ -0,0 +1,119 @@
+package org.carlspring.strongbox.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link ArtifactControllerHelper#transferRange(Path, long, long, OutputStream)} with the stream copy of
+ * {@link org.carlspring.strongbox.controllers.BaseController#copyToResponse(InputStream,
+ * javax.servlet.http.HttpServletResponse)} (the 4 KB chunks, each one flushed) for a small and a large artifact.
+ * The output is discarded, so only the read and copy overhead is measured. Run it with {@code -prof gc} to see the
+ * allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactTransferBenchmark
+{
+
+    @Param({ "65536", "16777216" })
+    private int artifactSize;
+
+    private Path artifact;
+
+    @Setup(Level.Trial)
+    public void setUp()
+            throws IOException
+    {
+        byte[] content = new byte[artifactSize];
+        new Random(42).nextBytes(content);
+
+        artifact = Files.createTempFile("artifact-transfer", ".jar");
+        Files.write(artifact, content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+            throws IOException
+    {
+        Files.deleteIfExists(artifact);
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole)
+            throws IOException
+    {
+        OutputStream os = new DiscardingOutputStream(blackhole);
+        try (InputStream is = Files.newInputStream(artifact))
+        {
+            int readLength;
+            byte[] bytes = new byte[4096];
+            while ((readLength = is.read(bytes, 0, bytes.length)) != -1)
+            {
+                os.write(bytes, 0, readLength);
+                os.flush();
+            }
+        }
+    }
+
+    @Benchmark
+    public void fileChannel(Blackhole blackhole)
+            throws IOException
+    {
+        OutputStream os = new DiscardingOutputStream(blackhole);
+        ArtifactControllerHelper.transferRange(artifact, 0L, artifactSize, os);
+        os.flush();
+    }
+
+    private static class DiscardingOutputStream
+            extends OutputStream
+    {
+
+        private final Blackhole blackhole;
+
+        private DiscardingOutputStream(Blackhole blackhole)
+        {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b)
+        {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b,
+                          int off,
+                          int len)
+        {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+
+    }
+
+}
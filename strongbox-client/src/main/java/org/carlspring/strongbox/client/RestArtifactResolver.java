@@ -54,6 +54,15 @@ public class RestArtifactResolver
         return true;
     }
 
+    /**
+     * Reports the failure (or the timeout) of reading the response body,
+     * which happens after the request itself has completed.
+     */
+    public void reportReadFailure(Exception cause)
+    {
+        logger.debug("Failed to read the response of [{}].", repositoryBaseUrl, cause);
+    }
+
     @Override
     public void close()
     {
@@ -0,0 +1,168 @@
+package org.carlspring.strongbox.service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * The connection manager, which leases its connections within the
+ * {@link ProxyRepositoryConnectionLimit} shared with the other pools.
+ * <br>
+ * The connection is taken from this pool first, and only then the shared
+ * limit is acquired, so that the requests waiting for a saturated pool
+ * don't hold the permits the other pools need.
+ * <br>
+ * Besides, it tracks how many connections were leased and how long the lease
+ * requests waited for a connection.
+ */
+public class LeaseLimitingConnectionManager
+        extends PoolingHttpClientConnectionManager
+{
+
+    private final ProxyRepositoryConnectionLimit connectionLimit;
+
+    /**
+     * The connections holding a permit of the {@link #connectionLimit}.
+     */
+    private final Set<HttpClientConnection> leasedConnections = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong leaseCount = new AtomicLong();
+
+    private final AtomicLong leaseWaitNanos = new AtomicLong();
+
+    public LeaseLimitingConnectionManager(ProxyRepositoryConnectionLimit connectionLimit,
+                                          long keepAliveMillis)
+    {
+        super(keepAliveMillis, TimeUnit.MILLISECONDS);
+        this.connectionLimit = connectionLimit;
+    }
+
+    /**
+     * @return the number of the connection lease requests
+     */
+    public long getLeaseCount()
+    {
+        return leaseCount.get();
+    }
+
+    /**
+     * @return the total time the connection lease requests waited for a connection
+     */
+    public double getLeaseWaitTime(TimeUnit unit)
+    {
+        return (double) leaseWaitNanos.get() / TimeUnit.NANOSECONDS.convert(1, unit);
+    }
+
+    @Override
+    public ConnectionRequest requestConnection(HttpRoute route,
+                                               Object state)
+    {
+        final ConnectionRequest request = super.requestConnection(route, state);
+
+        return new ConnectionRequest()
+        {
+            @Override
+            public HttpClientConnection get(long timeout,
+                                            TimeUnit timeUnit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException
+            {
+                long start = System.nanoTime();
+                try
+                {
+                    HttpClientConnection connection = request.get(timeout, timeUnit);
+                    // The elapsed timeout still gets the permit, if it's available right away.
+                    acquireLimit(connection,
+                                 timeout > 0 ? Math.max(timeUnit.toNanos(timeout) - (System.nanoTime() - start), 1) : 0);
+
+                    return connection;
+                }
+                finally
+                {
+                    leaseCount.incrementAndGet();
+                    leaseWaitNanos.addAndGet(System.nanoTime() - start);
+                }
+            }
+
+            @Override
+            public boolean cancel()
+            {
+                return request.cancel();
+            }
+        };
+    }
+
+    private void acquireLimit(HttpClientConnection connection,
+                              long timeoutNanos)
+            throws InterruptedException, ConnectionPoolTimeoutException
+    {
+        boolean acquired = false;
+        try
+        {
+            acquired = connectionLimit.acquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        finally
+        {
+            if (acquired)
+            {
+                leasedConnections.add(connection);
+            }
+            else
+            {
+                super.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (!acquired)
+        {
+            throw new ConnectionPoolTimeoutException("Timeout waiting for connection from the total limit");
+        }
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection managedConn,
+                                  Object state,
+                                  long keepalive,
+                                  TimeUnit timeUnit)
+    {
+        try
+        {
+            super.releaseConnection(managedConn, state, keepalive, timeUnit);
+        }
+        finally
+        {
+            // The connection may be released more than once.
+            if (leasedConnections.remove(managedConn))
+            {
+                connectionLimit.release();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown()
+    {
+        try
+        {
+            super.shutdown();
+        }
+        finally
+        {
+            for (HttpClientConnection connection : leasedConnections)
+            {
+                if (leasedConnections.remove(connection))
+                {
+                    connectionLimit.release();
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+package org.carlspring.strongbox.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The max number of the connections leased from all the connection pools
+ * together (<code>pool.maxConnections</code>), while each pool still has its
+ * own max.
+ */
+public class ProxyRepositoryConnectionLimit
+{
+
+    private final ResizableSemaphore permits;
+
+    private int max;
+
+    public ProxyRepositoryConnectionLimit(int max)
+    {
+        this.max = max;
+        this.permits = new ResizableSemaphore(max);
+    }
+
+    public synchronized int getMax()
+    {
+        return max;
+    }
+
+    public synchronized void setMax(int max)
+    {
+        int delta = max - this.max;
+        if (delta > 0)
+        {
+            permits.release(delta);
+        }
+        else if (delta < 0)
+        {
+            // The leased connections are not revoked, the limit takes effect as they are released.
+            permits.reducePermits(-delta);
+        }
+
+        this.max = max;
+    }
+
+    /**
+     * @param timeout
+     *            the time to wait, or <code>0</code> (and less) to wait
+     *            until the permit is available
+     * @return <code>true</code> if the permit was acquired
+     */
+    public boolean acquire(long timeout,
+                           TimeUnit unit)
+            throws InterruptedException
+    {
+        if (timeout <= 0)
+        {
+            permits.acquire();
+
+            return true;
+        }
+
+        return permits.tryAcquire(timeout, unit);
+    }
+
+    public void release()
+    {
+        permits.release();
+    }
+
+    private static final class ResizableSemaphore
+            extends Semaphore
+    {
+
+        private ResizableSemaphore(int permits)
+        {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction)
+        {
+            super.reducePermits(reduction);
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.carlspring.strongbox.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.pool.PoolStats;
+
+/**
+ * The HTTP connection pool of one remote repository (host), so that a slow
+ * remote repository exhausts its own connections only. The connections of
+ * all the pools are still limited by the shared {@link ProxyRepositoryConnectionLimit}.
+ * <br>
+ * Besides the pool state, it tracks how many connections were leased and how
+ * long the lease requests waited for a connection.
+ */
+public class ProxyRepositoryConnectionPool
+{
+
+    private final String name;
+
+    private final HttpRoute route;
+
+    private final LeaseLimitingConnectionManager connectionManager;
+
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+
+    public ProxyRepositoryConnectionPool(HttpRoute route,
+                                         ProxyRepositoryConnectionLimit connectionLimit,
+                                         int maxConnections,
+                                         long keepAliveMillis,
+                                         int socketTimeoutMillis)
+    {
+        this.route = route;
+        this.name = route.getTargetHost().toURI();
+        this.connectionManager = new LeaseLimitingConnectionManager(connectionLimit, keepAliveMillis);
+        this.connectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                                                                  .setSoTimeout(socketTimeoutMillis)
+                                                                  .build());
+        setMaxConnections(maxConnections);
+    }
+
+    /**
+     * @return the pool name, which is the remote repository host URI
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    public HttpRoute getRoute()
+    {
+        return route;
+    }
+
+    public LeaseLimitingConnectionManager getConnectionManager()
+    {
+        return connectionManager;
+    }
+
+    public void setMaxConnections(int maxConnections)
+    {
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+    }
+
+    public PoolStats getStats()
+    {
+        return connectionManager.getStats(route);
+    }
+
+    public int getLeased()
+    {
+        return connectionManager.getTotalStats().getLeased();
+    }
+
+    public int getPending()
+    {
+        return connectionManager.getTotalStats().getPending();
+    }
+
+    public int getAvailable()
+    {
+        return connectionManager.getTotalStats().getAvailable();
+    }
+
+    public int getMax()
+    {
+        return connectionManager.getTotalStats().getMax();
+    }
+
+    /**
+     * @return the number of the connection lease requests
+     */
+    public long getLeaseCount()
+    {
+        return connectionManager.getLeaseCount();
+    }
+
+    /**
+     * @return the total time the connection lease requests waited for a connection
+     */
+    public double getLeaseWaitTime(TimeUnit unit)
+    {
+        return connectionManager.getLeaseWaitTime(unit);
+    }
+
+    /**
+     * Registers the callback, which will be notified once the pool is closed,
+     * for example to remove the pool metrics.
+     */
+    public void addCloseListener(Runnable listener)
+    {
+        closeListeners.add(listener);
+    }
+
+    /**
+     * Shuts down the pool connections, including the leased ones.
+     */
+    public void close()
+    {
+        connectionManager.shutdown();
+        closeListeners.forEach(Runnable::run);
+    }
+
+}
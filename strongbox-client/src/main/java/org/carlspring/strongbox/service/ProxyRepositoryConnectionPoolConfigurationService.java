@@ -4,6 +4,8 @@ import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.pool.PoolStats;
 
 import javax.ws.rs.client.Client;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * @author korest
@@ -13,8 +15,21 @@ public interface ProxyRepositoryConnectionPoolConfigurationService
 
     Client getRestClient();
 
+    /**
+     * @return the client, which uses the connection pool of the remote repository
+     */
+    Client getRestClient(String repository);
+
     CloseableHttpClient getHttpClient();
 
+    /**
+     * @return the client, which uses the connection pool of the remote repository
+     */
+    CloseableHttpClient getHttpClient(String repository);
+
+    /**
+     * Sets the max number of the connections of all the pools together.
+     */
     void setMaxTotal(int max);
 
     void setDefaultMaxPerRepository(int defaultMax);
@@ -27,5 +42,21 @@ public interface ProxyRepositoryConnectionPoolConfigurationService
 
     PoolStats getPoolStats(String repository);
 
+    Collection<ProxyRepositoryConnectionPool> getRepositoryPools();
+
+    /**
+     * Registers the callback which will be notified about all the existing
+     * and newly created remote repository pools, for example to expose the
+     * pool metrics.
+     */
+    void addRepositoryPoolListener(Consumer<ProxyRepositoryConnectionPool> listener);
+
+    /**
+     * Closes the pools of the removed remote repositories, unless the pool
+     * (host) is still used by one of the retained remote repositories.
+     */
+    void removeRepositoryPools(Collection<String> repositories,
+                               Collection<String> retainedRepositories);
+
     void shutdown();
 }
@@ -2,7 +2,18 @@ package org.carlspring.strongbox.service.impl;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -10,17 +21,23 @@ import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 
 import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.SocketConfig;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.pool.PoolStats;
 
+import org.carlspring.strongbox.service.LeaseLimitingConnectionManager;
+import org.carlspring.strongbox.service.ProxyRepositoryConnectionLimit;
+import org.carlspring.strongbox.service.ProxyRepositoryConnectionPool;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 
 import org.glassfish.jersey.apache.connector.ApacheClientProperties;
 import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
 import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.logging.LoggingFeature;
 import org.glassfish.jersey.logging.LoggingFeature.Verbosity;
 import org.slf4j.Logger;
@@ -39,7 +56,25 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     private static final Logger LOGGER = LoggerFactory.getLogger(
             ProxyRepositoryConnectionPoolConfigurationServiceImpl.class);
 
-    private PoolingHttpClientConnectionManager poolingHttpClientConnectionManager;
+    /**
+     * The max number of the connections leased from all the pools together.
+     */
+    private ProxyRepositoryConnectionLimit connectionLimit;
+
+    /**
+     * The pool of the connections, which are not bound to a remote repository.
+     */
+    private LeaseLimitingConnectionManager poolingHttpClientConnectionManager;
+
+    /**
+     * The pools of the remote repositories, by the repository route.
+     */
+    private final Map<HttpRoute, ProxyRepositoryConnectionPool> repositoryPools = new ConcurrentHashMap<>();
+
+    private final Map<HttpRoute, Integer> maxPerRepository = new ConcurrentHashMap<>();
+
+    private final List<Consumer<ProxyRepositoryConnectionPool>> repositoryPoolListeners = new CopyOnWriteArrayList<>();
+
     private IdleConnectionMonitorThread idleConnectionMonitorThread;
 
     @Value("${pool.maxConnections:200}")
@@ -48,17 +83,30 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     private int defaultMaxPerRoute;
     @Value("${pool.idleConnectionsTimeoutInSeconds:60}")
     private int idleConnectionsTimeoutInSeconds;
+    @Value("${pool.keepAliveInSeconds:300}")
+    private int keepAliveInSeconds;
+    @Value("${pool.connectTimeoutInSeconds:10}")
+    private int connectTimeoutInSeconds;
+    @Value("${pool.socketTimeoutInSeconds:60}")
+    private int socketTimeoutInSeconds;
+    @Value("${client.payloadLogging.enabled:false}")
+    private boolean payloadLoggingEnabled;
 
     @PostConstruct
     public void init()
     {
-        poolingHttpClientConnectionManager = new PoolingHttpClientConnectionManager();
-        poolingHttpClientConnectionManager.setMaxTotal(maxTotal); //TODO value that depends on number of threads?
+        connectionLimit = new ProxyRepositoryConnectionLimit(maxTotal);
+        poolingHttpClientConnectionManager = new LeaseLimitingConnectionManager(
+                connectionLimit, TimeUnit.SECONDS.toMillis(keepAliveInSeconds));
+        poolingHttpClientConnectionManager.setMaxTotal(maxTotal);
         poolingHttpClientConnectionManager.setDefaultMaxPerRoute(defaultMaxPerRoute);
+        poolingHttpClientConnectionManager.setDefaultSocketConfig(SocketConfig.custom()
+                                                                              .setSoTimeout(getSocketTimeoutMillis())
+                                                                              .build());
 
         // thread for monitoring unused connections
         idleConnectionMonitorThread =
-                new IdleConnectionMonitorThread(poolingHttpClientConnectionManager, idleConnectionsTimeoutInSeconds);
+                new IdleConnectionMonitorThread(this::getConnectionManagers, idleConnectionsTimeoutInSeconds);
         idleConnectionMonitorThread.setDaemon(true);
         idleConnectionMonitorThread.start();
     }
@@ -71,32 +119,63 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
 
     @Override
     public Client getRestClient()
+    {
+        return getRestClient(poolingHttpClientConnectionManager);
+    }
+
+    @Override
+    public Client getRestClient(String repository)
+    {
+        return getRestClient(getRepositoryPool(repository).getConnectionManager());
+    }
+
+    private Client getRestClient(PoolingHttpClientConnectionManager connectionManager)
     {
         ClientConfig config = new ClientConfig();
         config.connectorProvider(new ApacheConnectorProvider());
-        config.property(ApacheClientProperties.CONNECTION_MANAGER, poolingHttpClientConnectionManager);
+        config.property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager);
         // property to prevent closing connection manager when client is closed
         config.property(ApacheClientProperties.CONNECTION_MANAGER_SHARED, true);
-
-        java.util.logging.Logger logger = java.util.logging.Logger.getLogger("org.carlspring.strongbox.RestClient");
+        config.property(ClientProperties.CONNECT_TIMEOUT, getConnectTimeoutMillis());
+        config.property(ClientProperties.READ_TIMEOUT, getSocketTimeoutMillis());
 
         // TODO set basic authentication here instead of setting it always in client?
         /* CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
         credentialsProvider.setCredentials(AuthScope.ANY, new UsernamePasswordCredentials(username, password));
         config.property(ApacheClientProperties.CREDENTIALS_PROVIDER, credentialsProvider); */
 
-        return ClientBuilder.newBuilder()
-                            .register(new LoggingFeature(logger, Verbosity.PAYLOAD_TEXT))
-                            .withConfig(config)
+        ClientBuilder clientBuilder = ClientBuilder.newBuilder();
+        if (payloadLoggingEnabled)
+        {
+            java.util.logging.Logger logger = java.util.logging.Logger.getLogger("org.carlspring.strongbox.RestClient");
+            clientBuilder.register(new LoggingFeature(logger, Verbosity.PAYLOAD_TEXT));
+        }
+
+        return clientBuilder.withConfig(config)
                             .build();
     }
 
     @Override
     public CloseableHttpClient getHttpClient()
+    {
+        return getHttpClient(poolingHttpClientConnectionManager);
+    }
+
+    @Override
+    public CloseableHttpClient getHttpClient(String repository)
+    {
+        return getHttpClient(getRepositoryPool(repository).getConnectionManager());
+    }
+
+    private CloseableHttpClient getHttpClient(PoolingHttpClientConnectionManager connectionManager)
     {
         return HttpClients.custom()
                           .setConnectionManagerShared(true)
-                          .setConnectionManager(poolingHttpClientConnectionManager)
+                          .setConnectionManager(connectionManager)
+                          .setDefaultRequestConfig(RequestConfig.custom()
+                                                                .setConnectTimeout(getConnectTimeoutMillis())
+                                                                .setSocketTimeout(getSocketTimeoutMillis())
+                                                                .build())
                           .build();
     }
 
@@ -104,6 +183,7 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     public void setMaxTotal(int max)
     {
         poolingHttpClientConnectionManager.setMaxTotal(max);
+        connectionLimit.setMax(max);
     }
 
     @Override
@@ -116,6 +196,8 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
     public void setDefaultMaxPerRepository(int defaultMax)
     {
         poolingHttpClientConnectionManager.setDefaultMaxPerRoute(defaultMax);
+        repositoryPools.forEach((route, pool) -> pool.setMaxConnections(maxPerRepository.getOrDefault(route,
+                                                                                                      defaultMax)));
     }
 
     @Override
@@ -126,31 +208,144 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
         {
             HttpRoute httpRoute = getHttpRouteFromRepository(repository);
             poolingHttpClientConnectionManager.setMaxPerRoute(httpRoute, max);
+            maxPerRepository.put(httpRoute, max);
+            getRepositoryPool(httpRoute).setMaxConnections(max);
         }
         else
         {
-            LOGGER.warn("Not setting max repository connections to %s as it is no positive value", max);
+            LOGGER.warn("Not setting max repository connections to {} as it is no positive value", max);
         }
     }
 
+    /**
+     * @return the stats of all the pools, with the max connections of all
+     *         the pools together
+     */
     @Override
     public PoolStats getTotalStats()
     {
-        return poolingHttpClientConnectionManager.getTotalStats();
+        PoolStats totalStats = poolingHttpClientConnectionManager.getTotalStats();
+        int leased = totalStats.getLeased();
+        int pending = totalStats.getPending();
+        int available = totalStats.getAvailable();
+        for (ProxyRepositoryConnectionPool pool : repositoryPools.values())
+        {
+            PoolStats poolStats = pool.getConnectionManager().getTotalStats();
+            leased += poolStats.getLeased();
+            pending += poolStats.getPending();
+            available += poolStats.getAvailable();
+        }
+
+        return new PoolStats(leased, pending, available, connectionLimit.getMax());
     }
 
     @Override
     public PoolStats getPoolStats(String repository)
     {
-        HttpRoute httpRoute = getHttpRouteFromRepository(repository);
-        return poolingHttpClientConnectionManager.getStats(httpRoute);
+        return getRepositoryPool(repository).getStats();
+    }
+
+    @Override
+    public Collection<ProxyRepositoryConnectionPool> getRepositoryPools()
+    {
+        return Collections.unmodifiableCollection(repositoryPools.values());
+    }
+
+    @Override
+    public synchronized void addRepositoryPoolListener(Consumer<ProxyRepositoryConnectionPool> listener)
+    {
+        repositoryPoolListeners.add(listener);
+        repositoryPools.values().forEach(listener);
+    }
+
+    @Override
+    public synchronized void removeRepositoryPools(Collection<String> repositories,
+                                                   Collection<String> retainedRepositories)
+    {
+        Set<HttpRoute> retainedRoutes = retainedRepositories.stream()
+                                                            .map(this::getHttpRouteFromRepository)
+                                                            .collect(Collectors.toSet());
+        for (String repository : repositories)
+        {
+            HttpRoute httpRoute = getHttpRouteFromRepository(repository);
+            if (retainedRoutes.contains(httpRoute))
+            {
+                continue;
+            }
+
+            maxPerRepository.remove(httpRoute);
+
+            ProxyRepositoryConnectionPool pool = repositoryPools.remove(httpRoute);
+            if (pool != null)
+            {
+                pool.close();
+
+                LOGGER.debug("Closed connection pool [{}].", pool.getName());
+            }
+        }
     }
 
     @Override
     public void shutdown()
     {
         idleConnectionMonitorThread.shutdown();
-        poolingHttpClientConnectionManager.shutdown();
+        getConnectionManagers().forEach(PoolingHttpClientConnectionManager::shutdown);
+    }
+
+    private ProxyRepositoryConnectionPool getRepositoryPool(String repository)
+    {
+        return getRepositoryPool(getHttpRouteFromRepository(repository));
+    }
+
+    private ProxyRepositoryConnectionPool getRepositoryPool(HttpRoute httpRoute)
+    {
+        ProxyRepositoryConnectionPool pool = repositoryPools.get(httpRoute);
+
+        return pool != null ? pool : createRepositoryPool(httpRoute);
+    }
+
+    private synchronized ProxyRepositoryConnectionPool createRepositoryPool(HttpRoute httpRoute)
+    {
+        ProxyRepositoryConnectionPool pool = repositoryPools.get(httpRoute);
+        if (pool != null)
+        {
+            return pool;
+        }
+
+        pool = new ProxyRepositoryConnectionPool(httpRoute,
+                                                 connectionLimit,
+                                                 maxPerRepository.getOrDefault(httpRoute, getDefaultMaxPerRepository()),
+                                                 TimeUnit.SECONDS.toMillis(keepAliveInSeconds),
+                                                 getSocketTimeoutMillis());
+        repositoryPools.put(httpRoute, pool);
+
+        LOGGER.debug("Created connection pool [{}].", pool.getName());
+
+        for (Consumer<ProxyRepositoryConnectionPool> listener : repositoryPoolListeners)
+        {
+            listener.accept(pool);
+        }
+
+        return pool;
+    }
+
+    private Collection<PoolingHttpClientConnectionManager> getConnectionManagers()
+    {
+        List<PoolingHttpClientConnectionManager> result = new ArrayList<>();
+        result.add(poolingHttpClientConnectionManager);
+        repositoryPools.values().forEach(pool -> result.add(pool.getConnectionManager()));
+
+        return result;
+    }
+
+    private int getConnectTimeoutMillis()
+    {
+        return (int) TimeUnit.SECONDS.toMillis(connectTimeoutInSeconds);
+    }
+
+    private int getSocketTimeoutMillis()
+    {
+        return (int) TimeUnit.SECONDS.toMillis(socketTimeoutInSeconds);
     }
 
     // code to create HttpRoute the same as in apache library
@@ -195,17 +390,17 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
             extends Thread
     {
 
-        private PoolingHttpClientConnectionManager poolingHttpClientConnectionManager;
+        private Supplier<Collection<PoolingHttpClientConnectionManager>> connectionManagers;
 
         private volatile boolean shutdown;
 
         private int idleConnectionsTimeout;
 
-        IdleConnectionMonitorThread(PoolingHttpClientConnectionManager poolingHttpClientConnectionManager,
+        IdleConnectionMonitorThread(Supplier<Collection<PoolingHttpClientConnectionManager>> connectionManagers,
                                     int idleConnectionsTimeout)
         {
             super();
-            this.poolingHttpClientConnectionManager = poolingHttpClientConnectionManager;
+            this.connectionManagers = connectionManagers;
             this.idleConnectionsTimeout = idleConnectionsTimeout;
         }
 
@@ -219,9 +414,11 @@ public class ProxyRepositoryConnectionPoolConfigurationServiceImpl
                     synchronized (this)
                     {
                         wait(5000);
-                        poolingHttpClientConnectionManager.closeExpiredConnections();
-                        poolingHttpClientConnectionManager.closeIdleConnections(idleConnectionsTimeout,
-                                                                                TimeUnit.SECONDS);
+                        for (PoolingHttpClientConnectionManager connectionManager : connectionManagers.get())
+                        {
+                            connectionManager.closeExpiredConnections();
+                            connectionManager.closeIdleConnections(idleConnectionsTimeout, TimeUnit.SECONDS);
+                        }
                     }
                 }
             }
@@ -0,0 +1,94 @@
+package org.carlspring.strongbox.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.routing.HttpRoute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProxyRepositoryConnectionPoolTest
+{
+
+    private ProxyRepositoryConnectionPool firstPool;
+
+    private ProxyRepositoryConnectionPool secondPool;
+
+    @AfterEach
+    public void tearDown()
+    {
+        firstPool.close();
+        secondPool.close();
+    }
+
+    @Test
+    public void saturatedPoolShouldNotBlockAnotherPool()
+            throws Exception
+    {
+        createPools(new ProxyRepositoryConnectionLimit(10));
+
+        assertNotNull(lease(firstPool));
+        assertThrows(ConnectionPoolTimeoutException.class, () -> lease(firstPool));
+
+        assertNotNull(lease(secondPool));
+        assertEquals(1, firstPool.getLeased());
+        assertEquals(1, secondPool.getLeased());
+    }
+
+    @Test
+    public void poolsShouldShareTotalLimit()
+            throws Exception
+    {
+        createPools(new ProxyRepositoryConnectionLimit(1));
+
+        HttpClientConnection connection = lease(firstPool);
+        assertThrows(ConnectionPoolTimeoutException.class, () -> lease(secondPool));
+        // The connection is returned to the pool, once it didn't get the permit.
+        assertEquals(0, secondPool.getLeased());
+
+        firstPool.getConnectionManager().releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+        // The second release doesn't free one more permit.
+        firstPool.getConnectionManager().releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        assertNotNull(lease(secondPool));
+        assertThrows(ConnectionPoolTimeoutException.class, () -> lease(firstPool));
+    }
+
+    @Test
+    public void closedPoolShouldReleaseTotalLimit()
+            throws Exception
+    {
+        createPools(new ProxyRepositoryConnectionLimit(1));
+
+        AtomicBoolean closed = new AtomicBoolean();
+        firstPool.addCloseListener(() -> closed.set(true));
+
+        lease(firstPool);
+        firstPool.close();
+
+        assertTrue(closed.get());
+        assertNotNull(lease(secondPool));
+    }
+
+    private void createPools(ProxyRepositoryConnectionLimit connectionLimit)
+    {
+        firstPool = new ProxyRepositoryConnectionPool(new HttpRoute(new HttpHost("localhost", 8081, "http")),
+                                                      connectionLimit, 1, 1000, 1000);
+        secondPool = new ProxyRepositoryConnectionPool(new HttpRoute(new HttpHost("localhost", 8082, "http")),
+                                                       connectionLimit, 1, 1000, 1000);
+    }
+
+    private HttpClientConnection lease(ProxyRepositoryConnectionPool pool)
+            throws Exception
+    {
+        return pool.getConnectionManager().requestConnection(pool.getRoute(), null).get(100, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -7,6 +7,7 @@ import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionConfig.MaxSizePolicy;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.GroupConfig;
+import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.MaxSizeConfig;
 import com.hazelcast.config.NearCacheConfig;
@@ -23,6 +24,8 @@ public class HazelcastConfiguration
 {
 
     public static final int ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL = 60;
+    public static final int ARTIFACT_ENTRY_CACHE_MAX_SIZE = 100000;
+    public static final int ARTIFACT_ENTRY_NEAR_CACHE_MAX_SIZE = 10000;
     public static final int AUTHENTICATION_CACHE_INVALIDATE_INTERVAL = 10;
 
     public static MapConfig authenticationCacheConfig(String name)
@@ -36,11 +39,18 @@ public class HazelcastConfiguration
 
     public static MapConfig artifactEntryCacheConfig(String name)
     {
-        return new MapConfig().setName(name).setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
-                                                                                     .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
-                                                                                                                            .setSize(100))
-                                                                                     .setInvalidateOnChange(true)
-                                                                                     .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
+        return new MapConfig().setName(name)
+                              .setMaxSizeConfig(new MaxSizeConfig(ARTIFACT_ENTRY_CACHE_MAX_SIZE,
+                                                                  MaxSizeConfig.MaxSizePolicy.PER_NODE))
+                              .setEvictionPolicy(EvictionPolicy.LRU)
+                              .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL)
+                              .setNearCacheConfig(new NearCacheConfig().setCacheLocalEntries(true)
+                                                                       .setInMemoryFormat(InMemoryFormat.OBJECT)
+                                                                       .setEvictionConfig(new EvictionConfig().setMaximumSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                                                                                                              .setEvictionPolicy(EvictionPolicy.LRU)
+                                                                                                              .setSize(ARTIFACT_ENTRY_NEAR_CACHE_MAX_SIZE))
+                                                                       .setInvalidateOnChange(true)
+                                                                       .setTimeToLiveSeconds(ARTIFACT_ENTRY_CACHE_INVALIDATE_INTERVAL));
     }
 
     public static MapConfig newDefaultMapConfig(String name)
@@ -68,6 +78,7 @@ public class HazelcastConfiguration
         final Config config = new Config().setInstanceName(hazelcastInstanceId.getInstanceName())
                                           .addMapConfig(newDefaultMapConfig(CacheName.Repository.REMOTE_REPOSITORY_ALIVENESS))
                                           .addMapConfig(newDefaultMapConfig(CacheName.Artifact.TAGS))
+                                          .addMapConfig(artifactEntryCacheConfig(CacheName.Artifact.ARTIFACT_ENTRIES))
                                           .addMapConfig(authenticationCacheConfig(CacheName.User.AUTHENTICATIONS));
         config.setGroupConfig(new GroupConfig("strongbox", "password"));
         config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
@@ -110,6 +110,11 @@ public class OQueryTemplate<R, T extends GenericEntity> implements QueryTemplate
         sb.append(" WHERE ");
         sb.append(predicateToken(p, 0));
 
+        if (selector.getGroupBy() != null && !selector.getGroupBy().trim().isEmpty())
+        {
+            sb.append(String.format(" GROUP BY %s", selector.getGroupBy()));
+        }
+
         Paginator paginator = selector.getPaginator();
         if (paginator != null && paginator.getProperty() != null && !paginator.getProperty().trim().isEmpty())
         {
@@ -21,6 +21,8 @@ public class Selector<T extends GenericEntity>
     private Predicate predicate;
 
     private boolean fetch;
+
+    private String groupBy;
     
     private Paginator paginator = new Paginator();
 
@@ -72,6 +74,17 @@ public class Selector<T extends GenericEntity>
         return this;
     }
 
+    public String getGroupBy()
+    {
+        return groupBy;
+    }
+
+    public Selector<T> groupBy(String groupBy)
+    {
+        this.groupBy = groupBy;
+        return this;
+    }
+
     public Paginator getPaginator()
     {
         return paginator;
@@ -2,23 +2,43 @@ package org.carlspring.strongbox.config;
 
 import javax.servlet.ServletContext;
 
-import org.carlspring.strongbox.event.EventExecutorFactoryBean;
+import org.carlspring.strongbox.event.AsyncEventListenerPostProcessor;
+import org.carlspring.strongbox.event.EventTaskExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.env.Environment;
 
 @Configuration
 @ComponentScan({ "org.carlspring.strongbox.event" })
-@EnableAsync
 public class EventsConfig
 {
 
     @Bean
-    public EventExecutorFactoryBean eventTaskExecutor(@Autowired(required = false) ServletContext servletContext)
+    public static AsyncEventListenerPostProcessor asyncEventListenerPostProcessor()
     {
-        return new EventExecutorFactoryBean(servletContext);
+        return new AsyncEventListenerPostProcessor();
+    }
+
+    /**
+     * The events are processed asynchronously only within the servlet
+     * container by default (the test environment expects them to be
+     * synchronous), this can be overridden with
+     * <code>strongbox.event.executor.async</code>.
+     */
+    @Bean
+    public EventTaskExecutor eventTaskExecutor(@Autowired(required = false) ServletContext servletContext,
+                                               @Value("${strongbox.event.executor.async:#{null}}") Boolean async,
+                                               Environment environment)
+    {
+        if (async == null)
+        {
+            async = servletContext != null && servletContext.getAttribute("org.eclipse.jetty.server.Executor") != null;
+        }
+
+        return new EventTaskExecutor(async, environment);
     }
 
 }
@@ -0,0 +1,67 @@
+package org.carlspring.strongbox.event;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands the {@link AsyncEventListener} invocations over to the
+ * {@link EventTaskExecutor}, so that they are queued per event type.
+ *
+ * @see AsyncEventListenerPostProcessor
+ */
+public class AsyncEventListenerInterceptor
+        implements MethodInterceptor
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncEventListenerInterceptor.class);
+
+    private final Supplier<EventTaskExecutor> eventTaskExecutor;
+
+    /**
+     * @param eventTaskExecutor
+     *            the executor lookup, so that the executor is not created
+     *            along with the post processors
+     */
+    public AsyncEventListenerInterceptor(Supplier<EventTaskExecutor> eventTaskExecutor)
+    {
+        this.eventTaskExecutor = eventTaskExecutor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation)
+    {
+        Runnable task = () -> {
+            try
+            {
+                invocation.proceed();
+            }
+            catch (Throwable e)
+            {
+                logger.error(String.format("Unexpected exception occurred invoking async event listener [%s] with %s",
+                                           invocation.getMethod(),
+                                           Arrays.toString(invocation.getArguments())),
+                             e);
+            }
+        };
+
+        Object[] args = invocation.getArguments();
+        Object event = args.length > 0 ? args[0] : null;
+        if (event instanceof Event)
+        {
+            Object listener = Arrays.asList(invocation.getThis(), invocation.getMethod());
+            eventTaskExecutor.get().execute((Event) event, listener, task);
+        }
+        else
+        {
+            eventTaskExecutor.get().execute(task);
+        }
+
+        return null;
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.carlspring.strongbox.event;
+
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.BeanFactory;
+
+/**
+ * Proxies only the beans with the {@link AsyncEventListener} methods, the
+ * same way as <code>@EnableAsync</code> does for the <code>@Async</code>
+ * ones, rather than to enable the auto proxying for all the beans.
+ * <br>
+ * The interceptor goes before the existing advisors, so the other
+ * interceptors (transactions for example) are applied within the worker
+ * thread.
+ */
+public class AsyncEventListenerPostProcessor
+        extends AbstractBeanFactoryAwareAdvisingPostProcessor
+{
+
+    public AsyncEventListenerPostProcessor()
+    {
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory)
+    {
+        super.setBeanFactory(beanFactory);
+
+        AsyncEventListenerInterceptor interceptor = new AsyncEventListenerInterceptor(
+                () -> beanFactory.getBean(EventTaskExecutor.class));
+
+        this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(AsyncEventListener.class),
+                                                  interceptor);
+    }
+
+}
@@ -0,0 +1,22 @@
+package org.carlspring.strongbox.event;
+
+/**
+ * Defines what happens with the event task if the {@link EventQueue} is
+ * full.
+ */
+public enum EventOverflowPolicy
+{
+
+    /**
+     * The task is executed within the thread which published the event, so
+     * the publisher is slowed down until the queue has been drained. Note
+     * that the publisher is usually the HTTP request thread.
+     */
+    CALLER_RUNS,
+
+    /**
+     * The task is dropped (and counted as rejected), this is the default.
+     */
+    DISCARD;
+
+}
@@ -0,0 +1,200 @@
+package org.carlspring.strongbox.event;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded queue with the dedicated worker threads, which executes the async
+ * event tasks of one event type.
+ * <br>
+ * The tasks can be submitted with a coalescing key: if there is already a
+ * task with the same key waiting in the queue, the new one is skipped, since
+ * it would do the same work. The key is released as soon as the task has
+ * been started, so the events which come during the execution are not lost.
+ *
+ * @see EventTaskExecutor
+ */
+public class EventQueue
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(EventQueue.class);
+
+    private final String name;
+
+    private final EventOverflowPolicy overflowPolicy;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Set<Object> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder submitted = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public EventQueue(String name,
+                      int workers,
+                      int capacity,
+                      EventOverflowPolicy overflowPolicy)
+    {
+        this.name = name;
+        this.overflowPolicy = overflowPolicy;
+        this.executor = new ThreadPoolExecutor(workers,
+                                               workers,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new LinkedBlockingQueue<>(capacity),
+                                               new CustomizableThreadFactory(String.format("event-%s-", name)),
+                                               new OverflowHandler());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * @param key
+     *            the coalescing key, or <code>null</code> if the task should
+     *            always be executed
+     * @param task
+     *            the task
+     */
+    public void execute(Object key,
+                        Runnable task)
+    {
+        if (key != null && !pendingKeys.add(key))
+        {
+            coalesced.increment();
+
+            return;
+        }
+
+        submitted.increment();
+        executor.execute(new EventTask(key, task));
+    }
+
+    /**
+     * @return amount of tasks waiting in the queue
+     */
+    public int getDepth()
+    {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return amount of tasks being executed right now
+     */
+    public int getActiveCount()
+    {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return how long the oldest task has been waiting in the queue, in milliseconds
+     */
+    public long getLagMillis()
+    {
+        EventTask head = (EventTask) executor.getQueue().peek();
+
+        return head == null ? 0L : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - head.enqueued);
+    }
+
+    public long getSubmittedCount()
+    {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount()
+    {
+        return executor.getCompletedTaskCount();
+    }
+
+    public long getCoalescedCount()
+    {
+        return coalesced.sum();
+    }
+
+    public long getRejectedCount()
+    {
+        return rejected.sum();
+    }
+
+    public void shutdown(long timeoutMillis)
+        throws InterruptedException
+    {
+        executor.shutdown();
+        if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS))
+        {
+            logger.warn("Event queue [{}] terminated with [{}] pending tasks.", name, executor.shutdownNow().size());
+        }
+    }
+
+    private class EventTask implements Runnable
+    {
+
+        private final Object key;
+
+        private final Runnable task;
+
+        private final long enqueued = System.nanoTime();
+
+        private EventTask(Object key,
+                          Runnable task)
+        {
+            this.key = key;
+            this.task = task;
+        }
+
+        @Override
+        public void run()
+        {
+            release();
+            task.run();
+        }
+
+        private void release()
+        {
+            if (key != null)
+            {
+                pendingKeys.remove(key);
+            }
+        }
+
+    }
+
+    private class OverflowHandler implements RejectedExecutionHandler
+    {
+
+        @Override
+        public void rejectedExecution(Runnable r,
+                                      ThreadPoolExecutor e)
+        {
+            rejected.increment();
+
+            EventTask eventTask = (EventTask) r;
+            if (overflowPolicy == EventOverflowPolicy.CALLER_RUNS && !e.isShutdown())
+            {
+                eventTask.run();
+
+                return;
+            }
+
+            eventTask.release();
+            logger.warn("Event queue [{}] is full, the task has been discarded.", name);
+        }
+
+    }
+
+}
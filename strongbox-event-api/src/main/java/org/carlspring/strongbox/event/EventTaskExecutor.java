@@ -0,0 +1,200 @@
+package org.carlspring.strongbox.event;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Executes the {@link AsyncEventListener} tasks with the worker threads
+ * dedicated to the events, so the background event processing can't starve
+ * the HTTP request threads.
+ * <br>
+ * Each event type (event class and {@link Event#getType()}) has its own
+ * {@link EventQueue}, the plain {@link Runnable}s go to the
+ * {@value #DEFAULT_QUEUE} queue. The queues are configured with the
+ * following properties, where the most specific one wins:
+ * <ul>
+ * <li><code>strongbox.event.executor.[ArtifactEvent-1].[setting]</code></li>
+ * <li><code>strongbox.event.executor.[ArtifactEvent].[setting]</code></li>
+ * <li><code>strongbox.event.executor.[setting]</code></li>
+ * </ul>
+ * The settings are <code>workers</code>, <code>queueCapacity</code> and
+ * <code>overflowPolicy</code> (see {@link EventOverflowPolicy}, the tasks
+ * are discarded by default, so that they never run within the request
+ * threads).
+ * <br>
+ * If the executor is not <code>async</code> the tasks are executed within
+ * the caller thread.
+ */
+public class EventTaskExecutor
+        implements Executor, DisposableBean
+{
+
+    public static final String DEFAULT_QUEUE = "default";
+
+    private static final String PROPERTY_PREFIX = "strongbox.event.executor.";
+
+    private static final Logger logger = LoggerFactory.getLogger(EventTaskExecutor.class);
+
+    private final ConcurrentMap<String, EventQueue> queues = new ConcurrentHashMap<>();
+
+    private final List<Consumer<EventQueue>> queueListeners = new CopyOnWriteArrayList<>();
+
+    private final boolean async;
+
+    private final Environment environment;
+
+    public EventTaskExecutor(boolean async,
+                             Environment environment)
+    {
+        this.async = async;
+        this.environment = environment;
+
+        logger.info(String.format("Using [%s] executor for Async events.", async ? "dedicated" : "caller thread"));
+    }
+
+    public boolean isAsync()
+    {
+        return async;
+    }
+
+    @Override
+    public void execute(Runnable task)
+    {
+        execute(DEFAULT_QUEUE, null, task);
+    }
+
+    /**
+     * Executes the listener task for the event. The tasks of the same listener
+     * for the same {@link RepositoryBasedEvent} type and path, which are still
+     * waiting in the queue, are coalesced.
+     *
+     * @param event
+     *            the event which is handled by the task
+     * @param listener
+     *            the listener identity
+     * @param task
+     *            the listener task
+     */
+    public void execute(Event event,
+                        Object listener,
+                        Runnable task)
+    {
+        Object key = null;
+        if (event instanceof RepositoryBasedEvent)
+        {
+            key = Arrays.asList(listener, event.getClass(), event.getType(), ((RepositoryBasedEvent<?>) event).getPath());
+        }
+
+        execute(String.format("%s-%s", event.getClass().getSimpleName(), event.getType()), key, task);
+    }
+
+    /**
+     * @return the queues created so far
+     */
+    public Collection<EventQueue> getQueues()
+    {
+        return Collections.unmodifiableCollection(queues.values());
+    }
+
+    /**
+     * Registers the callback which will be notified about all the existing
+     * and newly created queues, for example to expose the queue metrics.
+     *
+     * @param listener
+     *            the callback
+     */
+    public synchronized void addQueueListener(Consumer<EventQueue> listener)
+    {
+        queueListeners.add(listener);
+        queues.values().forEach(listener);
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        for (EventQueue queue : queues.values())
+        {
+            queue.shutdown(getSetting(queue.getName(), "shutdownTimeoutMillis", Long.class, 10000L));
+        }
+    }
+
+    private void execute(String queueName,
+                         Object key,
+                         Runnable task)
+    {
+        if (!async)
+        {
+            task.run();
+
+            return;
+        }
+
+        EventQueue queue = queues.get(queueName);
+        if (queue == null)
+        {
+            queue = createQueue(queueName);
+        }
+
+        queue.execute(key, task);
+    }
+
+    private synchronized EventQueue createQueue(String queueName)
+    {
+        EventQueue queue = queues.get(queueName);
+        if (queue != null)
+        {
+            return queue;
+        }
+
+        queue = new EventQueue(queueName,
+                               getSetting(queueName, "workers", Integer.class, 4),
+                               getSetting(queueName, "queueCapacity", Integer.class, 10000),
+                               getSetting(queueName, "overflowPolicy", EventOverflowPolicy.class,
+                                          EventOverflowPolicy.DISCARD));
+        queues.put(queueName, queue);
+
+        logger.debug("Created event queue [{}].", queueName);
+
+        for (Consumer<EventQueue> listener : queueListeners)
+        {
+            listener.accept(queue);
+        }
+
+        return queue;
+    }
+
+    private <T> T getSetting(String queueName,
+                             String setting,
+                             Class<T> type,
+                             T defaultValue)
+    {
+        T result = environment.getProperty(PROPERTY_PREFIX + queueName + "." + setting, type);
+        if (result != null)
+        {
+            return result;
+        }
+
+        int i = queueName.lastIndexOf('-');
+        if (i > 0 && (result = environment.getProperty(PROPERTY_PREFIX + queueName.substring(0, i) + "." + setting,
+                                                       type)) != null)
+        {
+            return result;
+        }
+
+        return environment.getProperty(PROPERTY_PREFIX + setting, type, defaultValue);
+    }
+
+}
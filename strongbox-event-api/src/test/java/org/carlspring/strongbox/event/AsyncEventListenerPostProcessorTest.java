@@ -0,0 +1,110 @@
+package org.carlspring.strongbox.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncEventListenerPostProcessorTest
+{
+
+    private AnnotationConfigApplicationContext context;
+
+    @AfterEach
+    public void tearDown()
+    {
+        context.close();
+    }
+
+    @Test
+    public void shouldProxyAsyncEventListenersOnly()
+        throws Exception
+    {
+        context = new AnnotationConfigApplicationContext(TestConfig.class);
+
+        TestListener listener = context.getBean(TestListener.class);
+        assertTrue(AopUtils.isAopProxy(listener));
+        assertFalse(AopUtils.isAopProxy(context.getBean(TestService.class)));
+
+        context.publishEvent(new Event(1));
+
+        // The fields of the proxy are not initialized, so the state is taken through the target.
+        assertTrue(listener.getHandled().await(1, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), listener.getThread());
+    }
+
+    @Configuration
+    public static class TestConfig
+    {
+
+        @Bean
+        public static AsyncEventListenerPostProcessor asyncEventListenerPostProcessor()
+        {
+            return new AsyncEventListenerPostProcessor();
+        }
+
+        @Bean
+        public EventTaskExecutor eventTaskExecutor(Environment environment)
+        {
+            return new EventTaskExecutor(true, environment);
+        }
+
+        @Bean
+        public TestListener testListener()
+        {
+            return new TestListener();
+        }
+
+        @Bean
+        public TestService testService()
+        {
+            return new TestService();
+        }
+
+    }
+
+    public static class TestListener
+    {
+
+        private final CountDownLatch handled = new CountDownLatch(1);
+
+        private volatile Thread thread;
+
+        public CountDownLatch getHandled()
+        {
+            return handled;
+        }
+
+        public Thread getThread()
+        {
+            return thread;
+        }
+
+        @AsyncEventListener
+        public void handle(Event event)
+        {
+            thread = Thread.currentThread();
+            handled.countDown();
+        }
+
+    }
+
+    public static class TestService
+    {
+
+        public void handle(Event event)
+        {
+        }
+
+    }
+
+}
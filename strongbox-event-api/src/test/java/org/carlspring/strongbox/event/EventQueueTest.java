@@ -0,0 +1,125 @@
+package org.carlspring.strongbox.event;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EventQueueTest
+{
+
+    private EventQueue queue;
+
+    @AfterEach
+    public void tearDown()
+        throws InterruptedException
+    {
+        queue.shutdown(1000L);
+    }
+
+    @Test
+    public void testDuplicatesCoalesced()
+        throws Exception
+    {
+        queue = new EventQueue("test", 1, 10, EventOverflowPolicy.CALLER_RUNS);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        queue.execute(null, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // The worker is busy, so these are waiting in the queue.
+        for (int i = 0; i < 5; i++)
+        {
+            queue.execute("a.jar", executed::incrementAndGet);
+        }
+        queue.execute("b.jar", executed::incrementAndGet);
+
+        assertEquals(2, queue.getDepth());
+        assertEquals(4L, queue.getCoalescedCount());
+
+        release.countDown();
+        queue.shutdown(1000L);
+
+        assertEquals(2, executed.get());
+        assertEquals(3L, queue.getCompletedCount());
+    }
+
+    @Test
+    public void testOverflowDiscard()
+        throws Exception
+    {
+        queue = new EventQueue("test", 1, 1, EventOverflowPolicy.DISCARD);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        queue.execute(null, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        queue.execute("a.jar", executed::incrementAndGet);
+        queue.execute("b.jar", executed::incrementAndGet);
+
+        assertEquals(1L, queue.getRejectedCount());
+
+        release.countDown();
+        queue.shutdown(1000L);
+
+        assertEquals(1, executed.get());
+    }
+
+    @Test
+    public void testOverflowCallerRuns()
+        throws Exception
+    {
+        queue = new EventQueue("test", 1, 1, EventOverflowPolicy.CALLER_RUNS);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executed = new AtomicInteger();
+
+        queue.execute(null, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        queue.execute("a.jar", executed::incrementAndGet);
+        queue.execute("b.jar", executed::incrementAndGet);
+
+        // The overflowed task has been executed by the caller.
+        assertEquals(1, executed.get());
+        assertEquals(1L, queue.getRejectedCount());
+
+        release.countDown();
+        queue.shutdown(1000L);
+
+        assertEquals(2, executed.get());
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
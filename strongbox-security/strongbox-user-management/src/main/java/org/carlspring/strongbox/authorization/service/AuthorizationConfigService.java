@@ -22,6 +22,12 @@ public interface AuthorizationConfigService
 
     AuthorizationConfig get();
 
+    /**
+     * @return the revision which changes on each configuration change, so that
+     *         the values calculated from the configuration can be reused
+     */
+    long getRevision();
+
     void addRole(RoleDto role);
 
     boolean deleteRole(String roleName);
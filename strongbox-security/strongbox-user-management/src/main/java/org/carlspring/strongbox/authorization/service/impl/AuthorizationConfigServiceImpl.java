@@ -16,6 +16,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -47,6 +48,8 @@ public class AuthorizationConfigServiceImpl
      */
     private AuthorizationConfigDto authorizationConfig;
 
+    private final AtomicLong revision = new AtomicLong();
+
     private static void throwIfNotEmpty(Sets.SetView<String> intersectionView,
                                         String message)
     {
@@ -113,6 +116,12 @@ public class AuthorizationConfigServiceImpl
         }
     }
 
+    @Override
+    public long getRevision()
+    {
+        return revision.get();
+    }
+
     @Override
     public void addRole(final RoleDto role)
     {
@@ -172,6 +181,7 @@ public class AuthorizationConfigServiceImpl
         try
         {
             operation.accept(authorizationConfig);
+            revision.incrementAndGet();
 
             if (storeInFile)
             {
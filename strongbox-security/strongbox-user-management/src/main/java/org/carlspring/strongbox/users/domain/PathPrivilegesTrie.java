@@ -0,0 +1,158 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.authorization.dto.PrivelegieReadContract;
+import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
+import org.carlspring.strongbox.users.dto.UserPathPrivelegiesReadContract;
+import org.carlspring.strongbox.users.dto.UserRepositoryReadContract;
+import org.carlspring.strongbox.users.dto.UserStorageReadContract;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@link UserAccessModelReadContract} compiled into the trie of the
+ * <code>/storages/{storageId}/{repositoryId}/{path}</code> URL segments, so
+ * that the URL privileges are resolved in one pass over the URL instead of the
+ * access model scan.
+ * <br>
+ * The storage, repository and path are matched by whole segments: the
+ * repository privileges apply to the repository and anything within it, the
+ * wildcard path privileges apply to the path and anything within it, and the
+ * other path privileges apply to the path only.
+ */
+@Immutable
+public class PathPrivilegesTrie
+{
+
+    public static final PathPrivilegesTrie EMPTY = new PathPrivilegesTrie(new Node());
+
+    private static final String STORAGES_PREFIX = "/storages/";
+
+    private final Node root;
+
+    private PathPrivilegesTrie(Node root)
+    {
+        this.root = root;
+    }
+
+    public static PathPrivilegesTrie compile(UserAccessModelReadContract accessModel)
+    {
+        if (accessModel == null)
+        {
+            return EMPTY;
+        }
+
+        Node root = new Node();
+        for (UserStorageReadContract storage : accessModel.getStorages())
+        {
+            Node storageNode = root.child(storage.getStorageId());
+            for (UserRepositoryReadContract repository : storage.getRepositories())
+            {
+                Node repositoryNode = storageNode.child(repository.getRepositoryId());
+                addPrivileges(repositoryNode.wildcardPrivileges, repository.getRepositoryPrivileges());
+
+                for (UserPathPrivelegiesReadContract pathPrivilege : repository.getPathPrivileges())
+                {
+                    Node pathNode = repositoryNode;
+                    for (String segment : pathPrivilege.getPath().split("/"))
+                    {
+                        if (!segment.isEmpty())
+                        {
+                            pathNode = pathNode.child(segment);
+                        }
+                    }
+
+                    addPrivileges(pathPrivilege.isWildcard() ? pathNode.wildcardPrivileges : pathNode.privileges,
+                                  pathPrivilege.getPrivileges());
+                }
+            }
+        }
+
+        return new PathPrivilegesTrie(root);
+    }
+
+    private static void addPrivileges(Set<String> target,
+                                      Collection<? extends PrivelegieReadContract> privileges)
+    {
+        for (PrivelegieReadContract privilege : privileges)
+        {
+            target.add(privilege.getName());
+        }
+    }
+
+    /**
+     * @param url the request URL, like <code>/storages/storage0/releases/org/carlspring</code>
+     * @return the privileges of the URL, or the empty set if there are none
+     */
+    public Set<String> getPathPrivileges(String url)
+    {
+        if (url == null || !url.startsWith(STORAGES_PREFIX))
+        {
+            return Collections.emptySet();
+        }
+
+        Set<String> result = null;
+        Node node = root;
+        int length = url.length();
+        int start = STORAGES_PREFIX.length();
+        while (start < length)
+        {
+            int end = url.indexOf('/', start);
+            end = end < 0 ? length : end;
+            if (end == start)
+            {
+                start++;
+                continue;
+            }
+
+            node = node.children.get(url.substring(start, end));
+            if (node == null)
+            {
+                return result == null ? Collections.emptySet() : result;
+            }
+
+            result = collect(result, node.wildcardPrivileges);
+            start = end + 1;
+        }
+
+        result = collect(result, node.privileges);
+
+        return result == null ? Collections.emptySet() : result;
+    }
+
+    private static Set<String> collect(Set<String> result,
+                                       Set<String> privileges)
+    {
+        if (privileges.isEmpty())
+        {
+            return result;
+        }
+
+        result = result == null ? new HashSet<>() : result;
+        result.addAll(privileges);
+
+        return result;
+    }
+
+    private static class Node
+    {
+
+        private final Map<String, Node> children = new HashMap<>();
+
+        private final Set<String> privileges = new HashSet<>();
+
+        private final Set<String> wildcardPrivileges = new HashSet<>();
+
+        private Node child(String segment)
+        {
+            return children.computeIfAbsent(segment, k -> new Node());
+        }
+
+    }
+
+}
@@ -40,6 +40,8 @@ public class User implements Serializable, UserReadContract
     private final UserAccessModelReadContract accessModel;
 
     private final Date lastUpdate;
+
+    private transient volatile PathPrivilegesTrie pathPrivilegesTrie;
     
     public User(final UserDetails source) 
     {
@@ -110,6 +112,21 @@ public class User implements Serializable, UserReadContract
         return accessModel;
     }
 
+    /**
+     * @return the compiled {@link #getUserAccessModel()}, which is compiled
+     *         once per user instance
+     */
+    public PathPrivilegesTrie getPathPrivilegesTrie()
+    {
+        PathPrivilegesTrie result = pathPrivilegesTrie;
+        if (result == null)
+        {
+            pathPrivilegesTrie = result = PathPrivilegesTrie.compile(accessModel);
+        }
+
+        return result;
+    }
+
     public boolean isEnabled()
     {
         return enabled;
@@ -13,7 +13,9 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableSet;
@@ -38,6 +40,8 @@ public class AuthoritiesProvider
     @Inject
     private AuthorizationConfigFileManager authorizationConfigFileManager;
 
+    private volatile RoleAuthorities roleAuthorities = new RoleAuthorities(-1L);
+
     @PostConstruct
     void init()
     {
@@ -45,7 +49,25 @@ public class AuthoritiesProvider
         authorizationConfigService.setAuthorizationConfig(config);
     }
 
+    /**
+     * @return the authorities of the role, which are calculated once per
+     *         authorization configuration revision
+     */
     public Set<GrantedAuthority> getAuthoritiesByRoleName(final String roleName)
+    {
+        // The revision is read before the configuration, so the authorities are never older than the revision.
+        long revision = authorizationConfigService.getRevision();
+
+        RoleAuthorities current = roleAuthorities;
+        if (current.revision != revision)
+        {
+            roleAuthorities = current = new RoleAuthorities(revision);
+        }
+
+        return current.authorities.computeIfAbsent(roleName, this::calculateAuthorities);
+    }
+
+    private Set<GrantedAuthority> calculateAuthorities(final String roleName)
     {
         Set<GrantedAuthority> fullAuthorities = new HashSet<>();
         Set<Role> configuredRoles = new HashSet<>();
@@ -91,7 +113,7 @@ public class AuthoritiesProvider
             logger.warn("Unable to find predefined role by name " + roleName);
         }
 
-        return authorities;
+        return ImmutableSet.copyOf(authorities);
     }
 
     private void populate(Set<GrantedAuthority> fullAuthorities,
@@ -123,4 +145,19 @@ public class AuthoritiesProvider
                                                              .collect(Collectors.toSet()));
         return builder.build();
     }
+
+    private static class RoleAuthorities
+    {
+
+        private final long revision;
+
+        private final Map<String, Set<GrantedAuthority>> authorities = new ConcurrentHashMap<>();
+
+        private RoleAuthorities(long revision)
+        {
+            this.revision = revision;
+        }
+
+    }
+
 }
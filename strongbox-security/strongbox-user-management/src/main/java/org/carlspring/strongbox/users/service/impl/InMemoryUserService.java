@@ -1,5 +1,6 @@
 package org.carlspring.strongbox.users.service.impl;
 
+import org.carlspring.strongbox.authorization.service.AuthorizationConfigService;
 import org.carlspring.strongbox.data.CacheName;
 import org.carlspring.strongbox.users.domain.User;
 import org.carlspring.strongbox.users.domain.Users;
@@ -40,12 +41,21 @@ public class InMemoryUserService implements UserService
 
     private final ReadWriteLock usersLock = new ReentrantReadWriteLock();
 
+    /**
+     * The {@link User} instances (along with the flattened role authorities
+     * and the compiled access model), which are cleared on each modification.
+     */
+    private final Map<String, CachedUser> userCache = new ConcurrentHashMap<>();
+
     @Inject
     private SecurityTokenProvider tokenProvider;
 
     @Inject
     private AuthoritiesProvider authoritiesProvider;
 
+    @Inject
+    private AuthorizationConfigService authorizationConfigService;
+
     @Override
     public Users findAll()
     {
@@ -72,6 +82,13 @@ public class InMemoryUserService implements UserService
             return null;
         }
         
+        long authorizationRevision = authorizationConfigService.getRevision();
+        CachedUser cachedUser = userCache.get(username);
+        if (cachedUser != null && cachedUser.authorizationRevision == authorizationRevision)
+        {
+            return cachedUser.user;
+        }
+
         final Lock readLock = usersLock.readLock();
         readLock.lock();
 
@@ -97,7 +114,14 @@ public class InMemoryUserService implements UserService
                 }
             }
 
-            return optionalUserDto.map(User::new).orElse(null);
+            User user = optionalUserDto.map(User::new).orElse(null);
+            if (user != null)
+            {
+                // The modifications are not possible within the read lock, so the user can't be stale here.
+                userCache.put(username, new CachedUser(authorizationRevision, user));
+            }
+
+            return user;
         }
         finally
         {
@@ -233,7 +257,7 @@ public class InMemoryUserService implements UserService
         try
         {
             operation.accept(userMap);
-
+            userCache.clear();
         }
         finally
         {
@@ -253,6 +277,22 @@ public class InMemoryUserService implements UserService
                           .collect(Collectors.toCollection(HashSet::new));
     }
 
+    private static class CachedUser
+    {
+
+        private final long authorizationRevision;
+
+        private final User user;
+
+        private CachedUser(long authorizationRevision,
+                           User user)
+        {
+            this.authorizationRevision = authorizationRevision;
+            this.user = user;
+        }
+
+    }
+
     @Documented
     @Retention(RUNTIME)
     @Qualifier
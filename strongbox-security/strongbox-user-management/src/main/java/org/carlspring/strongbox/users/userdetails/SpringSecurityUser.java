@@ -2,6 +2,7 @@ package org.carlspring.strongbox.users.userdetails;
 
 import java.util.Collection;
 
+import org.carlspring.strongbox.users.domain.PathPrivilegesTrie;
 import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +23,8 @@ public class SpringSecurityUser
 
     private UserAccessModelReadContract accessModel;
 
+    private transient PathPrivilegesTrie pathPrivilegesTrie;
+
     private String url;
 
     private String securityKey;
@@ -96,6 +99,26 @@ public class SpringSecurityUser
     public void setAccessModel(UserAccessModelReadContract accessModel)
     {
         this.accessModel = accessModel;
+        this.pathPrivilegesTrie = null;
+    }
+
+    /**
+     * @return the compiled {@link #getAccessModel()}
+     */
+    public PathPrivilegesTrie getPathPrivilegesTrie()
+    {
+        PathPrivilegesTrie result = pathPrivilegesTrie;
+        if (result == null)
+        {
+            pathPrivilegesTrie = result = PathPrivilegesTrie.compile(accessModel);
+        }
+
+        return result;
+    }
+
+    public void setPathPrivilegesTrie(PathPrivilegesTrie pathPrivilegesTrie)
+    {
+        this.pathPrivilegesTrie = pathPrivilegesTrie;
     }
 
     public String getUrl()
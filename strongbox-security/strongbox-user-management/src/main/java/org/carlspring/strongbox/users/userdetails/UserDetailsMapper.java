@@ -31,6 +31,7 @@ public class UserDetailsMapper implements StrongboxUserToUserDetails
         springUser.setUsername(user.getUsername());
         springUser.setAuthorities(authorities);
         springUser.setAccessModel(user.getUserAccessModel());
+        springUser.setPathPrivilegesTrie(user.getPathPrivilegesTrie());
         springUser.setSecurityKey(user.getSecurityTokenKey());
 
         return springUser;
@@ -0,0 +1,86 @@
+package org.carlspring.strongbox.users.domain;
+
+import org.carlspring.strongbox.authorization.dto.PrivilegeDto;
+import org.carlspring.strongbox.users.dto.UserAccessModelDto;
+import org.carlspring.strongbox.users.dto.UserPathPrivilegesDto;
+import org.carlspring.strongbox.users.dto.UserRepositoryDto;
+import org.carlspring.strongbox.users.dto.UserStorageDto;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PathPrivilegesTrieTest
+{
+
+    private PathPrivilegesTrie trie;
+
+
+    @BeforeEach
+    public void setup()
+    {
+        UserRepositoryDto repository = new UserRepositoryDto();
+        repository.setRepositoryId("releases");
+        repository.getRepositoryPrivileges().add(new PrivilegeDto("ARTIFACTS_RESOLVE", "ARTIFACTS_RESOLVE"));
+
+        UserPathPrivilegesDto wildcardPath = new UserPathPrivilegesDto();
+        wildcardPath.setPath("org/carlspring");
+        wildcardPath.setWildcard(true);
+        wildcardPath.getPrivileges().add(new PrivilegeDto("ARTIFACTS_DELETE", "ARTIFACTS_DELETE"));
+        repository.getPathPrivileges().add(wildcardPath);
+
+        UserPathPrivilegesDto exactPath = new UserPathPrivilegesDto();
+        exactPath.setPath("com/mycorp/");
+        exactPath.getPrivileges().add(new PrivilegeDto("ARTIFACTS_DEPLOY", "ARTIFACTS_DEPLOY"));
+        repository.getPathPrivileges().add(exactPath);
+
+        UserStorageDto storage = new UserStorageDto();
+        storage.setStorageId("storage0");
+        storage.getRepositories().add(repository);
+
+        UserAccessModelDto accessModel = new UserAccessModelDto();
+        accessModel.getStorages().add(storage);
+
+        trie = PathPrivilegesTrie.compile(accessModel);
+    }
+
+    @Test
+    public void repositoryPrivilegesShouldApplyWithinRepository()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE")),
+                     trie.getPathPrivileges("/storages/storage0/releases"));
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE")),
+                     trie.getPathPrivileges("/storages/storage0/releases/com/foo/1.0/foo-1.0.jar"));
+    }
+
+    @Test
+    public void wildcardPathPrivilegesShouldApplyWithinPath()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE", "ARTIFACTS_DELETE")),
+                     trie.getPathPrivileges("/storages/storage0/releases/org/carlspring/foo/1.0/foo-1.0.jar"));
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE")),
+                     trie.getPathPrivileges("/storages/storage0/releases/org/carlspringfoo"));
+    }
+
+    @Test
+    public void pathPrivilegesShouldApplyToPathOnly()
+    {
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE", "ARTIFACTS_DEPLOY")),
+                     trie.getPathPrivileges("/storages/storage0/releases/com/mycorp/"));
+        assertEquals(new HashSet<>(Arrays.asList("ARTIFACTS_RESOLVE")),
+                     trie.getPathPrivileges("/storages/storage0/releases/com/mycorp/foo"));
+    }
+
+    @Test
+    public void otherUrlsShouldHaveNoPrivileges()
+    {
+        assertTrue(trie.getPathPrivileges("/storages/storage01/releases/org/carlspring").isEmpty());
+        assertTrue(trie.getPathPrivileges("/storages/storage0").isEmpty());
+        assertTrue(trie.getPathPrivileges("/api/configuration").isEmpty());
+    }
+
+}
@@ -7,6 +7,7 @@ import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.repository.RepositoryContentStamps;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 
 import javax.inject.Inject;
@@ -19,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.transaction.ChainedTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
 public abstract class AsyncArtifactEntryHandler
@@ -37,6 +39,9 @@ public abstract class AsyncArtifactEntryHandler
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private RepositoryContentStamps repositoryContentStamps;
+
     private final ArtifactEventTypeEnum eventType;
 
     public AsyncArtifactEntryHandler(ArtifactEventTypeEnum eventType)
@@ -45,6 +50,11 @@ public abstract class AsyncArtifactEntryHandler
         this.eventType = eventType;
     }
 
+    /**
+     * Runs within the {@link org.carlspring.strongbox.event.EventTaskExecutor}
+     * worker thread (or the publisher thread, if the executor is not async),
+     * and updates the {@link ArtifactEntry} within its own transaction.
+     */
     @AsyncEventListener
     public void handleEvent(final ArtifactEvent<RepositoryPath> event)
         throws IOException,
@@ -56,29 +66,21 @@ public abstract class AsyncArtifactEntryHandler
         }
 
         RepositoryPath repositoryPath = (RepositoryPath) event.getPath();
-        if (!RepositoryFiles.isArtifact(repositoryPath))
+        if (!supports(repositoryPath))
         {
             return;
         }
 
-        // TODO: this is needed just as workadound to have new transaction
-        // within this async event (expected to be replaced with
-        // just Propagation.REQUIRES_NEW after SB-1200)
-        Thread threadWithNewTransactionContext = new Thread(() -> {
-            try
-            {
-                handleLocked(repositoryPath);
-            }
-            catch (Exception e)
-            {
-                logger.error(String.format("Failed to handle async event [%s]",
-                                           AsyncArtifactEntryHandler.this.getClass().getSimpleName()),
-                             e);
-            }
-        });
-
-        threadWithNewTransactionContext.start();
-        threadWithNewTransactionContext.join();
+        try
+        {
+            handleLocked(repositoryPath);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            logger.error(String.format("Failed to handle async event [%s]",
+                                       AsyncArtifactEntryHandler.this.getClass().getSimpleName()),
+                         e);
+        }
     }
 
     private void handleLocked(RepositoryPath repositoryPath)
@@ -95,6 +97,8 @@ public abstract class AsyncArtifactEntryHandler
         } finally
         {
             lock.unlock();
+            // The documents generated from the artifact entries should not be identified with the stale stamp.
+            repositoryContentStamps.touch(repositoryPath.getRepository());
         }
     }
 
@@ -150,7 +154,10 @@ public abstract class AsyncArtifactEntryHandler
 
     private void handleTransactional(RepositoryPath repositoryPath)
     {
-        new TransactionTemplate(transactionManager).execute(t -> {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // The publisher transaction (if the event is handled within the publisher thread) is suspended.
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.execute(t -> {
             try
             {
                 ArtifactEntry result = handleEvent(repositoryPath);
@@ -173,6 +180,17 @@ public abstract class AsyncArtifactEntryHandler
         });
     }
 
+    /**
+     * @return <code>true</code> if the event of the path should be handled,
+     *         which is the case for any artifact by default
+     * @throws IOException
+     */
+    protected boolean supports(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return RepositoryFiles.isArtifact(repositoryPath);
+    }
+
     protected abstract ArtifactEntry handleEvent(RepositoryPath repositoryPath)
         throws IOException;
 
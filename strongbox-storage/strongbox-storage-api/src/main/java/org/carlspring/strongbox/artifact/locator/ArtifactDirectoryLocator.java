@@ -4,14 +4,30 @@ import org.carlspring.strongbox.artifact.locator.handlers.ArtifactDirectoryOpera
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Walks the directories of a repository and executes the {@link ArtifactDirectoryOperation} on each of them.
+ * <br>
+ * With the <code>parallelism</code> greater than one the subtrees are walked concurrently in a fork/join pool,
+ * without the global sorting of the paths. The children of each directory are still executed by one worker, in
+ * order, so the operations only need to be thread safe across the different subtrees.
+ *
  * @author mtodorov
  */
 public class ArtifactDirectoryLocator
@@ -19,6 +35,10 @@ public class ArtifactDirectoryLocator
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactDirectoryLocator.class);
 
+    public static final int DEFAULT_PARALLELISM = 1;
+
+    private static final long PROGRESS_REPORT_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
     private ArtifactDirectoryOperation operation;
 
     /**
@@ -27,31 +47,109 @@ public class ArtifactDirectoryLocator
      */
     private RepositoryPath basedir;
 
+    private int parallelism = DEFAULT_PARALLELISM;
+
+    private final AtomicLong visitedDirectories = new AtomicLong();
+
+    private final AtomicLong failedDirectories = new AtomicLong();
+
+    private final AtomicLong lastProgressReportTime = new AtomicLong();
+
+    private volatile long startTime;
+
     public void locateArtifactDirectories()
         throws IOException
     {
-        long startTime = System.currentTimeMillis();
+        startTime = System.currentTimeMillis();
+        lastProgressReportTime.set(startTime);
+        visitedDirectories.set(0);
+        failedDirectories.set(0);
 
         RepositoryPath startingPath = getStartingPath();
 
-        try (Stream<Path> pathStream = Files.walk(startingPath))
+        if (parallelism > 1)
         {
-            pathStream.filter(Files::isDirectory)
-                      // Skip directories which start with a dot (like, for example: .index)
-                      .filter(path -> !path.getFileName().toString().startsWith("."))
-                      // Note: Sorting can be expensive:
-                      .sorted()
-                      .forEach(this::execute);
+            locateInParallel(startingPath);
+        }
+        else
+        {
+            try (Stream<Path> pathStream = Files.walk(startingPath))
+            {
+                pathStream.filter(Files::isDirectory)
+                          // Skip directories which start with a dot (like, for example: .index)
+                          .filter(this::isNotHidden)
+                          // Note: Sorting can be expensive:
+                          .sorted()
+                          .forEach(this::execute);
+            }
         }
 
-        long endTime = System.currentTimeMillis();
-
-        logger.debug("Executed (cache: " + -operation.getVisitedRootPaths().size() + ")" +
-                     " visits in " + (endTime - startTime) + " ms.");
+        long duration = System.currentTimeMillis() - startTime;
+        String message = String.format("Operation [%s] visited [%s] directories (failed: [%s]) in [%s] ms, [%s] directories/s.",
+                                       operation.getClass().getSimpleName(),
+                                       visitedDirectories.get(),
+                                       failedDirectories.get(),
+                                       duration,
+                                       getThroughput());
+        if (duration >= PROGRESS_REPORT_INTERVAL_MILLIS)
+        {
+            logger.info(message);
+        }
+        else
+        {
+            logger.debug(message);
+        }
 
         getOperation().getVisitedRootPaths().clear();
     }
 
+    private void locateInParallel(RepositoryPath startingPath)
+    {
+        ForkJoinPool pool = new ForkJoinPool(parallelism, new LocatorThreadFactory(), null, false);
+        try
+        {
+            if (isNotHidden(startingPath))
+            {
+                execute(startingPath);
+            }
+            getOperation().getVisitedRootPaths().clear();
+
+            pool.invoke(new DirectoryTask(startingPath));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private List<RepositoryPath> listDirectories(RepositoryPath directory)
+    {
+        List<RepositoryPath> result = new ArrayList<>();
+        try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(directory,
+                                                                              p -> Files.isDirectory(p) &&
+                                                                                   isNotHidden(p)))
+        {
+            for (Path path : directoryStream)
+            {
+                result.add((RepositoryPath) path);
+            }
+        }
+        catch (IOException e)
+        {
+            failedDirectories.incrementAndGet();
+            logger.error(String.format("Failed to list directory [%s]", directory), e);
+        }
+        Collections.sort(result);
+
+        return result;
+    }
+
+    private boolean isNotHidden(Path path)
+    {
+        Path fileName = path.getFileName();
+        return fileName == null || !fileName.toString().startsWith(".");
+    }
+
     public RepositoryPath getStartingPath()
     {
         // The root path
@@ -78,6 +176,43 @@ public class ArtifactDirectoryLocator
         this.operation = operation;
     }
 
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism
+     *            the number of the workers to walk the repository with, the
+     *            directories are walked sequentially (and sorted) if it's
+     *            not greater than one
+     */
+    public void setParallelism(int parallelism)
+    {
+        this.parallelism = parallelism;
+    }
+
+    public long getVisitedDirectoriesCount()
+    {
+        return visitedDirectories.get();
+    }
+
+    public long getFailedDirectoriesCount()
+    {
+        return failedDirectories.get();
+    }
+
+    /**
+     * @return the visited directories per second since the start of the
+     *         current (or the last) walk
+     */
+    public long getThroughput()
+    {
+        long duration = System.currentTimeMillis() - startTime;
+
+        return duration > 0 ? visitedDirectories.get() * 1000 / duration : visitedDirectories.get();
+    }
+
     public RepositoryPath getBasedir()
     {
         return basedir;
@@ -96,8 +231,81 @@ public class ArtifactDirectoryLocator
         }
         catch (IOException e)
         {
+            failedDirectories.incrementAndGet();
             logger.error(String.format("Failed to execute operation [%s]", operation.getClass().getSimpleName()), e);
         }
+
+        visitedDirectories.incrementAndGet();
+        reportProgress();
     }
-    
+
+    private void reportProgress()
+    {
+        long now = System.currentTimeMillis();
+        long lastReportTime = lastProgressReportTime.get();
+        if (now - lastReportTime < PROGRESS_REPORT_INTERVAL_MILLIS ||
+            !lastProgressReportTime.compareAndSet(lastReportTime, now))
+        {
+            return;
+        }
+
+        logger.info(String.format("Operation [%s] in progress: visited [%s] directories (failed: [%s]), [%s] directories/s.",
+                                  operation.getClass().getSimpleName(),
+                                  visitedDirectories.get(),
+                                  failedDirectories.get(),
+                                  getThroughput()));
+    }
+
+    /**
+     * Executes the operation on the child directories, then forks the walk of
+     * each child subtree.
+     * <br>
+     * The children of one directory (i.e. the version directories of an
+     * artifact) are executed in a row on the same worker, before anything is
+     * forked, so the thread confined visited paths of the operation are
+     * consistent for them, and can be cleared afterwards.
+     */
+    private class DirectoryTask
+            extends RecursiveAction
+    {
+
+        private final RepositoryPath directory;
+
+        private DirectoryTask(RepositoryPath directory)
+        {
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute()
+        {
+            List<RepositoryPath> children = listDirectories(directory);
+            if (children.isEmpty())
+            {
+                return;
+            }
+
+            children.forEach(ArtifactDirectoryLocator.this::execute);
+            getOperation().getVisitedRootPaths().clear();
+
+            invokeAll(children.stream().map(DirectoryTask::new).collect(Collectors.toList()));
+        }
+
+    }
+
+    private static class LocatorThreadFactory
+            implements ForkJoinPool.ForkJoinWorkerThreadFactory
+    {
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool)
+        {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("artifact-locator-" + thread.getPoolIndex());
+
+            return thread;
+        }
+
+    }
+
 }
@@ -23,7 +23,17 @@ public abstract class AbstractArtifactLocationHandler
 {
     private static final Logger logger = LoggerFactory.getLogger(AbstractArtifactLocationHandler.class);
     
-    private LinkedHashMap<RepositoryPath, List<RepositoryPath>> visitedRootPaths = new LinkedHashMap<>();
+    /**
+     * The visited paths are kept per thread, so that the operation can be
+     * shared by the parallel {@link org.carlspring.strongbox.artifact.locator.ArtifactDirectoryLocator}
+     * workers, each of them walking its own subtrees.
+     */
+    private final ThreadLocal<LinkedHashMap<RepositoryPath, List<RepositoryPath>>> visitedRootPaths = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    /**
+     * The root path of the current tree, per thread as well as the visited paths.
+     */
+    private final ThreadLocal<RepositoryPath> previousRootPath = new ThreadLocal<>();
 
     /**
      * The base path within the repository from where to start scanning for artifacts.
@@ -33,7 +43,27 @@ public abstract class AbstractArtifactLocationHandler
 
     public LinkedHashMap<RepositoryPath, List<RepositoryPath>> getVisitedRootPaths()
     {
-        return visitedRootPaths;
+        return visitedRootPaths.get();
+    }
+
+    /**
+     * Forgets the visited paths of the previous root path, once the current
+     * directory is out of its tree.
+     */
+    protected void enterRootPath(RepositoryPath rootPath)
+    {
+        RepositoryPath previousPath = previousRootPath.get();
+        if (previousPath != null && rootPath.startsWith(previousPath))
+        {
+            return;
+        }
+
+        if (previousPath != null)
+        {
+            getVisitedRootPaths().remove(previousPath);
+        }
+
+        previousRootPath.set(rootPath);
     }
 
     public List<RepositoryPath> getVersionDirectories(RepositoryPath basePath)
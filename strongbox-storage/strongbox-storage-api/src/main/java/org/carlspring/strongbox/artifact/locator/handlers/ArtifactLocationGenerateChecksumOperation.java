@@ -22,8 +22,6 @@ public class ArtifactLocationGenerateChecksumOperation
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactLocationGenerateChecksumOperation.class);
 
-    private Path previousPath;
-
     private boolean forceRegeneration = false;
 
     public void execute(RepositoryPath path)
@@ -70,17 +68,7 @@ public class ArtifactLocationGenerateChecksumOperation
             System.out.println(parentPath);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !parentPath.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = parentPath;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = parentPath;
-        }
+        enterRootPath(parentPath);
 
         RepositoryPath basePath = parentPath;
         LayoutFileSystemProvider provider = (LayoutFileSystemProvider) basePath.getFileSystem()
@@ -21,8 +21,6 @@ public class ArtifactLocationReportOperation
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactLocationReportOperation.class);
 
-    private RepositoryPath previousPath;
-
 
     public ArtifactLocationReportOperation()
     {
@@ -56,17 +54,7 @@ public class ArtifactLocationReportOperation
             System.out.println(path);
         }
 
-        // The current directory is out of the tree
-        if (previousPath != null && !path.startsWith(previousPath))
-        {
-            getVisitedRootPaths().remove(previousPath);
-            previousPath = path;
-        }
-
-        if (previousPath == null)
-        {
-            previousPath = path;
-        }
+        enterRootPath(path);
 
         List<RepositoryPath> versionDirectories = getVersionDirectories(path);
         if (versionDirectories != null)
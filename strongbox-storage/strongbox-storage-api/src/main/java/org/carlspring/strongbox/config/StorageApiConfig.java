@@ -10,6 +10,7 @@ import javax.inject.Inject;
 import java.util.LinkedHashSet;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -36,13 +37,10 @@ public class StorageApiConfig
     private List<ArtifactCoordinatesValidator> versionValidators;
 
     @Bean
-    ChecksumCacheManager checksumCacheManager()
+    ChecksumCacheManager checksumCacheManager(@Value("${strongbox.checksum.cache.maximumSize:10000}") long maximumSize,
+                                              @Value("${strongbox.checksum.cache.lifetime:60000}") long lifetime)
     {
-        ChecksumCacheManager checksumCacheManager = new ChecksumCacheManager();
-        checksumCacheManager.setCachedChecksumExpiredCheckInterval(300000);
-        checksumCacheManager.setCachedChecksumLifetime(60000);
-
-        return checksumCacheManager;
+        return new ChecksumCacheManager(maximumSize, lifetime);
     }
 
     @Bean
@@ -0,0 +1,112 @@
+package org.carlspring.strongbox.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the normalized coordinate search tokens, which are materialized on
+ * the <code>ArtifactEntry</code> at save time and indexed, so that the
+ * coordinate search doesn't need to scan the entries.
+ * <br>
+ * There are two kinds of tokens:
+ * <ul>
+ * <li><code>name=value</code> - the lowercased coordinate value, used by the
+ * exact (strict) lookups;</li>
+ * <li><code>name~abc</code> - the trigrams of the lowercased coordinate value,
+ * used to narrow the substring (<code>%value%</code>) lookups.</li>
+ * </ul>
+ * The substrings shorter than the trigram have no tokens to look up, so they
+ * are matched by the <code>like</code> predicate alone. The unigrams and
+ * bigrams are not indexed on purpose: they would triple the index, and a one
+ * or two character substring matches most of the entries anyway, so the
+ * index wouldn't narrow such a lookup much.
+ *
+ * @see ArtifactEntry#getCoordinateTokens()
+ */
+public final class ArtifactCoordinatesTokens
+{
+
+    public static final int GRAM_LENGTH = 3;
+
+    /**
+     * The number of the trigrams to look up with, the rest of the substring
+     * is checked by the <code>like</code> predicate anyway.
+     */
+    public static final int MAX_QUERY_GRAMS = 3;
+
+    private ArtifactCoordinatesTokens()
+    {
+    }
+
+    public static List<String> tokenize(Map<String, String> coordinates)
+    {
+        if (coordinates == null)
+        {
+            return Collections.emptyList();
+        }
+
+        Set<String> result = new LinkedHashSet<>();
+        coordinates.forEach((name, value) -> {
+            if (value == null)
+            {
+                return;
+            }
+
+            String normalizedValue = normalize(value);
+            result.add(exact(name, normalizedValue));
+            for (int i = 0; i + GRAM_LENGTH <= normalizedValue.length(); i++)
+            {
+                result.add(gram(name, normalizedValue.substring(i, i + GRAM_LENGTH)));
+            }
+        });
+
+        return new ArrayList<>(result);
+    }
+
+    public static String normalize(String value)
+    {
+        return value == null ? null : value.toLowerCase();
+    }
+
+    public static String exact(String name,
+                               String normalizedValue)
+    {
+        return name + "=" + normalizedValue;
+    }
+
+    /**
+     * @return the tokens which every value containing the
+     *         <code>normalizedValue</code> substring has, or an empty list
+     *         if the substring is too short to be looked up by the index
+     */
+    public static List<String> substringQueryTokens(String name,
+                                                    String normalizedValue)
+    {
+        int lastGram = normalizedValue.length() - GRAM_LENGTH;
+        if (lastGram < 0)
+        {
+            return Collections.emptyList();
+        }
+
+        // The trigrams are spread over the substring: the first, the middle and the last one.
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < MAX_QUERY_GRAMS; i++)
+        {
+            int start = lastGram * i / (MAX_QUERY_GRAMS - 1);
+            result.add(gram(name, normalizedValue.substring(start, start + GRAM_LENGTH)));
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    private static String gram(String name,
+                               String gram)
+    {
+        return name + "~" + gram;
+    }
+
+}
@@ -13,6 +13,7 @@ import javax.persistence.ManyToOne;
 import javax.persistence.Transient;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Map;
@@ -42,6 +43,17 @@ public class ArtifactEntry
 
     private Map<String, String> checksums;
 
+    /**
+     * The layout specific metadata extracted from the artifact, so that it
+     * doesn't need to be read from the artifact files on each use.
+     */
+    private Map<String, String> layoutMetadata;
+
+    /**
+     * The indexed coordinate search tokens, see {@link ArtifactCoordinatesTokens}.
+     */
+    private List<String> coordinateTokens;
+
     @Embedded
     private ArtifactArchiveListing artifactArchiveListing;
 
@@ -109,6 +121,26 @@ public class ArtifactEntry
         this.checksums = checksums;
     }
 
+    public Map<String, String> getLayoutMetadata()
+    {
+        return layoutMetadata = Optional.ofNullable(layoutMetadata).orElse(new HashMap<>());
+    }
+
+    protected void setLayoutMetadata(Map<String, String> layoutMetadata)
+    {
+        this.layoutMetadata = layoutMetadata;
+    }
+
+    public List<String> getCoordinateTokens()
+    {
+        return coordinateTokens;
+    }
+
+    public void setCoordinateTokens(List<String> coordinateTokens)
+    {
+        this.coordinateTokens = coordinateTokens;
+    }
+
     public Long getSizeInBytes()
     {
         return sizeInBytes;
@@ -0,0 +1,226 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.javatuples.Triplet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * The <code>(storageId, repositoryId, path) -> {@link ArtifactEntry}</code>
+ * map of the current transaction (or, outside of the transaction, of the
+ * current HTTP request), so that the same {@link ArtifactEntry} is queried
+ * only once while the request is processed.
+ * <br>
+ * The map keeps its own detached copy of the entry, and each caller gets a
+ * new copy of it, as the entries are modified and saved by the callers.
+ * <br>
+ * The transaction is checked first, so that each transaction (and each retry
+ * of the transaction, see
+ * {@link org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler}) starts
+ * with the empty map, and the map of the suspended transaction is not seen by
+ * the inner one. There is no map (and nothing is cached) if the thread has
+ * neither the transaction nor the request bound.
+ * <br>
+ * The entry is removed from the map of the current thread once it's saved or
+ * deleted, see {@link #invalidate(ArtifactEntry)}, and all the maps are cleared
+ * once any artifact is stored, updated or deleted, see {@link #getStamp()}.
+ *
+ * @see RepositoryPathResolver
+ */
+@Component
+public class ArtifactEntryIdentityMap
+{
+
+    private static final String ATTRIBUTE_NAME = ArtifactEntryIdentityMap.class.getName();
+
+    @Value("${strongbox.artifact.entry.identityMap.enabled:true}")
+    private boolean enabled = true;
+
+    private final AtomicLong modifications = new AtomicLong();
+
+    /**
+     * @return the stamp which changes each time an artifact is stored, updated
+     *         or deleted
+     */
+    public long getStamp()
+    {
+        return modifications.get();
+    }
+
+    /**
+     * @return the new copy of the mapped entry, or <code>null</code> if it's
+     *         not mapped
+     */
+    public ArtifactEntry get(String storageId,
+                             String repositoryId,
+                             String path)
+    {
+        IdentityMap identityMap = getIdentityMap(false);
+        ArtifactEntry result = identityMap == null ? null : identityMap.get(Triplet.with(storageId, repositoryId, path));
+
+        return result == null ? null : SerializationUtils.clone(result);
+    }
+
+    /**
+     * @param artifactEntry the detached entry, it's copied, so the caller can
+     *                      still modify it
+     * @param stamp         the {@link #getStamp()} taken before the
+     *                      <code>artifactEntry</code> lookup
+     */
+    public void put(String storageId,
+                    String repositoryId,
+                    String path,
+                    ArtifactEntry artifactEntry,
+                    long stamp)
+    {
+        IdentityMap identityMap = getIdentityMap(true);
+        if (identityMap == null || identityMap.stamp != stamp)
+        {
+            return;
+        }
+
+        identityMap.put(Triplet.with(storageId, repositoryId, path), SerializationUtils.clone(artifactEntry));
+    }
+
+    /**
+     * Removes the saved or deleted entry from the map of the current thread, as
+     * the mapped copy has the previous version of the entry.
+     */
+    public void invalidate(ArtifactEntry artifactEntry)
+    {
+        IdentityMap identityMap = getIdentityMap(false);
+        if (identityMap == null)
+        {
+            return;
+        }
+
+        if (artifactEntry.getArtifactCoordinates() == null)
+        {
+            identityMap.clear();
+
+            return;
+        }
+
+        identityMap.remove(Triplet.with(artifactEntry.getStorageId(),
+                                        artifactEntry.getRepositoryId(),
+                                        artifactEntry.getArtifactCoordinates().getPath()));
+    }
+
+    public void invalidateAll()
+    {
+        modifications.incrementAndGet();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        invalidateAll();
+    }
+
+    private IdentityMap getIdentityMap(boolean create)
+    {
+        if (!enabled)
+        {
+            return null;
+        }
+
+        IdentityMap result;
+        RequestAttributes requestAttributes;
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            result = (IdentityMap) TransactionSynchronizationManager.getResource(this);
+            if (result == null && create)
+            {
+                result = new IdentityMap();
+                TransactionSynchronizationManager.bindResource(this, result);
+                TransactionSynchronizationManager.registerSynchronization(new IdentityMapSynchronization(result));
+            }
+        }
+        else if ((requestAttributes = RequestContextHolder.getRequestAttributes()) != null)
+        {
+            result = (IdentityMap) requestAttributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+            if (result == null && create)
+            {
+                result = new IdentityMap();
+                requestAttributes.setAttribute(ATTRIBUTE_NAME, result, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        else
+        {
+            return null;
+        }
+
+        long stamp = modifications.get();
+        if (result != null && result.stamp != stamp)
+        {
+            result.clear();
+            result.stamp = stamp;
+        }
+
+        return result;
+    }
+
+    /**
+     * Unbinds the map of the suspended transaction, so that the inner
+     * transaction starts with its own map, and unbinds it once the transaction
+     * is completed.
+     */
+    private class IdentityMapSynchronization
+            extends TransactionSynchronizationAdapter
+    {
+
+        private final IdentityMap identityMap;
+
+        private IdentityMapSynchronization(IdentityMap identityMap)
+        {
+            this.identityMap = identityMap;
+        }
+
+        @Override
+        public void suspend()
+        {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ArtifactEntryIdentityMap.this);
+        }
+
+        @Override
+        public void resume()
+        {
+            TransactionSynchronizationManager.bindResource(ArtifactEntryIdentityMap.this, identityMap);
+        }
+
+        @Override
+        public void afterCompletion(int status)
+        {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ArtifactEntryIdentityMap.this);
+        }
+
+    }
+
+    private static class IdentityMap extends HashMap<Triplet<String, String, String>, ArtifactEntry>
+    {
+
+        private long stamp;
+
+    }
+
+}
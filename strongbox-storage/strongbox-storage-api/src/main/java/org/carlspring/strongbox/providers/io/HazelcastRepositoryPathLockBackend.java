@@ -0,0 +1,31 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import com.hazelcast.core.HazelcastInstance;
+
+import ca.thoughtwire.lock.DistributedLockService;
+
+/**
+ * Cluster wide {@link RepositoryPathLockBackend} based on Hazelcast.
+ */
+public class HazelcastRepositoryPathLockBackend
+        implements RepositoryPathLockBackend
+{
+
+    public static final String NAME = "hazelcast";
+
+    private final DistributedLockService lockService;
+
+    public HazelcastRepositoryPathLockBackend(HazelcastInstance hazelcastInstance)
+    {
+        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+    }
+
+    @Override
+    public ReadWriteLock getReadWriteLock(String lockName)
+    {
+        return lockService.getReentrantReadWriteLock(lockName);
+    }
+
+}
@@ -0,0 +1,134 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * In-JVM {@link RepositoryPathLockBackend}, which avoids the Hazelcast round
+ * trips for single node deployments.
+ * <br>
+ * The locks are kept in a weak-valued table, so there is only one lock
+ * instance per name while it's in use (the read and write locks refer to
+ * their {@link ReadWriteLock}, so it can't be collected while someone holds
+ * the {@link java.util.concurrent.locks.Lock}), and the idle locks are
+ * released by GC. The fixed size striped table is not used on purpose: two
+ * different paths sharing the same stripe could deadlock, for example when
+ * one thread holds the artifact lock and waits for another thread which
+ * needs the <code>ArtifactEntry</code> lock of the same artifact.
+ * <br>
+ * To avoid allocating the hot locks again after they were collected, the
+ * recently used locks are also referenced from a direct-mapped retention
+ * table (the slot is chosen by the name hash, and a colliding name just
+ * replaces the reference). The table only keeps the locks reachable, it
+ * doesn't take part in the lock identity.
+ */
+public class LocalRepositoryPathLockBackend
+        implements RepositoryPathLockBackend
+{
+
+    public static final String NAME = "local";
+
+    private final ConcurrentMap<String, ReadWriteLock> locks;
+
+    private final AtomicReferenceArray<ReadWriteLock> retainedLocks;
+
+    /**
+     * @param concurrencyLevel
+     *            the concurrency level of the lock table
+     * @param retainedLocks
+     *            the size of the retention table, rounded up to the power of two
+     */
+    public LocalRepositoryPathLockBackend(int concurrencyLevel,
+                                          int retainedLocks)
+    {
+        locks = new MapMaker().concurrencyLevel(concurrencyLevel).weakValues().makeMap();
+        this.retainedLocks = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(retainedLocks - 1, 1)) << 1);
+    }
+
+    @Override
+    public ReadWriteLock getReadWriteLock(String lockName)
+    {
+        ReadWriteLock lock = locks.get(lockName);
+        if (lock == null)
+        {
+            lock = new LocalReadWriteLock();
+            ReadWriteLock existing = locks.putIfAbsent(lockName, lock);
+            lock = existing != null ? existing : lock;
+        }
+
+        retain(lockName, lock);
+
+        return lock;
+    }
+
+    private void retain(String lockName,
+                        ReadWriteLock lock)
+    {
+        int h = lockName.hashCode();
+        int i = (h ^ (h >>> 16)) & (retainedLocks.length() - 1);
+        if (retainedLocks.get(i) != lock)
+        {
+            retainedLocks.lazySet(i, lock);
+        }
+    }
+
+    private static class LocalReadWriteLock extends ReentrantReadWriteLock
+    {
+
+        private final ReadLock readLock = new LocalReadLock(this);
+
+        private final WriteLock writeLock = new LocalWriteLock(this);
+
+        @Override
+        public ReadLock readLock()
+        {
+            return readLock;
+        }
+
+        @Override
+        public WriteLock writeLock()
+        {
+            return writeLock;
+        }
+
+    }
+
+    private static class LocalReadLock extends ReentrantReadWriteLock.ReadLock
+    {
+
+        /**
+         * Keeps the lock reachable while the read lock is in use.
+         */
+        @SuppressWarnings("unused")
+        private final ReentrantReadWriteLock owner;
+
+        private LocalReadLock(ReentrantReadWriteLock owner)
+        {
+            super(owner);
+            this.owner = owner;
+        }
+
+    }
+
+    private static class LocalWriteLock extends ReentrantReadWriteLock.WriteLock
+    {
+
+        /**
+         * Keeps the lock reachable while the write lock is in use.
+         */
+        @SuppressWarnings("unused")
+        private final ReentrantReadWriteLock owner;
+
+        private LocalWriteLock(ReentrantReadWriteLock owner)
+        {
+            super(owner);
+            this.owner = owner;
+        }
+
+    }
+
+}
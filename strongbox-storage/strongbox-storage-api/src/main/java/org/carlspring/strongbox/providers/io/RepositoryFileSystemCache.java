@@ -0,0 +1,82 @@
+package org.carlspring.strongbox.providers.io;
+
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.javatuples.Pair;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link LayoutFileSystem} instance of each repository, so that the
+ * (prototype scoped) file system and file system provider beans are not
+ * created on every path resolution.
+ * <br>
+ * The instances keep the {@link Repository} they were created with, so the
+ * cached instance is only served for the very same {@link Repository}
+ * instance, which is shared by the configuration snapshot until the next
+ * configuration change. The requests still holding the previous snapshot are
+ * served with the file systems of that snapshot, and the whole cache is
+ * invalidated once the new snapshot is published, see
+ * {@link org.carlspring.strongbox.services.ConfigurationManagementService}.
+ *
+ * @see RepositoryPathResolver#resolve(Repository)
+ */
+@Component
+public class RepositoryFileSystemCache
+        implements DisposableBean
+{
+
+    private final Map<Pair<String, String>, LayoutFileSystem> fileSystems = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public LayoutFileSystem get(Repository repository,
+                                Function<Repository, LayoutFileSystem> factory)
+    {
+        Pair<String, String> key = Pair.with(repository.getStorage().getId(), repository.getId());
+
+        LayoutFileSystem result = fileSystems.get(key);
+        if (result != null && result.getRepository() == repository)
+        {
+            return result;
+        }
+
+        long stamp = invalidations.get();
+        result = factory.apply(repository);
+
+        // The file system created from the snapshot which has been replaced in between should not be cached.
+        if (stamp == invalidations.get())
+        {
+            fileSystems.put(key, result);
+            if (stamp != invalidations.get())
+            {
+                fileSystems.remove(key, result);
+            }
+        }
+
+        return result;
+    }
+
+    public void invalidateAll()
+    {
+        invalidations.incrementAndGet();
+        fileSystems.clear();
+    }
+
+    public int getSize()
+    {
+        return fileSystems.size();
+    }
+
+    @Override
+    public void destroy()
+    {
+        invalidateAll();
+    }
+
+}
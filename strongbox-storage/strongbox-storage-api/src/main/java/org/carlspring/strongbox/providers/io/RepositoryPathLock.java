@@ -15,28 +15,53 @@ import org.apache.commons.io.input.ProxyInputStream;
 import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
 import com.hazelcast.core.HazelcastInstance;
 
-import ca.thoughtwire.lock.DistributedLockService;
-
 /**
  * @author Przemyslaw Fusik
+ * @see RepositoryPathLockBackend
  */
 @Component
-public class RepositoryPathLock
+public class RepositoryPathLock implements InitializingBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryPathLock.class);
 
-    private DistributedLockService lockService;
-
     @Inject
-    public void setHazelcastInstance(HazelcastInstance hazelcastInstance)
+    private HazelcastInstance hazelcastInstance;
+
+    @Value("${strongbox.lock.backend:" + HazelcastRepositoryPathLockBackend.NAME + "}")
+    private String backendName;
+
+    @Value("${strongbox.lock.local.concurrencyLevel:64}")
+    private int localConcurrencyLevel;
+
+    @Value("${strongbox.lock.local.retainedLocks:4096}")
+    private int localRetainedLocks;
+
+    private RepositoryPathLockBackend backend;
+
+    @Override
+    public void afterPropertiesSet()
     {
-        lockService = DistributedLockService.newHazelcastLockService(hazelcastInstance);
+        switch (backendName)
+        {
+            case HazelcastRepositoryPathLockBackend.NAME:
+                backend = new HazelcastRepositoryPathLockBackend(hazelcastInstance);
+                break;
+            case LocalRepositoryPathLockBackend.NAME:
+                backend = new LocalRepositoryPathLockBackend(localConcurrencyLevel, localRetainedLocks);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unknown lock backend [%s].", backendName));
+        }
+
+        logger.info("Using [{}] lock backend.", backendName);
     }
 
     public ReadWriteLock lock(final @Nonnull RepositoryPath repositoryPath) throws IOException
@@ -53,7 +78,7 @@ public class RepositoryPathLock
                                   .map(p -> String.format("%s?%s", lock, p))
                                   .orElseGet(() -> lock.toString());
 
-        return lockService.getReentrantReadWriteLock(lockName);
+        return backend.getReadWriteLock(lockName);
     }
 
     private URI getLock(final @Nonnull RepositoryPath repositoryPath) throws IOException
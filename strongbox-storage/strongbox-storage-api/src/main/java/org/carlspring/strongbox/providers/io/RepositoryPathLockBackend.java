@@ -0,0 +1,29 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * The lock implementation behind the {@link RepositoryPathLock}.
+ * <br>
+ * The backend is selected with the <code>strongbox.lock.backend</code>
+ * property:
+ * <ul>
+ * <li><code>hazelcast</code> - cluster wide locks (default)</li>
+ * <li><code>local</code> - in-JVM locks, suitable only for a single node deployment</li>
+ * </ul>
+ *
+ * @see HazelcastRepositoryPathLockBackend
+ * @see LocalRepositoryPathLockBackend
+ */
+public interface RepositoryPathLockBackend
+{
+
+    /**
+     * @param lockName
+     *            the lock name
+     * @return the lock, the same name always corresponds to the same lock
+     *         while it's in use
+     */
+    ReadWriteLock getReadWriteLock(String lockName);
+
+}
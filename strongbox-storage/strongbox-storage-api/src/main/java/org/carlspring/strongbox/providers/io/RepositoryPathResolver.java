@@ -29,13 +29,24 @@ public class RepositoryPathResolver
     @Inject
     protected RepositoryFileSystemRegistry fileSystemRegistry;
 
+    @Inject
+    protected RepositoryFileSystemCache fileSystemCache;
+
+    @Inject
+    protected ArtifactEntryIdentityMap artifactEntryIdentityMap;
+
     public RootRepositoryPath resolve(final Repository repository)
     {
         Objects.requireNonNull(repository, "Repository should be provided");
 
+        return fileSystemCache.get(repository, this::createFileSystem).getRootDirectory();
+    }
+
+    private LayoutFileSystem createFileSystem(Repository repository)
+    {
         LayoutFileSystemFactory fileSystemFactory = fileSystemRegistry.lookupRepositoryFileSystemFactory(repository);
 
-        return fileSystemFactory.create(repository).getRootDirectory();
+        return fileSystemFactory.create(repository);
     }
 
     public RepositoryPath resolve(String storageId,
@@ -97,9 +108,26 @@ public class RepositoryPathResolver
                 return null;
             }
 
-            return artifactEntryService.findOneArtifact(getRepository().getStorage().getId(),
-                                                        getRepository().getId(),
-                                                        RepositoryFiles.relativizePath(this));
+            String storageId = getRepository().getStorage().getId();
+            String repositoryId = getRepository().getId();
+            String path = RepositoryFiles.relativizePath(this);
+
+            // Each caller gets its own entry copy, as the entries are modified and saved by the callers.
+            ArtifactEntry result = artifactEntryIdentityMap.get(storageId, repositoryId, path);
+            if (result != null)
+            {
+                return result;
+            }
+
+            long stamp = artifactEntryIdentityMap.getStamp();
+            result = artifactEntryService.findOneArtifact(storageId, repositoryId, path);
+            // The missing entries are not cached, as they may be created while the path is in use.
+            if (result != null)
+            {
+                artifactEntryIdentityMap.put(storageId, repositoryId, path, result, stamp);
+            }
+
+            return result;
             // TODO: we should check this restriction 
 //            if (Files.exists(this) && !Files.isDirectory(this) && RepositoryFiles.isArtifact(this) && result == null)
 //            {
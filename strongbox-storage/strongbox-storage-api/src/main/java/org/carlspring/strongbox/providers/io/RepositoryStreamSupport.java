@@ -61,25 +61,35 @@ public abstract class RepositoryStreamSupport implements RepositoryStreamCallbac
         RepositoryPath path = (RepositoryPath) ctx.getPath();
         logger.debug(String.format("Locking [%s]", path));
         
-        ReadWriteLock lockSource = repositoryPathLock.lock(path);
-        Lock lock;
-        if (ctx instanceof RepositoryStreamWriteContext)
-        {
-            lock = lockSource.writeLock();
-        }
-        else
-        {
-            lock = lockSource.readLock();
-        }
+        Lock lock = getLock(ctx);
 
         ctx.setLock(lock);
-        lock.lock();
+        if (lock != null)
+        {
+            lock.lock();
 
-        logger.debug(String.format("Locked [%s]", path));
+            logger.debug(String.format("Locked [%s]", path));
+        }
         
         doOpen(ctx);
     }
 
+    /**
+     * @return the lock of the stream path, or <code>null</code> if the stream
+     *         should not be locked
+     */
+    protected Lock getLock(RepositoryStreamContext ctx)
+        throws IOException
+    {
+        ReadWriteLock lockSource = repositoryPathLock.lock((RepositoryPath) ctx.getPath());
+        if (ctx instanceof RepositoryStreamWriteContext)
+        {
+            return lockSource.writeLock();
+        }
+
+        return lockSource.readLock();
+    }
+
     private void doOpen(RepositoryStreamContext ctx)
         throws IOException
     {
@@ -110,7 +120,11 @@ public abstract class RepositoryStreamSupport implements RepositoryStreamCallbac
         } 
         finally
         {
-            ctx.getLock().unlock();
+            Lock lock = ctx.getLock();
+            if (lock != null)
+            {
+                lock.unlock();
+            }
             clearContext();
         }
     }
@@ -203,6 +217,17 @@ public abstract class RepositoryStreamSupport implements RepositoryStreamCallbac
             open();
         }
 
+        /**
+         * Locks the path and fires the "before read" callbacks without reading
+         * anything, so that the content can be transferred bypassing the
+         * stream (which should be closed afterwards as usual).
+         */
+        public void open()
+            throws IOException
+        {
+            RepositoryStreamSupport.this.open();
+        }
+
         @Override
         public void close()
             throws IOException
@@ -210,7 +235,7 @@ public abstract class RepositoryStreamSupport implements RepositoryStreamCallbac
             try
             {
                 super.close();
-            } 
+            }
             finally
             {
                 RepositoryStreamSupport.this.close();
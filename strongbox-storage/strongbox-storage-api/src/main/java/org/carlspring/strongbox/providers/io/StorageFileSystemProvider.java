@@ -3,6 +3,7 @@ package org.carlspring.strongbox.providers.io;
 import org.carlspring.strongbox.storage.repository.Repository;
 
 import javax.inject.Inject;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -252,6 +253,56 @@ public abstract class StorageFileSystemProvider
         return result;
     }
 
+    /**
+     * Resolves the checksums of the artifact (digest algorithm to hex digest)
+     * from its checksum files, the missing and empty checksum files are
+     * skipped.
+     *
+     * @param repositoryPath
+     *            the artifact path
+     * @param attributes
+     *            the artifact attributes, which the caller already has
+     * @return the checksums, which may not contain all the digest algorithms
+     *         of the repository
+     */
+    public Map<String, String> resolveChecksums(RepositoryPath repositoryPath,
+                                                BasicFileAttributes attributes)
+    {
+        Map<String, String> result = new HashMap<>();
+        for (Map.Entry<String, RepositoryPath> entry : resolveChecksumPathMap(repositoryPath).entrySet())
+        {
+            try
+            {
+                Optional.ofNullable(readChecksum(entry.getValue())).ifPresent(c -> result.put(entry.getKey(), c));
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to read checksum [%s]", entry.getValue()), e);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the checksum, or <code>null</code> if there is no checksum file
+     *         or it's empty
+     */
+    protected String readChecksum(RepositoryPath checksumPath)
+        throws IOException
+    {
+        try (BufferedReader reader = Files.newBufferedReader(unwrap(checksumPath)))
+        {
+            String checksum = reader.readLine();
+
+            return checksum == null || checksum.trim().isEmpty() ? null : checksum.trim();
+        }
+        catch (NoSuchFileException e)
+        {
+            return null;
+        }
+    }
+
     protected void doDeletePath(RepositoryPath repositoryPath,
                                 boolean force)
         throws IOException
@@ -14,7 +14,6 @@ import org.carlspring.strongbox.providers.io.StorageFileSystemProvider;
 import org.carlspring.strongbox.services.ArtifactEntryService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.util.MessageDigestUtils;
 
 import javax.inject.Inject;
 import java.io.FileNotFoundException;
@@ -22,14 +21,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.OpenOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.spi.FileSystemProvider;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +59,9 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
     
     @Inject
     private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryPathDigestCache repositoryPathDigestCache;
     
     public LayoutFileSystemProvider(FileSystemProvider storageFileSystemProvider)
     {
@@ -66,11 +75,16 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                               OpenOption... options)
         throws IOException
     {
-        if (!Files.exists(path))
+        BasicFileAttributes attributes;
+        try
+        {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        }
+        catch (NoSuchFileException e)
         {
             throw new FileNotFoundException(path.toString());
         }
-        if (Files.isDirectory(path))
+        if (attributes.isDirectory())
         {
             throw new FileNotFoundException(String.format("The artifact path is a directory: [%s]",
                                                           path.toString()));
@@ -87,11 +101,11 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
             throw new IOException(e);
         }
         bris.setReloadableInputStreamHandler(new FSReloadableInputStreamHandler(path.toFile()));
-        bris.setLength(Files.size(path));
+        bris.setLength(attributes.size());
         
         try
         {
-            return decorateStream((RepositoryPath) path, bris);
+            return decorateStream((RepositoryPath) path, attributes, bris);
         }
         catch (NoSuchAlgorithmException e)
         {
@@ -99,7 +113,14 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         }
     }
 
+    /**
+     * The digests are calculated from the bytes read and verified against the
+     * stored checksums only if the repository has the checksum verification
+     * enabled, otherwise the stored checksums are used and only the missing ones
+     * are calculated from the bytes read, see {@link LayoutInputStream}.
+     */
     protected LayoutInputStream decorateStream(RepositoryPath path,
+                                               BasicFileAttributes attributes,
                                                InputStream is)
             throws NoSuchAlgorithmException, IOException
     {
@@ -112,44 +133,92 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
             return result;
         }
         
-        digestAlgorithmSet.stream().forEach(a -> {
-            String checksum = null;
-            try
-            {
-                checksum = getChecksum(path, result, a);
-            }
-            catch (IOException e)
-            {
-                logger.error(String.format("Failed to get checksum for [%s]", path), e);
-            }
-            if (checksum == null)
-            {
-                return;
-            }
-
-            result.getHexDigests().put(a, checksum);
-        });
+        Map<String, String> checksums = resolveChecksums(path, attributes);
+        if (path.getRepository().isChecksumVerificationEnabled())
+        {
+            result.setExpectedHexDigests(checksums);
+        }
+        else
+        {
+            checksums.forEach(result::putHexDigest);
+        }
         
         return result;
     }
 
-    private String getChecksum(RepositoryPath path,
-                               LayoutInputStream is,
-                               String digestAlgorithm) throws IOException
+    /**
+     * Resolves the artifact checksums from (in that order):
+     * <ul>
+     * <li>{@link RepositoryPathDigestCache}</li>
+     * <li>{@link ArtifactEntry#getChecksums()}, which are calculated when the artifact stored</li>
+     * <li>the checksum files</li>
+     * </ul>
+     * so that the checksum files are read only if there is no other source.
+     * <br>
+     * The result is cached even if some (or all) of the checksums are missing,
+     * so they are not looked up again until the artifact or its checksum files
+     * are stored.
+     */
+    @Override
+    public Map<String, String> resolveChecksums(RepositoryPath path,
+                                                BasicFileAttributes attributes)
     {
-        RepositoryPath checksumPath = getChecksumPath(path, digestAlgorithm);
-        
-        String checksum = null;
-        if (Files.exists(checksumPath) && Files.size(checksumPath) != 0)
+        try
         {
-            checksum = MessageDigestUtils.readChecksumFile(Files.newInputStream(checksumPath));
+            if (Boolean.TRUE.equals(RepositoryFiles.isChecksum(path)))
+            {
+                return Collections.emptyMap();
+            }
         }
-        else
+        catch (IOException e)
         {
-            checksum = is.getMessageDigestAsHexadecimalString(digestAlgorithm);
+            logger.error(String.format("Failed to get checksum for [%s]", path), e);
+
+            return Collections.emptyMap();
         }
 
-        return checksum;
+        FileTime lastModified = attributes.lastModifiedTime();
+        long size = attributes.size();
+
+        Map<String, String> cached = repositoryPathDigestCache.get(path, lastModified, size);
+        if (cached != null)
+        {
+            return cached;
+        }
+
+        Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+        Map<String, String> result = new HashMap<>();
+        try
+        {
+            Optional.ofNullable(path.getArtifactEntry()).ifPresent(e -> result.putAll(e.getChecksums()));
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to get checksum for [%s]", path), e);
+        }
+        result.keySet().retainAll(digestAlgorithmSet);
+
+        for (String digestAlgorithm : digestAlgorithmSet)
+        {
+            if (result.containsKey(digestAlgorithm))
+            {
+                continue;
+            }
+
+            RepositoryPath checksumPath = getChecksumPath(path, digestAlgorithm);
+            try
+            {
+                Optional.ofNullable(readChecksum(checksumPath)).ifPresent(c -> result.put(digestAlgorithm, c));
+            }
+            catch (IOException e)
+            {
+                logger.error(String.format("Failed to read checksum [%s]", checksumPath), e);
+            }
+        }
+
+        repositoryPathDigestCache.put(path, lastModified, size, result);
+
+        return Collections.unmodifiableMap(result);
     }
 
     public RepositoryPath getChecksumPath(RepositoryPath path,
@@ -247,10 +316,20 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
         try (LayoutInputStream is = newInputStream(path))
         {
             Set<String> digestAlgorithmSet = path.getFileSystem().getDigestAlgorithmSet();
+            if (force)
+            {
+                // The stored checksums may be the ones to fix.
+                is.resetHexDidests();
+            }
+            is.setExpectedHexDigests(Collections.emptyMap());
+            if (!is.getHexDigests().keySet().containsAll(digestAlgorithmSet))
+            {
+                IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+            }
             digestAlgorithmSet.stream()
                               .forEach(p ->
                                        {
-                                           String checksum = is.getHexDigests().get(p);
+                                           String checksum = is.getMessageDigestAsHexadecimalString(p);
                                            RepositoryPath checksumPath = getChecksumPath(path, p);
                                            if (Files.exists(checksumPath) && !force)
                                            {
@@ -259,6 +338,7 @@ public abstract class LayoutFileSystemProvider extends StorageFileSystemProvider
                                            try
                                            {
                                                Files.write(checksumPath, checksum.getBytes());
+                                               repositoryPathDigestCache.invalidate(path);
                                            }
                                            catch (IOException e)
                                            {
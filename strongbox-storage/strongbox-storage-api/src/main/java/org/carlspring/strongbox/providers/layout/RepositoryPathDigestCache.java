@@ -0,0 +1,123 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.net.URI;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps the resolved checksums of the recently downloaded artifacts, so that
+ * they are not resolved again for each download.
+ * <br>
+ * The entries are bound to the artifact last modified time and size, so the
+ * checksums of the artifact which has been overwritten are not served, and
+ * they are invalidated once the artifact (or its checksum file) is stored or
+ * deleted.
+ *
+ * @see LayoutFileSystemProvider
+ */
+@Component
+public class RepositoryPathDigestCache
+{
+
+    private final Cache<URI, Digests> cache;
+
+    public RepositoryPathDigestCache(@Value("${strongbox.digest.cache.maximumSize:10000}") long maximumSize)
+    {
+        cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * @param path
+     *            the artifact path
+     * @param lastModified
+     *            the artifact last modified time
+     * @param size
+     *            the artifact size
+     * @return the checksums (algorithm to hex digest), or <code>null</code>
+     *         if there are no checksums for this version of the artifact
+     */
+    public Map<String, String> get(RepositoryPath path,
+                                   FileTime lastModified,
+                                   long size)
+    {
+        Digests digests = cache.getIfPresent(path.toUri());
+        if (digests == null || !digests.lastModified.equals(lastModified) || digests.size != size)
+        {
+            return null;
+        }
+
+        return digests.checksums;
+    }
+
+    public void put(RepositoryPath path,
+                    FileTime lastModified,
+                    long size,
+                    Map<String, String> checksums)
+    {
+        cache.put(path.toUri(), new Digests(lastModified, size, checksums));
+    }
+
+    public void invalidate(RepositoryPath path)
+    {
+        cache.invalidate(path.toUri());
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        invalidate(path);
+
+        // The checksum file is one of the sources of the artifact checksums.
+        String fileName = path.getFileName().toString();
+        for (String digestAlgorithm : path.getFileSystem().getDigestAlgorithmSet())
+        {
+            String checksumExtension = ".".concat(digestAlgorithm.toLowerCase().replaceAll("-", ""));
+            if (fileName.endsWith(checksumExtension))
+            {
+                invalidate(path.resolveSibling(fileName.substring(0, fileName.length() - checksumExtension.length())));
+            }
+        }
+    }
+
+    private static class Digests
+    {
+
+        private final FileTime lastModified;
+
+        private final long size;
+
+        private final Map<String, String> checksums;
+
+        private Digests(FileTime lastModified,
+                        long size,
+                        Map<String, String> checksums)
+        {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.checksums = Collections.unmodifiableMap(checksums);
+        }
+
+    }
+
+}
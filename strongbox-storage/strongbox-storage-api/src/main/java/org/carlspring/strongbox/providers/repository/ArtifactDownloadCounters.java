@@ -0,0 +1,197 @@
+package org.carlspring.strongbox.providers.repository;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.javatuples.Triplet;
+
+/**
+ * In-memory accumulator of the artifact download statistics, which haven't
+ * been written into the database yet.
+ * <br>
+ * The downloads are coalesced per artifact, so that any amount of downloads
+ * of the same artifact between two flushes results in a single
+ * {@link Delta}. All the {@link Delta} modifications are performed within
+ * {@link ConcurrentMap#compute(Object, java.util.function.BiFunction)}, so
+ * concurrent downloads of different artifacts don't contend with each other
+ * and no increment can be lost while the deltas are being drained.
+ *
+ * @see ArtifactDownloadStatisticsWriter
+ */
+public class ArtifactDownloadCounters
+{
+
+    private final ConcurrentMap<Triplet<String, String, String>, Delta> deltas = new ConcurrentHashMap<>();
+
+    private final AtomicLong pendingDownloads = new AtomicLong();
+
+    public void increment(String storageId,
+                          String repositoryId,
+                          String path,
+                          long timestamp)
+    {
+        merge(new Delta(storageId, repositoryId, path, 1, timestamp));
+    }
+
+    /**
+     * Returns the delta back, for example if it couldn't be written into the
+     * database.
+     *
+     * @param delta
+     *            the delta to merge with the pending one (if any)
+     */
+    public void merge(Delta delta)
+    {
+        deltas.compute(delta.getKey(), (k, v) -> {
+            if (v == null)
+            {
+                Delta result = new Delta(delta.getStorageId(),
+                                         delta.getRepositoryId(),
+                                         delta.getPath(),
+                                         delta.getDownloadCount(),
+                                         delta.getLastUsed());
+                result.failedAttempts = delta.getFailedAttempts();
+
+                return result;
+            }
+
+            v.downloadCount += delta.getDownloadCount();
+            v.lastUsed = Math.max(v.lastUsed, delta.getLastUsed());
+            v.failedAttempts = Math.max(v.failedAttempts, delta.getFailedAttempts());
+
+            return v;
+        });
+        pendingDownloads.addAndGet(delta.getDownloadCount());
+    }
+
+    /**
+     * Removes up to <code>limit</code> pending deltas.
+     *
+     * @param limit
+     *            maximum amount of deltas to return
+     * @return the removed deltas, or empty list if there is nothing to flush
+     */
+    public List<Delta> drain(int limit)
+    {
+        List<Delta> result = new ArrayList<>(Math.min(limit, deltas.size()));
+        for (Iterator<Triplet<String, String, String>> i = deltas.keySet().iterator(); i.hasNext()
+                && result.size() < limit;)
+        {
+            deltas.computeIfPresent(i.next(), (k, v) -> {
+                result.add(v);
+
+                return null;
+            });
+        }
+
+        result.forEach(d -> pendingDownloads.addAndGet(-d.getDownloadCount()));
+
+        return result;
+    }
+
+    /**
+     * @return amount of artifacts with unflushed download statistics
+     */
+    public int getPendingDeltasCount()
+    {
+        return deltas.size();
+    }
+
+    /**
+     * @return amount of downloads which haven't been flushed yet
+     */
+    public long getPendingDownloadsCount()
+    {
+        return pendingDownloads.get();
+    }
+
+    /**
+     * Aggregated downloads of a single artifact.
+     */
+    public static class Delta
+    {
+
+        private final String storageId;
+
+        private final String repositoryId;
+
+        private final String path;
+
+        private long downloadCount;
+
+        private long lastUsed;
+
+        private int failedAttempts;
+
+        Delta(String storageId,
+              String repositoryId,
+              String path,
+              long downloadCount,
+              long lastUsed)
+        {
+            this.storageId = storageId;
+            this.repositoryId = repositoryId;
+            this.path = path;
+            this.downloadCount = downloadCount;
+            this.lastUsed = lastUsed;
+        }
+
+        Triplet<String, String, String> getKey()
+        {
+            return Triplet.with(storageId, repositoryId, path);
+        }
+
+        public String getStorageId()
+        {
+            return storageId;
+        }
+
+        public String getRepositoryId()
+        {
+            return repositoryId;
+        }
+
+        public String getPath()
+        {
+            return path;
+        }
+
+        public long getDownloadCount()
+        {
+            return downloadCount;
+        }
+
+        public long getLastUsed()
+        {
+            return lastUsed;
+        }
+
+        /**
+         * @return amount of the failed attempts to write this delta
+         */
+        public int getFailedAttempts()
+        {
+            return failedAttempts;
+        }
+
+        /**
+         * @return the incremented amount of the failed attempts
+         */
+        public int incrementFailedAttempts()
+        {
+            return ++failedAttempts;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s:%s:%s[downloadCount=%s]", storageId, repositoryId, path, downloadCount);
+        }
+
+    }
+
+}
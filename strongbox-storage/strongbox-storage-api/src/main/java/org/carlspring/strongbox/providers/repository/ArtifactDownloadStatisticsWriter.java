@@ -0,0 +1,220 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.ArtifactDownloadCounters.Delta;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.concurrent.CustomizableThreadFactory;
+
+/**
+ * Writes the {@link ArtifactEntry} download statistics (<code>downloadCount</code>
+ * and <code>lastUsed</code>) in batches.
+ * <br>
+ * The downloads are collected in memory by {@link ArtifactDownloadCounters}
+ * and flushed periodically (every
+ * <code>strongbox.artifact.downloadStatistics.flushIntervalMillis</code>),
+ * with at most <code>strongbox.artifact.downloadStatistics.batchSize</code>
+ * entries updated within one transaction. If the batch fails, its deltas
+ * are written one by one, and the ones which still fail are kept until the
+ * next flush, up to
+ * <code>strongbox.artifact.downloadStatistics.maxAttempts</code> attempts,
+ * so that one unwritable delta can't block the others.
+ */
+@Component
+public class ArtifactDownloadStatisticsWriter
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadStatisticsWriter.class);
+
+    private final ArtifactDownloadCounters counters = new ArtifactDownloadCounters();
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${strongbox.artifact.downloadStatistics.flushIntervalMillis:5000}")
+    private long flushIntervalMillis;
+
+    @Value("${strongbox.artifact.downloadStatistics.batchSize:100}")
+    private int batchSize;
+
+    @Value("${strongbox.artifact.downloadStatistics.maxAttempts:10}")
+    private int maxAttempts;
+
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("artifact-download-statistics-"));
+        scheduler.scheduleWithFixedDelay(this::flushQuietly,
+                                         flushIntervalMillis,
+                                         flushIntervalMillis,
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy()
+        throws InterruptedException
+    {
+        scheduler.shutdown();
+        scheduler.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS);
+
+        flushQuietly();
+    }
+
+    public void record(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getRepository();
+
+        counters.increment(repository.getStorage().getId(),
+                           repository.getId(),
+                           RepositoryFiles.relativizePath(repositoryPath),
+                           System.currentTimeMillis());
+    }
+
+    /**
+     * @return amount of artifacts with unflushed download statistics
+     */
+    public int getPendingDeltasCount()
+    {
+        return counters.getPendingDeltasCount();
+    }
+
+    /**
+     * @return amount of downloads which haven't been flushed yet
+     */
+    public long getPendingDownloadsCount()
+    {
+        return counters.getPendingDownloadsCount();
+    }
+
+    /**
+     * Writes all the pending deltas into the database.
+     *
+     * @return <code>true</code> if all the deltas were written, and
+     *         <code>false</code> if some of them were returned back to be
+     *         retried with the next flush (or dropped)
+     */
+    public synchronized boolean flush()
+    {
+        List<Delta> failed = new ArrayList<>();
+        List<Delta> batch;
+        while (!(batch = counters.drain(batchSize)).isEmpty())
+        {
+            try
+            {
+                flushTransactional(batch);
+            }
+            catch (RuntimeException e)
+            {
+                // Most likely the `ONeedRetryException` because of concurrent `ArtifactEntry` modification.
+                logger.debug("Failed to flush [{}] download statistics deltas, will flush them one by one.",
+                             batch.size(), e);
+                batch.stream().filter(d -> !flushSingle(d)).forEach(failed::add);
+            }
+        }
+
+        // Returned back after the drain, so that they are retried with the next flush.
+        for (Delta delta : failed)
+        {
+            if (delta.incrementFailedAttempts() < maxAttempts)
+            {
+                counters.merge(delta);
+            }
+            else
+            {
+                logger.error("Failed to flush [{}] download statistics delta [{}] times, dropped.",
+                             delta, delta.getFailedAttempts());
+            }
+        }
+
+        return failed.isEmpty();
+    }
+
+    private boolean flushSingle(Delta delta)
+    {
+        try
+        {
+            flushTransactional(Collections.singletonList(delta));
+
+            return true;
+        }
+        catch (RuntimeException e)
+        {
+            logger.debug("Failed to flush [{}] download statistics delta.", delta, e);
+
+            return false;
+        }
+    }
+
+    private void flushQuietly()
+    {
+        try
+        {
+            flush();
+        }
+        catch (Exception e)
+        {
+            logger.error("Failed to flush download statistics.", e);
+        }
+    }
+
+    private void flushTransactional(List<Delta> batch)
+    {
+        new TransactionTemplate(transactionManager).execute(t -> {
+            for (Delta delta : batch)
+            {
+                ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(delta.getStorageId(),
+                                                                                   delta.getRepositoryId(),
+                                                                                   delta.getPath());
+                if (artifactEntry == null)
+                {
+                    logger.warn("No [{}] found for [{}].", ArtifactEntry.class.getSimpleName(), delta);
+
+                    continue;
+                }
+
+                // The stored count is an `Integer`, so the `long` sum is saturated rather than overflown.
+                long downloadCount = artifactEntry.getDownloadCount() + delta.getDownloadCount();
+                artifactEntry.setDownloadCount((int) Math.min(downloadCount, Integer.MAX_VALUE));
+
+                Date lastUsed = artifactEntry.getLastUsed();
+                if (lastUsed == null || lastUsed.getTime() < delta.getLastUsed())
+                {
+                    artifactEntry.setLastUsed(new Date(delta.getLastUsed()));
+                }
+
+                artifactEntryService.save(artifactEntry);
+            }
+
+            return null;
+        });
+    }
+
+}
@@ -1,32 +1,50 @@
 package org.carlspring.strongbox.providers.repository;
 
 import java.io.IOException;
-import java.util.Date;
 
-import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
-import org.carlspring.strongbox.domain.ArtifactEntry;
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
 import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * Only records the download, the {@link ArtifactDownloadStatisticsWriter}
+ * writes the statistics into the database later in batches.
+ * <br>
+ * The downloading event is dispatched for the artifacts only, so the handler
+ * doesn't resolve the path attributes within the request thread.
+ */
 @Component
-public class ArtifactDownloadingEventHandler extends AsyncArtifactEntryHandler
+public class ArtifactDownloadingEventHandler
 {
 
-    public ArtifactDownloadingEventHandler()
-    {
-        super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING);
-    }
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactDownloadingEventHandler.class);
+
+    @Inject
+    private ArtifactDownloadStatisticsWriter artifactDownloadStatisticsWriter;
 
-    @Override
-    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath) throws IOException
+    @EventListener
+    public void handleEvent(final ArtifactEvent<RepositoryPath> event)
     {
-        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
-        
-        artifactEntry.setDownloadCount(artifactEntry.getDownloadCount() + 1);
-        artifactEntry.setLastUsed(new Date());
+        if (event.getType() != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_DOWNLOADING.getType())
+        {
+            return;
+        }
 
-        return artifactEntry;
+        RepositoryPath repositoryPath = event.getPath();
+        try
+        {
+            artifactDownloadStatisticsWriter.record(repositoryPath);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to record download of [%s]", repositoryPath), e);
+        }
     }
 
 }
@@ -6,19 +6,24 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 
-import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.configuration.ConfigurationUtils;
 import org.carlspring.strongbox.data.criteria.OQueryTemplate;
 import org.carlspring.strongbox.data.criteria.Paginator;
@@ -31,19 +36,34 @@ import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
+import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryMemberResolver;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryNegativeCache;
 import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
+import org.carlspring.strongbox.services.support.ArtifactRoutingRulesMatcher;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.query.OSQLSynchQuery;
+import com.orientechnologies.orient.object.db.OObjectDatabaseTx;
+
 /**
  * @author carlspring
  */
 @Component
-public class GroupRepositoryProvider extends AbstractRepositoryProvider
+public class GroupRepositoryProvider extends AbstractRepositoryProvider implements InitializingBean, DisposableBean
 {
 
     private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryProvider.class);
@@ -64,7 +84,54 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
     
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
-    
+
+    @Inject
+    private GroupRepositoryNegativeCache groupRepositoryNegativeCache;
+
+    @Inject
+    private ProxyRepositoryArtifactResolver proxyRepositoryArtifactResolver;
+
+    @Value("${strongbox.group.resolution.parallelism:8}")
+    private int resolutionParallelism;
+
+    @Value("${strongbox.group.resolution.queueCapacity:64}")
+    private int resolutionQueueCapacity;
+
+    private ExecutorService resolutionExecutor;
+
+    private GroupRepositoryMemberResolver groupRepositoryMemberResolver;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        if (resolutionParallelism < 2)
+        {
+            groupRepositoryMemberResolver = new GroupRepositoryMemberResolver(null, groupRepositoryNegativeCache);
+            return;
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(resolutionParallelism,
+                                                             resolutionParallelism,
+                                                             60L,
+                                                             TimeUnit.SECONDS,
+                                                             new ArrayBlockingQueue<>(Math.max(1, resolutionQueueCapacity)),
+                                                             new CustomizableThreadFactory("group-resolution-"),
+                                                             new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+
+        resolutionExecutor = executor;
+        groupRepositoryMemberResolver = new GroupRepositoryMemberResolver(executor, groupRepositoryNegativeCache);
+    }
+
+    @Override
+    public void destroy()
+    {
+        if (resolutionExecutor != null)
+        {
+            resolutionExecutor.shutdownNow();
+        }
+    }
+
     @Override
     public String getAlias()
     {
@@ -92,10 +159,65 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         return resolvePathTraversal(repositoryPath);
     }
     
+    /**
+     * Resolves the path in the group members (including the members of the nested groups), the first member in the
+     * configured order which has the path wins.
+     * <br>
+     * The local content is probed first: the members after the first one which already has the path locally are not
+     * asked at all, and the hosted members which don't have it are skipped. The remaining proxy members are probed
+     * concurrently with the <code>HEAD</code> requests (see
+     * {@link ProxyRepositoryArtifactResolver#probeRemoteResource(RepositoryPath)}), and the artifact is fetched only
+     * from the first member which reported it, so that the losers never download it. The other paths (like the
+     * metadata) are always resolved in order.
+     *
+     * @see GroupRepositoryMemberResolver
+     */
     protected RepositoryPath resolvePathTraversal(RepositoryPath repositoryPath) throws IOException
+    {
+        List<RepositoryPath> memberPaths = new ArrayList<>();
+        collectMemberPaths(repositoryPath, new HashSet<>(), memberPaths);
+
+        List<RepositoryPath> candidatePaths = new ArrayList<>();
+        RepositoryPath localPath = null;
+        for (RepositoryPath memberPath : memberPaths)
+        {
+            if (Files.exists(memberPath))
+            {
+                candidatePaths.add(memberPath);
+                localPath = memberPath;
+                break;
+            }
+
+            if (memberPath.getRepository().isProxyRepository())
+            {
+                candidatePaths.add(memberPath);
+            }
+        }
+
+        if (candidatePaths.size() < 2 || !RepositoryFiles.isArtifact(repositoryPath))
+        {
+            return groupRepositoryMemberResolver.resolve(candidatePaths, this::resolvePathFromGroupMember);
+        }
+
+        return groupRepositoryMemberResolver.resolve(candidatePaths,
+                                                     localPath,
+                                                     proxyRepositoryArtifactResolver::probeRemoteResource,
+                                                     this::resolvePathFromGroupMember);
+    }
+
+    /**
+     * Collects the member paths to resolve in the group traversal order, skipping the members which are out of
+     * service, denied by the routing rules, already visited or known to not have the path.
+     */
+    private void collectMemberPaths(RepositoryPath repositoryPath,
+                                    Set<String> visitedRepositories,
+                                    List<RepositoryPath> memberPaths)
+        throws IOException
     {
         Repository groupRepository = repositoryPath.getRepository();
         Storage storage = groupRepository.getStorage();
+        ArtifactRoutingRulesMatcher.Match routingRulesMatch = artifactRoutingRulesChecker.match(groupRepository,
+                                                                                                 RepositoryFiles.relativizePath(repositoryPath));
         
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
         {
@@ -108,23 +230,32 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
                 continue;
             }
             
-            RepositoryPath result = repositoryPathResolver.resolve(subRepository, repositoryPath);
-            if (artifactRoutingRulesChecker.isDenied(groupRepository, result))
+            if (routingRulesMatch.isDenied(sId, rId))
             {
                 continue;
             }
-            
-            result = resolvePathFromGroupMemberOrTraverse(result);
-            if (result == null)
+
+            RepositoryPath memberPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
+            if (!visitedRepositories.add(sId + ":" + rId))
             {
                 continue;
             }
-            
-            logger.debug(String.format("Located artifact: [%s]", result));
-            
-            return result;
+
+            if (getAlias().equals(subRepository.getType()))
+            {
+                collectMemberPaths(memberPath, visitedRepositories, memberPaths);
+                continue;
+            }
+
+            if (groupRepositoryNegativeCache.isNotFound(memberPath))
+            {
+                logger.debug(String.format("Path [%s] is known to be missing.", memberPath));
+                continue;
+            }
+
+            memberPaths.add(memberPath);
         }
-        return null;
     }
 
     private RepositoryPath resolvePathDirectlyFromGroupPathIfPossible(final RepositoryPath artifactPath)
@@ -136,25 +267,19 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         return null;
     }
 
-    protected RepositoryPath resolvePathFromGroupMemberOrTraverse(RepositoryPath repositoryPath)
+    protected RepositoryPath resolvePathFromGroupMember(RepositoryPath repositoryPath)
         throws IOException
     {
         Repository repository = repositoryPath.getRepository();
-        if (getAlias().equals(repository.getType()))
-        {
-            return resolvePathTraversal(repositoryPath);
-        }
-        
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
-        try
-        {
-            return (RepositoryPath) provider.fetchPath(repositoryPath);
-        }
-        catch (IOException e)
+
+        RepositoryPath result = (RepositoryPath) provider.fetchPath(repositoryPath);
+        if (result != null)
         {
-            logger.error(String.format("Failed to resolve path [%s]", repositoryPath));
-            return null;
+            logger.debug(String.format("Located artifact: [%s]", result));
         }
+
+        return result;
     }
 
     @Override
@@ -167,6 +292,12 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Searches all the group members (including the members of the nested groups) with a single query, which
+     * returns one entry per distinct coordinates, with the ordering and the paging pushed down to the database, so
+     * that the deep pages cost about the same as the first one. The {@link RemoteRepositorySearchEvent} is published
+     * for each proxy member before the query, as {@link ProxyRepositoryProvider} does.
+     */
     @Override
     public List<Path> search(String storageId,
                              String repositoryId,
@@ -175,88 +306,106 @@ public class GroupRepositoryProvider extends AbstractRepositoryProvider
     {
         logger.debug(String.format("Search in [%s]:[%s] ...", storageId, repositoryId));
 
-        Map<ArtifactCoordinates, Path> resultMap = new LinkedHashMap<>();
-
         Storage storage = getConfiguration().getStorage(storageId);
         Repository groupRepository = storage.getRepository(repositoryId);
-        Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository);
+        Set<Repository> groupRepositorySet = groupRepositorySetCollector.collect(groupRepository, true);
 
         if (groupRepositorySet.isEmpty())
         {
             return new LinkedList<>();
         }
 
-        int skip = paginator.getSkip();
-        int limit = paginator.getLimit();
+        // The proxy members are not searched by their provider, but they still
+        // should refresh the remote content before the query, as on a direct search.
+        groupRepositorySet.stream()
+                          .filter(Repository::isProxyRepository)
+                          .forEach(r -> eventPublisher.publishEvent(new RemoteRepositorySearchEvent(r.getStorage().getId(),
+                                                                                                    r.getId(),
+                                                                                                    predicate,
+                                                                                                    paginator)));
 
-        int groupSize = groupRepositorySet.size();
-        int groupSkip = (skip / (limit * groupSize)) * limit;
-        int groupLimit = limit;
+        Predicate p = Predicate.empty();
+        groupRepositorySet.stream()
+                          .forEach(r -> p.or(createPredicate(r.getStorage().getId(), r.getId(), predicate)));
 
-        skip = skip - groupSkip;
+        String orderProperty = paginator.getProperty();
+        boolean ordered = orderProperty != null && !orderProperty.trim().isEmpty();
 
-        outer: do
-        {
-            Paginator paginatorLocal = new Paginator();
-            paginatorLocal.setLimit(groupLimit);
-            paginatorLocal.setSkip(groupSkip);
-            paginatorLocal.setProperty(paginator.getProperty());
-            paginatorLocal.setOrder(paginator.getOrder());
+        Paginator groupPaginator = new Paginator();
+        groupPaginator.setSkip(paginator.getSkip());
+        groupPaginator.setLimit(paginator.getLimit());
+        groupPaginator.setOrder(paginator.getOrder());
+        groupPaginator.setProperty(ordered ? "orderKey" : "artifactCoordinates");
 
-            groupLimit = 0;
+        Selector<ArtifactEntry> selector = new Selector<>(ArtifactEntry.class);
+        selector.select(String.format("artifactCoordinates, first(@rid) AS rid%s",
+                                      ordered ? String.format(", first(%s) AS orderKey", orderProperty) : ""))
+                .groupBy("artifactCoordinates")
+                .with(groupPaginator)
+                .where(p);
+
+        OQueryTemplate<List<ODocument>, ArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
+        String sQuery = queryTemplate.calculateQueryString(selector);
+        Map<String, Object> parameterMap = queryTemplate.exposeParameterMap(p);
+
+        logger.debug(String.format("Executing SQL query:%n\t[%s]%nWith parameters:%n\t[%s]", sQuery, parameterMap));
+
+        List<ODocument> page = queryTemplate.getEmDelegate()
+                                            .command(new OSQLSynchQuery<ODocument>(sQuery))
+                                            .execute(parameterMap);
+
+        List<ORID> artifactEntryIds = page.stream()
+                                          .map(d -> ((OIdentifiable) d.field("rid")).getIdentity())
+                                          .collect(Collectors.toList());
+
+        return fetchArtifactEntries(artifactEntryIds).stream()
+                                                     .map(this::resolveArtifactEntryPath)
+                                                     .filter(Objects::nonNull)
+                                                     .collect(Collectors.toCollection(LinkedList::new));
+    }
 
-            for (Iterator<Repository> i = groupRepositorySet.iterator(); i.hasNext();)
-            {
-                Repository r = i.next();
-                RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(r.getType());
-
-                List<Path> repositoryResult = repositoryProvider.search(r.getStorage().getId(), r.getId(), predicate, paginatorLocal);
-                if (repositoryResult.isEmpty())
-                {
-                    i.remove();
-                    continue;
-                }
-
-                // count coordinates intersection
-                groupLimit += repositoryResult.stream()
-                                              .map((p) -> resultMap.put(getArtifactCoordinates(p),
-                                                                        p))
-                                              .filter(p ->  p != null)
-                                              .collect(Collectors.toList())
-                                              .size();
-
-                //Break search iterations if we have reached enough list size.
-                if (resultMap.size() >= limit + skip)
-                {
-                    break outer;
-                }
-            }
-            groupSkip += limit;
+    /**
+     * @return the detached entries, in the order of the given ids
+     */
+    private List<ArtifactEntry> fetchArtifactEntries(List<ORID> artifactEntryIds)
+    {
+        if (artifactEntryIds.isEmpty())
+        {
+            return new LinkedList<>();
+        }
 
-            // Will iterate until there is no more coordinates intersection and
-            // there is more search results within group repositories
-        } while (groupLimit > 0 && !groupRepositorySet.isEmpty());
+        OQueryTemplate<List<ArtifactEntry>, ArtifactEntry> queryTemplate = new OQueryTemplate<>(entityManager);
+        OObjectDatabaseTx delegate = queryTemplate.getEmDelegate();
 
-        LinkedList<Path> resultList = new LinkedList<>();
-        if (skip >= resultMap.size())
+        String sQuery = String.format("SELECT FROM %s FETCHPLAN *:-1", artifactEntryIds);
+        List<ArtifactEntry> artifactEntries = delegate.command(new OSQLSynchQuery<ArtifactEntry>(sQuery)).execute();
+
+        Map<ORID, ArtifactEntry> artifactEntryMap = new HashMap<>();
+        for (ArtifactEntry artifactEntry : artifactEntries)
         {
-            return resultList;
+            artifactEntryMap.put(delegate.getIdentity(artifactEntry).getIdentity(),
+                                 delegate.detachAll(artifactEntry, true));
         }
-        resultList.addAll(resultMap.values());
 
-        int toIndex = resultList.size() - skip > limit ? limit + skip : resultList.size();
-        return resultList.subList(skip, toIndex);
+        return artifactEntryIds.stream()
+                               .map(artifactEntryMap::get)
+                               .filter(Objects::nonNull)
+                               .collect(Collectors.toList());
     }
 
-    private ArtifactCoordinates getArtifactCoordinates(Path p)
+    private Path resolveArtifactEntryPath(ArtifactEntry artifactEntry)
     {
+        Repository repository = getConfiguration().getStorage(artifactEntry.getStorageId())
+                                                  .getRepository(artifactEntry.getRepositoryId());
         try
         {
-            return RepositoryFiles.readCoordinates((RepositoryPath) p);
+            return repositoryPathResolver.resolve(repository).resolve(artifactEntry);
         }
-        catch (IOException e)
+        catch (Exception e)
         {
-            throw new RuntimeException(String.format("Failed to resolve ArtifactCoordinates for [%s]", p), e);
+            logger.error(String.format("Failed to resolve Artifact [%s]", artifactEntry.getArtifactCoordinates()),
+                         e);
+            return null;
         }
     }
 
@@ -5,6 +5,9 @@ import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.RemoteArtifactEntry;
+import org.carlspring.strongbox.io.RepositoryStreamContext;
+import org.carlspring.strongbox.io.RepositoryStreamReadContext;
+import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.AbstractRepositoryProvider;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
@@ -12,6 +15,12 @@ import org.carlspring.strongbox.providers.io.RepositoryPathLock;
 import org.carlspring.strongbox.providers.repository.event.ProxyRepositoryPathExpiredEvent;
 import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryArtifactResolver;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransfer;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransferInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransferRegistry;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -49,6 +58,12 @@ public class ProxyRepositoryProvider
     @Inject
     private RepositoryPathLock repositoryPathLock;
 
+    @Inject
+    private RemoteArtifactTransferRegistry remoteArtifactTransferRegistry;
+
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     @Override
     public String getAlias()
     {
@@ -59,16 +74,85 @@ public class ProxyRepositoryProvider
     protected InputStream getInputStreamInternal(RepositoryPath path)
         throws IOException
     {
+        RemoteArtifactTransfer transfer = remoteArtifactTransferRegistry.lookup(path);
+        if (transfer != null)
+        {
+            return transfer.newInputStream();
+        }
+
         return hostedRepositoryProvider.getInputStreamInternal(path);
     }
 
+    @Override
+    protected Lock getLock(RepositoryStreamContext ctx)
+        throws IOException
+    {
+        if (lookupTransferStream(ctx) != null)
+        {
+            // The write lock is held by the remote transfer until the artifact
+            // has been stored, so the stream follows the transfer unlocked.
+            return null;
+        }
+
+        return super.getLock(ctx);
+    }
+
+    @Override
+    public void onBeforeRead(RepositoryStreamReadContext ctx)
+        throws IOException
+    {
+        if (lookupTransferStream(ctx) == null)
+        {
+            super.onBeforeRead(ctx);
+
+            return;
+        }
+
+        // The artifact (and its `ArtifactEntry`) is not stored yet, so the
+        // downloading event will be dispatched after the transfer completed.
+        logger.debug(String.format("Reading %s through remote transfer", ctx.getPath()));
+    }
+
+    @Override
+    public void onAfterRead(RepositoryStreamReadContext ctx)
+    {
+        RemoteArtifactTransferInputStream transferStream = lookupTransferStream(ctx);
+        if (transferStream != null && transferStream.getTransfer().isSucceeded())
+        {
+            artifactEventListenerRegistry.dispatchArtifactDownloadingEvent((RepositoryPath) ctx.getPath());
+        }
+
+        super.onAfterRead(ctx);
+    }
+
+    private RemoteArtifactTransferInputStream lookupTransferStream(RepositoryStreamContext ctx)
+    {
+        if (!(ctx instanceof RepositoryStreamReadContext))
+        {
+            return null;
+        }
+
+        return StreamUtils.findSource(RemoteArtifactTransferInputStream.class,
+                                      ((RepositoryStreamReadContext) ctx).getStream());
+    }
+
     @Override
     protected RepositoryPath fetchPath(RepositoryPath repositoryPath)
         throws IOException
     {
         RepositoryPath targetPath = hostedRepositoryProvider.fetchPath(repositoryPath);
 
-        if (targetPath == null)
+        RemoteArtifactTransfer transfer;
+        if (targetPath == null && (transfer = remoteArtifactTransferRegistry.lookup(repositoryPath)) != null)
+        {
+            targetPath = transfer.awaitConnected() ? repositoryPath : null;
+        }
+        else if (targetPath == null && isCircuitOpen(repositoryPath))
+        {
+            // Fail fast, rather than to wait for the lock and the remote repository sockets.
+            logger.debug(String.format("Remote repository circuit is open, skip fetching [%s]", repositoryPath));
+        }
+        else if (targetPath == null)
         {
             targetPath = resolvePathExclusive(repositoryPath);
         }
@@ -80,6 +164,13 @@ public class ProxyRepositoryProvider
         return targetPath;
     }
 
+    private boolean isCircuitOpen(RepositoryPath repositoryPath)
+    {
+        RemoteRepository remoteRepository = ((ImmutableRepository) repositoryPath.getRepository()).getRemoteRepository();
+
+        return remoteRepositoryCircuitBreakerRegistry.get(remoteRepository).rejectIfOpen();
+    }
+
     private RepositoryPath resolvePathExclusive(RepositoryPath repositoryPath)
             throws IOException
     {
@@ -98,6 +189,11 @@ public class ProxyRepositoryProvider
                 return targetPath;
 
             }
+            if (remoteArtifactTransferRegistry.isEnabled() && RepositoryFiles.isArtifact(repositoryPath))
+            {
+                return proxyRepositoryArtifactResolver.fetchRemoteResourceThrough(repositoryPath);
+            }
+
             return proxyRepositoryArtifactResolver.fetchRemoteResource(repositoryPath);
         }
         catch (IOException e)
@@ -0,0 +1,206 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.group.GroupRepositorySetCollector;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import org.apache.commons.collections.CollectionUtils;
+import org.javatuples.Pair;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cheap version stamps of the repository content, which are used to identify
+ * (as the <code>ETag</code>) the documents generated from it, like npm
+ * packuments or NuGet feeds.
+ * <br>
+ * The stamp changes each time an artifact of the repository (or, for the group
+ * repository, of any of its members) is stored, updated or deleted, and on
+ * each configuration change. The artifact changes bump the stamp again once
+ * their transaction is completed, so that the documents generated from the
+ * uncommitted data are not identified with the final stamp.
+ * <br>
+ * The stamps are kept by each cluster member (and start over on restart), and
+ * the changes are broadcast to the other members with the
+ * {@link #TOPIC} Hazelcast topic. So the stamps of the same content differ
+ * between the members, which costs the conditional requests moved to another
+ * member a full response, but never serves the stale content.
+ */
+@Component
+public class RepositoryContentStamps
+{
+
+    static final String TOPIC = "repositoryContentStamps";
+
+    /**
+     * The {@link #TOPIC} message of the configuration change.
+     */
+    private static final String ALL = "";
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    private final Map<Pair<String, String>, AtomicLong> modifications = new ConcurrentHashMap<>();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Inject
+    private GroupRepositorySetCollector groupRepositorySetCollector;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    private ITopic<String> topic;
+
+    @PostConstruct
+    public void init()
+    {
+        topic = hazelcastInstance.getTopic(TOPIC);
+        topic.addMessageListener(this::onMessage);
+    }
+
+    /**
+     * @return the stamp of the repository content, or <code>null</code> if the
+     *         content can't be tracked, which is the case for the proxy
+     *         repositories (and the groups which include them), as the
+     *         remote content can change at any time
+     */
+    public String getStamp(Repository repository)
+    {
+        if (CollectionUtils.isEmpty(repository.getGroupRepositories()))
+        {
+            if (repository.isProxyRepository())
+            {
+                return null;
+            }
+
+            return String.format("%s-%s-%s", epoch, invalidations.get(), getModifications(repository).get());
+        }
+
+        Set<Repository> members = groupRepositorySetCollector.collect(repository, true);
+
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Repository member : members)
+        {
+            if (member.isProxyRepository())
+            {
+                return null;
+            }
+
+            hasher.putString(member.getStorage().getId(), StandardCharsets.UTF_8)
+                  .putString(member.getId(), StandardCharsets.UTF_8)
+                  .putLong(getModifications(member).get());
+        }
+
+        return String.format("%s-%s-%s", epoch, invalidations.get(), hasher.hash());
+    }
+
+    /**
+     * @return the stamp which changes on each configuration change
+     */
+    public long getConfigurationStamp()
+    {
+        return invalidations.get();
+    }
+
+    public void touch(Repository repository)
+    {
+        Pair<String, String> key = key(repository);
+        getModifications(key).incrementAndGet();
+        publish(key.getValue0() + ":" + key.getValue1());
+    }
+
+    public void invalidateAll()
+    {
+        invalidations.incrementAndGet();
+        publish(ALL);
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        Repository repository = event.getPath().getRepository();
+        touch(repository);
+
+        // The documents generated before the commit (from the old content) should not be identified with the stamp.
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    touch(repository);
+                }
+            });
+        }
+    }
+
+    private void publish(String message)
+    {
+        if (topic != null)
+        {
+            topic.publish(message);
+        }
+    }
+
+    private void onMessage(Message<String> message)
+    {
+        if (message.getPublishingMember() != null && message.getPublishingMember().localMember())
+        {
+            return;
+        }
+
+        String key = message.getMessageObject();
+        if (ALL.equals(key))
+        {
+            invalidations.incrementAndGet();
+
+            return;
+        }
+
+        int separator = key.indexOf(':');
+        getModifications(Pair.with(key.substring(0, separator), key.substring(separator + 1))).incrementAndGet();
+    }
+
+    private AtomicLong getModifications(Repository repository)
+    {
+        return getModifications(key(repository));
+    }
+
+    private AtomicLong getModifications(Pair<String, String> key)
+    {
+        return modifications.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static Pair<String, String> key(Repository repository)
+    {
+        return Pair.with(repository.getStorage().getId(), repository.getId());
+    }
+
+}
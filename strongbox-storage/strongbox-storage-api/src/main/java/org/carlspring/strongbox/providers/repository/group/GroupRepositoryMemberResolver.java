@@ -0,0 +1,268 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteResourceStatus;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+/**
+ * Resolves the path in the group members, the first member in the group order which has the path wins.
+ * <br>
+ * With the {@link ExecutorService} provided the members are probed concurrently, and the path is fetched only from
+ * the first member (in the group order) which was not reported to miss it, so that the members after it never fetch
+ * the path, and their probes are cancelled. The probes are run in the caller thread if the pool is saturated.
+ * <br>
+ * Only the authoritative misses are put into the {@link GroupRepositoryNegativeCache}: the member which the probe
+ * reported the path as missing from ({@link RemoteResourceStatus#NOT_FOUND}), and the local (not proxy) member
+ * which didn't fetch the path. The unavailable remote repositories are skipped without caching, so they are asked
+ * again as soon as they are back.
+ *
+ * @see org.carlspring.strongbox.providers.repository.GroupRepositoryProvider
+ */
+public class GroupRepositoryMemberResolver
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryMemberResolver.class);
+
+    private final ExecutorService executor;
+
+    private final GroupRepositoryNegativeCache groupRepositoryNegativeCache;
+
+    /**
+     * @param executor
+     *            the pool to run the probes in, or <code>null</code> to fetch the members one by one
+     */
+    public GroupRepositoryMemberResolver(ExecutorService executor,
+                                         GroupRepositoryNegativeCache groupRepositoryNegativeCache)
+    {
+        this.executor = executor;
+        this.groupRepositoryNegativeCache = groupRepositoryNegativeCache;
+    }
+
+    /**
+     * Fetches the path from the members one by one, in the group order.
+     *
+     * @param memberPaths
+     *            the member paths in the group order
+     * @return the fetched path, or <code>null</code> if no member has it
+     */
+    public RepositoryPath resolve(List<RepositoryPath> memberPaths,
+                                  MemberFetch fetch)
+        throws IOException
+    {
+        for (RepositoryPath memberPath : memberPaths)
+        {
+            RepositoryPath result = fetch(memberPath, fetch);
+            if (result != null)
+            {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Probes the members concurrently, and fetches the path from the first member in the group order which was not
+     * reported to miss it.
+     *
+     * @param memberPaths
+     *            the member paths in the group order
+     * @param localPath
+     *            the member path which already exists locally (it's not probed), or <code>null</code>
+     * @return the fetched path, or <code>null</code> if no member has it
+     */
+    public RepositoryPath resolve(List<RepositoryPath> memberPaths,
+                                  RepositoryPath localPath,
+                                  MemberProbe probe,
+                                  MemberFetch fetch)
+        throws IOException
+    {
+        if (executor == null || memberPaths.size() < 2)
+        {
+            return resolve(memberPaths, fetch);
+        }
+
+        List<Future<RemoteResourceStatus>> probes = new ArrayList<>(memberPaths.size());
+        for (RepositoryPath memberPath : memberPaths)
+        {
+            probes.add(memberPath == localPath ? CompletableFuture.completedFuture(RemoteResourceStatus.FOUND)
+                    : submit(memberPath, probe));
+        }
+        try
+        {
+            for (int i = 0; i < memberPaths.size(); i++)
+            {
+                RepositoryPath memberPath = memberPaths.get(i);
+                RemoteResourceStatus status = getStatus(probes.get(i), memberPath);
+                if (status == RemoteResourceStatus.UNAVAILABLE)
+                {
+                    logger.debug(String.format("Path [%s] skipped, the remote repository is unavailable.",
+                                               memberPath));
+                    continue;
+                }
+                if (status == RemoteResourceStatus.NOT_FOUND)
+                {
+                    continue;
+                }
+
+                RepositoryPath result = fetch(memberPath, fetch);
+                if (result != null)
+                {
+                    return result;
+                }
+            }
+
+            return null;
+        }
+        finally
+        {
+            // The probes don't store anything, so they can be interrupted.
+            probes.forEach(f -> f.cancel(true));
+        }
+    }
+
+    private RepositoryPath fetch(RepositoryPath memberPath,
+                                 MemberFetch fetch)
+        throws IOException
+    {
+        long stamp = groupRepositoryNegativeCache.getStamp();
+        RepositoryPath result;
+        try
+        {
+            result = fetch.fetch(memberPath);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to resolve path [%s]", memberPath));
+            return null;
+        }
+
+        // The proxy member doesn't tell a missing path from an unavailable remote repository.
+        if (result == null && !memberPath.getRepository().isProxyRepository())
+        {
+            groupRepositoryNegativeCache.putNotFound(memberPath, stamp);
+        }
+
+        return result;
+    }
+
+    private Future<RemoteResourceStatus> submit(RepositoryPath memberPath,
+                                                MemberProbe probe)
+    {
+        Callable<RemoteResourceStatus> task = withLoggingContext(() -> {
+            long stamp = groupRepositoryNegativeCache.getStamp();
+            RemoteResourceStatus status = probe.probe(memberPath);
+            if (status == RemoteResourceStatus.NOT_FOUND)
+            {
+                groupRepositoryNegativeCache.putNotFound(memberPath, stamp);
+            }
+
+            return status;
+        });
+
+        try
+        {
+            return executor.submit(task);
+        }
+        catch (RejectedExecutionException e)
+        {
+            FutureTask<RemoteResourceStatus> futureTask = new FutureTask<>(task);
+            futureTask.run();
+
+            return futureTask;
+        }
+    }
+
+    private RemoteResourceStatus getStatus(Future<RemoteResourceStatus> probe,
+                                           RepositoryPath memberPath)
+        throws IOException
+    {
+        try
+        {
+            return probe.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(String.format("Interrupted while resolving [%s]", memberPath));
+        }
+        catch (ExecutionException e)
+        {
+            // The member will be asked with the regular fetch, which reports the failure.
+            logger.debug(String.format("Failed to probe path [%s]", memberPath), e.getCause());
+
+            return RemoteResourceStatus.FOUND;
+        }
+    }
+
+    /**
+     * Carries the logging context of the requester thread over to the pool thread.
+     */
+    private static <T> Callable<T> withLoggingContext(Callable<T> task)
+    {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setLoggingContext(context);
+            try
+            {
+                return task.call();
+            }
+            finally
+            {
+                setLoggingContext(previous);
+            }
+        };
+    }
+
+    private static void setLoggingContext(Map<String, String> context)
+    {
+        if (context == null)
+        {
+            MDC.clear();
+        }
+        else
+        {
+            MDC.setContextMap(context);
+        }
+    }
+
+    @FunctionalInterface
+    public interface MemberProbe
+    {
+
+        RemoteResourceStatus probe(RepositoryPath memberPath)
+            throws IOException;
+
+    }
+
+    @FunctionalInterface
+    public interface MemberFetch
+    {
+
+        /**
+         * @return the fetched path, or <code>null</code> if the member doesn't have it
+         */
+        RepositoryPath fetch(RepositoryPath memberPath)
+            throws IOException;
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.javatuples.Triplet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Short-lived "path not found in the group member" entries, so that the
+ * group repository doesn't ask the members (possibly the remote ones) for
+ * the same missing path on each request.
+ * <br>
+ * The entries are invalidated when the path is stored into or deleted from
+ * the member. The lookups which were started before the invalidation don't
+ * put their (possibly stale) result, see {@link #getStamp()}.
+ *
+ * @see org.carlspring.strongbox.providers.repository.GroupRepositoryProvider
+ */
+@Component
+public class GroupRepositoryNegativeCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(GroupRepositoryNegativeCache.class);
+
+    private final Cache<Triplet<String, String, String>, Boolean> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    public GroupRepositoryNegativeCache(@Value("${strongbox.group.negativeCache.maximumSize:100000}") long maximumSize,
+                                        @Value("${strongbox.group.negativeCache.lifetime:30000}") long lifetime)
+    {
+        cache = CacheBuilder.newBuilder()
+                            .maximumSize(maximumSize)
+                            .expireAfterWrite(lifetime, TimeUnit.MILLISECONDS)
+                            .build();
+    }
+
+    public boolean isNotFound(RepositoryPath path)
+        throws IOException
+    {
+        boolean result = cache.getIfPresent(key(path)) != null;
+        if (result)
+        {
+            hits.incrementAndGet();
+        }
+
+        return result;
+    }
+
+    /**
+     * @return the stamp to take before the member lookup, and to pass into
+     *         {@link #putNotFound(RepositoryPath, long)} after it
+     */
+    public long getStamp()
+    {
+        return invalidations.get();
+    }
+
+    public void putNotFound(RepositoryPath path,
+                            long stamp)
+        throws IOException
+    {
+        if (stamp != invalidations.get())
+        {
+            return;
+        }
+
+        Triplet<String, String, String> key = key(path);
+        cache.put(key, Boolean.TRUE);
+
+        // The path could have been invalidated in between.
+        if (stamp != invalidations.get())
+        {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidate(RepositoryPath path)
+        throws IOException
+    {
+        invalidations.incrementAndGet();
+        cache.invalidate(key(path));
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        try
+        {
+            invalidate(event.getPath());
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to invalidate [%s]", event.getPath()), e);
+        }
+    }
+
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    private Triplet<String, String, String> key(RepositoryPath path)
+        throws IOException
+    {
+        Repository repository = path.getRepository();
+
+        return Triplet.with(repository.getStorage().getId(), repository.getId(), RepositoryFiles.relativizePath(path));
+    }
+
+}
@@ -32,6 +32,19 @@ public class GroupRepositorySetCollector
     public Set<Repository> collect(Repository groupRepository,
                                    boolean traverse)
     {
+        if (traverse)
+        {
+            // The flattened order is precomputed once per configuration.
+            Set<Repository> flattened = configurationManager.getConfiguration()
+                                                            .getFlattenedGroupRepositories(
+                                                                    groupRepository.getStorage().getId(),
+                                                                    groupRepository.getId());
+            if (flattened != null)
+            {
+                return flattened;
+            }
+        }
+
         Set<Repository> result = groupRepository.getGroupRepositories()
                                                 .stream()
                                                 .map(groupRepoId -> getRepository(groupRepository.getStorage(),
@@ -1,15 +1,19 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.client.CloseableRestResponse;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.event.artifact.ArtifactEventListenerRegistry;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.ImmutableRepository;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 
 import javax.inject.Inject;
 import java.io.BufferedInputStream;
@@ -34,6 +38,9 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     @Inject
     private ArtifactEventListenerRegistry artifactEventListenerRegistry;
 
@@ -46,6 +53,12 @@ public class ProxyRepositoryArtifactResolver
     @Inject
     private ArtifactManagementService artifactManagementService;
 
+    @Inject
+    private RemoteArtifactTransferRegistry remoteArtifactTransferRegistry;
+
+    @Inject
+    private RepositoryPathResolver repositoryPathResolver;
+
     /**
      * This method has been developed to force fetch resource from remote.
      *
@@ -58,10 +71,8 @@ public class ProxyRepositoryArtifactResolver
     {
         Repository repository = repositoryPath.getFileSystem().getRepository();
         final RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
-        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        if (!isAvailable(remoteRepository))
         {
-            logger.debug("Remote repository '" + remoteRepository.getUrl() + "' is down.");
-
             return null;
         }
 
@@ -81,6 +92,143 @@ public class ProxyRepositoryArtifactResolver
         }
     }
 
+    /**
+     * Starts to fetch the resource from remote in background ("tee-through"
+     * mode) and returns as soon as the remote repository responded, so that
+     * the resource can be served while it's being cached.
+     *
+     * The content is available with {@link RemoteArtifactTransfer} from
+     * {@link RemoteArtifactTransferRegistry} until the transfer completed.
+     * The remote repository availability is checked by the transfer itself,
+     * so that the requests which join the transfer in progress don't take the
+     * circuit breaker permits.
+     *
+     * It should not contain any local / cache existence checks.
+     */
+    public RepositoryPath fetchRemoteResourceThrough(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
+
+        RemoteArtifactTransfer transfer = remoteArtifactTransferRegistry.start(repositoryPath,
+                                                                               t -> transfer(t, remoteRepository));
+
+        return transfer.awaitConnected() ? repositoryPath : null;
+    }
+
+    /**
+     * Asks the remote repository if it has the resource, with the <code>HEAD</code> request, so that the resource is
+     * only fetched from the remote repository which will actually serve it.
+     *
+     * It should not contain any local / cache existence checks.
+     *
+     * @return {@link RemoteResourceStatus#NOT_FOUND} only if the remote repository reported the resource as missing,
+     *         {@link RemoteResourceStatus#UNAVAILABLE} if the remote repository is down or its circuit breaker is open,
+     *         and {@link RemoteResourceStatus#FOUND} otherwise (including the remote repositories which don't support
+     *         the <code>HEAD</code> requests)
+     */
+    public RemoteResourceStatus probeRemoteResource(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        Repository repository = repositoryPath.getFileSystem().getRepository();
+        final RemoteRepository remoteRepository = ((ImmutableRepository)repository).getRemoteRepository();
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository) ||
+            remoteRepositoryCircuitBreakerRegistry.get(remoteRepository).rejectIfOpen())
+        {
+            return RemoteResourceStatus.UNAVAILABLE;
+        }
+
+        String resource = RepositoryFiles.resolveResource(repositoryPath).toString();
+        try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository);
+             CloseableRestResponse response = client.head(resource))
+        {
+            int status = response.getResponse().getStatus();
+
+            return status == 404 || status == 410 ? RemoteResourceStatus.NOT_FOUND : RemoteResourceStatus.FOUND;
+        }
+    }
+
+    private boolean isAvailable(RemoteRepository remoteRepository)
+    {
+        if (!remoteRepositoryAlivenessCacheManager.isAlive(remoteRepository))
+        {
+            logger.debug("Remote repository '" + remoteRepository.getUrl() + "' is down.");
+
+            return false;
+        }
+
+        if (!remoteRepositoryCircuitBreakerRegistry.get(remoteRepository).tryAcquirePermission())
+        {
+            logger.debug("Remote repository '" + remoteRepository.getUrl() + "' circuit is open.");
+
+            return false;
+        }
+
+        return true;
+    }
+
+    private void transfer(RemoteArtifactTransfer transfer,
+                          RemoteRepository remoteRepository)
+    {
+        RepositoryPath requestedPath = (RepositoryPath) transfer.getPath();
+        IOException failure = null;
+        if (!isAvailable(remoteRepository))
+        {
+            // Completed without being connected, so the requesters get no path.
+            transfer.onComplete(null);
+
+            return;
+        }
+
+        try (RestArtifactResolver client = restArtifactResolverFactory.newInstance(remoteRepository))
+        {
+            // The path instance should not be shared with the requester thread,
+            // because it holds the `ArtifactEntry` state during the store.
+            RepositoryPath repositoryPath = repositoryPathResolver.resolve(requestedPath.getRepository(),
+                                                                           RepositoryFiles.relativizePath(requestedPath));
+
+            ReadWriteLock lockSource = repositoryPathLock.lock(repositoryPath, "remote-fetch");
+            Lock lock = lockSource.writeLock();
+            lock.lock();
+
+            try
+            {
+                ProxyRepositoryInputStream remoteIs = new ProxyRepositoryInputStream(client, repositoryPath);
+                // Tracked outside of the buffer, so that each read of the store corresponds to the written bytes.
+                try (InputStream is = transfer.track(new BufferedInputStream(remoteIs)))
+                {
+                    // Force the connection to remote, so that the missing resource will be reported to requester.
+                    is.available();
+                    transfer.onConnected(remoteIs.getContentLength());
+
+                    doFetch(repositoryPath, is);
+                }
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+        catch (IOException e)
+        {
+            failure = e;
+        }
+        catch (Exception e)
+        {
+            failure = new IOException(e);
+        }
+        finally
+        {
+            if (failure != null)
+            {
+                logger.error(String.format("Failed to transfer remote resource [%s]", requestedPath), failure);
+            }
+
+            transfer.onComplete(failure);
+        }
+    }
+
     private RepositoryPath doFetch(RepositoryPath repositoryPath,
                                    InputStream is)
         throws IOException
@@ -4,12 +4,16 @@ import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
 
+import javax.ws.rs.core.HttpHeaders;
+
 import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.commons.lang3.time.StopWatch;
 import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
 import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactStreamFetcher.RemoteArtifactInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -94,6 +98,25 @@ public class ProxyRepositoryInputStream extends FilterInputStream
         return super.available();
     }
 
+    /**
+     * @return the length of the remote resource, or <code>-1</code> if it was not reported by remote
+     * @throws IOException
+     */
+    public long getContentLength()
+        throws IOException
+    {
+        if (!(in instanceof RemoteArtifactInputStream))
+        {
+            return -1L;
+        }
+
+        String contentLength = ((RemoteArtifactInputStream) in).getConnection()
+                                                                .getResponse()
+                                                                .getHeaderString(HttpHeaders.CONTENT_LENGTH);
+
+        return NumberUtils.toLong(contentLength, -1L);
+    }
+
     @Override
     public void close()
         throws IOException
@@ -11,6 +11,7 @@ import org.carlspring.strongbox.client.CloseableRestResponse;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.ProxyRepositoryInputStream.InputStreamRead;
 
 public class RemoteArtifactStreamFetcher
 {
@@ -138,13 +139,17 @@ public class RemoteArtifactStreamFetcher
         public int read()
             throws IOException
         {
-            return getTarget().read();
+            InputStream target = getTarget();
+
+            return (int) readBody(() -> target.read());
         }
 
         public int read(byte[] b)
             throws IOException
         {
-            return getTarget().read(b);
+            InputStream target = getTarget();
+
+            return (int) readBody(() -> target.read(b));
         }
 
         public int read(byte[] b,
@@ -152,13 +157,36 @@ public class RemoteArtifactStreamFetcher
                         int len)
             throws IOException
         {
-            return getTarget().read(b, off, len);
+            InputStream target = getTarget();
+
+            return (int) readBody(() -> target.read(b, off, len));
         }
 
         public long skip(long n)
             throws IOException
         {
-            return getTarget().skip(n);
+            InputStream target = getTarget();
+
+            return readBody(() -> target.skip(n));
+        }
+
+        /**
+         * The request failures are already reported by the client, while the
+         * response body (read timeout included) fails after the request.
+         */
+        private long readBody(InputStreamRead read)
+            throws IOException
+        {
+            try
+            {
+                return read.read();
+            }
+            catch (IOException e)
+            {
+                client.reportReadFailure(e);
+
+                throw e;
+            }
         }
 
         public int available()
@@ -0,0 +1,245 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * Tracks a single remote artifact download which is being cached into the
+ * proxy repository, while other readers consume it ("tee-through" mode).
+ * <br>
+ * The download itself is performed by {@link ProxyRepositoryArtifactResolver}
+ * into the temporary location of the artifact, and the
+ * {@link RemoteArtifactTransferInputStream}s created by this transfer follow
+ * the temporary file as it grows.
+ *
+ * @see RemoteArtifactTransferRegistry
+ */
+public class RemoteArtifactTransfer
+{
+
+    private static final long PROGRESS_TIMEOUT_MILLIS = 500L;
+
+    private final Path path;
+
+    private final Path tempPath;
+
+    private volatile long transferred;
+
+    private volatile long contentLength = -1L;
+
+    private volatile boolean connected;
+
+    private volatile boolean completed;
+
+    private volatile IOException failure;
+
+    public RemoteArtifactTransfer(Path path,
+                                  Path tempPath)
+    {
+        this.path = path;
+        this.tempPath = tempPath;
+    }
+
+    /**
+     * @return the target artifact path, which will exist after the transfer completed successfully
+     */
+    public Path getPath()
+    {
+        return path;
+    }
+
+    /**
+     * @return the temporary path which the artifact is being downloaded into
+     */
+    public Path getTempPath()
+    {
+        return tempPath;
+    }
+
+    public long getTransferred()
+    {
+        return transferred;
+    }
+
+    /**
+     * @return the length reported by the remote repository, or <code>-1</code> if it's unknown
+     */
+    public long getContentLength()
+    {
+        return contentLength;
+    }
+
+    public boolean isCompleted()
+    {
+        return completed;
+    }
+
+    public boolean isSucceeded()
+    {
+        return completed && failure == null;
+    }
+
+    public synchronized void onConnected(long contentLength)
+    {
+        this.contentLength = contentLength;
+        this.connected = true;
+
+        notifyAll();
+    }
+
+    public synchronized void onProgress(long bytes)
+    {
+        transferred += bytes;
+
+        notifyAll();
+    }
+
+    public synchronized void onComplete(IOException failure)
+    {
+        this.failure = failure;
+        this.completed = true;
+
+        notifyAll();
+    }
+
+    /**
+     * Waits until the remote repository responded, so the requested path can
+     * be served.
+     *
+     * @return <code>false</code> if the transfer completed without being
+     *         connected, for example if the remote repository was unavailable
+     * @throws IOException
+     *             if the transfer failed before any byte was received, for
+     *             example if the remote resource was not found
+     */
+    public synchronized boolean awaitConnected()
+        throws IOException
+    {
+        while (!connected && !completed)
+        {
+            doWait();
+        }
+
+        if (!connected && failure != null)
+        {
+            // Propagate as is, so that `ArtifactNotFoundException` is still handled by callers.
+            throw failure;
+        }
+
+        return connected;
+    }
+
+    /**
+     * Waits until more bytes have been transferred than the
+     * <code>observed</code> amount, or the transfer completed.
+     *
+     * @param observed
+     *            the amount of transferred bytes known by the caller
+     * @throws InterruptedIOException
+     */
+    public synchronized void awaitProgress(long observed)
+        throws InterruptedIOException
+    {
+        if (transferred == observed && !completed)
+        {
+            doWait();
+        }
+    }
+
+    public void checkFailure()
+        throws IOException
+    {
+        IOException e = failure;
+        if (e == null)
+        {
+            return;
+        }
+
+        throw new IOException(String.format("Remote transfer failed for [%s].", path), e);
+    }
+
+    /**
+     * Decorates the remote stream to track the transfer progress.
+     * <br>
+     * The bytes are reported only with the next read (or close), because the
+     * consumer is expected to write what it has read into the temporary file
+     * before it reads again (as {@link org.apache.commons.io.IOUtils#copy}
+     * does), so the readers are woken up when the bytes are in the file.
+     *
+     * @param is
+     *            the remote artifact stream
+     * @return the decorated stream
+     */
+    public InputStream track(InputStream is)
+    {
+        return new ProxyInputStream(is)
+        {
+
+            private long pending;
+
+            @Override
+            protected void beforeRead(int n)
+            {
+                commitProgress();
+            }
+
+            @Override
+            protected void afterRead(int n)
+            {
+                if (n > 0)
+                {
+                    pending += n;
+                }
+            }
+
+            @Override
+            public void close()
+                throws IOException
+            {
+                try
+                {
+                    super.close();
+                }
+                finally
+                {
+                    commitProgress();
+                }
+            }
+
+            private void commitProgress()
+            {
+                if (pending > 0)
+                {
+                    onProgress(pending);
+                    pending = 0;
+                }
+            }
+
+        };
+    }
+
+    public RemoteArtifactTransferInputStream newInputStream()
+    {
+        return new RemoteArtifactTransferInputStream(this);
+    }
+
+    private void doWait()
+        throws InterruptedIOException
+    {
+        try
+        {
+            wait(PROGRESS_TIMEOUT_MILLIS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException(String.format("Interrupted while waiting for [%s].", path));
+        }
+    }
+
+}
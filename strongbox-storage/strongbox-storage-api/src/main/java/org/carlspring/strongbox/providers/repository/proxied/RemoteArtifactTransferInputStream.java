@@ -0,0 +1,136 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This stream follows the temporary file of the {@link RemoteArtifactTransfer}
+ * while it's being written, and ends only when the transfer has been
+ * completed.
+ * <br>
+ * Note that the file channel is opened without the {@link Path} lock, because
+ * the lock is held by the transfer until the artifact has been stored.
+ */
+public class RemoteArtifactTransferInputStream extends InputStream
+{
+
+    private final RemoteArtifactTransfer transfer;
+
+    private SeekableByteChannel channel;
+
+    private boolean closed;
+
+    public RemoteArtifactTransferInputStream(RemoteArtifactTransfer transfer)
+    {
+        this.transfer = transfer;
+    }
+
+    public RemoteArtifactTransfer getTransfer()
+    {
+        return transfer;
+    }
+
+    @Override
+    public int read()
+        throws IOException
+    {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+
+        return n < 0 ? n : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b,
+                    int off,
+                    int len)
+        throws IOException
+    {
+        if (len == 0)
+        {
+            return 0;
+        }
+
+        SeekableByteChannel source = getChannel();
+        ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+        while (true)
+        {
+            // The state should be taken before the read, so that the end of
+            // the file can be trusted if the transfer was already completed.
+            boolean completed = transfer.isCompleted();
+            long observed = transfer.getTransferred();
+
+            int n = source.read(buffer);
+            if (n > 0)
+            {
+                return n;
+            }
+
+            if (completed)
+            {
+                transfer.checkFailure();
+
+                return -1;
+            }
+
+            transfer.awaitProgress(observed);
+        }
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        closed = true;
+        if (channel != null)
+        {
+            channel.close();
+        }
+    }
+
+    private SeekableByteChannel getChannel()
+        throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream closed.");
+        }
+        if (channel != null)
+        {
+            return channel;
+        }
+
+        while (true)
+        {
+            boolean completed = transfer.isCompleted();
+            long observed = transfer.getTransferred();
+            if (completed)
+            {
+                transfer.checkFailure();
+            }
+
+            // The temporary file is moved into the target location once the transfer completed.
+            Path source = completed ? transfer.getPath() : transfer.getTempPath();
+            try
+            {
+                return channel = Files.newByteChannel(source, StandardOpenOption.READ);
+            }
+            catch (NoSuchFileException e)
+            {
+                if (completed)
+                {
+                    throw e;
+                }
+            }
+
+            transfer.awaitProgress(observed);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.CustomizableThreadFactory;
+
+/**
+ * Keeps the {@link RemoteArtifactTransfer}s which are currently in progress,
+ * so that concurrent requests for the same path can follow the download
+ * instead of waiting for it.
+ * <br>
+ * The "tee-through" mode is disabled by default and can be enabled with
+ * <code>strongbox.proxy.teeThrough.enabled=true</code>. If all the transfer
+ * threads are busy, the transfer is executed within the caller thread, which
+ * is equivalent to the regular (blocking) remote fetch.
+ */
+@Component
+public class RemoteArtifactTransferRegistry
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteArtifactTransferRegistry.class);
+
+    private final ConcurrentMap<URI, RemoteArtifactTransfer> transfers = new ConcurrentHashMap<>();
+
+    @Value("${strongbox.proxy.teeThrough.enabled:false}")
+    private boolean enabled;
+
+    @Value("${strongbox.proxy.teeThrough.threads:16}")
+    private int threads;
+
+    private ThreadPoolExecutor executor;
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        executor = new ThreadPoolExecutor(threads,
+                                          threads,
+                                          60L,
+                                          TimeUnit.SECONDS,
+                                          new SynchronousQueue<>(),
+                                          new CustomizableThreadFactory("remote-artifact-transfer-"),
+                                          new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void destroy()
+    {
+        executor.shutdown();
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public int getActiveTransfersCount()
+    {
+        return transfers.size();
+    }
+
+    /**
+     * @param repositoryPath
+     *            the artifact path
+     * @return the transfer in progress for the path, or <code>null</code> if there is no such transfer
+     */
+    public RemoteArtifactTransfer lookup(RepositoryPath repositoryPath)
+    {
+        return transfers.get(repositoryPath.toUri());
+    }
+
+    /**
+     * Starts a new transfer for the path, or returns the one which is already
+     * in progress.
+     *
+     * @param repositoryPath
+     *            the artifact path
+     * @param task
+     *            the download procedure, it's expected to report the transfer
+     *            state into the {@link RemoteArtifactTransfer} provided
+     * @return the transfer
+     * @throws IOException
+     */
+    public RemoteArtifactTransfer start(RepositoryPath repositoryPath,
+                                        Consumer<RemoteArtifactTransfer> task)
+        throws IOException
+    {
+        URI key = repositoryPath.toUri();
+
+        RemoteArtifactTransfer transfer = new RemoteArtifactTransfer(repositoryPath,
+                                                                     RepositoryFiles.temporary(repositoryPath));
+        RemoteArtifactTransfer existing = transfers.putIfAbsent(key, transfer);
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        logger.debug("Starting remote transfer for [{}].", repositoryPath);
+
+        executor.execute(() -> {
+            try
+            {
+                task.accept(transfer);
+            }
+            finally
+            {
+                transfers.remove(key, transfer);
+            }
+        });
+
+        return transfer;
+    }
+
+}
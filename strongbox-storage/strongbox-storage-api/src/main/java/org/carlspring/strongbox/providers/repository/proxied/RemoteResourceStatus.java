@@ -0,0 +1,28 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+/**
+ * The result of the remote resource probe, see
+ * {@link ProxyRepositoryArtifactResolver#probeRemoteResource(org.carlspring.strongbox.providers.io.RepositoryPath)}.
+ */
+public enum RemoteResourceStatus
+{
+
+    /**
+     * The remote repository has the resource, or at least didn't report it
+     * as missing.
+     */
+    FOUND,
+
+    /**
+     * The remote repository reported the resource as missing
+     * (<code>404</code> or <code>410</code>).
+     */
+    NOT_FOUND,
+
+    /**
+     * The remote repository is unavailable, so it's not known if it has the
+     * resource.
+     */
+    UNAVAILABLE;
+
+}
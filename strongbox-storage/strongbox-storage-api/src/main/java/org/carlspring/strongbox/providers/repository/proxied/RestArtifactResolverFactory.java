@@ -1,14 +1,18 @@
 package org.carlspring.strongbox.providers.repository.proxied;
 
+import org.carlspring.strongbox.client.CloseableRestResponse;
 import org.carlspring.strongbox.client.RemoteRepositoryRetryArtifactDownloadConfiguration;
 import org.carlspring.strongbox.client.RestArtifactResolver;
 import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryAlivenessCacheManager;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
 
 import javax.inject.Inject;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
 import org.springframework.stereotype.Component;
@@ -29,6 +33,9 @@ public class RestArtifactResolverFactory
     @Inject
     private RemoteRepositoryAlivenessCacheManager remoteRepositoryAlivenessCacheManager;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     public RestArtifactResolver newInstance(RemoteRepository repository)
     {
         Objects.requireNonNull(repository);
@@ -42,19 +49,83 @@ public class RestArtifactResolverFactory
         String url = repository.getUrl();
         
         final HttpAuthenticationFeature authenticationFeature = (username != null && password != null) ? HttpAuthenticationFeature.basic(username, password) : null;
+        final RemoteRepositoryCircuitBreaker circuitBreaker = remoteRepositoryCircuitBreakerRegistry.get(repository);
                 
-        return new RestArtifactResolver(proxyRepositoryConnectionPoolConfigurationService.getRestClient(), url,
+        return new RestArtifactResolver(proxyRepositoryConnectionPoolConfigurationService.getRestClient(url), url,
                                         configuration,
                                         authenticationFeature)
                                 {
-                        
+
+                                    /**
+                                     * The start of the last GET request, which the body read failures are reported with.
+                                     */
+                                    private volatile long getStartMillis;
+
                                     @Override
                                     public boolean isAlive()
                                     {
-                                        return remoteRepositoryAlivenessCacheManager.isAlive(repository);
+                                        return remoteRepositoryAlivenessCacheManager.isAlive(repository) &&
+                                               !circuitBreaker.isOpen();
+                                    }
+
+                                    @Override
+                                    public CloseableRestResponse get(String path,
+                                                                     long offset)
+                                    {
+                                        getStartMillis = circuitBreaker.currentTimeMillis();
+
+                                        return record(circuitBreaker, getStartMillis, () -> super.get(path, offset));
+                                    }
+
+                                    @Override
+                                    public void reportReadFailure(Exception cause)
+                                    {
+                                        super.reportReadFailure(cause);
+                                        circuitBreaker.recordFailure(getStartMillis);
+                                    }
+
+                                    @Override
+                                    public CloseableRestResponse head(String path)
+                                    {
+                                        return record(circuitBreaker, circuitBreaker.currentTimeMillis(), () -> super.head(path));
                                     }
                         
                                 };
     }
 
+    /**
+     * Reports the outcome of the remote request into the circuit breaker: the
+     * connection failures and the server errors are counted as failures, while
+     * any other response (including "not found") is counted as success with
+     * its latency until the response headers. The failures of reading the
+     * response body are reported with {@link RestArtifactResolver#reportReadFailure(Exception)}.
+     */
+    private static CloseableRestResponse record(RemoteRepositoryCircuitBreaker circuitBreaker,
+                                                long start,
+                                                Supplier<CloseableRestResponse> request)
+    {
+        CloseableRestResponse response;
+        try
+        {
+            response = request.get();
+        }
+        catch (RuntimeException e)
+        {
+            circuitBreaker.recordFailure(start);
+
+            throw e;
+        }
+
+        if (response.getResponse().getStatus() >= 500)
+        {
+            circuitBreaker.recordFailure(start);
+        }
+        else
+        {
+            circuitBreaker.recordSuccess(start);
+        }
+
+        return response;
+    }
+
 }
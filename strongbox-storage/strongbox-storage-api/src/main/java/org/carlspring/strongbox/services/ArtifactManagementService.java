@@ -88,7 +88,23 @@ public class ArtifactManagementService
         ArtifactCoordinatesValidationException
     {
         performRepositoryAcceptanceValidation(repositoryPath);
-        return doStore(repositoryPath, is);
+        return doStore(repositoryPath, os -> IOUtils.copy(is, os));
+    }
+
+    /**
+     * Does the same as {@link #validateAndStore(RepositoryPath, InputStream)}, but the content is written by the
+     * given writer, so that the content which can't be read as the {@link InputStream} (like the Base64 encoded
+     * JSON value) can be stored without the intermediate file.
+     */
+    @Transactional
+    public long validateAndStore(RepositoryPath repositoryPath,
+                                 ArtifactContentWriter writer)
+        throws IOException,
+        ProviderImplementationException,
+        ArtifactCoordinatesValidationException
+    {
+        performRepositoryAcceptanceValidation(repositoryPath);
+        return doStore(repositoryPath, writer);
     }
 
     @Transactional
@@ -96,11 +112,11 @@ public class ArtifactManagementService
                       InputStream is)
         throws IOException
     {
-        return doStore(repositoryPath, is);
+        return doStore(repositoryPath, os -> IOUtils.copy(is, os));
     }
 
     private long doStore(RepositoryPath repositoryPath,
-                         InputStream is)
+                         ArtifactContentWriter writer)
             throws IOException
     {
         long result;
@@ -113,7 +129,7 @@ public class ArtifactManagementService
         
         try (final RepositoryOutputStream aos = artifactResolutionService.getOutputStream(repositoryPath))
         {
-            result = writeArtifact(repositoryPath, is, aos);
+            result = writeArtifact(repositoryPath, writer, aos);
             aos.flush();
         }
         catch (IOException e)
@@ -144,7 +160,7 @@ public class ArtifactManagementService
     }
 
     private long writeArtifact(RepositoryPath repositoryPath,
-                               InputStream is,
+                               ArtifactContentWriter writer,
                                OutputStream os)
             throws IOException
     {
@@ -165,7 +181,7 @@ public class ArtifactManagementService
             artifactEventListenerRegistry.dispatchArtifactUploadingEvent(repositoryPath);
         }
         
-        long totalAmountOfBytes = IOUtils.copy(is, os);
+        long totalAmountOfBytes = writer.write(os);
 
         URI repositoryPathId = repositoryPath.toUri();
         Map<String, String> digestMap = aos.getDigestMap();
@@ -365,4 +381,17 @@ public class ArtifactManagementService
         }
     }
 
+    /**
+     * Writes the artifact content into the repository stream, which should not
+     * be flushed or closed by the writer.
+     */
+    @FunctionalInterface
+    public interface ArtifactContentWriter
+    {
+
+        long write(OutputStream os)
+            throws IOException;
+
+    }
+
 }
@@ -7,12 +7,13 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import javax.inject.Inject;
+
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.time.DateUtils;
 import org.carlspring.strongbox.artifact.ArtifactTag;
@@ -20,7 +21,10 @@ import org.carlspring.strongbox.artifact.coordinates.ArtifactCoordinates;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.domain.ArtifactTagEntry;
+import org.carlspring.strongbox.providers.io.ArtifactEntryIdentityMap;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.domain.ArtifactCoordinatesTokens;
+import org.carlspring.strongbox.services.support.ArtifactEntryCache;
 import org.carlspring.strongbox.services.support.ArtifactEntrySearchCriteria;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
@@ -28,6 +32,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.exception.ORecordNotFoundException;
 import com.orientechnologies.orient.core.id.ORID;
 import com.orientechnologies.orient.core.record.impl.ODocument;
 import com.orientechnologies.orient.core.sql.OCommandSQL;
@@ -45,6 +51,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
 
     private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryService.class);
 
+    @Inject
+    private ArtifactEntryCache artifactEntryCache;
+
+    @Inject
+    private ArtifactEntryIdentityMap artifactEntryIdentityMap;
+
     private boolean artifactEntryIsSavedForTheFirstTime(ArtifactEntry artifactEntry)
     {
         return artifactEntry.getUuid() == null;
@@ -54,10 +66,16 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
     protected <S extends ArtifactEntry> S cascadeEntitySave(ArtifactEntry entity)
     {
         entity.setArtifactCoordinates(entity.getArtifactCoordinates());
+        entity.setCoordinateTokens(Optional.ofNullable(entity.getArtifactCoordinates())
+                                           .map(c -> ArtifactCoordinatesTokens.tokenize(c.getCoordinates()))
+                                           .orElse(null));
         if (artifactEntryIsSavedForTheFirstTime(entity))
         {
             entity.setCreated(new Date());
+            // The updated entry keeps its identity, so only the new one could replace the cached identity.
+            artifactEntryCache.invalidate(entity);
         }
+        artifactEntryIdentityMap.invalidate(entity);
 
         return super.cascadeEntitySave(entity);
     }
@@ -87,18 +105,18 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
             orderBy = "uuid";
         }
 
-        coordinates = prepareParameterMap(coordinates, strict);
+        coordinates = prepareParameterMap(coordinates);
 
         Map<String, ArtifactTagEntry> tagMap = tagSet.stream()
                                                      .collect(Collectors.toMap(t -> String.format("%sTag", t.getName().replaceAll("-", "")),
                                                                                t -> (ArtifactTagEntry) t));
 
-        String sQuery = buildCoordinatesQuery(toList(storageId, repositoryId), coordinates.keySet(), tagMap.keySet(),
+        Map<String, Object> parameterMap = new HashMap<>();
+        String sQuery = buildCoordinatesQuery("*", toList(storageId, repositoryId), coordinates, tagMap.keySet(),
                                               skip,
-                                              limit, orderBy, strict);
+                                              limit, orderBy, strict, parameterMap);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
-        Map<String, Object> parameterMap = new HashMap<>(coordinates);
         if (storageId != null && !storageId.trim().isEmpty())
         {
             parameterMap.put("storageId0", storageId);
@@ -175,13 +193,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                  Map<String, String> coordinates,
                                  boolean strict)
     {
-        coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
-        sQuery = sQuery.replace("*", "count(distinct(artifactCoordinates))");
+        coordinates = prepareParameterMap(coordinates);
+        Map<String, Object> parameterMap = new HashMap<>();
+        String sQuery = buildCoordinatesQuery("count(distinct(artifactCoordinates))", storageRepositoryPairList,
+                                              coordinates, Collections.emptySet(), 0, 0, null, strict, parameterMap);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
-        Map<String, Object> parameterMap = new HashMap<>(coordinates);
-
         Pair<String, String>[] p = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         IntStream.range(0, storageRepositoryPairList.size()).forEach(idx -> {
             String storageId = p[idx].getValue0();
@@ -207,13 +224,12 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                Map<String, String> coordinates,
                                boolean strict)
     {
-        coordinates = prepareParameterMap(coordinates, strict);
-        String sQuery = buildCoordinatesQuery(storageRepositoryPairList, coordinates.keySet(), Collections.emptySet(), 0, 0, null, strict);
-        sQuery = sQuery.replace("*", "count(*)");
+        coordinates = prepareParameterMap(coordinates);
+        Map<String, Object> parameterMap = new HashMap<>();
+        String sQuery = buildCoordinatesQuery("count(*)", storageRepositoryPairList, coordinates,
+                                              Collections.emptySet(), 0, 0, null, strict, parameterMap);
         OSQLSynchQuery<ArtifactEntry> oQuery = new OSQLSynchQuery<>(sQuery);
 
-        Map<String, Object> parameterMap = new HashMap<>(coordinates);
-
         Pair<String, String>[] p = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         IntStream.range(0, storageRepositoryPairList.size()).forEach(idx -> {
             String storageId = p[idx].getValue0();
@@ -250,27 +266,63 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return Arrays.asList(new Pair[] { Pair.with(storageId, repositoryId) });
     }
 
-    protected String buildCoordinatesQuery(Collection<Pair<String, String>> storageRepositoryPairList,
-                                           Set<String> parameterNameSet,
+    /**
+     * Builds the coordinates query and puts the coordinate parameters into the <code>parameterMap</code>.
+     * <br>
+     * The coordinates are looked up by the indexed {@link ArtifactEntry#getCoordinateTokens()}: strict by the exact
+     * value token, and by the substring trigram tokens otherwise (the substring itself is still checked with
+     * <code>like</code>, as the trigrams only narrow the candidates). The substrings shorter than a trigram are
+     * checked with <code>like</code> only, see {@link ArtifactCoordinatesTokens}.
+     * <br>
+     * The <code>projection</code> is set explicitly (rather than replaced in the query text), so the counting queries
+     * have exactly the same indexed condition as the search itself.
+     */
+    protected String buildCoordinatesQuery(String projection,
+                                           Collection<Pair<String, String>> storageRepositoryPairList,
+                                           Map<String, String> coordinates,
                                            Set<String> tagNameSet,
                                            int skip,
                                            int limit,
                                            String orderBy,
-                                           boolean strict)
+                                           boolean strict,
+                                           Map<String, Object> parameterMap)
     {
         StringBuilder sb = new StringBuilder();
-        sb.append("SELECT * FROM ").append(getEntityClass().getSimpleName());
+        sb.append("SELECT ").append(projection).append(" FROM ").append(getEntityClass().getSimpleName());
 
         Pair<String, String>[] storageRepositoryPairArray = storageRepositoryPairList.toArray(new Pair[storageRepositoryPairList.size()]);
         // COORDINATES
         StringBuffer c1 = new StringBuffer();
-        parameterNameSet.stream()
-                        .forEach(e -> c1.append(c1.length() > 0 ? " AND " : "")
-                                        .append("artifactCoordinates.coordinates.")
-                                        .append(e)
-                                        .append(".toLowerCase()")
-                                        .append(strict ? " = " : " like ")
-                                        .append(String.format(":%s", e)));
+        coordinates.forEach((e, value) -> {
+            if (strict)
+            {
+                c1.append(c1.length() > 0 ? " AND " : "")
+                  .append(String.format("coordinateTokens contains :%s", e));
+                parameterMap.put(e, ArtifactCoordinatesTokens.exact(e, value));
+
+                return;
+            }
+
+            List<String> tokens = ArtifactCoordinatesTokens.substringQueryTokens(e, value);
+            if (tokens.isEmpty())
+            {
+                logger.debug("The [{}] substring [{}] is too short for the coordinate tokens index.", e, value);
+            }
+            IntStream.range(0, tokens.size()).forEach(idx -> {
+                String parameterName = String.format("%sToken%s", e, idx);
+                c1.append(c1.length() > 0 ? " AND " : "")
+                  .append(String.format("coordinateTokens contains :%s", parameterName));
+                parameterMap.put(parameterName, tokens.get(idx));
+            });
+
+            c1.append(c1.length() > 0 ? " AND " : "")
+              .append("artifactCoordinates.coordinates.")
+              .append(e)
+              .append(".toLowerCase()")
+              .append(" like ")
+              .append(String.format(":%s", e));
+            parameterMap.put(e, "%" + value + "%");
+        });
         sb.append(" WHERE ").append(c1.length() > 0 ? c1.append(" AND ").toString() : " true = true AND ");
 
         //REPOSITORIES
@@ -341,25 +393,13 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         return result.toString();
     }
 
-    private Map<String, String> prepareParameterMap(Map<String, String> coordinates,
-                                                    boolean strict)
+    private Map<String, String> prepareParameterMap(Map<String, String> coordinates)
     {
         return coordinates.entrySet()
                           .stream()
                           .filter(e -> e.getValue() != null)
                           .collect(Collectors.toMap(Map.Entry::getKey,
-                                                    e -> calculateParameterValue(e, strict)));
-    }
-
-    private String calculateParameterValue(Entry<String, String> e,
-                                           boolean strict)
-    {
-        String result = e.getValue() == null ? null : e.getValue().toLowerCase();
-        if (!strict)
-        {
-            result = "%" + result + "%";
-        }
-        return result;
+                                                    e -> ArtifactCoordinatesTokens.normalize(e.getValue())));
     }
 
     @Override
@@ -367,6 +407,19 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                   String repositoryId,
                                   String path)
     {
+        ORID artifactEntryId = findCachedArtifactEntryId(storageId, repositoryId, path);
+        if (artifactEntryId == null)
+        {
+            return false;
+        }
+        if (isArtifactEntryRecord(artifactEntryId, storageId, repositoryId, path))
+        {
+            return true;
+        }
+
+        // The cached identity is stale (the record could have been deleted or even reused).
+        artifactEntryCache.invalidate(storageId, repositoryId, path);
+
         return findArtifactEntryId(storageId, repositoryId, path) != null;
     }
 
@@ -375,29 +428,93 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
                                          String repositoryId,
                                          String path)
     {
-        ORID artifactEntryId = findArtifactEntryId(storageId, repositoryId, path);
-        return Optional.ofNullable(artifactEntryId)
+        ORID artifactEntryId = findCachedArtifactEntryId(storageId, repositoryId, path);
+        ArtifactEntry result = Optional.ofNullable(artifactEntryId)
+                                       .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
+                                       .map(e -> detach(e))
+                                       .orElse(null);
+        if (artifactEntryId == null || isArtifactEntry(result, storageId, repositoryId, path))
+        {
+            return result;
+        }
+
+        // The cached identity is stale (the record could have been deleted or even reused).
+        artifactEntryCache.invalidate(storageId, repositoryId, path);
+
+        return Optional.ofNullable(findArtifactEntryId(storageId, repositoryId, path))
                        .flatMap(id -> Optional.ofNullable(entityManager.find(ArtifactEntry.class, id)))
                        .map(e -> detach(e))
                        .orElse(null);
     }
 
+    /**
+     * Does the same as {@link #isArtifactEntry(ArtifactEntry, String, String, String)}, but reads the record fields
+     * directly, without the entity proxy being created and detached.
+     */
+    private boolean isArtifactEntryRecord(ORID artifactEntryId,
+                                          String storageId,
+                                          String repositoryId,
+                                          String path)
+    {
+        ODocument artifactEntry;
+        try
+        {
+            artifactEntry = getDelegate().getUnderlying().load(artifactEntryId);
+        }
+        catch (ORecordNotFoundException e)
+        {
+            return false;
+        }
+        if (artifactEntry == null ||
+            !storageId.equals(artifactEntry.field("storageId")) ||
+            !repositoryId.equals(artifactEntry.field("repositoryId")))
+        {
+            return false;
+        }
+
+        OIdentifiable artifactCoordinatesId = artifactEntry.field("artifactCoordinates");
+        ODocument artifactCoordinates = artifactCoordinatesId == null ? null : artifactCoordinatesId.getRecord();
+
+        return artifactCoordinates != null && path.equals(artifactCoordinates.field("path"));
+    }
+
+    private boolean isArtifactEntry(ArtifactEntry artifactEntry,
+                                    String storageId,
+                                    String repositoryId,
+                                    String path)
+    {
+        return artifactEntry != null &&
+               storageId.equals(artifactEntry.getStorageId()) &&
+               repositoryId.equals(artifactEntry.getRepositoryId()) &&
+               artifactEntry.getArtifactCoordinates() != null &&
+               path.equals(artifactEntry.getArtifactCoordinates().getPath());
+    }
+
     @Override
     public void delete(String id)
     {
+        // Detached, so that its coordinates can be read once the record is deleted.
+        Optional<ArtifactEntry> artifactEntry = findOne(id).map(e -> detach(e));
+
         super.delete(id);
+        artifactEntry.ifPresent(artifactEntryCache::invalidate);
+        artifactEntry.ifPresent(artifactEntryIdentityMap::invalidate);
     }
 
     @Override
     public void delete(ArtifactEntry entity)
     {
         super.delete(entity);
+        artifactEntryCache.invalidate(entity);
+        artifactEntryIdentityMap.invalidate(entity);
     }
 
     @Override
     public void deleteAll()
     {
         super.deleteAll();
+        artifactEntryCache.invalidateAll();
+        artifactEntryIdentityMap.invalidateAll();
     }
 
     @Override
@@ -415,7 +532,20 @@ class ArtifactEntryServiceImpl extends AbstractArtifactEntryService
         parameterMap.put("uuids", artifactEntries.stream().map(ArtifactEntry::getUuid).collect(Collectors.toList()));
 
         OCommandSQL oCommandSQL = new OCommandSQL(sb.toString());
-        return getDelegate().command(oCommandSQL).execute(parameterMap);
+        int result = getDelegate().command(oCommandSQL).execute(parameterMap);
+
+        artifactEntries.forEach(artifactEntryCache::invalidate);
+        artifactEntries.forEach(artifactEntryIdentityMap::invalidate);
+
+        return result;
+    }
+
+    private ORID findCachedArtifactEntryId(String storageId,
+                                           String repositoryId,
+                                           String path)
+    {
+        return artifactEntryCache.get(storageId, repositoryId, path,
+                                      () -> findArtifactEntryId(storageId, repositoryId, path));
     }
 
     private ORID findArtifactEntryId(String storageId,
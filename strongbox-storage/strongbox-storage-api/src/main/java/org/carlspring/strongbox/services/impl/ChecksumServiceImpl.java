@@ -18,6 +18,7 @@ import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -38,6 +39,9 @@ public class ChecksumServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.artifact.locator.parallelism:1}")
+    private int locatorParallelism;
+
     @Override
     public void regenerateChecksum(String storageId,
                                    String repositoryId,
@@ -67,6 +71,7 @@ public class ChecksumServiceImpl
 
         ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
         locator.setOperation(operation);
+        locator.setParallelism(locatorParallelism);
         locator.locateArtifactDirectories();
     }
 
@@ -5,12 +5,15 @@ import org.carlspring.strongbox.configuration.*;
 import org.carlspring.strongbox.event.repository.RepositoryEvent;
 import org.carlspring.strongbox.event.repository.RepositoryEventListenerRegistry;
 import org.carlspring.strongbox.event.repository.RepositoryEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFileSystemCache;
 import org.carlspring.strongbox.providers.layout.LayoutProvider;
 import org.carlspring.strongbox.providers.layout.LayoutProviderRegistry;
+import org.carlspring.strongbox.providers.repository.RepositoryContentStamps;
 import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
 import org.carlspring.strongbox.storage.MutableStorage;
 import org.carlspring.strongbox.storage.repository.*;
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
 import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
 
 import javax.annotation.PostConstruct;
@@ -18,9 +21,9 @@ import javax.inject.Inject;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections.MapUtils;
@@ -38,7 +41,7 @@ public class ConfigurationManagementServiceImpl
         implements ConfigurationManagementService
 {
 
-    private final ReadWriteLock configurationLock = new ReentrantReadWriteLock();
+    private final ReentrantReadWriteLock configurationLock = new ReentrantReadWriteLock();
 
     @Inject
     private ConfigurationFileManager configurationFileManager;
@@ -55,6 +58,12 @@ public class ConfigurationManagementServiceImpl
     @Inject
     private PlatformTransactionManager transactionManager;
 
+    @Inject
+    private RepositoryFileSystemCache repositoryFileSystemCache;
+
+    @Inject
+    private RepositoryContentStamps repositoryContentStamps;
+
     /**
      * Yes, this is a state object.
      * It is protected by the {@link #configurationLock} here
@@ -64,6 +73,15 @@ public class ConfigurationManagementServiceImpl
      */
     private MutableConfiguration configuration;
 
+    /**
+     * The immutable copy of the {@link #configuration}, which is published
+     * once per modification (copy-on-write), so that the readers share it
+     * instead of copying the whole configuration on each call.
+     *
+     * @see #modifyInLock(Consumer, boolean)
+     */
+    private volatile Configuration configurationSnapshot;
+
     @PostConstruct
     public void init()
     {
@@ -102,17 +120,14 @@ public class ConfigurationManagementServiceImpl
     @Override
     public Configuration getConfiguration()
     {
-        final Lock readLock = configurationLock.readLock();
-        readLock.lock();
-
-        try
+        // The modification (and the events it fires) should see its own changes,
+        // which are published only once it's completed.
+        if (configurationLock.isWriteLockedByCurrentThread())
         {
             return new Configuration(configuration);
         }
-        finally
-        {
-            readLock.unlock();
-        }
+
+        return configurationSnapshot;
     }
 
     @Override
@@ -578,8 +593,47 @@ public class ConfigurationManagementServiceImpl
         }
         finally
         {
-            writeLock.unlock();
+            try
+            {
+                // The nested modifications publish it once the outermost one is completed.
+                if (configurationLock.getWriteHoldCount() == 1 && configuration != null)
+                {
+                    Configuration previousSnapshot = configurationSnapshot;
+                    configurationSnapshot = new Configuration(configuration);
+
+                    // Invalidated after the snapshot is published, so that the entries created in between
+                    // (from the previous snapshot) don't outlive it.
+                    repositoryFileSystemCache.invalidateAll();
+                    repositoryContentStamps.invalidateAll();
+
+                    // The removed remote repositories (and the changed URLs) don't leave their pools behind.
+                    proxyRepositoryConnectionPoolConfigurationService.removeRepositoryPools(
+                            getRemoteRepositoryUrls(previousSnapshot),
+                            getRemoteRepositoryUrls(configurationSnapshot));
+                }
+            }
+            finally
+            {
+                writeLock.unlock();
+            }
         }
     }
 
+    private Set<String> getRemoteRepositoryUrls(Configuration configuration)
+    {
+        if (configuration == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return configuration.getStorages().values().stream()
+                            .filter(storage -> MapUtils.isNotEmpty(storage.getRepositories()))
+                            .flatMap(storage -> storage.getRepositories().values().stream())
+                            .map(repository -> ((ImmutableRepository) repository).getRemoteRepository())
+                            .filter(Objects::nonNull)
+                            .map(RemoteRepository::getUrl)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet());
+    }
+
 }
@@ -0,0 +1,198 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.domain.ArtifactCoordinatesTokens;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.orientechnologies.orient.core.db.ODatabasePool;
+import com.orientechnologies.orient.core.db.ODatabaseSession;
+import com.orientechnologies.orient.core.db.record.OIdentifiable;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import com.orientechnologies.orient.core.metadata.schema.OClass;
+import com.orientechnologies.orient.core.metadata.schema.OType;
+import com.orientechnologies.orient.core.sql.executor.OResult;
+import com.orientechnologies.orient.core.sql.executor.OResultSet;
+
+/**
+ * Creates the <code>ArtifactEntry.coordinateTokens</code> index (see {@link ArtifactCoordinatesTokens}) on top of the
+ * Liquibase managed schema, and fills the tokens of the entries which were saved before the index existed.
+ * <br>
+ * The tokens are filled in the background once the application context is started, in batches ordered by the record
+ * identity, so that each batch continues right after the previous one instead of searching the remaining entries
+ * from the start. The coordinate search may be incomplete until it's finished.
+ */
+@Component
+@DependsOn("liquibase")
+public class ArtifactCoordinatesTokensIndexInitializer
+        implements InitializingBean, DisposableBean
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactCoordinatesTokensIndexInitializer.class);
+
+    public static final String ARTIFACT_ENTRY_CLASS = "ArtifactEntry";
+
+    public static final String COORDINATE_TOKENS_PROPERTY = "coordinateTokens";
+
+    public static final String COORDINATE_TOKENS_INDEX = "idx_artifact_coordinate_tokens";
+
+    @Inject
+    private ODatabasePool databasePool;
+
+    /**
+     * Forces the tokens of the entries without them to be filled on startup, even if the index already exists (for
+     * example if the previous reindex was interrupted).
+     */
+    @Value("${strongbox.artifact.search.reindex:false}")
+    private boolean reindex;
+
+    @Value("${strongbox.artifact.search.reindexBatchSize:1000}")
+    private int reindexBatchSize;
+
+    private final AtomicBoolean fillPending = new AtomicBoolean();
+
+    private final ExecutorService fillExecutor =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("coordinate-tokens-"));
+
+    @Override
+    public void afterPropertiesSet()
+    {
+        try (ODatabaseSession session = databasePool.acquire())
+        {
+            OClass artifactEntryClass = session.getMetadata().getSchema().getClass(ARTIFACT_ENTRY_CLASS);
+            if (artifactEntryClass == null)
+            {
+                logger.warn(String.format("Class [%s] not found, skip the coordinate tokens index.",
+                                          ARTIFACT_ENTRY_CLASS));
+                return;
+            }
+
+            if (artifactEntryClass.getProperty(COORDINATE_TOKENS_PROPERTY) == null)
+            {
+                artifactEntryClass.createProperty(COORDINATE_TOKENS_PROPERTY, OType.EMBEDDEDLIST, OType.STRING);
+            }
+
+            boolean created = false;
+            if (artifactEntryClass.getClassIndex(COORDINATE_TOKENS_INDEX) == null)
+            {
+                artifactEntryClass.createIndex(COORDINATE_TOKENS_INDEX,
+                                               OClass.INDEX_TYPE.NOTUNIQUE,
+                                               COORDINATE_TOKENS_PROPERTY);
+                created = true;
+            }
+
+            fillPending.set(created || reindex);
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to create the coordinate tokens index.", e);
+        }
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed()
+    {
+        if (fillPending.compareAndSet(true, false))
+        {
+            fillExecutor.execute(this::fillCoordinateTokens);
+        }
+    }
+
+    @Override
+    public void destroy()
+    {
+        fillExecutor.shutdownNow();
+    }
+
+    private void fillCoordinateTokens()
+    {
+        try (ODatabaseSession session = databasePool.acquire())
+        {
+            fillCoordinateTokens(session);
+        }
+        catch (RuntimeException e)
+        {
+            logger.error("Failed to fill the coordinate tokens, the coordinate search may be incomplete " +
+                         "until they are filled with [strongbox.artifact.search.reindex=true].", e);
+        }
+    }
+
+    private void fillCoordinateTokens(ODatabaseSession session)
+    {
+        long startTime = System.currentTimeMillis();
+        long count = 0;
+
+        ORID lastRid = new ORecordId();
+        List<Pair<ORID, List<String>>> batch;
+        do
+        {
+            if (Thread.currentThread().isInterrupted())
+            {
+                logger.warn(String.format("Interrupted after filling coordinate tokens of [%s] artifact entries.",
+                                          count));
+                return;
+            }
+
+            batch = new ArrayList<>();
+            try (OResultSet resultSet = session.query(String.format("SELECT @rid AS rid, artifactCoordinates.coordinates AS coordinates " +
+                                                                    "FROM %s WHERE @rid > ? AND %s IS NULL ORDER BY @rid LIMIT %s",
+                                                                    ARTIFACT_ENTRY_CLASS,
+                                                                    COORDINATE_TOKENS_PROPERTY,
+                                                                    reindexBatchSize),
+                                                      lastRid))
+            {
+                while (resultSet.hasNext())
+                {
+                    OResult result = resultSet.next();
+                    Map<String, String> coordinates = result.getProperty("coordinates");
+                    ORID rid = ((OIdentifiable) result.getProperty("rid")).getIdentity();
+
+                    batch.add(Pair.with(rid, ArtifactCoordinatesTokens.tokenize(coordinates)));
+                    lastRid = rid;
+                }
+            }
+
+            session.begin();
+            try
+            {
+                for (Pair<ORID, List<String>> entry : batch)
+                {
+                    session.command(String.format("UPDATE %s SET %s = ?", entry.getValue0(), COORDINATE_TOKENS_PROPERTY),
+                                    entry.getValue1())
+                           .close();
+                }
+                session.commit();
+            }
+            catch (RuntimeException e)
+            {
+                session.rollback();
+                throw e;
+            }
+
+            count += batch.size();
+        } while (!batch.isEmpty());
+
+        logger.info(String.format("Filled coordinate tokens of [%s] artifact entries in [%s] ms.",
+                                  count,
+                                  System.currentTimeMillis() - startTime));
+    }
+
+}
@@ -0,0 +1,247 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.data.CacheName;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.Repository;
+
+import javax.inject.Inject;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.monitor.NearCacheStats;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * The read-through <code>(storageId, repositoryId, path) -> ORID</code> cache
+ * of the {@link ArtifactEntry} identities, so that the artifact entry index is
+ * not queried for the hot artifacts on each request.
+ * <br>
+ * The identities are cached rather than the entries themselves, as the entries
+ * are modified and saved by the callers (with the optimistic locking), so each
+ * caller still loads its own entry copy by the cached identity, which is cheap.
+ * <br>
+ * The cache is the {@link CacheName.Artifact#ARTIFACT_ENTRIES} Hazelcast map
+ * with the size and TTL bounded near cache. The identity is invalidated once
+ * the artifact entry is created or deleted (and again once the transaction is
+ * completed), and once the artifact is stored or deleted. The identities which
+ * were looked up before the invalidation are not cached.
+ * <br>
+ * The updates don't invalidate the identity, as the updated entry keeps it
+ * (the hot entries are updated all the time, see
+ * {@link org.carlspring.strongbox.providers.repository.ArtifactDownloadStatisticsWriter}),
+ * and the entry which doesn't match the cached identity anymore (its
+ * coordinates have been changed) is detected by the callers.
+ * <br>
+ * The invalidation guard is local to the cluster member, while the map is
+ * shared, so a concurrent lookup on another member may still cache a stale
+ * identity. That's why the missing entries are not cached at all (the entry
+ * created on one member should be visible to the others at once), and the
+ * callers verify the entry loaded by the cached identity, see
+ * {@link org.carlspring.strongbox.services.ArtifactEntryService#findOneArtifact(String, String, String)}.
+ */
+@Component
+public class ArtifactEntryCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactEntryCache.class);
+
+    @Value("${strongbox.artifact.entry.cache.enabled:true}")
+    private boolean enabled;
+
+    @Inject
+    private HazelcastInstance hazelcastInstance;
+
+    private volatile IMap<String, String> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param loader looks the identity up if it's not cached
+     * @return the cached (or looked up) identity, or <code>null</code> if there
+     *         is no such artifact entry (which is never cached)
+     */
+    public ORID get(String storageId,
+                    String repositoryId,
+                    String path,
+                    Supplier<ORID> loader)
+    {
+        if (!enabled)
+        {
+            return loader.get();
+        }
+
+        String key = key(storageId, repositoryId, path);
+        String value = getCache().get(key);
+        if (value != null)
+        {
+            hits.incrementAndGet();
+
+            return new ORecordId(value);
+        }
+
+        misses.incrementAndGet();
+
+        long stamp = invalidations.get();
+        ORID result = loader.get();
+
+        // The identities of the records, which are not committed yet, are temporary.
+        if (result == null || !result.isPersistent() || stamp != invalidations.get())
+        {
+            return result;
+        }
+
+        String newValue = result.toString();
+        getCache().set(key, newValue);
+
+        // The identity could have been invalidated in between.
+        if (stamp != invalidations.get())
+        {
+            getCache().remove(key, newValue);
+        }
+
+        return result;
+    }
+
+    public void invalidate(ArtifactEntry artifactEntry)
+    {
+        if (artifactEntry.getArtifactCoordinates() == null)
+        {
+            invalidateAll();
+
+            return;
+        }
+
+        invalidate(artifactEntry.getStorageId(),
+                   artifactEntry.getRepositoryId(),
+                   artifactEntry.getArtifactCoordinates().getPath());
+    }
+
+    public void invalidate(String storageId,
+                           String repositoryId,
+                           String path)
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        String key = key(storageId, repositoryId, path);
+        invalidateKey(key);
+
+        // The concurrent lookups can't see the changes until they are committed.
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    invalidateKey(key);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll()
+    {
+        if (!enabled)
+        {
+            return;
+        }
+
+        invalidations.incrementAndGet();
+        getCache().clear();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        Repository repository = path.getRepository();
+        try
+        {
+            invalidate(repository.getStorage().getId(), repository.getId(), RepositoryFiles.relativizePath(path));
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to invalidate [%s]", path), e);
+
+            invalidateAll();
+        }
+    }
+
+    public long getHitCount()
+    {
+        return hits.get();
+    }
+
+    public long getMissCount()
+    {
+        return misses.get();
+    }
+
+    public long getEvictionCount()
+    {
+        NearCacheStats nearCacheStats = getCache().getLocalMapStats().getNearCacheStats();
+
+        return nearCacheStats == null ? 0L : nearCacheStats.getEvictions() + nearCacheStats.getExpirations();
+    }
+
+    public long getSize()
+    {
+        NearCacheStats nearCacheStats = getCache().getLocalMapStats().getNearCacheStats();
+
+        return nearCacheStats == null ? 0L : nearCacheStats.getOwnedEntryCount();
+    }
+
+    private void invalidateKey(String key)
+    {
+        invalidations.incrementAndGet();
+        getCache().delete(key);
+    }
+
+    private IMap<String, String> getCache()
+    {
+        IMap<String, String> result = cache;
+        if (result == null)
+        {
+            cache = result = hazelcastInstance.getMap(CacheName.Artifact.ARTIFACT_ENTRIES);
+        }
+
+        return result;
+    }
+
+    private static String key(String storageId,
+                              String repositoryId,
+                              String path)
+    {
+        return storageId + "/" + repositoryId + "/" + path;
+    }
+
+}
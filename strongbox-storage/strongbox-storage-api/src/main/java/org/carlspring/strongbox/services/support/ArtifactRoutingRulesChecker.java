@@ -4,15 +4,13 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.storage.repository.Repository;
-import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
-import org.carlspring.strongbox.storage.routing.RoutingRule;
 import org.carlspring.strongbox.storage.routing.RoutingRules;
 
 import javax.inject.Inject;
 import java.io.IOException;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Component;
 
 /**
@@ -26,74 +24,61 @@ public class ArtifactRoutingRulesChecker
     @Inject
     private ConfigurationManager configurationManager;
 
+    private volatile CompiledRoutingRules compiledRoutingRules;
+
     public boolean isDenied(Repository groupRepository,
                             RepositoryPath repositoryPath)
             throws IOException
     {
-        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
-        final List<RoutingRule> denyRules = routingRules.getDenied();
-        final List<RoutingRule> acceptRules = routingRules.getAccepted();
+        Repository subRepository = repositoryPath.getRepository();
 
-        return fitsRoutingRules(groupRepository, repositoryPath, denyRules) &&
-               !fitsRoutingRules(groupRepository, repositoryPath, acceptRules);
+        return match(groupRepository, RepositoryFiles.relativizePath(repositoryPath)).isDenied(
+                subRepository.getStorage().getId(), subRepository.getId());
     }
 
-    private boolean fitsRoutingRules(Repository groupRepository,
-                                     RepositoryPath repositoryPath,
-                                     List<RoutingRule> routingRules)
-            throws IOException
+    /**
+     * @return the routing decisions of the path for all the members of the
+     *         group repository, so that the members are checked without
+     *         matching the routing rules for each of them
+     */
+    public ArtifactRoutingRulesMatcher.Match match(Repository groupRepository,
+                                                   String artifactPath)
     {
+        return getMatcher(groupRepository).match(artifactPath);
+    }
 
-        String artifactPath = RepositoryFiles.relativizePath(repositoryPath);
-        Repository subRepository = repositoryPath.getRepository();
+    private ArtifactRoutingRulesMatcher getMatcher(Repository groupRepository)
+    {
+        final RoutingRules routingRules = configurationManager.getConfiguration().getRoutingRules();
 
-        return routingRules.stream()
-                           .filter(routingRule -> repositoryMatchesExactly(groupRepository, routingRule)
-                                                  || repositoryStorageIdMatches(groupRepository.getStorage().getId(),
-                                                                                routingRule)
-                                                  || repositoryIdMatches(groupRepository.getId(), routingRule)
-                                                  || allMatches(routingRule))
-                           .filter(routingRule -> routingRule.getRegex().matcher(artifactPath).matches())
-                           .flatMap(routingRule -> routingRule.getRepositories().stream())
-                           .filter(routingRuleRepository ->
-                                           repositoryMatchesExactly(subRepository, routingRuleRepository)
-                                           || repositoryStorageIdMatches(subRepository.getStorage().getId(),
-                                                                         routingRuleRepository)
-                                           || repositoryIdMatches(subRepository.getId(), routingRuleRepository)
-                                           || allMatches(routingRuleRepository))
-                           .findFirst()
-                           .isPresent();
-    }
+        // The configuration snapshot (and its routing rules) changes only once the configuration is modified.
+        CompiledRoutingRules compiled = compiledRoutingRules;
+        if (compiled == null || compiled.routingRules != routingRules)
+        {
+            compiledRoutingRules = compiled = new CompiledRoutingRules(routingRules);
+        }
 
+        String groupStorageId = groupRepository.getStorage().getId();
+        String groupRepositoryId = groupRepository.getId();
 
-    private boolean repositoryMatchesExactly(Repository repository,
-                                             RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(repository.getStorage().getId())) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repository.getId()));
+        return compiled.matchers.computeIfAbsent(groupStorageId + ":" + groupRepositoryId,
+                                                 k -> ArtifactRoutingRulesMatcher.compile(routingRules,
+                                                                                          groupStorageId,
+                                                                                          groupRepositoryId));
     }
 
-    private boolean repositoryStorageIdMatches(String storageId,
-                                               RepositoryIdentifiable repositoryIdentifiable)
+    private static class CompiledRoutingRules
     {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(
-                StringUtils.trimToEmpty(storageId)) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
-    }
 
-    private boolean repositoryIdMatches(String repositoryId,
-                                        RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(
-                       StringUtils.trimToEmpty(repositoryId));
-    }
+        private final RoutingRules routingRules;
+
+        private final Map<String, ArtifactRoutingRulesMatcher> matchers = new ConcurrentHashMap<>();
+
+        private CompiledRoutingRules(RoutingRules routingRules)
+        {
+            this.routingRules = routingRules;
+        }
 
-    private boolean allMatches(RepositoryIdentifiable repositoryIdentifiable)
-    {
-        return StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId()).equals(StringUtils.EMPTY) &&
-               StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId()).equals(StringUtils.EMPTY);
     }
+
 }
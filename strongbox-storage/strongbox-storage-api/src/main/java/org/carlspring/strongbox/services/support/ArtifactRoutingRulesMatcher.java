@@ -0,0 +1,193 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The {@link RoutingRules} of one group repository compiled for the path
+ * lookups.
+ * <br>
+ * The rules which don't apply to the group repository are dropped, the rules
+ * with the same pattern share one {@link Pattern}, and the member repositories
+ * of each pattern are kept as the <code>storageId:repositoryId</code> selector
+ * sets (where the empty storage or repository id matches any). So each pattern
+ * is matched once per path, and the decision for each member is a few hash
+ * lookups.
+ *
+ * @see ArtifactRoutingRulesChecker
+ */
+@Immutable
+public class ArtifactRoutingRulesMatcher
+{
+
+    private final List<PatternRules> patternRules;
+
+    private ArtifactRoutingRulesMatcher(List<PatternRules> patternRules)
+    {
+        this.patternRules = patternRules;
+    }
+
+    public static ArtifactRoutingRulesMatcher compile(RoutingRules routingRules,
+                                                      String groupStorageId,
+                                                      String groupRepositoryId)
+    {
+        Set<String> groupSelectors = selectors(groupStorageId, groupRepositoryId);
+
+        Map<String, PatternRules> patternRules = new LinkedHashMap<>();
+        for (RoutingRule routingRule : routingRules.getRules())
+        {
+            if (!routingRule.isDeny() && !routingRule.isAccept() ||
+                !groupSelectors.contains(selector(routingRule)))
+            {
+                continue;
+            }
+
+            PatternRules rules = patternRules.computeIfAbsent(routingRule.getPattern(),
+                                                              p -> new PatternRules(routingRule.getRegex()));
+            Set<String> repositorySelectors = routingRule.isDeny() ? rules.denied : rules.accepted;
+            for (RepositoryIdentifiable repository : routingRule.getRepositories())
+            {
+                repositorySelectors.add(selector(repository));
+            }
+        }
+
+        return new ArtifactRoutingRulesMatcher(new ArrayList<>(patternRules.values()));
+    }
+
+    /**
+     * @return the routing decisions of the path, for any member repository
+     */
+    public Match match(String artifactPath)
+    {
+        Set<String> denied = null;
+        Set<String> accepted = null;
+        for (PatternRules rules : patternRules)
+        {
+            if (!rules.regex.matcher(artifactPath).matches())
+            {
+                continue;
+            }
+
+            denied = union(denied, rules.denied);
+            accepted = union(accepted, rules.accepted);
+        }
+
+        return denied == null ? Match.NONE_DENIED : new Match(denied, accepted);
+    }
+
+    private static Set<String> union(Set<String> result,
+                                     Set<String> selectors)
+    {
+        if (selectors.isEmpty())
+        {
+            return result;
+        }
+
+        result = result == null ? new HashSet<>() : result;
+        result.addAll(selectors);
+
+        return result;
+    }
+
+    private static String selector(RepositoryIdentifiable repositoryIdentifiable)
+    {
+        return selector(repositoryIdentifiable.getStorageId(), repositoryIdentifiable.getRepositoryId());
+    }
+
+    private static String selector(String storageId,
+                                   String repositoryId)
+    {
+        return StringUtils.trimToEmpty(storageId) + ":" + StringUtils.trimToEmpty(repositoryId);
+    }
+
+    /**
+     * @return the selectors which match the repository
+     */
+    private static Set<String> selectors(String storageId,
+                                         String repositoryId)
+    {
+        Set<String> result = new HashSet<>();
+        result.add(selector(storageId, repositoryId));
+        result.add(selector(storageId, null));
+        result.add(selector(null, repositoryId));
+        result.add(selector(null, null));
+
+        return result;
+    }
+
+    private static boolean matches(Set<String> selectors,
+                                   String storageId,
+                                   String repositoryId)
+    {
+        if (selectors == null || selectors.isEmpty())
+        {
+            return false;
+        }
+
+        return selectors.contains(selector(storageId, repositoryId)) ||
+               selectors.contains(selector(storageId, null)) ||
+               selectors.contains(selector(null, repositoryId)) ||
+               selectors.contains(selector(null, null));
+    }
+
+    private static class PatternRules
+    {
+
+        private final Pattern regex;
+
+        private final Set<String> denied = new HashSet<>();
+
+        private final Set<String> accepted = new HashSet<>();
+
+        private PatternRules(Pattern regex)
+        {
+            this.regex = regex;
+        }
+
+    }
+
+    /**
+     * The routing decisions of one path.
+     */
+    public static class Match
+    {
+
+        private static final Match NONE_DENIED = new Match(Collections.emptySet(), null);
+
+        private final Set<String> denied;
+
+        private final Set<String> accepted;
+
+        private Match(Set<String> denied,
+                      Set<String> accepted)
+        {
+            this.denied = denied;
+            this.accepted = accepted;
+        }
+
+        /**
+         * @return <code>true</code> if the path of the member repository is
+         *         denied and not accepted by the routing rules
+         */
+        public boolean isDenied(String storageId,
+                                String repositoryId)
+        {
+            return matches(denied, storageId, repositoryId) && !matches(accepted, storageId, repositoryId);
+        }
+
+    }
+
+}
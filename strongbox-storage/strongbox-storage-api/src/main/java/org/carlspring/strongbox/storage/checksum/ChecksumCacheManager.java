@@ -1,14 +1,16 @@
 package org.carlspring.strongbox.storage.checksum;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * All artifacts should pass through here.
  * Any deployed file which doesn't end in a checksum format (md5, sha1, gpg)
@@ -22,44 +24,68 @@ import org.slf4j.LoggerFactory;
  * - a match is found, but does not match, trigger an event and log this, then remove
  * the checksum from the cache. (If the checksums set is empty, remove the respective
  * Checksum from the cachedChecksums).
- * - a checksum is not claimed within cachedChecksumLifetime, trigger an event and log
- * this, then remove the checksum from the cache. (If this checksums set is empty,
- * remove the respective Checksum from the cachedChecksums).
+ * - a checksum is not claimed within cachedChecksumLifetime, it's evicted from
+ * the cache.
+ * <p>
+ * The cache is bounded with <code>maximumSize</code> entries, so the clients
+ * which never upload the checksum files can't make it grow without limits.
  *
  * @author mtodorov
  */
 public class ChecksumCacheManager
 {
 
-    private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000L;
 
     /**
-     * Key:     Artifact path
-     * Value:   Artifact checksum.
+     * The default is five minutes.
      */
-    private Map<String, ArtifactChecksum> cachedChecksums = new LinkedHashMap<>();
+    public static final long DEFAULT_CACHED_CHECKSUM_LIFETIME = 5 * 60000L;
+
+    private static Logger logger = LoggerFactory.getLogger(ChecksumCacheManager.class);
 
     /**
-     * Specifies how long to keep the cached checksums.
-     * <p>
-     * The default is five minutes.
+     * Key:     Artifact path
+     * Value:   Artifact checksum.
      */
-    private long cachedChecksumLifetime = 5 * 60000;
+    private final Cache<String, ArtifactChecksum> cachedChecksums;
 
     /**
-     * Specifies at what interval to check if the checksums have expired.
-     * The default is to check once every minute.
+     * Specifies how long to keep the cached checksums since the last access.
      */
-    private long cachedChecksumExpiredCheckInterval = 60000L;
+    private final long cachedChecksumLifetime;
 
+    private final long maximumSize;
 
     public ChecksumCacheManager()
     {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_CACHED_CHECKSUM_LIFETIME);
+    }
+
+    public ChecksumCacheManager(long maximumSize,
+                                long cachedChecksumLifetime)
+    {
+        this(maximumSize, cachedChecksumLifetime, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    ChecksumCacheManager(long maximumSize,
+                         long cachedChecksumLifetime,
+                         Ticker ticker)
+    {
+        this.maximumSize = maximumSize;
+        this.cachedChecksumLifetime = cachedChecksumLifetime;
+        this.cachedChecksums = CacheBuilder.newBuilder()
+                                           .maximumSize(maximumSize)
+                                           .expireAfterAccess(cachedChecksumLifetime, TimeUnit.MILLISECONDS)
+                                           .ticker(ticker)
+                                           .recordStats()
+                                           .build();
     }
 
     public boolean containsArtifactPath(String artifactPath)
     {
-        final boolean containsChecksum = cachedChecksums.containsKey(artifactPath);
+        final boolean containsChecksum = cachedChecksums.asMap().containsKey(artifactPath);
         if (containsChecksum)
         {
             logger.debug("Cache contains artifact path '" + artifactPath + "'.");
@@ -71,12 +97,12 @@ public class ChecksumCacheManager
     public String getArtifactChecksum(String artifactBasePath,
                                       String algorithm)
     {
-        if (!cachedChecksums.containsKey(artifactBasePath))
+        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
+        if (artifactChecksum == null)
         {
             return null;
         }
 
-        final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
         final String checksum = artifactChecksum.getChecksum(algorithm);
         if (checksum != null)
         {
@@ -88,40 +114,35 @@ public class ChecksumCacheManager
 
     public ArtifactChecksum getArtifactChecksum(String artifactBasePath)
     {
-        return cachedChecksums.get(artifactBasePath);
+        return cachedChecksums.getIfPresent(artifactBasePath);
     }
 
     public boolean validateChecksum(String artifactPath,
                                     String algorithm,
                                     String checksum)
     {
-        return getArtifactChecksum(artifactPath, algorithm).equals(checksum);
+        return checksum.equals(getArtifactChecksum(artifactPath, algorithm));
     }
 
-    public synchronized void addArtifactChecksum(String artifactBasePath,
-                                                 String algorithm,
-                                                 String checksum)
+    public void addArtifactChecksum(String artifactBasePath,
+                                    String algorithm,
+                                    String checksum)
     {
         logger.debug("Adding checksum '" + checksum + "' [" + algorithm + "]" + " for '" + artifactBasePath + "' in cache.");
 
-        if (cachedChecksums.containsKey(artifactBasePath))
-        {
-            final ArtifactChecksum artifactChecksum = getArtifactChecksum(artifactBasePath);
-            artifactChecksum.addChecksum(algorithm, checksum);
-        }
-        else
-        {
-            ArtifactChecksum artifactChecksum = new ArtifactChecksum();
-            artifactChecksum.addChecksum(algorithm, checksum);
+        // Atomic with the removal of the emptied entry, so that the added checksum is never lost with it.
+        cachedChecksums.asMap().compute(artifactBasePath, (path, ac) -> {
+            ArtifactChecksum result = ac == null ? new ArtifactChecksum() : ac;
+            result.addChecksum(algorithm, checksum);
 
-            cachedChecksums.put(artifactBasePath, artifactChecksum);
-        }
+            return result;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath,
-                                                    String algorithm)
+    public void removeArtifactChecksum(String artifactBasePath,
+                                       String algorithm)
     {
-        Optional.ofNullable(getArtifactChecksum(artifactBasePath)).map(ac -> {
+        cachedChecksums.asMap().computeIfPresent(artifactBasePath, (path, ac) -> {
             logger.debug(ac.removeChecksum(algorithm)
                            .map(c -> String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                    artifactBasePath,
@@ -129,40 +150,26 @@ public class ChecksumCacheManager
                            .orElseGet(() -> String.format("Checksum algorithm [%s] not found for [%s] in cache.",
                                                           algorithm,
                                                           artifactBasePath)));
-            return ac;
-        }).filter(ac -> ac.getChecksums().isEmpty()).ifPresent(ac -> cachedChecksums.values().remove(ac));
+
+            // The emptied entry is removed.
+            return ac.getChecksums().isEmpty() ? null : ac;
+        });
     }
 
-    public synchronized void removeArtifactChecksum(String artifactBasePath)
+    public void removeArtifactChecksum(String artifactBasePath)
     {
-        Optional.ofNullable(cachedChecksums.remove(artifactBasePath))
+        Optional.ofNullable(cachedChecksums.asMap().remove(artifactBasePath))
                 .ifPresent(ac -> logger.debug(String.format("Removed [%s] artifact checksum value [%s] from cache.",
                                                             artifactBasePath, ac)));
     }
 
-    public synchronized void removeExpiredChecksums()
-    {
-        for (String checksum : getExpiredChecksums())
-        {
-            removeArtifactChecksum(checksum);
-        }
-    }
-
-    private Set<String> getExpiredChecksums()
+    /**
+     * The expired checksums are evicted during the regular cache operations,
+     * this method only forces the pending maintenance.
+     */
+    public void removeExpiredChecksums()
     {
-        Set<String> expiredChecksums = new LinkedHashSet<>();
-
-        for (Map.Entry<String, ArtifactChecksum> artifactChecksumEntry : cachedChecksums.entrySet())
-        {
-            ArtifactChecksum checksum = artifactChecksumEntry.getValue();
-
-            if (System.currentTimeMillis() - checksum.getLastAccessed() > cachedChecksumLifetime)
-            {
-                expiredChecksums.add(artifactChecksumEntry.getKey());
-            }
-        }
-
-        return expiredChecksums;
+        cachedChecksums.cleanUp();
     }
 
     public long getCachedChecksumLifetime()
@@ -170,19 +177,9 @@ public class ChecksumCacheManager
         return cachedChecksumLifetime;
     }
 
-    public void setCachedChecksumLifetime(long cachedChecksumLifetime)
+    public long getMaximumSize()
     {
-        this.cachedChecksumLifetime = cachedChecksumLifetime;
-    }
-
-    public long getCachedChecksumExpiredCheckInterval()
-    {
-        return cachedChecksumExpiredCheckInterval;
-    }
-
-    public void setCachedChecksumExpiredCheckInterval(long cachedChecksumExpiredCheckInterval)
-    {
-        this.cachedChecksumExpiredCheckInterval = cachedChecksumExpiredCheckInterval;
+        return maximumSize;
     }
 
     public long getSize()
@@ -190,37 +187,22 @@ public class ChecksumCacheManager
         return cachedChecksums.size();
     }
 
-    public void startMonitor()
+    public long getHitCount()
     {
-        new CachedChecksumExpirer();
+        return cachedChecksums.stats().hitCount();
     }
 
-    private class CachedChecksumExpirer
-            extends Thread
+    public long getMissCount()
     {
+        return cachedChecksums.stats().missCount();
+    }
 
-        private CachedChecksumExpirer()
-        {
-            start();
-        }
-
-        @Override
-        public void run()
-        {
-            try
-            {
-                //noinspection InfiniteLoopStatement
-                while (true)
-                {
-                    Thread.sleep(getCachedChecksumExpiredCheckInterval());
-                    removeExpiredChecksums();
-                }
-            }
-            catch (InterruptedException e)
-            {
-                logger.error(e.getMessage(), e);
-            }
-        }
+    /**
+     * @return amount of checksums which were evicted because of expiration or the size limit
+     */
+    public long getEvictionCount()
+    {
+        return cachedChecksums.stats().evictionCount();
     }
 
 }
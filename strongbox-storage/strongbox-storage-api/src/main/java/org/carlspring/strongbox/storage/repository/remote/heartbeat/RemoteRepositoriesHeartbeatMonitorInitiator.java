@@ -46,6 +46,9 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
     @Inject
     private RemoteRepositoryHeartbeatMonitorStrategyRegistry remoteRepositoryHeartbeatMonitorStrategyRegistry;
 
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
     @Override
     public void destroy()
     {
@@ -75,6 +78,7 @@ public class RemoteRepositoriesHeartbeatMonitorInitiator
 
         RemoteRepositoryHeartbeatMonitor remoteRepositoryHeartBeatMonitor = new RemoteRepositoryHeartbeatMonitor(remoteRepositoryCacheManager,
                                                                                                                  determineMonitorStrategy(remoteRepository),
+                                                                                                                 remoteRepositoryCircuitBreakerRegistry.get(remoteRepository),
                                                                                                                  remoteRepository);
         executor.scheduleWithFixedDelay(new MdcContextProvider(remoteRepositoryHeartBeatMonitor),
                                         0,
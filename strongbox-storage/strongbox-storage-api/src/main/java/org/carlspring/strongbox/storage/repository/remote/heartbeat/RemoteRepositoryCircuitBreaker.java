@@ -0,0 +1,310 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The circuit breaker of one remote repository, driven by the outcomes (and
+ * latencies) of the real remote requests and the heartbeat checks.
+ * <br>
+ * The breaker is {@link State#CLOSED} while the remote repository responds.
+ * It opens after the configured number of consecutive failures (or too slow
+ * responses), so that the requests fail fast instead of waiting on the
+ * sockets. Once the backoff has elapsed, one trial request is permitted
+ * ({@link State#HALF_OPEN}): its success closes the breaker, while its failure
+ * opens it again with the doubled (up to the max) backoff.
+ * <br>
+ * The outcomes are reported with the request start time, so that the
+ * outcomes of the requests started before the trial was permitted don't
+ * drive the open (or half-open) breaker.
+ */
+public class RemoteRepositoryCircuitBreaker
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRepositoryCircuitBreaker.class);
+
+    private final String url;
+
+    private final int failureThreshold;
+
+    private final long slowCallThresholdMillis;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long backoffMillis;
+
+    /**
+     * The time when the breaker permits the next trial request.
+     */
+    private long nextTrialMillis;
+
+    /**
+     * The time when the trial request was permitted, the outcomes of the
+     * requests started earlier are ignored while the breaker is not closed.
+     */
+    private long trialPermittedMillis;
+
+    private final AtomicLong openedCount = new AtomicLong();
+
+    private final AtomicLong halfOpenedCount = new AtomicLong();
+
+    private final AtomicLong closedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public RemoteRepositoryCircuitBreaker(String url,
+                                          int failureThreshold,
+                                          long slowCallThresholdMillis,
+                                          long initialBackoffMillis,
+                                          long maxBackoffMillis)
+    {
+        this(url, failureThreshold, slowCallThresholdMillis, initialBackoffMillis, maxBackoffMillis,
+             System::currentTimeMillis);
+    }
+
+    RemoteRepositoryCircuitBreaker(String url,
+                                   int failureThreshold,
+                                   long slowCallThresholdMillis,
+                                   long initialBackoffMillis,
+                                   long maxBackoffMillis,
+                                   LongSupplier clock)
+    {
+        this.url = url;
+        this.failureThreshold = failureThreshold;
+        this.slowCallThresholdMillis = slowCallThresholdMillis;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.clock = clock;
+        this.backoffMillis = initialBackoffMillis;
+    }
+
+    public String getUrl()
+    {
+        return url;
+    }
+
+    public synchronized State getState()
+    {
+        return state;
+    }
+
+    /**
+     * @return the current time, which the request outcome should be reported with
+     */
+    public long currentTimeMillis()
+    {
+        return clock.getAsLong();
+    }
+
+    /**
+     * @return <code>true</code> if the requests are rejected now, without
+     *         claiming the trial request
+     */
+    public synchronized boolean isOpen()
+    {
+        return state != State.CLOSED && clock.getAsLong() < nextTrialMillis;
+    }
+
+    /**
+     * The same as {@link #isOpen()}, but the rejected request is counted.
+     *
+     * @return <code>true</code> if the request is rejected
+     */
+    public synchronized boolean rejectIfOpen()
+    {
+        if (!isOpen())
+        {
+            return false;
+        }
+
+        rejectedCount.incrementAndGet();
+
+        return true;
+    }
+
+    /**
+     * @return <code>true</code> if the request is permitted, which is always
+     *         the case for the closed breaker, and once per backoff for the
+     *         open one
+     */
+    public synchronized boolean tryAcquirePermission()
+    {
+        return tryAcquirePermission(true);
+    }
+
+    /**
+     * The same as {@link #tryAcquirePermission()}, but the skipped heartbeat
+     * check is not counted as rejected request.
+     */
+    public synchronized boolean tryAcquireHeartbeatPermission()
+    {
+        return tryAcquirePermission(false);
+    }
+
+    private boolean tryAcquirePermission(boolean countRejected)
+    {
+        if (state == State.CLOSED)
+        {
+            return true;
+        }
+
+        long now = clock.getAsLong();
+        if (now < nextTrialMillis)
+        {
+            if (countRejected)
+            {
+                rejectedCount.incrementAndGet();
+            }
+
+            return false;
+        }
+
+        // The trial permission expires after the backoff, in case its outcome is never reported.
+        nextTrialMillis = now + backoffMillis;
+        trialPermittedMillis = now;
+        transitionTo(State.HALF_OPEN);
+
+        return true;
+    }
+
+    /**
+     * @param startMillis
+     *            the request start time, see {@link #currentTimeMillis()}
+     */
+    public synchronized void recordSuccess(long startMillis)
+    {
+        if (isStale(startMillis))
+        {
+            return;
+        }
+
+        long latencyMillis = clock.getAsLong() - startMillis;
+        if (latencyMillis > slowCallThresholdMillis)
+        {
+            logger.debug("Remote repository [{}] responded in [{}] ms.", url, latencyMillis);
+
+            onFailure();
+
+            return;
+        }
+
+        consecutiveFailures = 0;
+
+        if (state == State.HALF_OPEN)
+        {
+            backoffMillis = initialBackoffMillis;
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * @param startMillis
+     *            the request start time, see {@link #currentTimeMillis()}
+     */
+    public synchronized void recordFailure(long startMillis)
+    {
+        if (isStale(startMillis))
+        {
+            return;
+        }
+
+        onFailure();
+    }
+
+    /**
+     * @return <code>true</code> if the request was started before the trial
+     *         request of the open (or half-open) breaker was permitted
+     */
+    private boolean isStale(long startMillis)
+    {
+        return state != State.CLOSED && startMillis < trialPermittedMillis;
+    }
+
+    private void onFailure()
+    {
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN)
+        {
+            backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            open();
+        }
+        else if (state == State.CLOSED && consecutiveFailures >= failureThreshold)
+        {
+            open();
+        }
+    }
+
+    private void open()
+    {
+        nextTrialMillis = clock.getAsLong() + backoffMillis;
+        // No trial yet, so that all the outcomes are stale.
+        trialPermittedMillis = Long.MAX_VALUE;
+        transitionTo(State.OPEN);
+
+        logger.warn("Remote repository [{}] circuit is open for [{}] ms after [{}] consecutive failures.",
+                    url, backoffMillis, consecutiveFailures);
+    }
+
+    private void transitionTo(State newState)
+    {
+        if (state == newState)
+        {
+            return;
+        }
+
+        state = newState;
+        switch (newState)
+        {
+            case OPEN:
+                openedCount.incrementAndGet();
+                break;
+            case HALF_OPEN:
+                halfOpenedCount.incrementAndGet();
+                break;
+            default:
+                closedCount.incrementAndGet();
+                break;
+        }
+    }
+
+    public long getOpenedCount()
+    {
+        return openedCount.get();
+    }
+
+    public long getHalfOpenedCount()
+    {
+        return halfOpenedCount.get();
+    }
+
+    public long getClosedCount()
+    {
+        return closedCount.get();
+    }
+
+    /**
+     * @return the number of the requests rejected by the open breaker
+     */
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+}
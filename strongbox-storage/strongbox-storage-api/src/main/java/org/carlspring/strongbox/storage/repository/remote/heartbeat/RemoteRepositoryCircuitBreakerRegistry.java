@@ -0,0 +1,112 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.RemoteRepository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link RemoteRepositoryCircuitBreaker}s of the remote repositories, by
+ * the remote repository URL.
+ * <br>
+ * If the circuit breakers are disabled, the breakers still count the outcomes,
+ * but they never open.
+ */
+@Component
+public class RemoteRepositoryCircuitBreakerRegistry
+{
+
+    private final Map<String, RemoteRepositoryCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    private final List<Consumer<RemoteRepositoryCircuitBreaker>> circuitBreakerListeners = new CopyOnWriteArrayList<>();
+
+    private final int failureThreshold;
+
+    private final long slowCallThresholdMillis;
+
+    private final long initialBackoffMillis;
+
+    private final long maxBackoffMillis;
+
+    public RemoteRepositoryCircuitBreakerRegistry(@Value("${strongbox.remote.circuitBreaker.enabled:true}") boolean enabled,
+                                                  @Value("${strongbox.remote.circuitBreaker.failureThreshold:5}") int failureThreshold,
+                                                  @Value("${strongbox.remote.circuitBreaker.slowCallThresholdMillis:30000}") long slowCallThresholdMillis,
+                                                  @Value("${strongbox.remote.circuitBreaker.initialBackoffMillis:5000}") long initialBackoffMillis,
+                                                  @Value("${strongbox.remote.circuitBreaker.maxBackoffMillis:300000}") long maxBackoffMillis)
+    {
+        this.failureThreshold = enabled ? failureThreshold : Integer.MAX_VALUE;
+        this.slowCallThresholdMillis = enabled ? slowCallThresholdMillis : Long.MAX_VALUE;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoffMillis);
+    }
+
+    public RemoteRepositoryCircuitBreaker get(RemoteRepository remoteRepository)
+    {
+        return get(remoteRepository.getUrl());
+    }
+
+    public RemoteRepositoryCircuitBreaker get(String url)
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = circuitBreakers.get(url);
+        if (circuitBreaker != null)
+        {
+            return circuitBreaker;
+        }
+
+        return create(url);
+    }
+
+    private synchronized RemoteRepositoryCircuitBreaker create(String url)
+    {
+        RemoteRepositoryCircuitBreaker circuitBreaker = circuitBreakers.get(url);
+        if (circuitBreaker != null)
+        {
+            return circuitBreaker;
+        }
+
+        circuitBreaker = new RemoteRepositoryCircuitBreaker(url,
+                                                            failureThreshold,
+                                                            slowCallThresholdMillis,
+                                                            initialBackoffMillis,
+                                                            maxBackoffMillis);
+        circuitBreakers.put(url, circuitBreaker);
+
+        for (Consumer<RemoteRepositoryCircuitBreaker> listener : circuitBreakerListeners)
+        {
+            listener.accept(circuitBreaker);
+        }
+
+        return circuitBreaker;
+    }
+
+    /**
+     * @return the circuit breakers created so far
+     */
+    public Collection<RemoteRepositoryCircuitBreaker> getCircuitBreakers()
+    {
+        return Collections.unmodifiableCollection(circuitBreakers.values());
+    }
+
+    /**
+     * Registers the callback which will be notified about all the existing
+     * and newly created circuit breakers, for example to expose their state
+     * as metrics.
+     *
+     * @param listener
+     *            the callback
+     */
+    public synchronized void addCircuitBreakerListener(Consumer<RemoteRepositoryCircuitBreaker> listener)
+    {
+        circuitBreakerListeners.add(listener);
+        circuitBreakers.values().forEach(listener);
+    }
+
+}
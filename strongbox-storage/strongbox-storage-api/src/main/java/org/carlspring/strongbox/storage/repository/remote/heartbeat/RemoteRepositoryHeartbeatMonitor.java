@@ -24,23 +24,38 @@ class RemoteRepositoryHeartbeatMonitor
 
     private final RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy;
 
+    private final RemoteRepositoryCircuitBreaker circuitBreaker;
+
     RemoteRepositoryHeartbeatMonitor(@Nonnull RemoteRepositoryAlivenessCacheManager remoteRepositoryCacheManager,
                                      @Nonnull RemoteRepositoryHeartbeatMonitorStrategy monitorStrategy,
+                                     @Nonnull RemoteRepositoryCircuitBreaker circuitBreaker,
                                      @Nonnull RemoteRepository remoteRepository)
     {
         Objects.requireNonNull(remoteRepositoryCacheManager);
         Objects.requireNonNull(monitorStrategy);
+        Objects.requireNonNull(circuitBreaker);
         Objects.requireNonNull(remoteRepository);
 
         this.remoteRepositoryCacheManager = remoteRepositoryCacheManager;
         this.monitorStrategy = monitorStrategy;
+        this.circuitBreaker = circuitBreaker;
         this.remoteRepository = remoteRepository;
     }
 
     @Override
     public void run()
     {
+        // While the circuit is open, the remote repository is probed once per backoff rather than once per interval.
+        if (circuitBreaker.getState() != RemoteRepositoryCircuitBreaker.State.CLOSED &&
+            !circuitBreaker.tryAcquireHeartbeatPermission())
+        {
+            logger.debug("Remote repository [{}] circuit is open, skip the heartbeat.", remoteRepository.getUrl());
+
+            return;
+        }
+
         boolean isAlive = false;
+        long start = circuitBreaker.currentTimeMillis();
         try
         {
             isAlive = monitorStrategy.isAlive(remoteRepository.getUrl());
@@ -50,6 +65,15 @@ class RemoteRepositoryHeartbeatMonitor
             logger.error("Problem determining remote repository [" + remoteRepository.getUrl() + "] aliveness", ex);
         }
 
+        if (isAlive)
+        {
+            circuitBreaker.recordSuccess(start);
+        }
+        else
+        {
+            circuitBreaker.recordFailure(start);
+        }
+
         logger.debug("Thread name is [{}]. Remote repository [{}] is alive ? [{}]", Thread.currentThread().getName(),
                      remoteRepository.getUrl(),
                      isAlive);
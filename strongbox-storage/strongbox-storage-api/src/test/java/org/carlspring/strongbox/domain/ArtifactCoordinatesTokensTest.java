@@ -0,0 +1,60 @@
+package org.carlspring.strongbox.domain;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactCoordinatesTokensTest
+{
+
+    @Test
+    public void testExactToken()
+    {
+        List<String> tokens = ArtifactCoordinatesTokens.tokenize(coordinates("Org.Carlspring", null));
+
+        assertTrue(tokens.contains(ArtifactCoordinatesTokens.exact("groupId", "org.carlspring")));
+        assertFalse(tokens.stream().anyMatch(t -> t.startsWith("artifactId")));
+    }
+
+    @Test
+    public void testSubstringTokens()
+    {
+        List<String> tokens = ArtifactCoordinatesTokens.tokenize(coordinates("org.carlspring.strongbox", "strongbox-web-core"));
+
+        for (String substring : new String[]{ "org", "carlspring", "g.c", "strongbox", "box" })
+        {
+            List<String> queryTokens = ArtifactCoordinatesTokens.substringQueryTokens("groupId", substring);
+
+            assertFalse(queryTokens.isEmpty());
+            assertTrue(tokens.containsAll(queryTokens), substring);
+        }
+
+        assertFalse(tokens.containsAll(ArtifactCoordinatesTokens.substringQueryTokens("groupId", "core")));
+        assertTrue(tokens.containsAll(ArtifactCoordinatesTokens.substringQueryTokens("artifactId", "core")));
+    }
+
+    @Test
+    public void testShortSubstring()
+    {
+        assertEquals(0, ArtifactCoordinatesTokens.substringQueryTokens("groupId", "or").size());
+        assertEquals(1, ArtifactCoordinatesTokens.substringQueryTokens("groupId", "org").size());
+        assertEquals(ArtifactCoordinatesTokens.MAX_QUERY_GRAMS,
+                     ArtifactCoordinatesTokens.substringQueryTokens("groupId", "carlspring").size());
+    }
+
+    private Map<String, String> coordinates(String groupId,
+                                            String artifactId)
+    {
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("groupId", groupId);
+        result.put("artifactId", artifactId);
+
+        return result;
+    }
+
+}
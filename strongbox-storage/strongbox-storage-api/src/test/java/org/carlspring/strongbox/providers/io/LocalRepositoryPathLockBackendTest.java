@@ -0,0 +1,88 @@
+package org.carlspring.strongbox.providers.io;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalRepositoryPathLockBackendTest
+{
+
+    private final LocalRepositoryPathLockBackend backend = new LocalRepositoryPathLockBackend(4, 16);
+
+    @Test
+    public void testSameNameSameLock()
+    {
+        ReadWriteLock lock = backend.getReadWriteLock("strongbox:/storage0/releases/a.jar");
+
+        assertSame(lock, backend.getReadWriteLock("strongbox:/storage0/releases/a.jar"));
+        assertNotSame(lock, backend.getReadWriteLock("strongbox:/storage0/releases/b.jar"));
+    }
+
+    @Test
+    public void testHeldLockNotCollected()
+        throws Exception
+    {
+        Lock writeLock = backend.getReadWriteLock("strongbox:/storage0/releases/a.jar").writeLock();
+        writeLock.lock();
+        try
+        {
+            // Only the held `Lock` refers to its `ReadWriteLock` here.
+            for (int i = 0; i < 3; i++)
+            {
+                System.gc();
+                Thread.sleep(10);
+            }
+
+            assertFalse(tryReadLockInAnotherThread("strongbox:/storage0/releases/a.jar"),
+                        "The write lock should still be held.");
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+
+        assertTrue(tryReadLockInAnotherThread("strongbox:/storage0/releases/a.jar"));
+    }
+
+    @Test
+    public void testRecentLockRetained()
+        throws Exception
+    {
+        String lockName = "strongbox:/storage0/releases/a.jar";
+        WeakReference<ReadWriteLock> lock = new WeakReference<>(backend.getReadWriteLock(lockName));
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // The hot lock is not allocated again.
+        assertNotNull(lock.get());
+        assertSame(lock.get(), backend.getReadWriteLock(lockName));
+    }
+
+    private boolean tryReadLockInAnotherThread(String lockName)
+        throws InterruptedException
+    {
+        boolean[] result = new boolean[1];
+        Thread thread = new Thread(() -> {
+            Lock readLock = backend.getReadWriteLock(lockName).readLock();
+            if (result[0] = readLock.tryLock())
+            {
+                readLock.unlock();
+            }
+        });
+        thread.start();
+        thread.join();
+
+        return result[0];
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.carlspring.strongbox.providers.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RepositoryFileSystemCacheTest
+{
+
+    private RepositoryFileSystemCache cache;
+
+    private AtomicInteger created;
+
+    private Function<Repository, LayoutFileSystem> factory;
+
+
+    @BeforeEach
+    public void setup()
+    {
+        cache = new RepositoryFileSystemCache();
+        created = new AtomicInteger();
+
+        PropertiesBooter propertiesBooter = new PropertiesBooter();
+        factory = (repository) -> {
+            created.incrementAndGet();
+
+            return new LayoutFileSystem(propertiesBooter, repository, FileSystems.getDefault(), null)
+            {
+                @Override
+                public Set<String> getDigestAlgorithmSet()
+                {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        };
+    }
+
+    @Test
+    public void fileSystemShouldBeCreatedOnce()
+    {
+        Repository repository = repository("releases", "maven");
+        LayoutFileSystem fileSystem = cache.get(repository, factory);
+
+        assertSame(fileSystem, cache.get(repository, factory));
+        assertEquals(1, created.get());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void fileSystemShouldBeCreatedForRepositoryOfAnotherSnapshot()
+    {
+        LayoutFileSystem fileSystem = cache.get(repository("releases", "maven"), factory);
+
+        // The same repository of the new configuration snapshot.
+        Repository repository = repository("releases", "maven");
+        LayoutFileSystem otherFileSystem = cache.get(repository, factory);
+
+        assertNotSame(fileSystem, otherFileSystem);
+        assertSame(repository, otherFileSystem.getRepository());
+        assertSame(otherFileSystem, cache.get(repository, factory));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void fileSystemShouldBeCreatedAfterInvalidation()
+    {
+        Repository repository = repository("releases", "maven");
+        LayoutFileSystem fileSystem = cache.get(repository, factory);
+
+        cache.invalidateAll();
+
+        assertNotSame(fileSystem, cache.get(repository, factory));
+        assertEquals(2, created.get());
+    }
+
+    @Test
+    public void fileSystemShouldBeCreatedForChangedRepository()
+    {
+        LayoutFileSystem fileSystem = cache.get(repository("releases", "maven"), factory);
+        LayoutFileSystem otherFileSystem = cache.get(repository("releases", "raw"), factory);
+
+        assertNotSame(fileSystem, otherFileSystem);
+        assertEquals("raw", otherFileSystem.getRepository().getLayout());
+        assertEquals(2, created.get());
+    }
+
+    private Repository repository(String repositoryId,
+                                  String layout)
+    {
+        MutableStorage storage = new MutableStorage("storage0");
+        storage.setBasedir(new File("target/strongbox-vault/storages/storage0").getAbsolutePath());
+
+        MutableRepository repository = new MutableRepository(repositoryId);
+        repository.setLayout(layout);
+        repository.setBasedir(new File(storage.getBasedir(), repositoryId).getAbsolutePath());
+        repository.setStorage(storage);
+
+        return new ImmutableRepository(repository);
+    }
+
+}
@@ -0,0 +1,301 @@
+package org.carlspring.strongbox.providers.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.carlspring.strongbox.artifact.coordinates.NullArtifactCoordinates;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.layout.AbstractLayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Counts the {@link ArtifactEntry} loads of {@link RepositoryPath#getArtifactEntry()} per request and per
+ * transaction.
+ */
+public class RepositoryPathResolverTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private static final String PATH = "org/carlspring/strongbox/resolver/1.0/resolver-1.0.jar";
+
+    private ArtifactEntryService artifactEntryService;
+
+    private ArtifactEntryIdentityMap artifactEntryIdentityMap;
+
+    private RepositoryPathResolver resolver;
+
+    private Repository repository;
+
+    @BeforeEach
+    public void setUp()
+    {
+        artifactEntryService = mock(ArtifactEntryService.class);
+        // Each load gives a new detached entry, as the service does.
+        when(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH)).thenAnswer(i -> artifactEntry());
+
+        artifactEntryIdentityMap = new ArtifactEntryIdentityMap();
+
+        resolver = new RepositoryPathResolver();
+        resolver.artifactEntryService = artifactEntryService;
+        resolver.artifactEntryIdentityMap = artifactEntryIdentityMap;
+        resolver.fileSystemCache = new RepositoryFileSystemCache();
+
+        MutableStorage storage = new MutableStorage();
+        storage.setId(STORAGE_ID);
+
+        MutableRepository mutableRepository = new MutableRepository();
+        mutableRepository.setStorage(storage);
+        mutableRepository.setId(REPOSITORY_ID);
+        mutableRepository.setBasedir(Paths.get("target/strongbox-vault/storages", STORAGE_ID, REPOSITORY_ID)
+                                          .toAbsolutePath()
+                                          .toString());
+        repository = new ImmutableRepository(mutableRepository);
+
+        LayoutFileSystem fileSystem = new LayoutFileSystem(new PropertiesBooter(), repository,
+                                                           FileSystems.getDefault(),
+                                                           new TestLayoutFileSystemProvider())
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+        resolver.fileSystemCache.get(repository, r -> fileSystem);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testEntryLoadedOncePerRequest()
+        throws Exception
+    {
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes());
+
+        ArtifactEntry artifactEntry = resolver.resolve(repository, PATH).getArtifactEntry();
+        artifactEntry.setDownloadCount(100);
+
+        ArtifactEntry otherArtifactEntry = resolver.resolve(repository, PATH).getArtifactEntry();
+
+        verify(artifactEntryService, times(1)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+
+        // Each caller gets its own copy, which is not affected by the changes of the other callers.
+        assertNotSame(artifactEntry, otherArtifactEntry);
+        assertEquals(artifactEntry.getObjectId(), otherArtifactEntry.getObjectId());
+        assertEquals(Integer.valueOf(0), otherArtifactEntry.getDownloadCount());
+    }
+
+    @Test
+    public void testEntryLoadedOncePerTransaction()
+        throws Exception
+    {
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes());
+
+        TransactionSynchronizationManager.initSynchronization();
+        resolver.resolve(repository, PATH).getArtifactEntry();
+        resolver.resolve(repository, PATH).getArtifactEntry();
+        completeTransaction();
+
+        verify(artifactEntryService, times(1)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+
+        // The retry starts with its own transaction, so the entry is loaded again.
+        TransactionSynchronizationManager.initSynchronization();
+        resolver.resolve(repository, PATH).getArtifactEntry();
+        completeTransaction();
+
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void testSavedEntryLoadedAgain()
+        throws Exception
+    {
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes());
+
+        ArtifactEntry artifactEntry = resolver.resolve(repository, PATH).getArtifactEntry();
+        artifactEntryIdentityMap.invalidate(artifactEntry);
+        resolver.resolve(repository, PATH).getArtifactEntry();
+
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void testEntryLoadedAgainOnceArtifactUpdated()
+        throws Exception
+    {
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes());
+
+        RepositoryPath path = resolver.resolve(repository, PATH);
+        path.getArtifactEntry();
+        artifactEntryIdentityMap.handle(new ArtifactEvent<>(path,
+                                                            ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType()));
+        path.getArtifactEntry();
+
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void testEntryNotCachedOutsideOfRequest()
+        throws Exception
+    {
+        resolver.resolve(repository, PATH).getArtifactEntry();
+        resolver.resolve(repository, PATH).getArtifactEntry();
+
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    @Test
+    public void testMissingEntryNotCached()
+        throws Exception
+    {
+        RequestContextHolder.setRequestAttributes(new TestRequestAttributes());
+        when(artifactEntryService.findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH)).thenReturn(null);
+
+        assertNull(resolver.resolve(repository, PATH).getArtifactEntry());
+        assertNull(resolver.resolve(repository, PATH).getArtifactEntry());
+
+        verify(artifactEntryService, times(2)).findOneArtifact(STORAGE_ID, REPOSITORY_ID, PATH);
+    }
+
+    private static void completeTransaction()
+    {
+        TransactionSynchronizationManager.getSynchronizations()
+                                         .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static ArtifactEntry artifactEntry()
+    {
+        ArtifactEntry result = new ArtifactEntry();
+        result.setObjectId("#42:0");
+        result.setStorageId(STORAGE_ID);
+        result.setRepositoryId(REPOSITORY_ID);
+        result.setArtifactCoordinates(new NullArtifactCoordinates(PATH));
+
+        return result;
+    }
+
+    private static class TestLayoutFileSystemProvider extends LayoutFileSystemProvider
+    {
+
+        private TestLayoutFileSystemProvider()
+        {
+            super(FileSystems.getDefault().provider());
+        }
+
+        @Override
+        protected AbstractLayoutProvider getLayoutProvider()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryPath,
+                                                                                       RepositoryFileAttributeType... attributeTypes)
+        {
+            return Arrays.stream(attributeTypes)
+                         .collect(Collectors.toMap(t -> t, t -> t == RepositoryFileAttributeType.ARTIFACT));
+        }
+
+    }
+
+    private static class TestRequestAttributes implements RequestAttributes
+    {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name,
+                                   int scope)
+        {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name,
+                                 Object value,
+                                 int scope)
+        {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name,
+                                    int scope)
+        {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope)
+        {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name,
+                                                Runnable callback,
+                                                int scope)
+        {
+        }
+
+        @Override
+        public Object resolveReference(String key)
+        {
+            return null;
+        }
+
+        @Override
+        public String getSessionId()
+        {
+            return null;
+        }
+
+        @Override
+        public Object getSessionMutex()
+        {
+            return this;
+        }
+
+    }
+
+}
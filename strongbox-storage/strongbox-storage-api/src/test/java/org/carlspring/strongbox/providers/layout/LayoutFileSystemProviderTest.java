@@ -0,0 +1,286 @@
+package org.carlspring.strongbox.providers.layout;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.io.LayoutInputStream;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+public class LayoutFileSystemProviderTest
+{
+
+    private static final Path REPOSITORY_BASEDIR = Paths.get("target/strongbox-vault", "storages", "storage0",
+                                                             "layout-fs-provider-checksums").toAbsolutePath();
+
+    private static final String SHA1 = "da39a3ee5e6b4b0d3255bfef95601890afd80709";
+
+    private static final String MD5 = "d41d8cd98f00b204e9800998ecf8427e";
+
+    private static final byte[] CONTENT = "strongbox".getBytes(StandardCharsets.UTF_8);
+
+    @Spy
+    private RepositoryPathDigestCache repositoryPathDigestCache = new RepositoryPathDigestCache(100);
+
+    @InjectMocks
+    private TestLayoutFileSystemProvider provider = new TestLayoutFileSystemProvider(FileSystems.getDefault()
+                                                                                               .provider());
+
+    private RepositoryPath artifactPath;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        MockitoAnnotations.initMocks(this);
+
+        FileUtils.deleteDirectory(REPOSITORY_BASEDIR.toFile());
+        Files.createDirectories(REPOSITORY_BASEDIR);
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), new byte[0]);
+
+        artifactPath = resolveArtifactPath(false);
+    }
+
+    private RepositoryPath resolveArtifactPath(boolean checksumVerificationEnabled)
+    {
+        MutableRepository repository = new MutableRepository();
+        repository.setId("layout-fs-provider-checksums");
+        repository.setBasedir(REPOSITORY_BASEDIR.toString());
+        repository.setChecksumVerificationEnabled(checksumVerificationEnabled);
+
+        Set<String> digestAlgorithmSet = new HashSet<>();
+        digestAlgorithmSet.add(MessageDigestAlgorithms.MD5);
+        digestAlgorithmSet.add(MessageDigestAlgorithms.SHA_1);
+
+        LayoutFileSystem fileSystem = new LayoutFileSystem(new PropertiesBooter(), new ImmutableRepository(repository),
+                                                           FileSystems.getDefault(), provider)
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                return digestAlgorithmSet;
+            }
+        };
+
+        return new RepositoryPath(REPOSITORY_BASEDIR, fileSystem).resolve("a.jar");
+    }
+
+    @Test
+    public void testPartialChecksumsCached()
+        throws IOException
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), SHA1.getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> checksums = provider.resolveChecksums(artifactPath, readAttributes());
+        assertEquals(Collections.singletonMap(MessageDigestAlgorithms.SHA_1, SHA1), checksums);
+
+        // The missing MD5 is not looked up again, and the SHA-1 is not read again.
+        Files.delete(REPOSITORY_BASEDIR.resolve("a.jar.sha1"));
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.md5"), MD5.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(checksums, provider.resolveChecksums(artifactPath, readAttributes()));
+    }
+
+    @Test
+    public void testMissingChecksumsCachedUntilStored()
+        throws IOException
+    {
+        assertTrue(provider.resolveChecksums(artifactPath, readAttributes()).isEmpty());
+
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.md5"), MD5.getBytes(StandardCharsets.UTF_8));
+        assertTrue(provider.resolveChecksums(artifactPath, readAttributes()).isEmpty());
+
+        RepositoryPath checksumPath = provider.getChecksumPath(artifactPath, MessageDigestAlgorithms.MD5);
+        repositoryPathDigestCache.handle(new ArtifactEvent<>(checksumPath,
+                                                             ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()));
+
+        assertEquals(Collections.singletonMap(MessageDigestAlgorithms.MD5, MD5),
+                     provider.resolveChecksums(artifactPath, readAttributes()));
+    }
+
+    @Test
+    public void testChecksumsResolvedAgainForChangedArtifact()
+        throws IOException
+    {
+        assertTrue(provider.resolveChecksums(artifactPath, readAttributes()).isEmpty());
+
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), new byte[] { 1 });
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), SHA1.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Collections.singletonMap(MessageDigestAlgorithms.SHA_1, SHA1),
+                     provider.resolveChecksums(artifactPath, readAttributes()));
+    }
+
+    @Test
+    public void testMissingChecksumsCalculatedFromBytesRead()
+        throws Exception
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), CONTENT);
+
+        try (LayoutInputStream is = decorateStream(artifactPath))
+        {
+            assertEquals(1, is.read(new byte[1]));
+            assertTrue(is.getHexDigests().isEmpty());
+
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            assertEquals(checksums(DigestUtils.md5Hex(CONTENT), DigestUtils.sha1Hex(CONTENT)), is.getHexDigests());
+        }
+    }
+
+    @Test
+    public void testKnownChecksumsNotCalculated()
+        throws Exception
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), CONTENT);
+        // Not the checksum of the content, so it's known to be the stored one.
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), SHA1.getBytes(StandardCharsets.UTF_8));
+
+        try (LayoutInputStream is = decorateStream(artifactPath))
+        {
+            assertEquals(Collections.singletonMap(MessageDigestAlgorithms.SHA_1, SHA1), is.getHexDigests());
+
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            assertEquals(checksums(DigestUtils.md5Hex(CONTENT), SHA1), is.getHexDigests());
+        }
+    }
+
+    @Test
+    public void testChecksumsVerifiedAtEndOfStream()
+        throws Exception
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), CONTENT);
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), DigestUtils.sha1Hex(CONTENT).getBytes());
+
+        try (LayoutInputStream is = decorateStream(resolveArtifactPath(true)))
+        {
+            // The stored checksums are verified, not used.
+            assertTrue(is.getHexDigests().isEmpty());
+
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            assertEquals(checksums(DigestUtils.md5Hex(CONTENT), DigestUtils.sha1Hex(CONTENT)), is.getHexDigests());
+        }
+    }
+
+    @Test
+    public void testChecksumMismatchFailsAtEndOfStream()
+        throws Exception
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), CONTENT);
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), SHA1.getBytes(StandardCharsets.UTF_8));
+
+        try (LayoutInputStream is = decorateStream(resolveArtifactPath(true)))
+        {
+            assertThrows(IOException.class, () -> IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM));
+        }
+    }
+
+    @Test
+    public void testPartialContentNotVerified()
+        throws Exception
+    {
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar"), CONTENT);
+        Files.write(REPOSITORY_BASEDIR.resolve("a.jar.sha1"), SHA1.getBytes(StandardCharsets.UTF_8));
+
+        try (LayoutInputStream is = decorateStream(resolveArtifactPath(true)))
+        {
+            assertEquals(1L, is.skip(1L));
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            assertTrue(is.getHexDigests().isEmpty());
+        }
+
+        try (LayoutInputStream is = decorateStream(resolveArtifactPath(true)))
+        {
+            is.markPartialContent();
+            IOUtils.copy(is, NullOutputStream.NULL_OUTPUT_STREAM);
+
+            assertTrue(is.getHexDigests().isEmpty());
+        }
+    }
+
+    private LayoutInputStream decorateStream(RepositoryPath path)
+        throws Exception
+    {
+        InputStream is = Files.newInputStream(REPOSITORY_BASEDIR.resolve("a.jar"));
+
+        return provider.decorateStream(path, readAttributes(), is);
+    }
+
+    private static Map<String, String> checksums(String md5,
+                                                 String sha1)
+    {
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put(MessageDigestAlgorithms.MD5, md5);
+        result.put(MessageDigestAlgorithms.SHA_1, sha1);
+
+        return result;
+    }
+
+    private BasicFileAttributes readAttributes()
+        throws IOException
+    {
+        return Files.readAttributes(REPOSITORY_BASEDIR.resolve("a.jar"), BasicFileAttributes.class);
+    }
+
+    private static class TestLayoutFileSystemProvider extends LayoutFileSystemProvider
+    {
+
+        private TestLayoutFileSystemProvider(FileSystemProvider target)
+        {
+            super(target);
+        }
+
+        @Override
+        protected AbstractLayoutProvider getLayoutProvider()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryPath,
+                                                                                       RepositoryFileAttributeType... attributeTypes)
+        {
+            String fileName = repositoryPath.getFileName().toString();
+
+            return Collections.singletonMap(RepositoryFileAttributeType.CHECKSUM,
+                                            fileName.endsWith(".sha1") || fileName.endsWith(".md5"));
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package org.carlspring.strongbox.providers.repository;
+
+import org.carlspring.strongbox.providers.repository.ArtifactDownloadCounters.Delta;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactDownloadCountersTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String REPOSITORY_ID = "releases";
+
+    private final ArtifactDownloadCounters counters = new ArtifactDownloadCounters();
+
+    @Test
+    public void testDownloadsCoalesced()
+    {
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 1L);
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 3L);
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 2L);
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "b.jar", 1L);
+
+        assertEquals(2, counters.getPendingDeltasCount());
+        assertEquals(4L, counters.getPendingDownloadsCount());
+
+        List<Delta> deltas = counters.drain(Integer.MAX_VALUE);
+        assertEquals(2, deltas.size());
+
+        Delta delta = deltas.stream().filter(d -> d.getPath().equals("a.jar")).findFirst().get();
+        assertEquals(3L, delta.getDownloadCount());
+        assertEquals(3L, delta.getLastUsed());
+
+        assertEquals(0, counters.getPendingDeltasCount());
+        assertEquals(0L, counters.getPendingDownloadsCount());
+    }
+
+    @Test
+    public void testDrainLimitAndMerge()
+    {
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 1L);
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "b.jar", 1L);
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "c.jar", 1L);
+
+        List<Delta> deltas = counters.drain(2);
+        assertEquals(2, deltas.size());
+        assertEquals(1, counters.getPendingDeltasCount());
+
+        // Failed batch is returned back and merged with the new downloads.
+        counters.increment(STORAGE_ID, REPOSITORY_ID, deltas.get(0).getPath(), 5L);
+        deltas.forEach(counters::merge);
+
+        assertEquals(3, counters.getPendingDeltasCount());
+        assertEquals(4L, counters.getPendingDownloadsCount());
+    }
+
+    @Test
+    public void testMergeKeepsFailedAttempts()
+    {
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 1L);
+
+        Delta delta = counters.drain(1).get(0);
+        delta.incrementFailedAttempts();
+        delta.incrementFailedAttempts();
+
+        // The downloads in between don't reset the attempts.
+        counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", 2L);
+        counters.merge(delta);
+
+        Delta merged = counters.drain(1).get(0);
+        assertEquals(2, merged.getFailedAttempts());
+        assertEquals(2L, merged.getDownloadCount());
+    }
+
+    @Test
+    public void testConcurrentIncrementsNotLost()
+        throws Exception
+    {
+        int threads = 8;
+        int downloads = 10000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++)
+        {
+            executor.execute(() -> {
+                for (int j = 0; j < downloads; j++)
+                {
+                    counters.increment(STORAGE_ID, REPOSITORY_ID, "a.jar", j);
+                }
+            });
+        }
+
+        List<Delta> drained = new ArrayList<>();
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS))
+        {
+            drained.addAll(counters.drain(1));
+        }
+        drained.addAll(counters.drain(Integer.MAX_VALUE));
+
+        assertTrue(executor.isTerminated());
+        assertEquals((long) threads * downloads, drained.stream().mapToLong(Delta::getDownloadCount).sum());
+    }
+
+}
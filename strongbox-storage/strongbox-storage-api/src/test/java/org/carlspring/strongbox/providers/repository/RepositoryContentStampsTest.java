@@ -0,0 +1,74 @@
+package org.carlspring.strongbox.providers.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RepositoryContentStampsTest
+{
+
+    private RepositoryContentStamps stamps;
+
+
+    @BeforeEach
+    public void setup()
+    {
+        stamps = new RepositoryContentStamps();
+    }
+
+    @Test
+    public void stampShouldChangeOnModification()
+    {
+        Repository releases = repository("releases", RepositoryTypeEnum.HOSTED);
+        Repository snapshots = repository("snapshots", RepositoryTypeEnum.HOSTED);
+
+        String releasesStamp = stamps.getStamp(releases);
+        String snapshotsStamp = stamps.getStamp(snapshots);
+
+        assertNotNull(releasesStamp);
+        assertEquals(releasesStamp, stamps.getStamp(releases));
+
+        stamps.touch(releases);
+
+        assertNotEquals(releasesStamp, stamps.getStamp(releases));
+        assertEquals(snapshotsStamp, stamps.getStamp(snapshots));
+    }
+
+    @Test
+    public void stampShouldChangeOnInvalidation()
+    {
+        Repository releases = repository("releases", RepositoryTypeEnum.HOSTED);
+
+        String releasesStamp = stamps.getStamp(releases);
+
+        stamps.invalidateAll();
+
+        assertNotEquals(releasesStamp, stamps.getStamp(releases));
+    }
+
+    @Test
+    public void proxyRepositoryShouldNotHaveStamp()
+    {
+        assertNull(stamps.getStamp(repository("central", RepositoryTypeEnum.PROXY)));
+    }
+
+    private Repository repository(String repositoryId,
+                                  RepositoryTypeEnum type)
+    {
+        MutableRepository repository = new MutableRepository(repositoryId);
+        repository.setType(type.getType());
+        repository.setStorage(new MutableStorage("storage0"));
+
+        return new ImmutableRepository(repository);
+    }
+
+}
@@ -0,0 +1,303 @@
+package org.carlspring.strongbox.providers.repository.group;
+
+import org.carlspring.strongbox.booters.PropertiesBooter;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.LayoutFileSystem;
+import org.carlspring.strongbox.providers.io.RepositoryFileAttributeType;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.AbstractLayoutProvider;
+import org.carlspring.strongbox.providers.layout.LayoutFileSystemProvider;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteResourceStatus;
+import org.carlspring.strongbox.storage.MutableStorage;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GroupRepositoryMemberResolverTest
+{
+
+    private static final String ARTIFACT_PATH = "org/carlspring/strongbox/group-member/1.0/group-member-1.0.jar";
+
+    private ThreadPoolExecutor executor;
+
+    private GroupRepositoryNegativeCache negativeCache;
+
+    private GroupRepositoryMemberResolver resolver;
+
+    @BeforeEach
+    public void setUp()
+    {
+        executor = new ThreadPoolExecutor(4, 4, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(4),
+                                          new ThreadPoolExecutor.AbortPolicy());
+        negativeCache = new GroupRepositoryNegativeCache(100, 30000);
+        resolver = new GroupRepositoryMemberResolver(executor, negativeCache);
+    }
+
+    @AfterEach
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFirstMemberInOrderWins()
+        throws Exception
+    {
+        RepositoryPath first = memberPath("proxy-first", RepositoryTypeEnum.PROXY);
+        RepositoryPath second = memberPath("proxy-second", RepositoryTypeEnum.PROXY);
+
+        // The second member answers first, but the first one is still preferred.
+        CountDownLatch secondProbed = new CountDownLatch(1);
+        List<RepositoryPath> fetched = new CopyOnWriteArrayList<>();
+
+        RepositoryPath result = resolver.resolve(Arrays.asList(first, second), null, p -> {
+            if (p == first)
+            {
+                await(secondProbed);
+            }
+            else
+            {
+                secondProbed.countDown();
+            }
+
+            return RemoteResourceStatus.FOUND;
+        }, p -> {
+            fetched.add(p);
+            return p;
+        });
+
+        assertSame(first, result);
+        assertEquals(Collections.singletonList(first), fetched);
+    }
+
+    @Test
+    public void testLosingProbesCancelled()
+        throws Exception
+    {
+        RepositoryPath first = memberPath("proxy-first", RepositoryTypeEnum.PROXY);
+        RepositoryPath second = memberPath("proxy-second", RepositoryTypeEnum.PROXY);
+
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch secondInterrupted = new CountDownLatch(1);
+
+        RepositoryPath result = resolver.resolve(Arrays.asList(first, second), null, p -> {
+            if (p == second)
+            {
+                secondStarted.countDown();
+                try
+                {
+                    new CountDownLatch(1).await();
+                }
+                catch (InterruptedException e)
+                {
+                    secondInterrupted.countDown();
+                }
+            }
+
+            return RemoteResourceStatus.FOUND;
+        }, p -> {
+            await(secondStarted);
+            return p;
+        });
+
+        assertSame(first, result);
+        assertTrue(secondInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testLocalPathNotProbed()
+        throws Exception
+    {
+        RepositoryPath proxy = memberPath("proxy", RepositoryTypeEnum.PROXY);
+        RepositoryPath hosted = memberPath("hosted", RepositoryTypeEnum.HOSTED);
+
+        List<RepositoryPath> probed = new CopyOnWriteArrayList<>();
+
+        RepositoryPath result = resolver.resolve(Arrays.asList(proxy, hosted), hosted, p -> {
+            probed.add(p);
+            return RemoteResourceStatus.NOT_FOUND;
+        }, p -> p);
+
+        assertSame(hosted, result);
+        assertEquals(Collections.singletonList(proxy), probed);
+    }
+
+    @Test
+    public void testProbesRunInCallerThreadWhenSaturated()
+        throws Exception
+    {
+        // One thread and a single queue slot: most of the probes are rejected by the pool.
+        executor.shutdownNow();
+        executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+                                          new ThreadPoolExecutor.AbortPolicy());
+        resolver = new GroupRepositoryMemberResolver(executor, negativeCache);
+
+        List<RepositoryPath> memberPaths = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+        {
+            memberPaths.add(memberPath("proxy-" + i, RepositoryTypeEnum.PROXY));
+        }
+        RepositoryPath last = memberPaths.get(memberPaths.size() - 1);
+
+        RepositoryPath result = resolver.resolve(memberPaths, null,
+                                                 p -> p == last ? RemoteResourceStatus.FOUND : RemoteResourceStatus.NOT_FOUND,
+                                                 p -> p);
+
+        assertSame(last, result);
+    }
+
+    @Test
+    public void testOnlyAuthoritativeMissesCached()
+        throws Exception
+    {
+        RepositoryPath missing = memberPath("proxy-missing", RepositoryTypeEnum.PROXY);
+        RepositoryPath unavailable = memberPath("proxy-unavailable", RepositoryTypeEnum.PROXY);
+        RepositoryPath failed = memberPath("proxy-failed", RepositoryTypeEnum.PROXY);
+
+        RepositoryPath result = resolver.resolve(Arrays.asList(missing, unavailable, failed), null, p -> {
+            if (p == missing)
+            {
+                return RemoteResourceStatus.NOT_FOUND;
+            }
+
+            return p == unavailable ? RemoteResourceStatus.UNAVAILABLE : RemoteResourceStatus.FOUND;
+        }, p -> null);
+
+        assertNull(result);
+        assertTrue(negativeCache.isNotFound(missing));
+
+        // The remote repository outage is not a missing path.
+        assertFalse(negativeCache.isNotFound(unavailable));
+        assertFalse(negativeCache.isNotFound(failed));
+    }
+
+    @Test
+    public void testLocalMissCached()
+        throws Exception
+    {
+        RepositoryPath hosted = memberPath("hosted", RepositoryTypeEnum.HOSTED);
+
+        assertNull(resolver.resolve(Collections.singletonList(hosted), p -> null));
+        assertTrue(negativeCache.isNotFound(hosted));
+    }
+
+    @Test
+    public void testMissInvalidatedWhenStored()
+        throws Exception
+    {
+        RepositoryPath hosted = memberPath("hosted", RepositoryTypeEnum.HOSTED);
+
+        negativeCache.putNotFound(hosted, negativeCache.getStamp());
+        assertTrue(negativeCache.isNotFound(hosted));
+
+        negativeCache.handle(new ArtifactEvent<>(hosted, ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()));
+        assertFalse(negativeCache.isNotFound(hosted));
+    }
+
+    @Test
+    public void testStaleMissNotCached()
+        throws Exception
+    {
+        RepositoryPath hosted = memberPath("hosted", RepositoryTypeEnum.HOSTED);
+
+        // The path is stored while the lookup is in progress.
+        assertNull(resolver.resolve(Collections.singletonList(hosted), p -> {
+            negativeCache.invalidate(p);
+            return null;
+        }));
+
+        assertFalse(negativeCache.isNotFound(hosted));
+    }
+
+    private static RepositoryPath memberPath(String repositoryId,
+                                             RepositoryTypeEnum type)
+    {
+        MutableStorage storage = new MutableStorage();
+        storage.setId("storage-group-resolution");
+
+        MutableRepository repository = new MutableRepository();
+        repository.setStorage(storage);
+        repository.setId(repositoryId);
+        repository.setType(type.getType());
+        repository.setBasedir(Paths.get("target/strongbox-vault/storages", storage.getId(), repositoryId)
+                                   .toAbsolutePath()
+                                   .toString());
+
+        LayoutFileSystem fileSystem = new LayoutFileSystem(new PropertiesBooter(), new ImmutableRepository(repository),
+                                                           FileSystems.getDefault(),
+                                                           new TestLayoutFileSystemProvider())
+        {
+            @Override
+            public Set<String> getDigestAlgorithmSet()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        return new RepositoryPath(Paths.get(repository.getBasedir()), fileSystem).resolve(ARTIFACT_PATH);
+    }
+
+    private static void await(CountDownLatch latch)
+        throws IOException
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            throw new InterruptedIOException();
+        }
+    }
+
+    private static class TestLayoutFileSystemProvider extends LayoutFileSystemProvider
+    {
+
+        private TestLayoutFileSystemProvider()
+        {
+            super(FileSystems.getDefault().provider());
+        }
+
+        @Override
+        protected AbstractLayoutProvider getLayoutProvider()
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Map<RepositoryFileAttributeType, Object> getRepositoryFileAttributes(RepositoryPath repositoryPath,
+                                                                                       RepositoryFileAttributeType... attributeTypes)
+        {
+            return Arrays.stream(attributeTypes).collect(Collectors.toMap(t -> t, t -> Boolean.FALSE));
+        }
+
+    }
+
+}
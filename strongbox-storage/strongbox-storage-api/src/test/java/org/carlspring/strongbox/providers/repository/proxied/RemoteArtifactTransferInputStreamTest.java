@@ -0,0 +1,192 @@
+package org.carlspring.strongbox.providers.repository.proxied;
+
+import org.carlspring.strongbox.artifact.ArtifactNotFoundException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteArtifactTransferInputStreamTest
+{
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private static final int CHUNKS = 16;
+
+    private Path baseDir;
+
+    private RemoteArtifactTransfer transfer;
+
+    @BeforeEach
+    public void setUp()
+        throws IOException
+    {
+        baseDir = Files.createTempDirectory("remote-artifact-transfer");
+        transfer = new RemoteArtifactTransfer(baseDir.resolve("artifact.jar"), baseDir.resolve("artifact.jar.tmp"));
+    }
+
+    @AfterEach
+    public void tearDown()
+        throws IOException
+    {
+        FileSystemUtils.deleteRecursively(baseDir);
+    }
+
+    @Test
+    public void testFollowGrowingFile()
+        throws Exception
+    {
+        byte[] content = new byte[CHUNK_SIZE * CHUNKS];
+        new Random().nextBytes(content);
+
+        Thread writer = new Thread(() -> write(content, null));
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream is = transfer.newInputStream())
+        {
+            writer.start();
+            transfer.awaitConnected();
+
+            IOUtils.copy(is, result);
+        }
+        writer.join();
+
+        assertTrue(transfer.isSucceeded(), "Transfer should succeed.");
+        assertArrayEquals(content, result.toByteArray(), "Unexpected content.");
+    }
+
+    @Test
+    public void testReadAfterTransferCompleted()
+        throws Exception
+    {
+        byte[] content = new byte[CHUNK_SIZE];
+        new Random().nextBytes(content);
+
+        write(content, null);
+
+        try (InputStream is = transfer.newInputStream())
+        {
+            assertArrayEquals(content, IOUtils.toByteArray(is), "Unexpected content.");
+        }
+    }
+
+    @Test
+    public void testTransferFailure()
+        throws Exception
+    {
+        byte[] content = new byte[CHUNK_SIZE * CHUNKS];
+
+        IOException failure = new IOException("Connection reset");
+        Thread writer = new Thread(() -> write(content, failure));
+        writer.start();
+
+        try (InputStream is = transfer.newInputStream())
+        {
+            IOException e = assertThrows(IOException.class, () -> IOUtils.copy(is, new ByteArrayOutputStream()));
+            assertSame(failure, e.getCause());
+        }
+        writer.join();
+    }
+
+    @Test
+    public void testNotFound()
+    {
+        ArtifactNotFoundException failure = new ArtifactNotFoundException(URI.create("strongbox:/storage0/releases/artifact.jar"));
+        transfer.onComplete(failure);
+
+        ArtifactNotFoundException e = assertThrows(ArtifactNotFoundException.class, () -> transfer.awaitConnected());
+        assertSame(failure, e);
+    }
+
+    @Test
+    public void testNotConnected()
+        throws IOException
+    {
+        transfer.onComplete(null);
+
+        assertFalse(transfer.awaitConnected());
+    }
+
+    @Test
+    public void testProgressReportedAfterWrite()
+        throws IOException
+    {
+        byte[] content = new byte[CHUNK_SIZE * 2];
+
+        try (InputStream is = transfer.track(new ByteArrayInputStream(content)))
+        {
+            byte[] buffer = new byte[CHUNK_SIZE];
+            assertEquals(CHUNK_SIZE, is.read(buffer));
+            // The bytes which were read, but not written yet.
+            assertEquals(0, transfer.getTransferred());
+
+            assertEquals(CHUNK_SIZE, is.read(buffer));
+            assertEquals(CHUNK_SIZE, transfer.getTransferred());
+        }
+
+        assertEquals(content.length, transfer.getTransferred());
+    }
+
+    private void write(byte[] content,
+                       IOException failure)
+    {
+        transfer.onConnected(content.length);
+        try
+        {
+            try (OutputStream os = Files.newOutputStream(transfer.getTempPath()))
+            {
+                for (int i = 0; i < CHUNKS; i++)
+                {
+                    if (failure != null && i == CHUNKS / 2)
+                    {
+                        throw failure;
+                    }
+
+                    int len = Math.min(CHUNK_SIZE, content.length - i * CHUNK_SIZE);
+                    if (len <= 0)
+                    {
+                        break;
+                    }
+
+                    os.write(content, i * CHUNK_SIZE, len);
+                    os.flush();
+                    transfer.onProgress(len);
+
+                    Thread.sleep(5);
+                }
+            }
+            Files.move(transfer.getTempPath(), transfer.getPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            transfer.onComplete(null);
+        }
+        catch (IOException e)
+        {
+            transfer.onComplete(e);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            transfer.onComplete(new IOException(e));
+        }
+    }
+
+}
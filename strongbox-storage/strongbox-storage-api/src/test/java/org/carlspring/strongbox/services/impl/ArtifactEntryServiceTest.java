@@ -7,14 +7,21 @@ import org.carlspring.strongbox.data.CacheManagerTestExecutionListener;
 import org.carlspring.strongbox.data.service.support.search.PagingCriteria;
 import org.carlspring.strongbox.domain.ArtifactEntry;
 import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.support.ArtifactEntryCache;
 
 import javax.inject.Inject;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import org.apache.commons.lang3.time.DateUtils;
 import org.hamcrest.CoreMatchers;
+import org.javatuples.Pair;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
@@ -55,6 +62,9 @@ public class ArtifactEntryServiceTest
     @Inject
     ArtifactEntryService artifactEntryService;
 
+    @Inject
+    ArtifactEntryCache artifactEntryCache;
+
 
     @Test
     public void saveEntityShouldWork()
@@ -297,6 +307,87 @@ public class ArtifactEntryServiceTest
         artifactEntryService.deleteAll();
     }
 
+    /**
+     * Make sure that the coordinates are counted by the same condition as they are searched, including the
+     * substrings which are too short for the coordinate tokens index.
+     */
+    @Test
+    public void countCoordinatesShouldWork()
+    {
+        artifactEntryService.deleteAll();
+
+        createArtifacts(groupId, artifactId, storageId, repositoryId);
+
+        List<Pair<String, String>> storageRepositoryPairList = Collections.singletonList(Pair.with(storageId,
+                                                                                                  repositoryId));
+
+        Map<String, String> coordinates = new NullArtifactCoordinates(groupId + "/").getCoordinates();
+        assertEquals(Long.valueOf(2),
+                     artifactEntryService.countCoordinates(storageRepositoryPairList, coordinates, false));
+
+        Map<String, String> shortCoordinates = new NullArtifactCoordinates("My").getCoordinates();
+        assertEquals(Long.valueOf(1),
+                     artifactEntryService.countCoordinates(storageRepositoryPairList, shortCoordinates, false));
+        assertEquals(1, artifactEntryService.findArtifactList(storageId, repositoryId, shortCoordinates, false).size());
+
+        artifactEntryService.deleteAll();
+    }
+
+    @Test
+    public void updateShouldKeepCachedIdentity()
+    {
+        String path = String.format("%s/%s/%s/%s", groupId, artifactId + "-cached", "1.2.3", "jar");
+        createArtifactEntry(new NullArtifactCoordinates(path), storageId, repositoryId);
+
+        // Caches the identity.
+        ArtifactEntry artifactEntry = artifactEntryService.findOneArtifact(storageId, repositoryId, path);
+        artifactEntry.setDownloadCount(5);
+        save(artifactEntry);
+
+        AtomicInteger lookups = new AtomicInteger();
+        ORID artifactEntryId = artifactEntryCache.get(storageId, repositoryId, path, () -> {
+            lookups.incrementAndGet();
+
+            return null;
+        });
+        assertEquals(0, lookups.get());
+        assertEquals(artifactEntry.getObjectId(), artifactEntryId.toString());
+
+        // The entry itself is not cached, so the update is seen at once.
+        assertEquals(Integer.valueOf(5),
+                     artifactEntryService.findOneArtifact(storageId, repositoryId, path).getDownloadCount());
+        assertTrue(artifactEntryService.artifactExists(storageId, repositoryId, path));
+
+        artifactEntryService.delete(Collections.singletonList(artifactEntryService.findOneArtifact(storageId,
+                                                                                                   repositoryId,
+                                                                                                   path)));
+
+        assertFalse(artifactEntryService.artifactExists(storageId, repositoryId, path));
+        assertNull(artifactEntryService.findOneArtifact(storageId, repositoryId, path));
+    }
+
+    @Test
+    public void staleCachedIdentityShouldNotMatch()
+    {
+        String path = String.format("%s/%s/%s/%s", groupId, artifactId + "-stale", "1.2.3", "jar");
+        String otherPath = String.format("%s/%s/%s/%s", groupId, artifactId + "-stale", "1.2.3", "pom");
+        createArtifactEntry(new NullArtifactCoordinates(otherPath), storageId, repositoryId);
+
+        // The identity of the other entry, as if the path had been moved or the record had been reused.
+        ORID otherArtifactEntryId = new ORecordId(artifactEntryService.findOneArtifact(storageId, repositoryId,
+                                                                                       otherPath)
+                                                                      .getObjectId());
+        artifactEntryCache.get(storageId, repositoryId, path, () -> otherArtifactEntryId);
+
+        assertFalse(artifactEntryService.artifactExists(storageId, repositoryId, path));
+        assertNull(artifactEntryService.findOneArtifact(storageId, repositoryId, path));
+        assertTrue(artifactEntryService.artifactExists(storageId, repositoryId, otherPath));
+
+        artifactEntryService.delete(Collections.singletonList(artifactEntryService.findOneArtifact(storageId,
+                                                                                                   repositoryId,
+                                                                                                   otherPath)));
+    }
+
     public void displayAllEntries()
     {
         List<ArtifactEntry> result = artifactEntryService.findAll()
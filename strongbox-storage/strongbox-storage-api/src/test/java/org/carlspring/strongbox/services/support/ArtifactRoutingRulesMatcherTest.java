@@ -0,0 +1,160 @@
+package org.carlspring.strongbox.services.support;
+
+import org.carlspring.strongbox.storage.routing.MutableRoutingRule;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRuleRepository;
+import org.carlspring.strongbox.storage.routing.MutableRoutingRules;
+import org.carlspring.strongbox.storage.routing.RepositoryIdentifiable;
+import org.carlspring.strongbox.storage.routing.RoutingRule;
+import org.carlspring.strongbox.storage.routing.RoutingRuleTypeEnum;
+import org.carlspring.strongbox.storage.routing.RoutingRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArtifactRoutingRulesMatcherTest
+{
+
+    private static final String STORAGE_ID = "storage0";
+
+    private static final String GROUP_REPOSITORY_ID = "group";
+
+    private static final int RULES = 500;
+
+    private static final int MEMBERS = 50;
+
+    private RoutingRules routingRules;
+
+    private List<String> paths;
+
+
+    @BeforeEach
+    public void setup()
+    {
+        Random random = new Random(42);
+
+        MutableRoutingRules mutableRoutingRules = new MutableRoutingRules();
+        for (int i = 0; i < RULES; i++)
+        {
+            List<MutableRoutingRuleRepository> repositories = new ArrayList<>();
+            repositories.add(new MutableRoutingRuleRepository(STORAGE_ID, member(random.nextInt(MEMBERS))));
+            repositories.add(new MutableRoutingRuleRepository(null, member(random.nextInt(MEMBERS))));
+
+            String groupRepositoryId = i % 10 == 0 ? "other-group" : (i % 7 == 0 ? null : GROUP_REPOSITORY_ID);
+            mutableRoutingRules.getRules().add(MutableRoutingRule.create(STORAGE_ID,
+                                                                         groupRepositoryId,
+                                                                         repositories,
+                                                                         ".*(com|org)/project" + (i % 100) + "/.*",
+                                                                         random.nextInt(3) == 0 ?
+                                                                         RoutingRuleTypeEnum.ACCEPT :
+                                                                         RoutingRuleTypeEnum.DENY));
+        }
+
+        routingRules = new RoutingRules(mutableRoutingRules);
+
+        paths = new ArrayList<>();
+        for (int i = 0; i < 120; i++)
+        {
+            paths.add((i % 2 == 0 ? "org" : "com") + "/project" + i + "/artifact/1.0/artifact-1.0.jar");
+        }
+    }
+
+    @Test
+    public void shouldMatchAsTheRoutingRules()
+    {
+        ArtifactRoutingRulesMatcher matcher = ArtifactRoutingRulesMatcher.compile(routingRules,
+                                                                                  STORAGE_ID,
+                                                                                  GROUP_REPOSITORY_ID);
+
+        int denied = 0;
+        for (String path : paths)
+        {
+            ArtifactRoutingRulesMatcher.Match match = matcher.match(path);
+            for (int i = 0; i < MEMBERS; i++)
+            {
+                boolean expected = isDenied(path, member(i));
+                assertEquals(expected, match.isDenied(STORAGE_ID, member(i)), path + " " + member(i));
+
+                denied += expected ? 1 : 0;
+            }
+        }
+
+        assertTrue(denied > 0);
+    }
+
+    @Test
+    public void shouldAcceptOverDenyWithinGroup()
+    {
+        MutableRoutingRules mutableRoutingRules = new MutableRoutingRules();
+        mutableRoutingRules.getRules()
+                           .add(MutableRoutingRule.create(STORAGE_ID,
+                                                          GROUP_REPOSITORY_ID,
+                                                          Arrays.asList(new MutableRoutingRuleRepository(null, null)),
+                                                          ".*org/carlspring/.*",
+                                                          RoutingRuleTypeEnum.DENY));
+        mutableRoutingRules.getRules()
+                           .add(MutableRoutingRule.create(STORAGE_ID,
+                                                          GROUP_REPOSITORY_ID,
+                                                          Arrays.asList(new MutableRoutingRuleRepository(STORAGE_ID,
+                                                                                                         member(1))),
+                                                          ".*org/carlspring/.*",
+                                                          RoutingRuleTypeEnum.ACCEPT));
+
+        ArtifactRoutingRulesMatcher matcher = ArtifactRoutingRulesMatcher.compile(
+                new RoutingRules(mutableRoutingRules), STORAGE_ID, GROUP_REPOSITORY_ID);
+
+        assertTrue(matcher.match("org/carlspring/foo/1.0/foo-1.0.jar").isDenied(STORAGE_ID, member(0)));
+        assertFalse(matcher.match("org/carlspring/foo/1.0/foo-1.0.jar").isDenied(STORAGE_ID, member(1)));
+        assertFalse(matcher.match("com/carlspring/foo/1.0/foo-1.0.jar").isDenied(STORAGE_ID, member(0)));
+        assertFalse(ArtifactRoutingRulesMatcher.compile(new RoutingRules(mutableRoutingRules), STORAGE_ID, "other")
+                                               .match("org/carlspring/foo/1.0/foo-1.0.jar")
+                                               .isDenied(STORAGE_ID, member(0)));
+    }
+
+    /**
+     * The per member routing rules evaluation, as it was done before the
+     * routing rules were compiled.
+     */
+    private boolean isDenied(String path,
+                             String memberRepositoryId)
+    {
+        return fits(path, memberRepositoryId, routingRules.getDenied()) &&
+               !fits(path, memberRepositoryId, routingRules.getAccepted());
+    }
+
+    private boolean fits(String path,
+                         String memberRepositoryId,
+                         List<RoutingRule> rules)
+    {
+        return rules.stream()
+                    .filter(rule -> matches(rule, STORAGE_ID, GROUP_REPOSITORY_ID))
+                    .filter(rule -> rule.getRegex().matcher(path).matches())
+                    .flatMap(rule -> rule.getRepositories().stream())
+                    .anyMatch(repository -> matches(repository, STORAGE_ID, memberRepositoryId));
+    }
+
+    private boolean matches(RepositoryIdentifiable repositoryIdentifiable,
+                            String storageId,
+                            String repositoryId)
+    {
+        String ruleStorageId = StringUtils.trimToEmpty(repositoryIdentifiable.getStorageId());
+        String ruleRepositoryId = StringUtils.trimToEmpty(repositoryIdentifiable.getRepositoryId());
+
+        return (ruleStorageId.isEmpty() || ruleStorageId.equals(storageId)) &&
+               (ruleRepositoryId.isEmpty() || ruleRepositoryId.equals(repositoryId));
+    }
+
+    private static String member(int i)
+    {
+        return "member-" + i;
+    }
+
+}
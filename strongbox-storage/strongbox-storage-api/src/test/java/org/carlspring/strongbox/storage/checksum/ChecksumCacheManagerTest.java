@@ -6,54 +6,118 @@ import org.carlspring.strongbox.util.MessageDigestUtils;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-
-import org.junit.jupiter.api.Disabled;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.Ticker;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author mtodorov
  */
-@Disabled
 public class ChecksumCacheManagerTest
 {
 
+    private static final String ARTIFACT1_BASE_PATH = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/maven-metadata.xml";
+
+    private static final String ARTIFACT2_BASE_PATH = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/test-project-1.0-20131004.115330-1.jar";
+
+    private final FakeTicker ticker = new FakeTicker();
 
     @Test
     public void testChecksumManagement()
-            throws Exception
     {
-        ChecksumCacheManager manager = new ChecksumCacheManager();
-        manager.setCachedChecksumLifetime(3000L);
-        manager.setCachedChecksumExpiredCheckInterval(500L);
+        ChecksumCacheManager manager = new ChecksumCacheManager(100L, 3000L, ticker);
 
-        CheckingThread checkerThread = new CheckingThread(manager);
+        manager.addArtifactChecksum(ARTIFACT1_BASE_PATH, "md5", "d0s#3E59jszLsPj3#edp!$");
+        manager.addArtifactChecksum(ARTIFACT1_BASE_PATH, "sha1", "d0s#3E59jszLsPj3#edp!$");
+        manager.addArtifactChecksum(ARTIFACT2_BASE_PATH, "md5", "eps0#!_)fs0-qWadg#)s1!");
+        manager.addArtifactChecksum(ARTIFACT2_BASE_PATH, "sha1", "eps0#!_)fs0-qWadg#)s1!");
 
-        final String artifact1BasePath = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/maven-metadata.xml";
-        final String artifact2BasePath = "storage0/repositories/snapshots/org/carlspring/maven/test-project/1.0-SNAPSHOT/test-project-1.0-20131004.115330-1.jar";
+        assertEquals(2, manager.getSize());
 
-        manager.addArtifactChecksum(artifact1BasePath, "md5", "d0s#3E59jszLsPj3#edp!$");
-        manager.addArtifactChecksum(artifact1BasePath, "sha1", "d0s#3E59jszLsPj3#edp!$");
-        manager.addArtifactChecksum(artifact2BasePath, "md5", "eps0#!_)fs0-qWadg#)s1!");
-        manager.addArtifactChecksum(artifact2BasePath, "sha1", "eps0#!_)fs0-qWadg#)s1!");
+        ticker.advance(2000L);
+        assertEquals("d0s#3E59jszLsPj3#edp!$", manager.getArtifactChecksum(ARTIFACT1_BASE_PATH, "md5"));
 
-        manager.startMonitor();
+        // The second artifact has not been accessed within the lifetime.
+        ticker.advance(2000L);
+        manager.removeExpiredChecksums();
 
-        checkerThread.start();
+        assertEquals(1, manager.getSize());
+        assertNull(manager.getArtifactChecksum(ARTIFACT2_BASE_PATH));
+        assertEquals(1L, manager.getEvictionCount());
 
-        Thread.sleep(3000L);
+        manager.removeArtifactChecksum(ARTIFACT1_BASE_PATH, "md5");
+        manager.removeArtifactChecksum(ARTIFACT1_BASE_PATH, "sha1");
 
-        manager.getArtifactChecksum(artifact1BasePath, "md5");
+        assertEquals(0, manager.getSize());
+    }
 
-        System.out.println("Slept " + checkerThread.getTimeSlept() + " ms");
+    @Test
+    public void testMaximumSize()
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager(10L, 3000L, ticker);
 
-        if (checkerThread.getTimeSlept() > (checkerThread.getMaxTime() + checkerThread.getTolerance()))
+        for (int i = 0; i < 100; i++)
         {
-            fail("Failed to expire the cache on time!");
+            manager.addArtifactChecksum(ARTIFACT2_BASE_PATH + i, "sha1", "eps0#!_)fs0-qWadg#)s1!");
         }
 
-        checkerThread.interrupt();
+        assertTrue(manager.getSize() <= 10L);
+        assertTrue(manager.getEvictionCount() >= 90L);
+    }
+
+    @Test
+    public void testConcurrentAddAndRemove()
+            throws Exception
+    {
+        ChecksumCacheManager manager = new ChecksumCacheManager(10000L, 60000L, ticker);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                String artifactPath = ARTIFACT2_BASE_PATH + i;
+                manager.addArtifactChecksum(artifactPath, "md5", "eps0#!_)fs0-qWadg#)s1!");
+
+                // The removal of the last checksum races with the added one.
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                CompletableFuture<Void> removal = CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    manager.removeArtifactChecksum(artifactPath, "md5");
+                }, executor);
+                CompletableFuture<Void> addition = CompletableFuture.runAsync(() -> {
+                    await(barrier);
+                    manager.addArtifactChecksum(artifactPath, "sha1", "d0s#3E59jszLsPj3#edp!$");
+                }, executor);
+                CompletableFuture.allOf(removal, addition).get(10, TimeUnit.SECONDS);
+
+                assertEquals("d0s#3E59jszLsPj3#edp!$", manager.getArtifactChecksum(artifactPath, "sha1"));
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier)
+    {
+        try
+        {
+            barrier.await(10, TimeUnit.SECONDS);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Test
@@ -78,71 +142,21 @@ public class ChecksumCacheManagerTest
         System.out.println("sha1: " + sha1);
     }
 
-    private class CheckingThread extends Thread
+    private static class FakeTicker
+            extends Ticker
     {
-        ChecksumCacheManager manager;
-
-        int sleepInterval = 100; // 100 ms
-        int timeSlept;
-        int maxTime = 3000;      // 3 secs
-        int tolerance = 1000;    // 1 sec
 
-        private CheckingThread(ChecksumCacheManager manager)
-        {
-            this.manager = manager;
-        }
+        private final AtomicLong nanos = new AtomicLong();
 
         @Override
-        public void run()
-        {
-
-            try
-            {
-                while (timeSlept < (maxTime + tolerance))
-                {
-                    if (manager.getSize() == 1)
-                    {
-                        break; // This was expected
-                    }
-
-                    if (timeSlept > maxTime)
-                    {
-                        System.out.println("The process has exceeded the defined limit of " + maxTime + " by " + (timeSlept - maxTime) + " ms...");
-                    }
-
-                    sleep(sleepInterval);
-                    timeSlept += sleepInterval;
-                }
-            }
-            catch (InterruptedException e)
-            {
-                // This is okay.
-            }
-        }
-
-        public ChecksumCacheManager getManager()
-        {
-            return manager;
-        }
-
-        public int getSleepInterval()
-        {
-            return sleepInterval;
-        }
-
-        public int getTimeSlept()
-        {
-            return timeSlept;
-        }
-
-        public int getMaxTime()
+        public long read()
         {
-            return maxTime;
+            return nanos.get();
         }
 
-        public int getTolerance()
+        void advance(long millis)
         {
-            return tolerance;
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
         }
 
     }
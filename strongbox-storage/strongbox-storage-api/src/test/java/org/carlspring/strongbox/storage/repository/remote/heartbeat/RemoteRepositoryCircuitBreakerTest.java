@@ -0,0 +1,182 @@
+package org.carlspring.strongbox.storage.repository.remote.heartbeat;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker.State;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RemoteRepositoryCircuitBreakerTest
+{
+
+    private final AtomicLong now = new AtomicLong();
+
+    private RemoteRepositoryCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setup()
+    {
+        circuitBreaker = new RemoteRepositoryCircuitBreaker("http://localhost/remote", 3, 1000, 100, 350, now::get);
+    }
+
+    @Test
+    public void shouldOpenAfterConsecutiveFailures()
+    {
+        recordFailure();
+        recordFailure();
+        recordSuccess(10);
+        recordFailure();
+        recordFailure();
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        // The too slow response counts as failure.
+        recordSuccess(5000);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.isOpen());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getOpenedCount());
+        assertEquals(1, circuitBreaker.getRejectedCount());
+    }
+
+    @Test
+    public void shouldProbeWithExponentialBackoff()
+    {
+        open();
+
+        now.addAndGet(99);
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        // Only one trial request is permitted per backoff.
+        now.addAndGet(1);
+        assertFalse(circuitBreaker.isOpen());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        recordFailure();
+        assertEquals(State.OPEN, circuitBreaker.getState());
+
+        now.addAndGet(199);
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        now.addAndGet(1);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        recordFailure();
+
+        now.addAndGet(349);
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        now.addAndGet(1);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        recordFailure();
+
+        // The backoff doesn't exceed the max.
+        now.addAndGet(350);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(4, circuitBreaker.getOpenedCount());
+        assertEquals(4, circuitBreaker.getHalfOpenedCount());
+    }
+
+    @Test
+    public void shouldCloseAfterSuccessfulProbe()
+    {
+        open();
+
+        now.addAndGet(100);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        recordSuccess(10);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertFalse(circuitBreaker.isOpen());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getClosedCount());
+
+        // The backoff is reset.
+        open();
+        now.addAndGet(100);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    public void shouldIgnoreOutcomesOfRequestsStartedBeforeProbe()
+    {
+        long start = circuitBreaker.currentTimeMillis();
+        now.addAndGet(10);
+        open();
+
+        now.addAndGet(100);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.recordSuccess(start);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        circuitBreaker.recordFailure(start);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+
+        // Only the probe closes the breaker.
+        recordSuccess(10);
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    public void shouldCountRejectedRequestsOnly()
+    {
+        open();
+
+        assertTrue(circuitBreaker.isOpen());
+        assertFalse(circuitBreaker.tryAcquireHeartbeatPermission());
+        assertEquals(0, circuitBreaker.getRejectedCount());
+
+        assertTrue(circuitBreaker.rejectIfOpen());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(2, circuitBreaker.getRejectedCount());
+
+        // The heartbeat may be the probe as well.
+        now.addAndGet(100);
+        assertFalse(circuitBreaker.rejectIfOpen());
+        assertTrue(circuitBreaker.tryAcquireHeartbeatPermission());
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getRejectedCount());
+    }
+
+    @Test
+    public void shouldExpireLostProbe()
+    {
+        open();
+
+        now.addAndGet(100);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+
+        now.addAndGet(99);
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        now.addAndGet(1);
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void recordSuccess(long latencyMillis)
+    {
+        long start = circuitBreaker.currentTimeMillis();
+        now.addAndGet(latencyMillis);
+        circuitBreaker.recordSuccess(start);
+    }
+
+    private void recordFailure()
+    {
+        circuitBreaker.recordFailure(circuitBreaker.currentTimeMillis());
+    }
+
+    private void open()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            recordFailure();
+        }
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+    }
+
+}
@@ -15,6 +15,9 @@ import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSortedMap;
 import static java.util.stream.Collectors.toMap;
 
@@ -51,6 +54,24 @@ public class Configuration
 
     private final SmtpConfiguration smtpConfiguration;
 
+    /**
+     * The <code>storageId:repositoryId</code> to the group repositories which
+     * include it directly.
+     */
+    private final Map<String, List<Repository>> groupRepositoriesContaining;
+
+    /**
+     * The <code>storageId:repositoryId</code> to the group repositories which
+     * include it directly or transitively.
+     */
+    private final Map<String, List<Repository>> transitiveGroupRepositoriesContaining;
+
+    /**
+     * The <code>storageId:repositoryId</code> of the group repository to its
+     * flattened (non-group) members, in the group order.
+     */
+    private final Map<String, Set<Repository>> flattenedGroupRepositories;
+
     public Configuration(final MutableConfiguration delegate)
     {
 
@@ -68,6 +89,9 @@ public class Configuration
         routingRules = immuteRoutingRules(delegate.getRoutingRules());
         corsConfiguration = immuteCorsConfiguration(delegate.getCorsConfiguration());
         smtpConfiguration = immuteSmtpConfiguration(delegate.getSmtpConfiguration());
+        groupRepositoriesContaining = indexGroupRepositoriesContaining();
+        transitiveGroupRepositoriesContaining = indexTransitiveGroupRepositoriesContaining();
+        flattenedGroupRepositories = indexFlattenedGroupRepositories();
     }
 
     private ProxyConfiguration immuteProxyConfiguration(final MutableProxyConfiguration source)
@@ -106,6 +130,105 @@ public class Configuration
         return source != null ? new SmtpConfiguration(source) : null;
     }
 
+    private Map<String, List<Repository>> indexGroupRepositoriesContaining()
+    {
+        Map<String, Set<Repository>> index = new HashMap<>();
+        for (Repository groupRepository : getGroupRepositories())
+        {
+            String storageId = groupRepository.getStorage().getId();
+            for (String member : groupRepository.getGroupRepositories())
+            {
+                String key = toKey(ConfigurationUtils.getStorageId(storageId, member),
+                                   ConfigurationUtils.getRepositoryId(member));
+                index.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(groupRepository);
+            }
+        }
+
+        ImmutableMap.Builder<String, List<Repository>> result = ImmutableMap.builder();
+        index.forEach((key, groupRepositories) -> result.put(key, ImmutableList.copyOf(groupRepositories)));
+
+        return result.build();
+    }
+
+    private Map<String, List<Repository>> indexTransitiveGroupRepositoriesContaining()
+    {
+        ImmutableMap.Builder<String, List<Repository>> index = ImmutableMap.builder();
+        for (String key : groupRepositoriesContaining.keySet())
+        {
+            Set<Repository> result = new LinkedHashSet<>();
+            Deque<String> keys = new ArrayDeque<>();
+            keys.add(key);
+            while (!keys.isEmpty())
+            {
+                for (Repository groupRepository : groupRepositoriesContaining.getOrDefault(keys.poll(),
+                                                                                           Collections.emptyList()))
+                {
+                    // The cyclic groups are visited once.
+                    if (result.add(groupRepository))
+                    {
+                        keys.add(toKey(groupRepository.getStorage().getId(), groupRepository.getId()));
+                    }
+                }
+            }
+
+            index.put(key, ImmutableList.copyOf(result));
+        }
+
+        return index.build();
+    }
+
+    private Map<String, Set<Repository>> indexFlattenedGroupRepositories()
+    {
+        ImmutableMap.Builder<String, Set<Repository>> index = ImmutableMap.builder();
+        for (Repository groupRepository : getGroupRepositories())
+        {
+            Set<Repository> result = new LinkedHashSet<>();
+            flattenGroupRepository(groupRepository, result, new HashSet<>());
+
+            index.put(toKey(groupRepository.getStorage().getId(), groupRepository.getId()),
+                      ImmutableSet.copyOf(result));
+        }
+
+        return index.build();
+    }
+
+    private void flattenGroupRepository(Repository groupRepository,
+                                        Set<Repository> result,
+                                        Set<Repository> visited)
+    {
+        if (!visited.add(groupRepository))
+        {
+            return;
+        }
+
+        String storageId = groupRepository.getStorage().getId();
+        for (String member : groupRepository.getGroupRepositories())
+        {
+            Storage memberStorage = getStorage(ConfigurationUtils.getStorageId(storageId, member));
+            Repository memberRepository = memberStorage != null ?
+                                          memberStorage.getRepository(ConfigurationUtils.getRepositoryId(member)) :
+                                          null;
+            if (memberRepository == null)
+            {
+                continue;
+            }
+
+            if (memberRepository.getGroupRepositories().isEmpty())
+            {
+                result.add(memberRepository);
+                continue;
+            }
+
+            flattenGroupRepository(memberRepository, result, visited);
+        }
+    }
+
+    private static String toKey(String storageId,
+                                String repositoryId)
+    {
+        return storageId + ":" + repositoryId;
+    }
+
     public String getId()
     {
         return id;
@@ -215,25 +338,39 @@ public class Configuration
         return getStorage(storageId).getRepository(repositoryId);
     }
 
+    /**
+     * @return the group repositories which include the repository directly
+     */
     public List<Repository> getGroupRepositoriesContaining(String storageId,
                                                            String repositoryId)
     {
-        String storageAndRepositoryId = storageId + ":" + repositoryId;
-        List<Repository> groupRepositories = getGroupRepositories();
-        for (Iterator<Repository> it = groupRepositories.iterator(); it.hasNext(); )
-        {
-            Repository repository = it.next();
-            Optional<String> exists = repository.getGroupRepositories()
-                                                .stream()
-                                                .filter(groupName -> (groupName.equals(storageAndRepositoryId) ||
-                                                                      (repository.getStorage().getId().equals(storageId) && groupName.equals(repositoryId))))
-                                                .findFirst();
-            if (!exists.isPresent())
-            {
-                it.remove();
-            }
-        }
-        return groupRepositories;
+        return getGroupRepositoriesContaining(storageId, repositoryId, false);
+    }
+
+    /**
+     * @param transitive whether to include the group repositories which include
+     *                   the repository through the other group repositories
+     * @return the group repositories which include the repository
+     */
+    public List<Repository> getGroupRepositoriesContaining(String storageId,
+                                                           String repositoryId,
+                                                           boolean transitive)
+    {
+        Map<String, List<Repository>> index = transitive ? transitiveGroupRepositoriesContaining :
+                                              groupRepositoriesContaining;
+
+        return index.getOrDefault(toKey(storageId, repositoryId), Collections.emptyList());
+    }
+
+    /**
+     * @return the flattened (non-group) members of the group repository in the
+     *         group order, or <code>null</code> if there is no such group
+     *         repository
+     */
+    public Set<Repository> getFlattenedGroupRepositories(String storageId,
+                                                         String repositoryId)
+    {
+        return flattenedGroupRepositories.get(toKey(storageId, repositoryId));
     }
 
     public HttpConnectionPool getHttpConnectionPoolConfiguration(String storageId,
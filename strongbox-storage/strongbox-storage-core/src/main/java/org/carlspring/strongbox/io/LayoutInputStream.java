@@ -26,6 +26,15 @@ import org.apache.commons.io.input.ProxyInputStream;
  *     ArtifactInputStream aos = (ArtifactInputStream) Files.newInputStream(repositoryPath); 
  * </pre>
  * 
+ * The digests are calculated from the bytes read, except the ones which are
+ * already known (see {@link #putHexDigest(String, String)}), so that the stored
+ * checksums are not calculated once again. Once the whole content has been
+ * read, the calculated digests are added to {@link #getHexDigests()} and
+ * verified against the expected ones (see {@link #setExpectedHexDigests(Map)}).
+ * The content is never read twice: the digests of the content which has been
+ * skipped or read partially (see {@link #markPartialContent()}) are neither
+ * added nor verified.
+ * 
  * @author mtodorov
  * 
  */
@@ -41,6 +50,14 @@ public class LayoutInputStream
 
     private Map<String, String> hexDigests = new LinkedHashMap<>();
 
+    private Map<String, String> expectedHexDigests = new LinkedHashMap<>();
+
+    /**
+     * Whether the bytes read are the whole content, so that their digests can
+     * be verified.
+     */
+    private boolean wholeContent = true;
+
     public LayoutInputStream(InputStream is,
                              Set<String> checkSumDigestAlgorithmSet)
         throws NoSuchAlgorithmException
@@ -81,7 +98,39 @@ public class LayoutInputStream
     {
         hexDigests.clear();
     }
-    
+
+    /**
+     * Sets the known digest, so that it's not calculated from the bytes read.
+     */
+    public void putHexDigest(String algorithm,
+                             String hexDigest)
+    {
+        hexDigests.put(algorithm, hexDigest);
+    }
+
+    /**
+     * Sets the digests which the digests of the bytes read are verified
+     * against, when the whole content has been read.
+     */
+    public void setExpectedHexDigests(Map<String, String> expectedHexDigests)
+    {
+        this.expectedHexDigests = new LinkedHashMap<>(expectedHexDigests);
+    }
+
+    /**
+     * Tells that the bytes read are not the whole content (a range of it is
+     * served, for example), so that their digests are neither added to
+     * {@link #getHexDigests()} nor verified.
+     */
+    public void markPartialContent()
+    {
+        wholeContent = false;
+    }
+
+    /**
+     * @return the known digests, and the calculated ones once the whole
+     *         content has been read
+     */
     public Map<String, String> getHexDigests()
     {
         return hexDigests;
@@ -114,12 +163,18 @@ public class LayoutInputStream
             throws IOException
     {
         int ch = in.read();
-        if (ch != -1)
+        if (ch == -1)
         {
-            for (Map.Entry entry : digests.entrySet())
+            verifyDigests();
+        }
+        else
+        {
+            for (Map.Entry<String, MessageDigest> entry : digests.entrySet())
             {
-                MessageDigest digest = (MessageDigest) entry.getValue();
-                digest.update((byte) ch);
+                if (!hexDigests.containsKey(entry.getKey()))
+                {
+                    entry.getValue().update((byte) ch);
+                }
             }
         }
 
@@ -133,13 +188,13 @@ public class LayoutInputStream
             throws IOException
     {
         int numberOfBytesRead = in.read(bytes, off, len);
-        if (numberOfBytesRead != -1)
+        if (numberOfBytesRead == -1)
         {
-            for (Map.Entry entry : digests.entrySet())
-            {
-                MessageDigest digest = (MessageDigest) entry.getValue();
-                digest.update(bytes, off, numberOfBytesRead);
-            }
+            verifyDigests();
+        }
+        else
+        {
+            updateDigests(bytes, off, numberOfBytesRead);
         }
 
         return numberOfBytesRead;
@@ -150,16 +205,88 @@ public class LayoutInputStream
             throws IOException
     {
         int len = in.read(bytes);
-
-        for (Map.Entry entry : digests.entrySet())
+        if (len == -1)
         {
-            MessageDigest digest = (MessageDigest) entry.getValue();
-            digest.update(bytes);
+            verifyDigests();
+        }
+        else
+        {
+            updateDigests(bytes, 0, len);
         }
 
         return len;
     }
 
+    /**
+     * Updates the digests which are not known yet.
+     */
+    private void updateDigests(byte[] bytes,
+                               int off,
+                               int len)
+    {
+        for (Map.Entry<String, MessageDigest> entry : digests.entrySet())
+        {
+            if (!hexDigests.containsKey(entry.getKey()))
+            {
+                entry.getValue().update(bytes, off, len);
+            }
+        }
+    }
+
+    @Override
+    public long skip(long n)
+            throws IOException
+    {
+        long skipped = in.skip(n);
+        wholeContent &= skipped == 0;
+
+        return skipped;
+    }
+
+    /**
+     * Adds the digests calculated from the whole content to the known ones,
+     * and compares them with the expected ones, once per stream.
+     */
+    private void verifyDigests()
+            throws IOException
+    {
+        if (!wholeContent)
+        {
+            return;
+        }
+
+        for (Map.Entry<String, MessageDigest> entry : digests.entrySet())
+        {
+            if (!hexDigests.containsKey(entry.getKey()))
+            {
+                hexDigests.put(entry.getKey(), MessageDigestUtils.convertToHexadecimalString(entry.getValue()));
+            }
+        }
+
+        if (expectedHexDigests.isEmpty())
+        {
+            return;
+        }
+
+        Map<String, String> expected = expectedHexDigests;
+        expectedHexDigests = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> entry : expected.entrySet())
+        {
+            if (!digests.containsKey(entry.getKey()))
+            {
+                continue;
+            }
+
+            String actual = getMessageDigestAsHexadecimalString(entry.getKey());
+            if (!actual.equalsIgnoreCase(entry.getValue()))
+            {
+                throw new IOException(String.format("Checksum mismatch for [%s] digest: expected [%s], actual [%s].",
+                                                    entry.getKey(), entry.getValue(), actual));
+            }
+        }
+    }
+
     InputStream getTarget()
     {
         return in;
@@ -74,6 +74,8 @@ public class ImmutableRepository
 
     private boolean checksumHeadersEnabled;
 
+    private boolean checksumVerificationEnabled;
+
     private ProxyConfiguration proxyConfiguration;
 
     private RemoteRepository remoteRepository;
@@ -123,6 +125,7 @@ public class ImmutableRepository
         this.allowsDelete = delegate.allowsDeletion();
         this.allowsDirectoryBrowsing = delegate.allowsDirectoryBrowsing();
         this.checksumHeadersEnabled = delegate.isChecksumHeadersEnabled();
+        this.checksumVerificationEnabled = delegate.isChecksumVerificationEnabled();
         
         MutableRepository mutableRepository = (MutableRepository)delegate;
         this.proxyConfiguration = immuteProxyConfiguration(mutableRepository.getProxyConfiguration());
@@ -279,6 +282,12 @@ public class ImmutableRepository
         return checksumHeadersEnabled;
     }
 
+    @Override
+    public boolean isChecksumVerificationEnabled()
+    {
+        return checksumVerificationEnabled;
+    }
+
     public ProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
@@ -60,6 +60,12 @@ public class MutableRepository
 
     private boolean checksumHeadersEnabled;
 
+    /**
+     * Whether the digests of the artifacts are calculated while they are read and verified against the stored
+     * checksums, instead of taken from the stored checksums.
+     */
+    private boolean checksumVerificationEnabled;
+
     /**
      * The per-repository proxy settings that override the overall global proxy settings.
      */
@@ -230,6 +236,16 @@ public class MutableRepository
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isChecksumVerificationEnabled()
+    {
+        return checksumVerificationEnabled;
+    }
+
+    public void setChecksumVerificationEnabled(boolean checksumVerificationEnabled)
+    {
+        this.checksumVerificationEnabled = checksumVerificationEnabled;
+    }
+
     public MutableProxyConfiguration getProxyConfiguration()
     {
         return proxyConfiguration;
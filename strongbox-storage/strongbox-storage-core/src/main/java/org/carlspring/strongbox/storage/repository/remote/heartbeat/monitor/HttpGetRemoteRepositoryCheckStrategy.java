@@ -32,7 +32,7 @@ class HttpGetRemoteRepositoryCheckStrategy
         boolean response = false;
         try
         {
-            try (final CloseableHttpClient httpClient = proxyRepositoryConnectionPoolConfigurationService.getHttpClient())
+            try (final CloseableHttpClient httpClient = proxyRepositoryConnectionPoolConfigurationService.getHttpClient(remoteRepositoryUrl))
             {
                 try (final CloseableHttpResponse httpResponse = httpClient.execute(new HttpGet(remoteRepositoryUrl)))
                 {
@@ -8,6 +8,7 @@ import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.providers.repository.event.GroupRepositoryPathFetchEvent;
 import org.carlspring.strongbox.services.support.ArtifactRoutingRulesChecker;
+import org.carlspring.strongbox.services.support.ArtifactRoutingRulesMatcher;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
 
@@ -74,6 +75,8 @@ public class MavenGroupRepositoryPathFetchEventListener
         Repository groupRepository = repositoryPath.getRepository();
         Storage storage = groupRepository.getStorage();
         List<Callable<Path>> fetchActions = new ArrayList<>();
+        ArtifactRoutingRulesMatcher.Match routingRulesMatch = artifactRoutingRulesChecker.match(groupRepository,
+                                                                                                 RepositoryFiles.relativizePath(repositoryPath));
 
         for (String storageAndRepositoryId : groupRepository.getGroupRepositories())
         {
@@ -86,12 +89,13 @@ public class MavenGroupRepositoryPathFetchEventListener
                 continue;
             }
 
-            RepositoryPath resolvedPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
-            if (artifactRoutingRulesChecker.isDenied(groupRepository, resolvedPath))
+            if (routingRulesMatch.isDenied(sId, rId))
             {
                 continue;
             }
 
+            RepositoryPath resolvedPath = repositoryPathResolver.resolve(subRepository, repositoryPath);
+
             RepositoryProvider provider = repositoryProviderRegistry.getProvider(subRepository.getType());
             fetchActions.add(() -> provider.fetchPath(resolvedPath));
         }
@@ -28,6 +28,7 @@ import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Conditional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -56,6 +57,9 @@ public class ArtifactIndexesServiceImpl
     @Inject
     private MavenIndexGroupRepositoryComponent mavenIndexGroupRepositoryComponent;
 
+    @Value("${strongbox.artifact.locator.parallelism:1}")
+    private int locatorParallelism;
+
     @Override
     public void addArtifactToIndex(RepositoryPath artifactPath)
             throws IOException
@@ -111,6 +115,7 @@ public class ArtifactIndexesServiceImpl
 
             ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
             locator.setOperation(operation);
+            locator.setParallelism(locatorParallelism);
             locator.locateArtifactDirectories();
         }
 
@@ -34,6 +34,7 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -59,6 +60,9 @@ public class ArtifactMetadataServiceImpl
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Value("${strongbox.artifact.locator.parallelism:1}")
+    private int locatorParallelism;
+
     public ArtifactMetadataServiceImpl()
     {
     }
@@ -125,6 +129,7 @@ public class ArtifactMetadataServiceImpl
 
         ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
         locator.setOperation(operation);
+        locator.setParallelism(locatorParallelism);
         locator.locateArtifactDirectories();
     }
 
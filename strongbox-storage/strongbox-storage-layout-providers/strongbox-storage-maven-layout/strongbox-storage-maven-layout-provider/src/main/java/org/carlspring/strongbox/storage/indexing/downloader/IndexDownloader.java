@@ -66,7 +66,8 @@ public class IndexDownloader
         IndexUpdateRequest updateRequest = new IndexUpdateRequest(indexingContext,
                                                                   resourceFetcherFactory.createIndexResourceFetcher(
                                                                           request.getRemoteRepositoryURL(),
-                                                                          proxyRepositoryConnectionPoolConfigurationService.getHttpClient()));
+                                                                          proxyRepositoryConnectionPoolConfigurationService.getHttpClient(
+                                                                                  request.getRemoteRepositoryURL())));
 
         updateRequest.setIndexTempDir(RepositoryFiles.temporary(repositoryPathResolver.resolve(request.getRepository())).toFile());
 
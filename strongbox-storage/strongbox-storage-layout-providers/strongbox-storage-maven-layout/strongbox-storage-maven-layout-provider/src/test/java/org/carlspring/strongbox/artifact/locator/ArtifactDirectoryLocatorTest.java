@@ -21,6 +21,7 @@ import org.junit.jupiter.api.parallel.Execution;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.parallel.ExecutionMode.SAME_THREAD;
@@ -179,6 +180,41 @@ public class ArtifactDirectoryLocatorTest
         System.out.println(output);
     }
 
+    @Test
+    public void testLocateDirectoriesInParallel()
+            throws IOException
+    {
+        Storage storage = configurationManagementService.getConfiguration().getStorage(STORAGE0);
+        Repository repository = storage.getRepository("releases");
+
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository);
+
+        ArtifactDirectoryLocator sequentialLocator = new ArtifactDirectoryLocator();
+        sequentialLocator.setBasedir(repositoryPath);
+        sequentialLocator.setOperation(new ArtifactLocationReportOperation());
+        sequentialLocator.locateArtifactDirectories();
+
+        os.reset();
+
+        ArtifactDirectoryLocator locator = new ArtifactDirectoryLocator();
+        locator.setBasedir(repositoryPath);
+        locator.setOperation(new ArtifactLocationReportOperation());
+        locator.setParallelism(4);
+        locator.locateArtifactDirectories();
+
+        os.flush();
+
+        String output = new String(os.toByteArray());
+
+        assertTrue(output.contains(normalize("org/apache/maven/location-utils")));
+        assertTrue(output.contains(normalize("org/carlspring/maven/locator-testing")));
+        assertTrue(output.contains(normalize("org/carlspring/strongbox/locator/foo-locator")));
+        assertTrue(output.contains(normalize("org/carlspring/strongbox/locator/utils")));
+
+        assertEquals(sequentialLocator.getVisitedDirectoriesCount(), locator.getVisitedDirectoriesCount());
+        assertEquals(0, locator.getFailedDirectoriesCount());
+    }
+
     private String normalize(String path)
     {
         if (!File.separator.equals("/"))
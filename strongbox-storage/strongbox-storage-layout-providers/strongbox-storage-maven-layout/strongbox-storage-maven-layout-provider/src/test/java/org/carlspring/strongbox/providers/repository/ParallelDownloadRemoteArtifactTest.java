@@ -48,6 +48,9 @@ public class ParallelDownloadRemoteArtifactTest
 
     @Inject
     private PlatformTransactionManager transactionManager;
+
+    @Inject
+    private ArtifactDownloadStatisticsWriter artifactDownloadStatisticsWriter;
     
     @BeforeEach
     public void setup()
@@ -92,7 +95,8 @@ public class ParallelDownloadRemoteArtifactTest
         assertEquals(concurrency, result.size());
 
         assertArrayEquals(expected, actual);
-        
+        assertTrue(artifactDownloadStatisticsWriter.flush());
+
         RepositoryPath repositoryPath = repositoryPathResolver.resolve(storageId, repositoryId, path);
 
         assertNotNull(repositoryPath.getArtifactEntry());
@@ -59,6 +59,10 @@ public class ConfigurationManagementServiceImplTest
 
     private static final String REPOSITORY_4_DB_VERSION_2 = "db-versioned-conf-release-2";
 
+    private static final String REPOSITORY_SNAPSHOT_RELEASES = "cmsi-snapshot-releases";
+
+    private static final String REPOSITORY_SNAPSHOT_GROUP = "cmsi-snapshot-group";
+
     @Inject
     private ConfigurationManagementService configurationManagementService;
 
@@ -82,6 +86,8 @@ public class ConfigurationManagementServiceImplTest
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_GROUP_2, Maven2LayoutProvider.ALIAS));
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_4_DB_VERSION_1, Maven2LayoutProvider.ALIAS));
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_4_DB_VERSION_2, Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_SNAPSHOT_RELEASES, Maven2LayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_SNAPSHOT_GROUP, Maven2LayoutProvider.ALIAS));
 
         return repositories;
     }
@@ -207,6 +213,34 @@ public class ConfigurationManagementServiceImplTest
         }
     }
 
+    @Test
+    public void testGetGroupRepositoriesContainingRepositoryTransitively()
+    {
+        configurationManagementService.addRepositoryToGroup(STORAGE0, REPOSITORY_GROUP_2, REPOSITORY_GROUP_1);
+
+        Configuration configuration = configurationManagementService.getConfiguration();
+
+        List<String> directGroups = configuration.getGroupRepositoriesContaining(STORAGE0, REPOSITORY_GROUP_1)
+                                                 .stream()
+                                                 .map(Repository::getId)
+                                                 .collect(Collectors.toList());
+        assertEquals(Collections.singletonList(REPOSITORY_GROUP_2), directGroups);
+
+        Set<String> transitiveGroups = configuration.getGroupRepositoriesContaining(STORAGE0,
+                                                                                    REPOSITORY_RELEASES_1,
+                                                                                    true)
+                                                    .stream()
+                                                    .map(Repository::getId)
+                                                    .collect(Collectors.toSet());
+        assertEquals(new HashSet<>(Arrays.asList(REPOSITORY_GROUP_1, REPOSITORY_GROUP_2)), transitiveGroups);
+
+        List<String> flattenedMembers = configuration.getFlattenedGroupRepositories(STORAGE0, REPOSITORY_GROUP_2)
+                                                     .stream()
+                                                     .map(Repository::getId)
+                                                     .collect(Collectors.toList());
+        assertEquals(Collections.singletonList(REPOSITORY_RELEASES_1), flattenedMembers);
+    }
+
     @Test
     public void testRemoveRepositoryFromAssociatedGroups()
     {
@@ -228,6 +262,41 @@ public class ConfigurationManagementServiceImplTest
         configurationManagementService.removeRepository(STORAGE0, REPOSITORY_GROUP_2);
     }
 
+    @Test
+    public void configurationSnapshotShouldBeSharedUntilModified()
+            throws Exception
+    {
+        MutableRepository repository = mavenRepositoryFactory.createRepository(REPOSITORY_SNAPSHOT_RELEASES);
+        repository.setType(RepositoryTypeEnum.HOSTED.getType());
+
+        MutableRepository groupRepository = mavenRepositoryFactory.createRepository(REPOSITORY_SNAPSHOT_GROUP);
+        groupRepository.setType(RepositoryTypeEnum.GROUP.getType());
+
+        createRepository(STORAGE0, repository);
+        createRepository(STORAGE0, groupRepository);
+
+        // The readers share the published snapshot rather than copy the configuration.
+        assertSame(configurationManagementService.getConfiguration(), configurationManagementService.getConfiguration());
+
+        Configuration snapshot = configurationManagementService.getConfiguration();
+
+        configurationManagementService.addRepositoryToGroup(STORAGE0,
+                                                            REPOSITORY_SNAPSHOT_GROUP,
+                                                            REPOSITORY_SNAPSHOT_RELEASES);
+
+        Configuration modifiedSnapshot = configurationManagementService.getConfiguration();
+
+        assertNotSame(snapshot, modifiedSnapshot);
+        assertFalse(snapshot.getRepository(STORAGE0, REPOSITORY_SNAPSHOT_GROUP)
+                            .getGroupRepositories()
+                            .contains(REPOSITORY_SNAPSHOT_RELEASES));
+        assertTrue(modifiedSnapshot.getRepository(STORAGE0, REPOSITORY_SNAPSHOT_GROUP)
+                                   .getGroupRepositories()
+                                   .contains(REPOSITORY_SNAPSHOT_RELEASES));
+
+        assertSame(configurationManagementService.getConfiguration(), configurationManagementService.getConfiguration());
+    }
+
     @Test
     public void testSetProxyRepositoryMaxConnections()
     {
@@ -0,0 +1,321 @@
+package org.carlspring.strongbox.providers.layout;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+
+import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.RepositoryContentStamps;
+import org.carlspring.strongbox.storage.repository.Repository;
+import org.javatuples.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * The serialized NPM package documents ("packuments"), so that the package
+ * versions are not fetched and processed on each package view.
+ * <br>
+ * The documents are kept per package (with one document per repository), so
+ * the package is invalidated at once when any of its files is stored into or
+ * deleted from any repository. The package is invalidated again once the
+ * transaction of the change is completed, so that the documents created from
+ * the uncommitted data are dropped. All the documents are invalidated on each
+ * configuration change. The documents which were created before the
+ * invalidation are not cached, see {@link #getStamp()}.
+ * <br>
+ * Only the repositories which content can be tracked are cached, see
+ * {@link RepositoryContentStamps#getStamp(Repository)}. The proxy repository
+ * view fetches the remote package feed, so it's not cached.
+ */
+@Component
+public class NpmPackageFeedCache
+{
+
+    private static final Logger logger = LoggerFactory.getLogger(NpmPackageFeedCache.class);
+
+    private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+    private final Cache<String, PackageFeeds> cache;
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final boolean enabled;
+
+    @Inject
+    private RepositoryContentStamps repositoryContentStamps;
+
+    public NpmPackageFeedCache(@Value("${strongbox.npm.packageFeed.cache.enabled:true}") boolean enabled,
+                               @Value("${strongbox.npm.packageFeed.cache.maximumWeight:67108864}") long maximumWeight)
+    {
+        this.enabled = enabled;
+        this.cache = CacheBuilder.newBuilder()
+                                 .maximumWeight(maximumWeight)
+                                 .<String, PackageFeeds>weigher((k, v) -> v.getWeight())
+                                 .build();
+    }
+
+    /**
+     * @return the stamp which changes each time any document is invalidated
+     */
+    public long getStamp()
+    {
+        return invalidations.get();
+    }
+
+    /**
+     * @param loader creates the serialized document if it's not cached
+     * @return the document with its stamp, the stamp is <code>null</code> if
+     *         the repository content can't be tracked (and the repository
+     *         content stamp if the cache is disabled)
+     */
+    public PackageFeedContent get(Repository repository,
+                                  String packageId,
+                                  Callable<byte[]> loader)
+        throws IOException
+    {
+        String repositoryStamp = repositoryContentStamps.getStamp(repository);
+        if (!enabled || repositoryStamp == null)
+        {
+            return new PackageFeedContent(load(loader), repositoryStamp);
+        }
+
+        Pair<String, String> repositoryKey = Pair.with(repository.getStorage().getId(), repository.getId());
+
+        long configurationStamp = repositoryContentStamps.getConfigurationStamp();
+        PackageFeeds packageFeeds = cache.getIfPresent(packageId);
+        PackageFeedContent result = packageFeeds == null ? null : packageFeeds.get(repositoryKey);
+        if (result != null && result.configurationStamp == configurationStamp)
+        {
+            return result;
+        }
+
+        long stamp = invalidations.get();
+        result = new PackageFeedContent(load(loader),
+                                        String.format("%s-%s-%s", epoch, configurationStamp, stamp),
+                                        configurationStamp);
+
+        if (stamp != invalidations.get())
+        {
+            return result;
+        }
+
+        PackageFeedContent content = result;
+        PackageFeeds cached = cache.asMap().compute(packageId,
+                                                    (k, v) -> (v == null ? PackageFeeds.EMPTY : v).with(repositoryKey,
+                                                                                                        content));
+
+        // The package could have been invalidated in between.
+        if (stamp != invalidations.get())
+        {
+            cache.asMap().remove(packageId, cached);
+        }
+
+        return result;
+    }
+
+    /**
+     * @param packageId the package to invalidate, or <code>null</code> to
+     *            invalidate all the packages
+     */
+    public void invalidate(String packageId)
+    {
+        if (packageId == null)
+        {
+            invalidateAll();
+            return;
+        }
+
+        invalidations.incrementAndGet();
+        cache.invalidate(packageId);
+    }
+
+    public void invalidateAll()
+    {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return the number of the cached packages
+     */
+    public long getSize()
+    {
+        return cache.size();
+    }
+
+    @EventListener
+    public void handle(final ArtifactEvent<RepositoryPath> event)
+    {
+        int type = event.getType();
+        if (type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_METADATA_STORED.getType() &&
+            type != ArtifactEventTypeEnum.EVENT_ARTIFACT_PATH_DELETED.getType())
+        {
+            return;
+        }
+
+        RepositoryPath path = event.getPath();
+        if (!NpmLayoutProvider.ALIAS.equals(path.getRepository().getLayout()))
+        {
+            return;
+        }
+
+        String packageId;
+        try
+        {
+            packageId = getPackageId(path);
+        }
+        catch (IOException e)
+        {
+            logger.error(String.format("Failed to resolve the package of [%s]", path), e);
+
+            packageId = null;
+        }
+
+        invalidate(packageId);
+
+        // The documents created before the commit (from the old content) should not stay cached.
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            String id = packageId;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+            {
+                @Override
+                public void afterCompletion(int status)
+                {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+
+    /**
+     * @return the package ID of the path, which is in the form of
+     *         <code>{scope|name}/{name}/...</code>, or <code>null</code> if the
+     *         path is above the package directory
+     */
+    private String getPackageId(RepositoryPath path)
+        throws IOException
+    {
+        String[] segments = RepositoryFiles.relativizePath(path).split("/");
+        if (segments.length < 2)
+        {
+            return null;
+        }
+
+        return NpmArtifactCoordinates.calculatePackageId(segments[0].startsWith("@") ? segments[0] : null,
+                                                         segments[1]);
+    }
+
+    private byte[] load(Callable<byte[]> loader)
+        throws IOException
+    {
+        try
+        {
+            return loader.call();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            throw e;
+        }
+        catch (Exception e)
+        {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * The documents of one package, by the repository. The instances are
+     * immutable, so that the cache can weigh them.
+     */
+    private static class PackageFeeds
+    {
+
+        private static final PackageFeeds EMPTY = new PackageFeeds(new HashMap<>());
+
+        private final Map<Pair<String, String>, PackageFeedContent> contents;
+
+        private final int weight;
+
+        private PackageFeeds(Map<Pair<String, String>, PackageFeedContent> contents)
+        {
+            this.contents = contents;
+            this.weight = contents.values().stream().mapToInt(c -> c.getContent().length).sum();
+        }
+
+        private PackageFeedContent get(Pair<String, String> repositoryKey)
+        {
+            return contents.get(repositoryKey);
+        }
+
+        private PackageFeeds with(Pair<String, String> repositoryKey,
+                                  PackageFeedContent content)
+        {
+            Map<Pair<String, String>, PackageFeedContent> result = new HashMap<>(contents);
+            result.put(repositoryKey, content);
+
+            return new PackageFeeds(result);
+        }
+
+        private int getWeight()
+        {
+            return weight;
+        }
+
+    }
+
+    public static class PackageFeedContent
+    {
+
+        private final byte[] content;
+
+        private final String stamp;
+
+        private final long configurationStamp;
+
+        private PackageFeedContent(byte[] content,
+                                   String stamp)
+        {
+            this(content, stamp, -1L);
+        }
+
+        private PackageFeedContent(byte[] content,
+                                   String stamp,
+                                   long configurationStamp)
+        {
+            this.content = content;
+            this.stamp = stamp;
+            this.configurationStamp = configurationStamp;
+        }
+
+        public byte[] getContent()
+        {
+            return content;
+        }
+
+        public String getStamp()
+        {
+            return stamp;
+        }
+
+    }
+
+}
@@ -124,7 +124,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         String remoteRepositoryUrl = remoteRepository.getUrl();
 
         SearchResults searchResults;
-        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient(remoteRepositoryUrl);
         try
         {
             logger.debug(String.format("Search NPM packages for [%s].", remoteRepositoryUrl));
@@ -205,7 +205,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         throws IOException
     {
         int result = 0;
-        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient(replicateUrl);
         try
         {
             logger.debug(String.format("Fetching remote cnages for [%s] since [%s].", replicateUrl, since));
@@ -322,7 +322,7 @@ public class NpmRepositoryFeatures implements RepositoryFeatures
         String remoteRepositoryUrl = remoteRepository.getUrl();
 
         PackageFeed packageFeed;
-        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient(remoteRepositoryUrl);
         try
         {
             logger.debug(String.format("Downloading NPM changes feed for [%s].", remoteRepositoryUrl));
@@ -228,7 +228,7 @@ public class FetchChangesFeedCronJobTestIT
 
         Mockito.when(mockedRestClient.target(anyString())).thenReturn(mockedWebTarget);
 
-        Mockito.when(proxyRepositoryConnectionPoolConfigurationService.getRestClient())
+        Mockito.when(proxyRepositoryConnectionPoolConfigurationService.getRestClient(anyString()))
                .thenReturn(mockedRestClient);
     }
 
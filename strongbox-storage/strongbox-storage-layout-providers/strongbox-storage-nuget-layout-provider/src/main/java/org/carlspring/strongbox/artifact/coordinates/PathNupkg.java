@@ -2,14 +2,17 @@ package org.carlspring.strongbox.artifact.coordinates;
 
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.layout.NuspecArtifactEntryHandler;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec.Metadata;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 
@@ -64,12 +67,18 @@ public class PathNupkg implements Nupkg
         throws IOException,
         UnsupportedEncodingException
     {
+        // Nuget package should have only one checksum digest algorithm.
+        Map<String, String> checksums = path.getArtifactEntry().getChecksums();
+        if (!checksums.isEmpty())
+        {
+            return checksums.values().iterator().next();
+        }
+
         Map<String, RepositoryPath> checksumPathMap = path.getFileSystem().provider().resolveChecksumPathMap(path);
         if (checksumPathMap.isEmpty())
         {
             return null;
         }
-        // Nuget package should have only one checksum digest algorithm.
         RepositoryPath checkSumPath = checksumPathMap.values().iterator().next();
         if (!Files.exists(checkSumPath))
         {
@@ -96,8 +105,18 @@ public class PathNupkg implements Nupkg
     }
 
     private Nuspec createNuspecFile()
-        throws NugetFormatException
+        throws NugetFormatException,
+        IOException
     {
+        String nuspecXml = path.getArtifactEntry()
+                               .getLayoutMetadata()
+                               .get(NuspecArtifactEntryHandler.NUSPEC_LAYOUT_METADATA);
+        if (nuspecXml != null)
+        {
+            return Nuspec.parse(new ByteArrayInputStream(nuspecXml.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        // The .nuspec of the package is not yet stored with the artifact entry.
         RepositoryPath nuspecPath = path.resolveSibling(artifactCoordinates.getId() + ".nuspec");
         if (!Files.exists(nuspecPath))
         {
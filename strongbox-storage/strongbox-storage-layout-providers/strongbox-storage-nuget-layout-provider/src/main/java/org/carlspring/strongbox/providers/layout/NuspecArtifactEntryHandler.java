@@ -0,0 +1,131 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.AsyncArtifactEntryHandler;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryPathLock;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
+import org.carlspring.strongbox.storage.metadata.nuget.TempNupkgFile;
+
+import javax.inject.Inject;
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.locks.Lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores the <code>.nuspec</code> of the stored (or updated) NuGet package
+ * into its {@link ArtifactEntry#getLayoutMetadata()}, so that the package
+ * feeds don't need to read the <code>.nuspec</code> files.
+ * <br>
+ * The <code>.nuspec</code> is extracted from the package itself, as the
+ * <code>.nuspec</code> file is stored after the package.
+ */
+@Component
+public class NuspecArtifactEntryHandler extends AsyncArtifactEntryHandler
+{
+
+    public static final String NUSPEC_LAYOUT_METADATA = "nuspec";
+
+    private static final Logger logger = LoggerFactory.getLogger(NuspecArtifactEntryHandler.class);
+
+    @Inject
+    private RepositoryPathLock repositoryPathLock;
+
+    public NuspecArtifactEntryHandler()
+    {
+        this(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED);
+    }
+
+    protected NuspecArtifactEntryHandler(ArtifactEventTypeEnum eventType)
+    {
+        super(eventType);
+    }
+
+    @Override
+    protected boolean supports(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        return NugetLayoutProvider.ALIAS.equals(repositoryPath.getRepository().getLayout()) &&
+               repositoryPath.getFileName().toString().endsWith(Nupkg.DEFAULT_EXTENSION) &&
+               super.supports(repositoryPath);
+    }
+
+    @Override
+    protected ArtifactEntry handleEvent(RepositoryPath repositoryPath)
+        throws IOException
+    {
+        ArtifactEntry artifactEntry = repositoryPath.getArtifactEntry();
+        if (artifactEntry == null)
+        {
+            logger.warn(String.format("No [%s] for [%s].",
+                                      ArtifactEntry.class.getSimpleName(),
+                                      repositoryPath));
+
+            return null;
+        }
+
+        Nuspec nuspec;
+        Lock lock = repositoryPathLock.lock(repositoryPath).readLock();
+        lock.lock();
+        try (InputStream is = Files.newInputStream(repositoryPath))
+        {
+            nuspec = TempNupkgFile.loadNuspec(is);
+        }
+        catch (NugetFormatException e)
+        {
+            logger.warn(String.format("Failed to read .nuspec of [%s]", repositoryPath), e);
+
+            nuspec = null;
+        }
+        finally
+        {
+            lock.unlock();
+        }
+
+        if (nuspec == null)
+        {
+            // The stale .nuspec of the previous package content should not be used.
+            artifactEntry.getLayoutMetadata().remove(NUSPEC_LAYOUT_METADATA);
+
+            return artifactEntry;
+        }
+
+        ByteArrayOutputStream nuspecXml = new ByteArrayOutputStream();
+        try
+        {
+            nuspec.saveTo(nuspecXml);
+        }
+        catch (JAXBException e)
+        {
+            throw new IOException(e);
+        }
+
+        artifactEntry.getLayoutMetadata().put(NUSPEC_LAYOUT_METADATA,
+                                              new String(nuspecXml.toByteArray(), StandardCharsets.UTF_8));
+
+        return artifactEntry;
+    }
+
+    @Component
+    public static class NuspecArtifactEntryUpdatedHandler extends NuspecArtifactEntryHandler
+    {
+
+        public NuspecArtifactEntryUpdatedHandler()
+        {
+            super(ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_UPDATED);
+        }
+
+    }
+
+}
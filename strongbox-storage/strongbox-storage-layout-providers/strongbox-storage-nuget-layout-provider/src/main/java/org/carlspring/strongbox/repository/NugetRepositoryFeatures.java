@@ -166,7 +166,7 @@ public class NugetRepositoryFeatures
         paginator.setSkip(skip);
 
         PackageFeed packageFeed;
-        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+        Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient(remoteRepository.getUrl());
         try
         {
             logger.debug(String.format("Downloading remote feed for [%s].", remoteRepositoryUrl));
@@ -313,7 +313,7 @@ public class NugetRepositoryFeatures
             logger.debug(String.format("Remote repository [%s] cached package count is [%s]", repository.getId(),
                                        packageCount));
 
-            Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient();
+            Client restClient = proxyRepositoryConnectionPoolConfigurationService.getRestClient(remoteRepository.getUrl());
             PackageFeed feed;
             try
             {
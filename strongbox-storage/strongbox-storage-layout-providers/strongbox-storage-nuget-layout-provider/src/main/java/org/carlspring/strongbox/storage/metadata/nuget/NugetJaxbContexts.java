@@ -0,0 +1,43 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+/**
+ * The shared {@link JAXBContext} instances of the NuGet XML documents.
+ * <br>
+ * The context creation is expensive (it introspects the whole class graph),
+ * while the context itself is thread safe, so it's created once per class.
+ * The {@link javax.xml.bind.Marshaller} and {@link javax.xml.bind.Unmarshaller}
+ * instances are not thread safe and should still be created per use.
+ */
+public final class NugetJaxbContexts
+{
+
+    private static final Map<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+
+    private NugetJaxbContexts()
+    {
+    }
+
+    public static JAXBContext get(Class<?> type)
+        throws JAXBException
+    {
+        JAXBContext result = contexts.get(type);
+        if (result != null)
+        {
+            return result;
+        }
+
+        // The creation may throw, so it's done outside of `computeIfAbsent`; a
+        // concurrent duplicate is harmless.
+        result = JAXBContext.newInstance(type);
+        JAXBContext existing = contexts.putIfAbsent(type, result);
+
+        return existing != null ? existing : result;
+    }
+
+}
@@ -43,6 +43,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
 import org.carlspring.strongbox.storage.metadata.nuget.Dependency;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetJaxbContexts;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 import org.carlspring.strongbox.storage.metadata.nuget.StringListTypeAdapter;
 import org.w3c.dom.Document;
@@ -64,7 +65,7 @@ public class EntryProperties
     public static EntryProperties parse(InputStream inputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(EntryProperties.class);
+        JAXBContext context = NugetJaxbContexts.get(EntryProperties.class);
         Unmarshaller unmarshaller = context.createUnmarshaller();
         return (EntryProperties) unmarshaller.unmarshal(inputStream);
     }
@@ -35,6 +35,7 @@ import javax.xml.bind.annotation.XmlType;
 
 import org.carlspring.strongbox.storage.metadata.nuget.Author;
 import org.carlspring.strongbox.storage.metadata.nuget.NugetFormatException;
+import org.carlspring.strongbox.storage.metadata.nuget.NugetJaxbContexts;
 import org.carlspring.strongbox.storage.metadata.nuget.Nupkg;
 import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
 
@@ -61,7 +62,7 @@ public class PackageEntry
     public static PackageEntry parse(InputStream inputStream)
         throws JAXBException
     {
-        JAXBContext context = JAXBContext.newInstance(PackageEntry.class);
+        JAXBContext context = NugetJaxbContexts.get(PackageEntry.class);
         Unmarshaller unmarshaller = context.createUnmarshaller();
         return (PackageEntry) unmarshaller.unmarshal(inputStream);
     }
@@ -0,0 +1,173 @@
+package org.carlspring.strongbox.providers.layout;
+
+import org.carlspring.strongbox.artifact.coordinates.NugetArtifactCoordinates;
+import org.carlspring.strongbox.artifact.coordinates.PathNupkg;
+import org.carlspring.strongbox.config.NugetLayoutProviderTestConfig;
+import org.carlspring.strongbox.domain.ArtifactEntry;
+import org.carlspring.strongbox.event.artifact.ArtifactEvent;
+import org.carlspring.strongbox.event.artifact.ArtifactEventTypeEnum;
+import org.carlspring.strongbox.providers.io.RepositoryFiles;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.services.ArtifactEntryService;
+import org.carlspring.strongbox.services.RepositoryManagementService;
+import org.carlspring.strongbox.storage.metadata.nuget.Nuspec;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+import org.carlspring.strongbox.testing.TestCaseWithNugetPackageGeneration;
+
+import javax.inject.Inject;
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Covers the <code>.nuspec</code> stored with the {@link ArtifactEntry} by the
+ * {@link NuspecArtifactEntryHandler}, and the {@link PathNupkg} reading it
+ * (or falling back to the <code>.nuspec</code> file).
+ */
+@SpringBootTest
+@ActiveProfiles(profiles = "test")
+@ContextConfiguration(classes = NugetLayoutProviderTestConfig.class)
+public class NuspecArtifactEntryHandlerTest
+        extends TestCaseWithNugetPackageGeneration
+{
+
+    private static final String REPOSITORY_RELEASES = "naeht-releases";
+
+    private static final String PACKAGE_ID = "naeht.package";
+
+    private static final String PACKAGE_VERSION = "1.0.0";
+
+    /**
+     * The description of the packages generated by the
+     * {@link org.carlspring.strongbox.artifact.generator.NugetPackageGenerator}.
+     */
+    private static final String PACKAGE_DESCRIPTION = "Strongbox Nuget package for tests";
+
+    @Inject
+    private NuspecArtifactEntryHandler nuspecArtifactEntryHandler;
+
+    @Inject
+    private ArtifactEntryService artifactEntryService;
+
+    @Inject
+    private RepositoryManagementService repositoryManagementService;
+
+    private RepositoryPath packagePath;
+
+    @BeforeAll
+    public static void cleanUp()
+            throws Exception
+    {
+        cleanUp(getRepositoriesToClean());
+    }
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        MutableRepository repository = createRepositoryMock(STORAGE0, REPOSITORY_RELEASES, NugetLayoutProvider.ALIAS);
+        configurationManagementService.saveRepository(STORAGE0, repository);
+        repositoryManagementService.createRepository(STORAGE0, REPOSITORY_RELEASES);
+
+        // The first generated version is 1.0.0.
+        generateRepositoryPackages(STORAGE0, REPOSITORY_RELEASES, PACKAGE_ID, 1);
+
+        NugetArtifactCoordinates coordinates = new NugetArtifactCoordinates(PACKAGE_ID, PACKAGE_VERSION, "nupkg");
+        packagePath = repositoryPathResolver.resolve(STORAGE0, REPOSITORY_RELEASES, coordinates.toPath());
+    }
+
+    @AfterEach
+    public void removeRepositories()
+            throws IOException, JAXBException
+    {
+        removeRepositories(getRepositoriesToClean());
+    }
+
+    public static Set<MutableRepository> getRepositoriesToClean()
+    {
+        Set<MutableRepository> repositories = new LinkedHashSet<>();
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_RELEASES, NugetLayoutProvider.ALIAS));
+
+        return repositories;
+    }
+
+    @Test
+    public void testNuspecStoredWithArtifactEntry()
+            throws Exception
+    {
+        nuspecArtifactEntryHandler.handleEvent(new ArtifactEvent<>(packagePath,
+                                                                   ArtifactEventTypeEnum.EVENT_ARTIFACT_FILE_STORED.getType()));
+
+        String nuspecXml = findArtifactEntry().getLayoutMetadata()
+                                              .get(NuspecArtifactEntryHandler.NUSPEC_LAYOUT_METADATA);
+        assertNotNull(nuspecXml);
+
+        Nuspec nuspec = Nuspec.parse(new ByteArrayInputStream(nuspecXml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(PACKAGE_ID, nuspec.getId());
+        assertEquals(PACKAGE_VERSION, nuspec.getVersion().toString());
+        assertEquals(PACKAGE_DESCRIPTION, nuspec.getDescription());
+
+        // The feed entry is built from the stored .nuspec, so the (broken) .nuspec file is not read.
+        Files.write(nuspecFile(), "not a .nuspec".getBytes(StandardCharsets.UTF_8));
+
+        PathNupkg nupkg = new PathNupkg(packagePath);
+        assertEquals(PACKAGE_ID, nupkg.getNuspec().getId());
+        assertEquals(PACKAGE_DESCRIPTION, nupkg.getNuspec().getDescription());
+    }
+
+    @Test
+    public void testNuspecFileReadWithoutStoredNuspec()
+            throws Exception
+    {
+        // The entry stored before the handler has run (or before the handler existed).
+        ArtifactEntry artifactEntry = findArtifactEntry();
+        artifactEntry.getLayoutMetadata().remove(NuspecArtifactEntryHandler.NUSPEC_LAYOUT_METADATA);
+        artifactEntryService.save(artifactEntry);
+        assertNull(findArtifactEntry().getLayoutMetadata().get(NuspecArtifactEntryHandler.NUSPEC_LAYOUT_METADATA));
+
+        // Without the .nuspec file the feed entry has the coordinates only.
+        PathNupkg nupkg = new PathNupkg(packagePath);
+        assertEquals(PACKAGE_ID, nupkg.getNuspec().getId());
+        assertNull(nupkg.getNuspec().getDescription());
+
+        Path generatedPackage = generatePackageFile(PACKAGE_ID, PACKAGE_VERSION);
+        Files.copy(generatedPackage.resolveSibling(PACKAGE_ID + ".nuspec"), nuspecFile());
+
+        nupkg = new PathNupkg(packagePath);
+        assertEquals(PACKAGE_ID, nupkg.getNuspec().getId());
+        assertEquals(PACKAGE_DESCRIPTION, nupkg.getNuspec().getDescription());
+    }
+
+    private ArtifactEntry findArtifactEntry()
+            throws IOException
+    {
+        return artifactEntryService.findOneArtifact(STORAGE0, REPOSITORY_RELEASES,
+                                                    RepositoryFiles.relativizePath(packagePath));
+    }
+
+    /**
+     * @return the <code>.nuspec</code> file next to the package, bypassing the
+     *         repository file system, so that no artifact event is published
+     */
+    private Path nuspecFile()
+    {
+        return packagePath.resolveSibling(PACKAGE_ID + ".nuspec").toFile().toPath();
+    }
+
+}
@@ -5,12 +5,14 @@ import org.carlspring.strongbox.configuration.ConfigurationManager;
 import org.carlspring.strongbox.data.criteria.Paginator;
 import org.carlspring.strongbox.data.criteria.Predicate;
 import org.carlspring.strongbox.providers.layout.NugetLayoutProvider;
+import org.carlspring.strongbox.providers.repository.event.RemoteRepositorySearchEvent;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.services.RepositoryManagementService;
 import org.carlspring.strongbox.storage.repository.MutableRepository;
 import org.carlspring.strongbox.storage.repository.NugetRepositoryFactory;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.repository.RepositoryTypeEnum;
+import org.carlspring.strongbox.storage.repository.remote.MutableRemoteRepository;
 import org.carlspring.strongbox.testing.TestCaseWithNugetPackageGeneration;
 import org.carlspring.strongbox.yaml.configuration.repository.MutableNugetRepositoryConfiguration;
 
@@ -21,6 +23,7 @@ import java.nio.file.Path;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
@@ -28,6 +31,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.parallel.Execution;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.ContextConfiguration;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -57,6 +63,10 @@ public class NugetGroupRepositoryProviderTest
 
     private static final String REPOSITORY_GROUP = "grpt-releases-group";
 
+    private static final String REPOSITORY_PROXY = "grpt-proxy";
+
+    private static final String REPOSITORY_GROUP_WITH_PROXY = "grpt-releases-group-with-proxy";
+
     @Inject
     private RepositoryProviderRegistry repositoryProviderRegistry;
 
@@ -73,6 +83,9 @@ public class NugetGroupRepositoryProviderTest
     @Inject
     private NugetRepositoryFactory nugetRepositoryFactory;
 
+    @Inject
+    private ConfigurableApplicationContext applicationContext;
+
     @BeforeAll
     public static void cleanUp()
             throws Exception
@@ -131,6 +144,22 @@ public class NugetGroupRepositoryProviderTest
         repositoryWithNestedGroupLevel2.addRepositoryToGroup(REPOSITORY_GROUP_WITH_NESTED_GROUP_1);
 
         createRepository(STORAGE0, repositoryWithNestedGroupLevel2);
+
+        MutableRepository repositoryProxy = nugetRepositoryFactory.createRepository(REPOSITORY_PROXY);
+        repositoryProxy.setType(RepositoryTypeEnum.PROXY.getType());
+        repositoryProxy.setRemoteRepository(new MutableRemoteRepository());
+        repositoryProxy.getRemoteRepository().setUrl("https://www.nuget.org/api/v2");
+        repositoryProxy.setRepositoryConfiguration(nugetRepositoryConfiguration);
+
+        createRepository(STORAGE0, repositoryProxy, NugetLayoutProvider.ALIAS);
+
+        MutableRepository repositoryGroupWithProxy = nugetRepositoryFactory.createRepository(REPOSITORY_GROUP_WITH_PROXY);
+        repositoryGroupWithProxy.setType(RepositoryTypeEnum.GROUP.getType());
+        repositoryGroupWithProxy.setRepositoryConfiguration(nugetRepositoryConfiguration);
+        repositoryGroupWithProxy.addRepositoryToGroup(REPOSITORY_RELEASES_1);
+        repositoryGroupWithProxy.addRepositoryToGroup(REPOSITORY_PROXY);
+
+        createRepository(STORAGE0, repositoryGroupWithProxy);
     }
 
     private void createRepository(String storageId, MutableRepository repository)
@@ -162,6 +191,8 @@ public class NugetGroupRepositoryProviderTest
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_GROUP_WITH_NESTED_GROUP_1, NugetLayoutProvider.ALIAS));
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_GROUP_WITH_NESTED_GROUP_2, NugetLayoutProvider.ALIAS));
         repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_GROUP, NugetLayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_PROXY, NugetLayoutProvider.ALIAS));
+        repositories.add(createRepositoryMock(STORAGE0, REPOSITORY_GROUP_WITH_PROXY, NugetLayoutProvider.ALIAS));
 
         return repositories;
     }
@@ -206,4 +237,30 @@ public class NugetGroupRepositoryProviderTest
         assertEquals(Long.valueOf(12), count);
     }
 
+    @Test
+    public void testGroupSearchWithProxyMember()
+    {
+        List<RemoteRepositorySearchEvent> events = new CopyOnWriteArrayList<>();
+        applicationContext.addApplicationListener((ApplicationListener<ApplicationEvent>) e -> {
+            if (e instanceof RemoteRepositorySearchEvent &&
+                REPOSITORY_PROXY.equals(((RemoteRepositorySearchEvent) e).getRepositoryId()))
+            {
+                events.add((RemoteRepositorySearchEvent) e);
+            }
+        });
+
+        Repository repository = configurationManager.getRepository(STORAGE0 + ":" + REPOSITORY_GROUP_WITH_PROXY);
+        RepositoryProvider repositoryProvider = repositoryProviderRegistry.getProvider(repository.getType());
+
+        Paginator paginator = new Paginator();
+        paginator.setLimit(10);
+
+        List<Path> result = repositoryProvider.search(STORAGE0, REPOSITORY_GROUP_WITH_PROXY, Predicate.empty(),
+                                                      paginator);
+
+        assertEquals(9, result.size());
+        assertEquals(1, events.size());
+        assertEquals(STORAGE0, events.get(0).getStorageId());
+    }
+
 }
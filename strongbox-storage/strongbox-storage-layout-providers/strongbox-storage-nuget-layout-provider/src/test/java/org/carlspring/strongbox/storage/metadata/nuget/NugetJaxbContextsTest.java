@@ -0,0 +1,47 @@
+package org.carlspring.strongbox.storage.metadata.nuget;
+
+import org.carlspring.strongbox.artifact.coordinates.versioning.SemanticVersion;
+import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class NugetJaxbContextsTest
+{
+
+    @Test
+    public void testContextCreatedOncePerClass()
+            throws Exception
+    {
+        assertSame(NugetJaxbContexts.get(Nuspec.class), NugetJaxbContexts.get(Nuspec.class));
+        assertNotSame(NugetJaxbContexts.get(Nuspec.class), NugetJaxbContexts.get(PackageFeed.class));
+    }
+
+    @Test
+    public void testSharedContextParsesWhatItSaves()
+            throws Exception
+    {
+        Nuspec nuspec = new Nuspec();
+        Nuspec.Metadata metadata = nuspec.getMetadata();
+        metadata.id = "njct.package";
+        metadata.version = SemanticVersion.parse("1.0.0");
+        metadata.authors = "carlspring";
+        metadata.description = "Strongbox Nuget package for tests";
+
+        ByteArrayOutputStream nuspecXml = new ByteArrayOutputStream();
+        nuspec.saveTo(nuspecXml);
+        // Each use has its own marshaller, while the context is shared.
+        nuspec.saveTo(new ByteArrayOutputStream());
+
+        Nuspec result = Nuspec.parse(new ByteArrayInputStream(nuspecXml.toByteArray()));
+        assertEquals("njct.package", result.getId());
+        assertEquals("1.0.0", result.getVersion().toString());
+        assertEquals("Strongbox Nuget package for tests", result.getDescription());
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.ArtifactDownloadStatisticsWriter;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the amount of download statistics which haven't been written into
+ * the database yet.
+ */
+@Component
+public class ArtifactDownloadStatisticsMetrics
+        implements MeterBinder
+{
+
+    @Inject
+    private ArtifactDownloadStatisticsWriter artifactDownloadStatisticsWriter;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder("strongbox.artifact.downloads.pending.deltas",
+                      artifactDownloadStatisticsWriter,
+                      ArtifactDownloadStatisticsWriter::getPendingDeltasCount)
+             .description("Artifacts with unflushed download statistics")
+             .register(registry);
+
+        Gauge.builder("strongbox.artifact.downloads.pending.count",
+                      artifactDownloadStatisticsWriter,
+                      ArtifactDownloadStatisticsWriter::getPendingDownloadsCount)
+             .description("Downloads which haven't been flushed yet")
+             .register(registry);
+    }
+
+}
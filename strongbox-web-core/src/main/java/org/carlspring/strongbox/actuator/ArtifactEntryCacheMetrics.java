@@ -0,0 +1,44 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.services.support.ArtifactEntryCache;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link ArtifactEntryCache} statistics.
+ */
+@Component
+public class ArtifactEntryCacheMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.artifact.entry.cache.";
+
+    @Inject
+    private ArtifactEntryCache artifactEntryCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder(PREFIX + "size", artifactEntryCache, ArtifactEntryCache::getSize)
+             .description("Artifact entry identities in the local near cache")
+             .register(registry);
+
+        FunctionCounter.builder(PREFIX + "hits", artifactEntryCache, ArtifactEntryCache::getHitCount)
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "misses", artifactEntryCache, ArtifactEntryCache::getMissCount)
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "evictions", artifactEntryCache, ArtifactEntryCache::getEvictionCount)
+                       .description("Near cache identities evicted because of expiration or the size limit")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.storage.checksum.ChecksumCacheManager;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link ChecksumCacheManager} statistics.
+ */
+@Component
+public class ChecksumCacheMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.checksum.cache.";
+
+    @Inject
+    private ChecksumCacheManager checksumCacheManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder(PREFIX + "size", checksumCacheManager, ChecksumCacheManager::getSize)
+             .description("Cached checksums waiting for the checksum files")
+             .register(registry);
+
+        FunctionCounter.builder(PREFIX + "hits", checksumCacheManager, ChecksumCacheManager::getHitCount)
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "misses", checksumCacheManager, ChecksumCacheManager::getMissCount)
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "evictions", checksumCacheManager, ChecksumCacheManager::getEvictionCount)
+                       .description("Checksums evicted because of expiration or the size limit")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,76 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.event.EventQueue;
+import org.carlspring.strongbox.event.EventTaskExecutor;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link EventQueue}s state, tagged with the queue name. The
+ * queues are created on demand, so the meters are registered as soon as the
+ * queue appears.
+ */
+@Component
+public class EventTaskExecutorMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.events.queue.";
+
+    private static final String TAG_QUEUE = "queue";
+
+    @Inject
+    private EventTaskExecutor eventTaskExecutor;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        eventTaskExecutor.addQueueListener(q -> bindTo(registry, q));
+    }
+
+    private void bindTo(MeterRegistry registry,
+                        EventQueue queue)
+    {
+        Gauge.builder(PREFIX + "depth", queue, EventQueue::getDepth)
+             .tag(TAG_QUEUE, queue.getName())
+             .description("Event tasks waiting in the queue")
+             .register(registry);
+
+        Gauge.builder(PREFIX + "active", queue, EventQueue::getActiveCount)
+             .tag(TAG_QUEUE, queue.getName())
+             .description("Event tasks being executed")
+             .register(registry);
+
+        TimeGauge.builder(PREFIX + "lag", queue, TimeUnit.MILLISECONDS, EventQueue::getLagMillis)
+                 .tag(TAG_QUEUE, queue.getName())
+                 .description("Wait time of the oldest queued event task")
+                 .register(registry);
+
+        FunctionCounter.builder(PREFIX + "submitted", queue, EventQueue::getSubmittedCount)
+                       .tag(TAG_QUEUE, queue.getName())
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "completed", queue, EventQueue::getCompletedCount)
+                       .tag(TAG_QUEUE, queue.getName())
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "coalesced", queue, EventQueue::getCoalescedCount)
+                       .tag(TAG_QUEUE, queue.getName())
+                       .description("Event tasks skipped because the same task was already queued")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "rejected", queue, EventQueue::getRejectedCount)
+                       .tag(TAG_QUEUE, queue.getName())
+                       .description("Event tasks which overflowed the queue")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.providers.repository.group.GroupRepositoryNegativeCache;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link GroupRepositoryNegativeCache} statistics.
+ */
+@Component
+public class GroupRepositoryNegativeCacheMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.group.negativeCache.";
+
+    @Inject
+    private GroupRepositoryNegativeCache groupRepositoryNegativeCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        Gauge.builder(PREFIX + "size", groupRepositoryNegativeCache, GroupRepositoryNegativeCache::getSize)
+             .description("Group member paths known to be missing")
+             .register(registry);
+
+        FunctionCounter.builder(PREFIX + "hits", groupRepositoryNegativeCache, GroupRepositoryNegativeCache::getHitCount)
+                       .description("Group member lookups skipped because of the known missing path")
+                       .register(registry);
+    }
+
+}
@@ -0,0 +1,77 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.service.ProxyRepositoryConnectionPool;
+import org.carlspring.strongbox.service.ProxyRepositoryConnectionPoolConfigurationService;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the remote repository {@link ProxyRepositoryConnectionPool}s state,
+ * tagged with the pool name. The pools are created on demand, so the meters
+ * are registered as soon as the pool appears, and removed once it's closed.
+ */
+@Component
+public class ProxyRepositoryConnectionPoolMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.proxy.pool.";
+
+    private static final String TAG_POOL = "pool";
+
+    @Inject
+    private ProxyRepositoryConnectionPoolConfigurationService proxyRepositoryConnectionPoolConfigurationService;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        proxyRepositoryConnectionPoolConfigurationService.addRepositoryPoolListener(p -> bindTo(registry, p));
+    }
+
+    private void bindTo(MeterRegistry registry,
+                        ProxyRepositoryConnectionPool pool)
+    {
+        List<Meter> meters = new ArrayList<>();
+
+        meters.add(Gauge.builder(PREFIX + "leased", pool, ProxyRepositoryConnectionPool::getLeased)
+                        .tag(TAG_POOL, pool.getName())
+                        .description("Connections leased to the requests")
+                        .register(registry));
+
+        meters.add(Gauge.builder(PREFIX + "pending", pool, ProxyRepositoryConnectionPool::getPending)
+                        .tag(TAG_POOL, pool.getName())
+                        .description("Requests waiting for a connection")
+                        .register(registry));
+
+        meters.add(Gauge.builder(PREFIX + "available", pool, ProxyRepositoryConnectionPool::getAvailable)
+                        .tag(TAG_POOL, pool.getName())
+                        .description("Idle connections kept in the pool")
+                        .register(registry));
+
+        meters.add(Gauge.builder(PREFIX + "max", pool, ProxyRepositoryConnectionPool::getMax)
+                        .tag(TAG_POOL, pool.getName())
+                        .register(registry));
+
+        meters.add(FunctionTimer.builder(PREFIX + "lease.wait",
+                                         pool,
+                                         ProxyRepositoryConnectionPool::getLeaseCount,
+                                         p -> p.getLeaseWaitTime(TimeUnit.NANOSECONDS),
+                                         TimeUnit.NANOSECONDS)
+                                .tag(TAG_POOL, pool.getName())
+                                .description("Time spent waiting to lease a connection")
+                                .register(registry));
+
+        pool.addCloseListener(() -> meters.forEach(registry::remove));
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.carlspring.strongbox.actuator;
+
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreaker;
+import org.carlspring.strongbox.storage.repository.remote.heartbeat.RemoteRepositoryCircuitBreakerRegistry;
+
+import javax.inject.Inject;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the {@link RemoteRepositoryCircuitBreaker}s state and transitions,
+ * tagged with the remote repository URL. The state gauge is <code>0</code>
+ * for closed, <code>1</code> for open and <code>2</code> for half-open circuit.
+ */
+@Component
+public class RemoteRepositoryCircuitBreakerMetrics
+        implements MeterBinder
+{
+
+    private static final String PREFIX = "strongbox.remote.circuitBreaker.";
+
+    private static final String TAG_REMOTE = "remote";
+
+    private static final String TAG_STATE = "state";
+
+    @Inject
+    private RemoteRepositoryCircuitBreakerRegistry remoteRepositoryCircuitBreakerRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry)
+    {
+        remoteRepositoryCircuitBreakerRegistry.addCircuitBreakerListener(cb -> bindTo(registry, cb));
+    }
+
+    private void bindTo(MeterRegistry registry,
+                        RemoteRepositoryCircuitBreaker circuitBreaker)
+    {
+        Gauge.builder(PREFIX + "state", circuitBreaker, cb -> cb.getState().ordinal())
+             .tag(TAG_REMOTE, circuitBreaker.getUrl())
+             .description("Circuit state: 0 - closed, 1 - open, 2 - half-open")
+             .register(registry);
+
+        FunctionCounter.builder(PREFIX + "transitions", circuitBreaker, RemoteRepositoryCircuitBreaker::getOpenedCount)
+                       .tag(TAG_REMOTE, circuitBreaker.getUrl())
+                       .tag(TAG_STATE, "open")
+                       .description("Transitions into the state")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "transitions", circuitBreaker, RemoteRepositoryCircuitBreaker::getHalfOpenedCount)
+                       .tag(TAG_REMOTE, circuitBreaker.getUrl())
+                       .tag(TAG_STATE, "half-open")
+                       .description("Transitions into the state")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "transitions", circuitBreaker, RemoteRepositoryCircuitBreaker::getClosedCount)
+                       .tag(TAG_REMOTE, circuitBreaker.getUrl())
+                       .tag(TAG_STATE, "closed")
+                       .description("Transitions into the state")
+                       .register(registry);
+
+        FunctionCounter.builder(PREFIX + "rejected", circuitBreaker, RemoteRepositoryCircuitBreaker::getRejectedCount)
+                       .tag(TAG_REMOTE, circuitBreaker.getUrl())
+                       .description("Remote requests rejected by the open circuit")
+                       .register(registry);
+    }
+
+}
@@ -1,6 +1,10 @@
 package org.carlspring.strongbox.controllers;
 
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransfer;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransferRegistry;
+import org.carlspring.strongbox.resource.ResourceCloser;
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.Storage;
 import org.carlspring.strongbox.storage.repository.Repository;
@@ -9,12 +13,16 @@ import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
+import org.javatuples.Pair;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,6 +39,17 @@ public abstract class BaseArtifactController
     @Inject
     protected ArtifactManagementService artifactManagementService;
 
+    @Inject
+    protected RemoteArtifactTransferRegistry remoteArtifactTransferRegistry;
+
+    /**
+     * Serve the local artifact files with the {@link java.nio.channels.FileChannel} reads, see
+     * {@link #transferToResponse(RepositoryInputStream, RepositoryPath, long, long, HttpServletResponse)}. The
+     * repositories with the checksum verification enabled are always served through the stream.
+     */
+    @Value("${strongbox.artifact.download.fileChannel:true}")
+    protected boolean fileChannelDownload;
+
 
     @ApiOperation(value = "Used to deploy an artifact")
     @ApiResponses(value = { @ApiResponse(code = 200, message = "The artifact was deployed successfully."),
@@ -83,18 +102,38 @@ public abstract class BaseArtifactController
             throws Exception
     {
         logger.debug("Resolved path: " + repositoryPath);
+
+        RemoteArtifactTransfer transfer = repositoryPath == null ? null
+                : remoteArtifactTransferRegistry.lookup(repositoryPath);
+        if (transfer != null)
+        {
+            return provideRemoteArtifactTransferResponse(request, response, repositoryPath, transfer);
+        }
         
         ArtifactControllerHelper.provideArtifactHeaders(response, repositoryPath);
         if (response.getStatus() == HttpStatus.NOT_FOUND.value())
         {
             return false;
         }
+        else if (ArtifactControllerHelper.checkNotModified(request, response, repositoryPath))
+        {
+            return true;
+        }
         else if (request.getMethod().equals(RequestMethod.HEAD.name()))
         {
             return true;
         }
 
-        InputStream is = artifactResolutionService.getInputStream(repositoryPath);
+        RepositoryInputStream is = artifactResolutionService.getInputStream(repositoryPath);
+        if (fileChannelDownload &&
+            !repositoryPath.getRepository().isChecksumVerificationEnabled() &&
+            ArtifactControllerHelper.isLocalFile(repositoryPath))
+        {
+            provideArtifactTransferResponse(is, httpHeaders, response, repositoryPath);
+
+            return true;
+        }
+
         if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
         {
             logger.debug("Detected ranged request.");
@@ -107,4 +146,52 @@ public abstract class BaseArtifactController
         return true;
     }
 
+    private void provideArtifactTransferResponse(RepositoryInputStream is,
+                                                 HttpHeaders httpHeaders,
+                                                 HttpServletResponse response,
+                                                 RepositoryPath repositoryPath)
+            throws IOException
+    {
+        long length = Files.size(repositoryPath);
+        long offset = 0L;
+        long count = length;
+        if (ArtifactControllerHelper.isRangedRequest(httpHeaders))
+        {
+            logger.debug("Detected ranged request.");
+
+            Pair<Long, Long> range = ArtifactControllerHelper.handlePartialTransfer(httpHeaders, length, response);
+            if (range == null)
+            {
+                ResourceCloser.close(is, logger);
+                return;
+            }
+
+            offset = range.getValue0();
+            count = range.getValue1();
+        }
+
+        transferToResponse(is, repositoryPath, offset, count, response);
+    }
+
+    private boolean provideRemoteArtifactTransferResponse(HttpServletRequest request,
+                                                          HttpServletResponse response,
+                                                          RepositoryPath repositoryPath,
+                                                          RemoteArtifactTransfer transfer)
+            throws Exception
+    {
+        logger.debug("Serving [{}] while it's being fetched from remote.", repositoryPath);
+
+        ArtifactControllerHelper.provideRemoteArtifactTransferHeaders(response, repositoryPath, transfer);
+        if (request.getMethod().equals(RequestMethod.HEAD.name()))
+        {
+            return true;
+        }
+
+        // Range requests are ignored here, the whole content is served instead.
+        InputStream is = artifactResolutionService.getInputStream(repositoryPath);
+        copyToResponse(is, response);
+
+        return true;
+    }
+
 }
@@ -6,10 +6,13 @@ import org.carlspring.strongbox.configuration.MutableConfiguration;
 import org.carlspring.strongbox.controllers.support.ErrorResponseEntityBody;
 import org.carlspring.strongbox.controllers.support.ListEntityBody;
 import org.carlspring.strongbox.controllers.support.ResponseEntityBody;
+import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.io.RepositoryStreamSupport.RepositoryInputStream;
 import org.carlspring.strongbox.resource.ResourceCloser;
 import org.carlspring.strongbox.services.ArtifactResolutionService;
 import org.carlspring.strongbox.services.ConfigurationManagementService;
+import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletResponse;
@@ -287,4 +290,35 @@ public abstract class BaseController
         }
     }
 
+    /**
+     * Writes the <code>[offset, offset + count)</code> region of the local file
+     * to the response output stream, see
+     * {@link ArtifactControllerHelper#transferRange(java.nio.file.Path, long, long, OutputStream)}.
+     * The {@link RepositoryInputStream} is only opened and closed around the
+     * transfer, to lock the path and to fire the download events, so it should
+     * not be used if the content should be verified while it's read.
+     */
+    protected void transferToResponse(RepositoryInputStream is,
+                                      RepositoryPath path,
+                                      long offset,
+                                      long count,
+                                      HttpServletResponse response)
+            throws IOException
+    {
+        try
+        {
+            is.open();
+
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, Long.toString(count));
+
+            OutputStream os = response.getOutputStream();
+            ArtifactControllerHelper.transferRange(path, offset, count, os);
+            os.flush();
+        }
+        finally
+        {
+            ResourceCloser.close(is, logger);
+        }
+    }
+
 }
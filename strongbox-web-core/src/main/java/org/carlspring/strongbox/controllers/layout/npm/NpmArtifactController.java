@@ -3,15 +3,14 @@ package org.carlspring.strongbox.controllers.layout.npm;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
-import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +26,7 @@ import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.TeeOutputStream;
 import org.carlspring.strongbox.artifact.ArtifactTag;
 import org.carlspring.strongbox.artifact.coordinates.NpmArtifactCoordinates;
 import org.carlspring.strongbox.config.NpmLayoutProviderConfig.NpmObjectMapper;
@@ -45,6 +45,8 @@ import org.carlspring.strongbox.npm.metadata.Versions;
 import org.carlspring.strongbox.providers.ProviderImplementationException;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.layout.NpmPackageDesc;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache;
+import org.carlspring.strongbox.providers.layout.NpmPackageFeedCache.PackageFeedContent;
 import org.carlspring.strongbox.providers.layout.NpmPackageSupplier;
 import org.carlspring.strongbox.providers.layout.NpmSearchResultSupplier;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
@@ -54,6 +56,7 @@ import org.carlspring.strongbox.repository.NpmRepositoryFeatures.ViewPackageEven
 import org.carlspring.strongbox.services.ArtifactManagementService;
 import org.carlspring.strongbox.storage.repository.Repository;
 import org.carlspring.strongbox.storage.validation.artifact.ArtifactCoordinatesValidationException;
+import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +98,8 @@ public class NpmArtifactController extends BaseArtifactController
 
     private static final String FIELD_NAME_VERSION = "versions";
 
+    private static final int PACKAGE_HEAD_SIZE = 128 * 1024;
+
     private static final Logger logger = LoggerFactory.getLogger(NpmArtifactController.class);
 
     public final static String ROOT_CONTEXT = "/storages";
@@ -120,6 +125,9 @@ public class NpmArtifactController extends BaseArtifactController
     
     @Inject
     private SearchPackagesEventListener searcPackagesEventListener;
+
+    @Inject
+    private NpmPackageFeedCache npmPackageFeedCache;
     
     @GetMapping(path = { "{storageId}/{repositoryId}/npm" })
     public ResponseEntity<String> greet()
@@ -219,6 +227,7 @@ public class NpmArtifactController extends BaseArtifactController
                                          @PathVariable(name = "repositoryId") String repositoryId,
                                          @PathVariable(name = "packageScope") String packageScope,
                                          @PathVariable(name = "packageName") String packageName,
+                                         HttpServletRequest request,
                                          HttpServletResponse response)
         throws Exception
     {
@@ -230,6 +239,26 @@ public class NpmArtifactController extends BaseArtifactController
         
         Repository repository = getRepository(storageId, repositoryId);
 
+        PackageFeedContent packageFeedContent = npmPackageFeedCache.get(repository, packageId, () -> {
+            PackageFeed packageFeed = createPackageFeed(repository, packageScope, packageName);
+
+            return npmJacksonMapper.writeValueAsBytes(packageFeed);
+        });
+        if (ArtifactControllerHelper.checkNotModified(request, response, packageFeedContent.getStamp()))
+        {
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON);
+        response.getOutputStream().write(packageFeedContent.getContent());
+    }
+
+    private PackageFeed createPackageFeed(Repository repository,
+                                          String packageScope,
+                                          String packageName)
+    {
+        String packageId = NpmArtifactCoordinates.calculatePackageId(packageScope, packageName);
+
         PackageFeed packageFeed = new PackageFeed();
 
         packageFeed.setName(packageId);
@@ -242,7 +271,8 @@ public class NpmArtifactController extends BaseArtifactController
         Paginator paginator = new Paginator();
         paginator.setProperty("version");
 
-        List<Path> searchResult = provider.search(storageId, repositoryId, predicate, paginator);
+        List<Path> searchResult = provider.search(repository.getStorage().getId(), repository.getId(), predicate,
+                                                  paginator);
 
         Versions versions = new Versions();
         packageFeed.setVersions(versions);
@@ -273,8 +303,7 @@ public class NpmArtifactController extends BaseArtifactController
 
         });
 
-        response.setContentType(MediaType.APPLICATION_JSON);
-        response.getOutputStream().write(npmJacksonMapper.writeValueAsBytes(packageFeed));
+        return packageFeed;
     }
 
     @GetMapping(path = "{storageId}/{repositoryId}/{packageName}")
@@ -282,10 +311,11 @@ public class NpmArtifactController extends BaseArtifactController
     public void viewPackageFeed(@PathVariable(name = "storageId") String storageId,
                                 @PathVariable(name = "repositoryId") String repositoryId,
                                 @PathVariable(name = "packageName") String packageName,
+                                HttpServletRequest request,
                                 HttpServletResponse response)
         throws Exception
     {
-        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, response);
+        viewPackageFeedWithScope(storageId, repositoryId, null, packageName, request, response);
     }
 
     private Predicate createSearchPredicate(String packageScope,
@@ -372,10 +402,13 @@ public class NpmArtifactController extends BaseArtifactController
     {
         logger.info(String.format("npm publish request for [%s]/[%s]/[%s]", storageId,
                                   repositoryId, name));
-        Pair<PackageVersion, Path> packageEntry;
+
+        Repository repository = getRepository(storageId, repositoryId);
+
+        Pair<PackageVersion, RepositoryPath> packageEntry;
         try
         {
-            packageEntry = extractPackage(name, request.getInputStream());
+            packageEntry = storePackage(repository, name, request.getInputStream());
         }
         catch (IllegalArgumentException e)
         {
@@ -383,39 +416,17 @@ public class NpmArtifactController extends BaseArtifactController
             return ResponseEntity.badRequest().build();
         }
 
-        PackageVersion packageJson = packageEntry.getValue0();
-        Path packageTgz = packageEntry.getValue1();
-
-        Repository repository = getRepository(storageId, repositoryId);
-        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(name, packageJson.getVersion());
-
-        storeNpmPackage(repository, coordinates, packageJson, packageTgz);
+        storeNpmPackageMetadata(packageEntry.getValue0(), packageEntry.getValue1());
 
         return ResponseEntity.ok("");
     }
 
-    private void storeNpmPackage(Repository repository,
-                                 NpmArtifactCoordinates coordinates,
-                                 PackageVersion packageDef,
-                                 Path packageTgzTmp)
+    private void storeNpmPackageMetadata(PackageVersion packageDef,
+                                         RepositoryPath repositoryPath)
         throws IOException,
                ProviderImplementationException,
-               NoSuchAlgorithmException,
                ArtifactCoordinatesValidationException
     {
-        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, coordinates);
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
-        {
-            npmArtifactManagementService.validateAndStore(repositoryPath, is);
-        }
-
-        Path packageJsonTmp = extractPackageJson(packageTgzTmp);
-        RepositoryPath packageJsonPath = repositoryPathResolver.resolve(repository, repositoryPath.resolveSibling("package.json"));
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(packageJsonTmp)))
-        {
-            npmArtifactManagementService.validateAndStore(packageJsonPath, is);
-        }
-
         String shasum = Optional.ofNullable(packageDef.getDist()).map(p -> p.getShasum()).orElse(null);
         if (shasum == null)
         {
@@ -427,24 +438,31 @@ public class NpmArtifactController extends BaseArtifactController
         RepositoryPath checksumPath = repositoryPath.resolveSibling(packageFileName + ".sha1");
         npmArtifactManagementService.validateAndStore(checksumPath,
                                                       new ByteArrayInputStream(shasum.getBytes("UTF-8")));
-
-        Files.delete(packageTgzTmp);
-        Files.delete(packageJsonTmp);
     }
 
-    private Pair<PackageVersion, Path> extractPackage(String packageName,
-                                                      ServletInputStream in)
-        throws IOException
+    /**
+     * Stores the package tarball and its <code>package.json</code> in a single
+     * pass over the request, the Base64 encoded tarball is decoded into the
+     * temporary file, while the <code>package.json</code> is captured from the
+     * tarball head.
+     * <br>
+     * The tarball is staged, as its declared length follows the content in the
+     * request, and the tarball is stored only once the decoded length matches,
+     * so that the invalid package never replaces the published one.
+     */
+    private Pair<PackageVersion, RepositoryPath> storePackage(Repository repository,
+                                                              String packageName,
+                                                              ServletInputStream in)
+        throws IOException,
+               ProviderImplementationException,
+               ArtifactCoordinatesValidationException
     {
-        Path packageSourceTmp = Files.createTempFile("package", "source");
-        Files.copy(in, packageSourceTmp, StandardCopyOption.REPLACE_EXISTING);
-
         PackageVersion packageVersion = null;
-        Path packageTgzPath = null;
+        Path packageTgzTmp = null;
+        PackageHeadOutputStream packageHead = new PackageHeadOutputStream();
 
         JsonFactory jfactory = new JsonFactory();
-        try (InputStream tmpIn = new BufferedInputStream(Files.newInputStream(packageSourceTmp));
-             JsonParser jp = jfactory.createParser(tmpIn);)
+        try (JsonParser jp = jfactory.createParser(in))
         {
             jp.setCodec(npmJacksonMapper);
 
@@ -478,7 +496,7 @@ public class NpmArtifactController extends BaseArtifactController
                     logger.info(String.format("Found npm package attachment [%s]", packageAttachmentName));
 
                     moveToAttachment(jp, packageAttachmentName);
-                    packageTgzPath = extractPackage(jp);
+                    packageTgzTmp = extractPackage(jp, packageHead);
 
                     jp.nextToken();
                     jp.nextToken();
@@ -486,52 +504,129 @@ public class NpmArtifactController extends BaseArtifactController
                     break;
                 }
             }
+
+            if (packageVersion == null || packageTgzTmp == null)
+            {
+                throw new IllegalArgumentException(
+                        String.format("Failed to parse npm package source for [%s], attachment not found", packageName));
+            }
+
+            RepositoryPath packageTgzPath = storePackageTgz(repository, packageName, packageVersion, packageTgzTmp,
+                                                            packageHead);
+
+            return Pair.with(packageVersion, packageTgzPath);
         }
+        finally
+        {
+            if (packageTgzTmp != null)
+            {
+                Files.deleteIfExists(packageTgzTmp);
+            }
+        }
+    }
 
-        Files.delete(packageSourceTmp);
+    private RepositoryPath storePackageTgz(Repository repository,
+                                           String packageName,
+                                           PackageVersion packageVersion,
+                                           Path packageTgzTmp,
+                                           PackageHeadOutputStream packageHead)
+        throws IOException,
+               ProviderImplementationException,
+               ArtifactCoordinatesValidationException
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of(packageName, packageVersion.getVersion());
+        RepositoryPath repositoryPath = repositoryPathResolver.resolve(repository, coordinates);
 
-        if (packageVersion == null || packageTgzPath == null)
+        try (InputStream is = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
         {
-            throw new IllegalArgumentException(
-                    String.format("Failed to parse npm package source for [%s], attachment not found", packageName));
+            npmArtifactManagementService.validateAndStore(repositoryPath, os -> IOUtils.copyLarge(is, os));
         }
 
-        return Pair.with(packageVersion, packageTgzPath);
+        storePackageJson(repositoryPath, packageHead);
+
+        return repositoryPath;
+    }
+
+    private void storePackageJson(RepositoryPath repositoryPath,
+                                  PackageHeadOutputStream packageHead)
+        throws IOException,
+               ProviderImplementationException,
+               ArtifactCoordinatesValidationException
+    {
+        String packageJsonSource = extractPackageJson(repositoryPath, packageHead);
+
+        RepositoryPath packageJsonPath = repositoryPathResolver.resolve(repositoryPath.getRepository(),
+                                                                        repositoryPath.resolveSibling("package.json"));
+        npmArtifactManagementService.validateAndStore(packageJsonPath,
+                                                      new ByteArrayInputStream(packageJsonSource.getBytes("UTF-8")));
     }
 
-    private Path extractPackage(JsonParser jp)
+    private String extractPackageJson(RepositoryPath repositoryPath,
+                                      PackageHeadOutputStream packageHead)
         throws IOException
     {
-        Path packageTgzTmp = Files.createTempFile("package", "tgz");
-        try (OutputStream packageTgzOut = new BufferedOutputStream(Files.newOutputStream(packageTgzTmp,
-                                                                                         StandardOpenOption.TRUNCATE_EXISTING)))
+        try (InputStream in = new ByteArrayInputStream(packageHead.toByteArray()))
         {
-            jp.readBinaryValue(packageTgzOut);
+            String result = extrectPackageJson(in);
+            if (result != null || !packageHead.isTruncated())
+            {
+                return result;
+            }
+        }
+        catch (IOException e)
+        {
+            if (!packageHead.isTruncated())
+            {
+                throw e;
+            }
         }
 
-        long packageSize = Files.size(packageTgzTmp);
+        logger.debug(String.format("No package.json found within the package head, read the whole [%s].",
+                                   repositoryPath));
 
-        Assert.isTrue(FIELD_NAME_LENGTH.equals(jp.nextFieldName()), "Failed to validate package content length.");
-        jp.nextToken();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(repositoryPath)))
+        {
+            return extrectPackageJson(in);
+        }
+    }
 
-        Assert.isTrue(packageSize == jp.getLongValue(), "Invalid package content length.");
-        jp.nextToken();
+    /**
+     * @return the temporary file with the decoded tarball of the validated
+     *         length, which should be deleted by the caller
+     */
+    private Path extractPackage(JsonParser jp,
+                                PackageHeadOutputStream packageHead)
+        throws IOException
+    {
+        Path packageTgzTmp = Files.createTempFile("package", "tgz");
+        try
+        {
+            try (OutputStream packageTgzOut = new BufferedOutputStream(Files.newOutputStream(packageTgzTmp,
+                                                                                             StandardOpenOption.TRUNCATE_EXISTING)))
+            {
+                jp.readBinaryValue(new TeeOutputStream(packageTgzOut, packageHead));
+            }
+
+            validatePackageLength(jp, Files.size(packageTgzTmp));
+        }
+        catch (IOException | RuntimeException e)
+        {
+            Files.deleteIfExists(packageTgzTmp);
+            throw e;
+        }
 
         return packageTgzTmp;
     }
 
-    private Path extractPackageJson(Path packageTgzTmp)
+    private void validatePackageLength(JsonParser jp,
+                                       long packageSize)
         throws IOException
     {
-        String packageJsonSource;
-        try (InputStream packageTgzIn = new BufferedInputStream(Files.newInputStream(packageTgzTmp)))
-        {
-            packageJsonSource = extrectPackageJson(packageTgzIn);
-        }
-        Path packageJsonTmp = Files.createTempFile("package", "json");
-        Files.write(packageJsonTmp, packageJsonSource.getBytes("UTF-8"), StandardOpenOption.TRUNCATE_EXISTING);
+        Assert.isTrue(FIELD_NAME_LENGTH.equals(jp.nextFieldName()), "Failed to validate package content length.");
+        jp.nextToken();
 
-        return packageJsonTmp;
+        Assert.isTrue(packageSize == jp.getLongValue(), "Invalid package content length.");
+        jp.nextToken();
     }
 
     private void moveToAttachment(JsonParser jp,
@@ -598,5 +693,49 @@ public class NpmArtifactController extends BaseArtifactController
             return null;
         }
     }
-    
+
+    /**
+     * Keeps the head of the package tarball, which is enough to extract the
+     * <code>package.json</code> in most cases, as <code>npm pack</code> puts
+     * it first.
+     */
+    private static class PackageHeadOutputStream extends ByteArrayOutputStream
+    {
+
+        private boolean truncated;
+
+        @Override
+        public synchronized void write(int b)
+        {
+            if (count >= PACKAGE_HEAD_SIZE)
+            {
+                truncated = true;
+                return;
+            }
+
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] b,
+                                       int off,
+                                       int len)
+        {
+            int available = PACKAGE_HEAD_SIZE - count;
+            if (len > available)
+            {
+                truncated = true;
+                len = available;
+            }
+
+            super.write(b, off, len);
+        }
+
+        public boolean isTruncated()
+        {
+            return truncated;
+        }
+
+    }
+
 }
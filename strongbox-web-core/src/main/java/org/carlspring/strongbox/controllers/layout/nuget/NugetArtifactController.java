@@ -14,6 +14,7 @@ import org.carlspring.strongbox.nuget.NugetSearchRequest;
 import org.carlspring.strongbox.nuget.filter.NugetODataFilterQueryParser;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
 import org.carlspring.strongbox.providers.io.RepositoryPathResolver;
+import org.carlspring.strongbox.providers.repository.RepositoryContentStamps;
 import org.carlspring.strongbox.providers.repository.RepositoryProvider;
 import org.carlspring.strongbox.providers.repository.RepositoryProviderRegistry;
 import org.carlspring.strongbox.repository.NugetRepositoryFeatures.RepositorySearchEventListener;
@@ -28,6 +29,7 @@ import org.carlspring.strongbox.storage.metadata.nuget.rss.EntryProperties;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageEntry;
 import org.carlspring.strongbox.storage.metadata.nuget.rss.PackageFeed;
 import org.carlspring.strongbox.storage.repository.Repository;
+import org.carlspring.strongbox.utils.ArtifactControllerHelper;
 
 import javax.inject.Inject;
 import javax.servlet.ServletInputStream;
@@ -96,6 +98,9 @@ public class NugetArtifactController extends BaseArtifactController
     @Inject
     private RepositoryPathResolver repositoryPathResolver;
 
+    @Inject
+    private RepositoryContentStamps repositoryContentStamps;
+
 
     @DeleteMapping(path = { "{storageId}/{repositoryId}/{packageId}/{version}" })
     @PreAuthorize("hasAuthority('ARTIFACTS_DEPLOY')")
@@ -173,9 +178,16 @@ public class NugetArtifactController extends BaseArtifactController
         nugetSearchRequest.setTargetFramework(targetFramework);
         repositorySearchEventListener.setNugetSearchRequest(nugetSearchRequest);
         
-        String feedId = getFeedUri(((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(),
-                                   storageId,
-                                   repositoryId);
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        if (ArtifactControllerHelper.checkNotModified(request,
+                                                      response,
+                                                      repositoryContentStamps.getStamp(getRepository(storageId,
+                                                                                                     repositoryId))))
+        {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
+        String feedId = getFeedUri(request, storageId, repositoryId);
 
         Collection<? extends Nupkg> files;
         files = getPackages(storageId,
@@ -283,6 +295,13 @@ public class NugetArtifactController extends BaseArtifactController
         repositorySearchEventListener.setNugetSearchRequest(nugetSearchRequest);
         
         Repository repository = getRepository(storageId, repositoryId);
+
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        if (ArtifactControllerHelper.checkNotModified(request, response, repositoryContentStamps.getStamp(repository)))
+        {
+            return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+        }
+
         RepositoryProvider provider = repositoryProviderRegistry.getProvider(repository.getType());
 
         Paginator paginator = new Paginator();
@@ -292,9 +311,7 @@ public class NugetArtifactController extends BaseArtifactController
 
         Collection<? extends Nupkg> files = searchNupkg(storageId, repositoryId, provider, paginator, predicate);
 
-        String feedId = getFeedUri(((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest(),
-                                   storageId,
-                                   repositoryId);
+        String feedId = getFeedUri(request, storageId, repositoryId);
 
         PackageFeed feed = transform(feedId, files);
 
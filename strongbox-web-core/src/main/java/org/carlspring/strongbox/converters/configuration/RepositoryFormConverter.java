@@ -33,6 +33,7 @@ public enum RepositoryFormConverter
         result.setAllowsDelete(source.isAllowsDelete());
         result.setAllowsDirectoryBrowsing(source.isAllowsDirectoryBrowsing());
         result.setChecksumHeadersEnabled(source.isChecksumHeadersEnabled());
+        result.setChecksumVerificationEnabled(source.isChecksumVerificationEnabled());
         if (source.getRepositoryConfiguration() != null)
         {
             result.setRepositoryConfiguration(
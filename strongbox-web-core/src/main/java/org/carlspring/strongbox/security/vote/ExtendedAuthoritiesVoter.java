@@ -6,7 +6,6 @@ import java.util.List;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.carlspring.strongbox.controllers.layout.maven.MavenArtifactController;
-import org.carlspring.strongbox.users.domain.AccessModel;
 import org.carlspring.strongbox.users.dto.UserAccessModelReadContract;
 import org.carlspring.strongbox.users.userdetails.SpringSecurityUser;
 import org.carlspring.strongbox.utils.UrlUtils;
@@ -46,6 +45,8 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
 
         private Authentication source;
 
+        private Collection<? extends GrantedAuthority> extendedAuthorities;
+
         public ExtendedAuthorityAuthentication(Authentication target)
         {
             super();
@@ -98,7 +99,8 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
             }
 
             // assign privileges based on custom user access model
-            final Collection<String> customAuthorities = AccessModel.getPathPrivileges(accessModel, UrlUtils.getRequestUri());
+            final Collection<String> customAuthorities = userDetails.getPathPrivilegesTrie()
+                                                                    .getPathPrivileges(requestUri);
             if (customAuthorities == null || customAuthorities.isEmpty())
             {
                 return authorities;
@@ -119,7 +121,13 @@ public class ExtendedAuthoritiesVoter extends PreInvocationAuthorizationAdviceVo
 
         public Collection<? extends GrantedAuthority> getAuthorities()
         {
-            return calculateExtendedAuthorities(getSourceAuthentication());
+            // The authorities are requested several times per vote.
+            if (extendedAuthorities == null)
+            {
+                extendedAuthorities = calculateExtendedAuthorities(getSourceAuthentication());
+            }
+
+            return extendedAuthorities;
         }
 
         public Object getCredentials()
@@ -3,26 +3,38 @@ package org.carlspring.strongbox.utils;
 import org.carlspring.commons.http.range.ByteRange;
 import org.carlspring.commons.http.range.ByteRangeHeaderParser;
 import org.carlspring.strongbox.io.ByteRangeInputStream;
+import org.carlspring.strongbox.io.LayoutInputStream;
 import org.carlspring.strongbox.io.StreamUtils;
 import org.carlspring.strongbox.providers.io.RepositoryFileAttributes;
 import org.carlspring.strongbox.providers.io.RepositoryFiles;
 import org.carlspring.strongbox.providers.io.RepositoryPath;
+import org.carlspring.strongbox.providers.repository.proxied.RemoteArtifactTransfer;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.javatuples.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
 import static org.springframework.http.HttpStatus.PARTIAL_CONTENT;
 import static org.springframework.http.HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
 
@@ -31,6 +43,12 @@ public class ArtifactControllerHelper
 
     public static final String HEADER_NAME_RANGE = "Range";
 
+    /**
+     * The size of the buffer the file region is copied through, see
+     * {@link #transferRange(Path, long, long, OutputStream)}.
+     */
+    private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
     private static final Logger logger = LoggerFactory.getLogger(ArtifactControllerHelper.class);
 
 
@@ -64,22 +82,17 @@ public class ArtifactControllerHelper
     {
         ByteRangeInputStream bris = StreamUtils.findSource(ByteRangeInputStream.class, (FilterInputStream)is);
         long length = StreamUtils.getLength(bris);
-        if (byteRange.getOffset() < length)
+        if (providePartialContentHeaders(byteRange, length, response) >= 0L)
         {
-            long partialLength = calculatePartialRangeLength(byteRange, length);
-
-            logger.debug("Calculated partial range length ->>> " + partialLength + "\n");
+            // The range is not the whole artifact, so its digests are not the artifact checksums to verify.
+            LayoutInputStream lis = is instanceof LayoutInputStream ? (LayoutInputStream) is
+                    : StreamUtils.findSource(LayoutInputStream.class, is);
+            if (lis != null)
+            {
+                lis.markPartialContent();
+            }
 
             StreamUtils.setCurrentByteRange(bris, byteRange);
-
-            response.setHeader("Content-Length", partialLength + "");
-            response.setStatus(PARTIAL_CONTENT.value());
-
-            prepareResponseBuilderForPartialRequest(byteRange, length, response);
-        }
-        else
-        {
-            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
         }
     }
 
@@ -92,6 +105,114 @@ public class ArtifactControllerHelper
         response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
     }
 
+    /**
+     * Does the same as {@link #handlePartialDownload(InputStream, HttpHeaders, HttpServletResponse)}, but for the
+     * content which is transferred bypassing the stream, see {@link #transferRange(Path, long, long, OutputStream)}.
+     *
+     * @return the offset and the length of the content to transfer, or <code>null</code> if the range is not
+     *         satisfiable
+     */
+    public static Pair<Long, Long> handlePartialTransfer(HttpHeaders headers,
+                                                         long length,
+                                                         HttpServletResponse response)
+            throws IOException
+    {
+        ByteRangeHeaderParser parser = new ByteRangeHeaderParser(headers.getFirst(HEADER_NAME_RANGE));
+        List<ByteRange> ranges = parser.getRanges();
+        if (ranges.size() != 1)
+        {
+            logger.debug("Received request for a partial download with multiple ranges.");
+            handlePartialDownloadWithMultipleRanges(null, ranges, response);
+
+            return null;
+        }
+
+        ByteRange byteRange = (ByteRange) ranges.get(0);
+        long count = providePartialContentHeaders(byteRange, length, response);
+
+        return count < 0L ? null : Pair.with(byteRange.getOffset(), count);
+    }
+
+    /**
+     * Sets the status and the headers of the single range response. The content is served from the range offset to
+     * the end of the artifact, as the <code>Content-Range</code> header tells.
+     *
+     * @return the length of the content to serve, or <code>-1</code> if the range is not satisfiable
+     */
+    private static long providePartialContentHeaders(ByteRange byteRange,
+                                                     long length,
+                                                     HttpServletResponse response)
+    {
+        if (byteRange.getOffset() >= length)
+        {
+            response.setStatus(REQUESTED_RANGE_NOT_SATISFIABLE.value());
+
+            return -1L;
+        }
+
+        long partialLength = length - byteRange.getOffset();
+
+        logger.debug("Calculated partial range length ->>> " + partialLength + "\n");
+
+        response.setHeader("Content-Length", partialLength + "");
+        response.setStatus(PARTIAL_CONTENT.value());
+
+        prepareResponseBuilderForPartialRequest(byteRange, length, response);
+
+        return partialLength;
+    }
+
+    /**
+     * Writes the <code>[offset, offset + count)</code> region of the local file, read with the positional
+     * {@link FileChannel} reads, through a single buffer and without flushing each chunk. It's not a zero-copy
+     * transfer (the bytes still go through the servlet output), it only bypasses the digesting and buffering
+     * {@link InputStream} chain of the regular download.
+     */
+    public static void transferRange(Path path,
+                                     long offset,
+                                     long count,
+                                     OutputStream os)
+            throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(1L, Math.min(TRANSFER_BUFFER_SIZE, count)));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long end = offset + count;
+            for (long position = offset; position < end; )
+            {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+
+                int read = channel.read(buffer, position);
+                if (read < 0)
+                {
+                    throw new EOFException(String.format("Unexpected end of [%s] at [%s].", path, position));
+                }
+
+                os.write(buffer.array(), 0, read);
+                position += read;
+            }
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the path is the file of the local file
+     *         system, which can be transferred with the {@link java.nio.channels.FileChannel}
+     */
+    public static boolean isLocalFile(RepositoryPath path)
+    {
+        try
+        {
+            path.toFile();
+        }
+        catch (UnsupportedOperationException e)
+        {
+            return false;
+        }
+
+        return true;
+    }
+
     public static long calculatePartialRangeLength(ByteRange byteRange,
                                                    long length)
     {
@@ -155,6 +276,83 @@ public class ArtifactControllerHelper
         response.setHeader("Last-Modified", DateTimeFormatter.RFC_1123_DATE_TIME.format(
                 ZonedDateTime.ofInstant(fileAttributes.lastModifiedTime().toInstant(), ZoneId.systemDefault())));
 
+        provideContentType(response, path);
+
+        response.setHeader("Accept-Ranges", "bytes");
+
+        // The checksums are resolved without reading the checksum files once they are cached.
+        path.getFileSystem().provider().resolveChecksums(path, fileAttributes).forEach((digestAlgorithm, checksum) -> {
+            String checksumName = String.format("Checksum-%s",
+                                                digestAlgorithm.toUpperCase().replaceAll("-", ""));
+            response.setHeader(checksumName, checksum);
+
+            if (MessageDigestAlgorithms.SHA_1.equalsIgnoreCase(digestAlgorithm))
+            {
+                response.setHeader(HttpHeaders.ETAG, String.format("\"%s\"", checksum));
+            }
+        });
+    }
+
+    /**
+     * Checks the <code>If-None-Match</code> and <code>If-Modified-Since</code>
+     * request headers against the artifact headers (see
+     * {@link #provideArtifactHeaders(HttpServletResponse, RepositoryPath)}),
+     * and sets the <code>304 Not Modified</code> status if the client already
+     * has the actual artifact.
+     *
+     * @return <code>true</code> if the artifact content should not be sent
+     */
+    public static boolean checkNotModified(HttpServletRequest request,
+                                           HttpServletResponse response,
+                                           RepositoryPath path)
+        throws IOException
+    {
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+
+        return new ServletWebRequest(request, response).checkNotModified(response.getHeader(HttpHeaders.ETAG),
+                                                                         lastModified);
+    }
+
+    /**
+     * Does the same as {@link #checkNotModified(HttpServletRequest, HttpServletResponse, RepositoryPath)}, but for
+     * the dynamically generated content, which is identified by the (weak) <code>ETag</code> only.
+     *
+     * @param stamp the version stamp of the content, or <code>null</code> if the content can't be identified
+     */
+    public static boolean checkNotModified(HttpServletRequest request,
+                                           HttpServletResponse response,
+                                           String stamp)
+    {
+        if (stamp == null)
+        {
+            return false;
+        }
+
+        return new ServletWebRequest(request, response).checkNotModified(String.format("W/\"%s\"", stamp));
+    }
+
+    /**
+     * Provides the headers for the artifact which is being fetched from remote
+     * ("tee-through" mode), it's not stored yet so the range requests are not
+     * supported.
+     */
+    public static void provideRemoteArtifactTransferHeaders(HttpServletResponse response,
+                                                            RepositoryPath path,
+                                                            RemoteArtifactTransfer transfer)
+        throws IOException
+    {
+        if (transfer.getContentLength() >= 0)
+        {
+            response.setHeader("Content-Length", String.valueOf(transfer.getContentLength()));
+        }
+
+        provideContentType(response, path);
+    }
+
+    private static void provideContentType(HttpServletResponse response,
+                                           RepositoryPath path)
+        throws IOException
+    {
         // TODO: This is far from optimal and will need to have a content type approach at some point:
         if (RepositoryFiles.isChecksum(path) || (path.getFileName().toString().endsWith(".properties")))
         {
@@ -172,25 +370,6 @@ public class ArtifactControllerHelper
         {
             response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
         }
-
-        response.setHeader("Accept-Ranges", "bytes");
-
-        path.getFileSystem().provider().resolveChecksumPathMap(path).entrySet().stream().forEach(e -> {
-            String checksumValue;
-            try
-            {
-                checksumValue = new String(Files.readAllBytes(e.getValue()), "UTF-8").trim();
-            }
-            catch (IOException ioe)
-            {
-                return;
-            }
-            String checksumName = String.format("Checksum-%s",
-                                                e.getKey().toUpperCase().replaceAll("-", ""));
-            response.setHeader(checksumName,
-                               checksumValue);
-        });
-        
     }
 
 }
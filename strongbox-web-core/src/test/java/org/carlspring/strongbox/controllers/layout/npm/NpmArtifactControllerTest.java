@@ -10,8 +10,10 @@ import org.carlspring.strongbox.storage.repository.NpmRepositoryFactory;
 import org.carlspring.strongbox.storage.repository.RepositoryPolicyEnum;
 
 import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -23,6 +25,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.hasKey;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @IntegrationTest
 public class NpmArtifactControllerTest
@@ -157,4 +163,124 @@ public class NpmArtifactControllerTest
                .header("Content-Length", equalTo(String.valueOf(Files.size(packagePath))));
     }
 
+    @Test
+    public void testPublishWithInvalidLength()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-length", "1.0.0");
+        NpmPackageGenerator generator = stagingPackageGenerator();
+        Path publishJsonPath = generator.of(coordinates).buildPublishJson();
+        long packageSize = Files.size(generator.getPackagePath());
+
+        String publishJson = new String(Files.readAllBytes(publishJsonPath), StandardCharsets.UTF_8);
+        publishJson = publishJson.replace("\"length\":" + packageSize, "\"length\":" + (packageSize + 1));
+
+        given().header("User-Agent", "npm/*")
+               .header("Content-Type", "application/json")
+               .body(publishJson.getBytes(StandardCharsets.UTF_8))
+               .when()
+               .put(contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                    coordinates.getId())
+               .peek()
+               .then()
+               .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        assertFalse(Files.exists(getRepositoryPath(coordinates)));
+    }
+
+    @Test
+    public void testRepublishPackage()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-republish", "1.0.0");
+        publish(coordinates);
+
+        // The new package content of the same version.
+        byte[] packageContent = Files.readAllBytes(publish(coordinates).getPackagePath());
+
+        given().header("User-Agent", "npm/*")
+               .when()
+               .get(contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                    coordinates.toResource())
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header("Content-Length", equalTo(String.valueOf(packageContent.length)));
+
+        assertArrayEquals(packageContent, Files.readAllBytes(getRepositoryPath(coordinates)));
+    }
+
+    @Test
+    public void testViewPackageFeedAfterPublish()
+        throws Exception
+    {
+        NpmArtifactCoordinates coordinates = NpmArtifactCoordinates.of("@carlspring/npm-test-feed", "1.0.0");
+        publish(coordinates);
+
+        String url = contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" + coordinates.getId();
+
+        String etag = given().header("User-Agent", "npm/*")
+                             .when()
+                             .get(url)
+                             .then()
+                             .statusCode(HttpStatus.OK.value())
+                             .body("versions", hasKey("1.0.0"))
+                             .body("versions", not(hasKey("1.0.1")))
+                             .extract()
+                             .header("ETag");
+
+        // The cached packument
+        given().header("User-Agent", "npm/*")
+               .header("If-None-Match", etag)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        publish(NpmArtifactCoordinates.of(coordinates.getId(), "1.0.1"));
+
+        // The packument is rebuilt with the published version
+        given().header("User-Agent", "npm/*")
+               .header("If-None-Match", etag)
+               .when()
+               .get(url)
+               .then()
+               .statusCode(HttpStatus.OK.value())
+               .header("ETag", not(equalTo(etag)))
+               .body("versions", hasKey("1.0.0"))
+               .body("versions", hasKey("1.0.1"));
+    }
+
+    private Path getRepositoryPath(NpmArtifactCoordinates coordinates)
+    {
+        return Paths.get(getRepositoryBasedir(STORAGE0, REPOSITORY_RELEASES).getAbsolutePath(),
+                         coordinates.toPath());
+    }
+
+    /**
+     * The packages are generated outside of the repository, so that only the published ones are stored there.
+     */
+    private NpmPackageGenerator stagingPackageGenerator()
+        throws Exception
+    {
+        return new NpmPackageGenerator(Files.createTempDirectory("npm-publish").toString());
+    }
+
+    private NpmPackageGenerator publish(NpmArtifactCoordinates coordinates)
+        throws Exception
+    {
+        NpmPackageGenerator generator = stagingPackageGenerator();
+        Path publishJsonPath = generator.of(coordinates).buildPublishJson();
+
+        given().header("User-Agent", "npm/*")
+               .header("Content-Type", "application/json")
+               .body(Files.readAllBytes(publishJsonPath))
+               .when()
+               .put(contextBaseUrl + "/storages/" + STORAGE0 + "/" + REPOSITORY_RELEASES + "/" +
+                    coordinates.getId())
+               .then()
+               .statusCode(HttpStatus.OK.value());
+
+        return generator;
+    }
+
 }
@@ -0,0 +1,41 @@
+package org.carlspring.strongbox.converters.configuration;
+
+import org.carlspring.strongbox.forms.configuration.RepositoryForm;
+import org.carlspring.strongbox.storage.repository.ImmutableRepository;
+import org.carlspring.strongbox.storage.repository.MutableRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RepositoryFormConverterTest
+{
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void testChecksumVerificationEnabledConverted()
+            throws Exception
+    {
+        RepositoryForm form = objectMapper.readValue("{\"id\":\"releases\",\"checksumVerificationEnabled\":true}",
+                                                     RepositoryForm.class);
+        assertTrue(form.isChecksumVerificationEnabled());
+
+        MutableRepository repository = RepositoryFormConverter.INSTANCE.convert(form);
+        assertTrue(repository.isChecksumVerificationEnabled());
+        assertTrue(new ImmutableRepository(repository).isChecksumVerificationEnabled());
+    }
+
+    @Test
+    public void testChecksumVerificationDisabledByDefault()
+            throws Exception
+    {
+        RepositoryForm form = objectMapper.readValue("{\"id\":\"releases\"}", RepositoryForm.class);
+
+        MutableRepository repository = RepositoryFormConverter.INSTANCE.convert(form);
+        assertFalse(repository.isChecksumVerificationEnabled());
+        assertFalse(new ImmutableRepository(repository).isChecksumVerificationEnabled());
+    }
+
+}
@@ -0,0 +1,115 @@
+package org.carlspring.strongbox.utils;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.javatuples.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ArtifactControllerHelperTest
+{
+
+    private static final Path ARTIFACT = Paths.get("target/artifact-controller-helper/transfer-1.0.jar")
+                                              .toAbsolutePath();
+
+    private byte[] content;
+
+    @BeforeEach
+    public void setUp()
+            throws Exception
+    {
+        // Larger than the transfer buffer, so that the region is copied in several chunks.
+        content = new byte[200 * 1024 + 17];
+        new Random(42).nextBytes(content);
+
+        Files.createDirectories(ARTIFACT.getParent());
+        Files.write(ARTIFACT, content);
+    }
+
+    @Test
+    public void transferRangeShouldWriteTheWholeFile()
+            throws Exception
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ArtifactControllerHelper.transferRange(ARTIFACT, 0L, content.length, os);
+
+        assertArrayEquals(content, os.toByteArray());
+    }
+
+    @Test
+    public void transferRangeShouldWriteTheRegion()
+            throws Exception
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ArtifactControllerHelper.transferRange(ARTIFACT, 1000L, 70 * 1024, os);
+
+        assertArrayEquals(Arrays.copyOfRange(content, 1000, 1000 + 70 * 1024), os.toByteArray());
+    }
+
+    @Test
+    public void transferRangeShouldFailOnTruncatedFile()
+    {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        assertThrows(EOFException.class,
+                     () -> ArtifactControllerHelper.transferRange(ARTIFACT, 0L, content.length + 1L, os));
+    }
+
+    @Test
+    public void partialTransferShouldServeTheTailFromTheOffset()
+            throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Pair<Long, Long> range = ArtifactControllerHelper.handlePartialTransfer(rangeHeaders("bytes=100-"), 1000L,
+                                                                                response);
+
+        assertEquals(Pair.with(100L, 900L), range);
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("900", response.getHeader("Content-Length"));
+        assertEquals("bytes 100-999/1000", response.getHeader("Content-Range"));
+    }
+
+    @Test
+    public void partialTransferShouldRejectTheRangeAfterTheEnd()
+            throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(ArtifactControllerHelper.handlePartialTransfer(rangeHeaders("bytes=1000-"), 1000L, response));
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+    }
+
+    @Test
+    public void partialTransferShouldRejectMultipleRanges()
+            throws Exception
+    {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertNull(ArtifactControllerHelper.handlePartialTransfer(rangeHeaders("bytes=0-10,20-30"), 1000L,
+                                                                  response));
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+    }
+
+    private static HttpHeaders rangeHeaders(String range)
+    {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ArtifactControllerHelper.HEADER_NAME_RANGE, range);
+
+        return headers;
+    }
+
+}
@@ -66,6 +66,8 @@ public class RepositoryForm
 
     private boolean checksumHeadersEnabled;
 
+    private boolean checksumVerificationEnabled;
+
     @Valid
     private ProxyConfigurationForm proxyConfiguration;
 
@@ -242,6 +244,16 @@ public class RepositoryForm
         this.checksumHeadersEnabled = checksumHeadersEnabled;
     }
 
+    public boolean isChecksumVerificationEnabled()
+    {
+        return checksumVerificationEnabled;
+    }
+
+    public void setChecksumVerificationEnabled(final boolean checksumVerificationEnabled)
+    {
+        this.checksumVerificationEnabled = checksumVerificationEnabled;
+    }
+
     public ProxyConfigurationForm getProxyConfiguration()
     {
         return proxyConfiguration;